@@ -3,6 +3,7 @@ package com.protegrity.ap.java;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
@@ -16,6 +17,10 @@ import org.apache.http.util.EntityUtils;
  * <p>This class handles HTTP communication with the Protegrity authentication service
  * to obtain JWT tokens required for API operations.
  * 
+ * <p>Connection establishment and every read of a login are bounded by the connect and socket
+ * timeouts of {@link ProtectorConfig}, the defaults unless a configuration is given, so that a
+ * stalled authentication service cannot hold the calling thread indefinitely.
+ * 
  * @since 1.0.1
  */
 public class AuthTokenProvider {
@@ -35,14 +40,52 @@ public class AuthTokenProvider {
      * @throws IllegalArgumentException if any parameter is null or empty
      */
     public static AuthTokenResponse getJwtToken(String email, String password, String apiKey) {
+        return getJwtToken("https://" + DEV_EDITION_HOST, email, password, apiKey);
+    }
+
+    /**
+     * Obtains a JWT token from the authentication service of the given endpoint.
+     * 
+     * @param endpoint the base URL of the API, see {@link ProtectorConfig#getEndpoint()}
+     * @param email the user's email address
+     * @param password the user's password
+     * @param apiKey the API key for service access
+     * @return an {@link AuthTokenResponse} containing the JWT token and status information
+     * @throws IllegalArgumentException if any parameter is null or empty
+     */
+    static AuthTokenResponse getJwtToken(String endpoint, String email, String password, String apiKey) {
+        return getJwtToken(endpoint, email, password, apiKey,
+            ProtectorConfig.DEFAULT_CONNECT_TIMEOUT_MILLIS, ProtectorConfig.DEFAULT_SOCKET_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Obtains a JWT token from the authentication service of the given endpoint within the given
+     * timeouts.
+     * 
+     * @param endpoint the base URL of the API, see {@link ProtectorConfig#getEndpoint()}
+     * @param email the user's email address
+     * @param password the user's password
+     * @param apiKey the API key for service access
+     * @param connectTimeoutMillis the connect timeout in milliseconds, 0 for none
+     * @param socketTimeoutMillis the timeout of every read in milliseconds, 0 for none
+     * @return an {@link AuthTokenResponse} containing the JWT token and status information
+     * @throws IllegalArgumentException if any parameter is null or empty
+     */
+    static AuthTokenResponse getJwtToken(String endpoint, String email, String password, String apiKey,
+            int connectTimeoutMillis, int socketTimeoutMillis) {
         if (email == null || email.isEmpty() || password == null || password.isEmpty() || apiKey == null || apiKey.isEmpty()) {
             throw new IllegalArgumentException("Email, password, and API key must not be null or empty");
         }
       
-        String baseUrl = "https://" + DEV_EDITION_HOST + "/auth/login";
+        String baseUrl = endpoint + "/auth/login";
         String payload = String.format("{\"email\":\"%s\", \"password\":\"%s\"}", email, password);
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(connectTimeoutMillis)
+            .setConnectionRequestTimeout(connectTimeoutMillis)
+            .setSocketTimeout(socketTimeoutMillis)
+            .build();
+        try (CloseableHttpClient httpClient = HttpClients.custom().setDefaultRequestConfig(requestConfig).build()) {
             HttpPost httpPost = new HttpPost(baseUrl);
             httpPost.setHeader("Content-Type", "application/json");
             httpPost.setHeader("x-api-key", apiKey);
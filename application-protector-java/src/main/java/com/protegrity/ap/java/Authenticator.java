@@ -3,9 +3,9 @@ package com.protegrity.ap.java;
 /**
  * Handles authentication with Protegrity AI Developer Edition services.
  * 
- * <p>This class manages the authentication process using environment variables
- * and obtains JWT tokens required for API operations. Authentication credentials
- * are read from the following environment variables:
+ * <p>This class manages the authentication process and obtains JWT tokens required for
+ * API operations. The credentials and endpoint are taken from a {@link ProtectorConfig},
+ * by default one read from the following environment variables:
  * <ul>
  *   <li>{@code DEV_EDITION_EMAIL} - User email address</li>
  *   <li>{@code DEV_EDITION_PASSWORD} - User password</li>
@@ -25,17 +25,38 @@ public class Authenticator {
      * @throws InitializationException if authentication fails or required environment variables are missing
      */
     public Authenticator() {
+        this(ProtectorConfig.fromEnvironment());
+    }
+
+    /**
+     * Constructs a new Authenticator and performs authentication with the credentials of a configuration.
+     * 
+     * <p>If {@link ProtectorConfig#getCredentialCacheDirectory()} is set, a still valid token
+     * cached by an earlier JVM is reused without logging in, and a newly obtained token is cached.
+     * 
+     * @param config the client configuration providing the endpoint and credentials
+     * @throws InitializationException if authentication fails or credentials are missing
+     */
+    public Authenticator(ProtectorConfig config) {
+        this(config, true);
+    }
+
+    /**
+     * Constructs a new Authenticator, logging in unless {@code reuseCached} is set and the
+     * credential cache holds a valid token.
+     */
+    Authenticator(ProtectorConfig config, boolean reuseCached) {
         try {
-            authenticate();
+            authenticate(config, reuseCached);
         } catch (Exception e) {
             throw new InitializationException(e.getMessage());
         }
     }
 
-    private void authenticate() {
-        String email = System.getenv("DEV_EDITION_EMAIL");
-        String password = System.getenv("DEV_EDITION_PASSWORD");
-        String apiKey = System.getenv("DEV_EDITION_API_KEY");
+    private void authenticate(ProtectorConfig config, boolean reuseCached) {
+        String email = config.getEmail();
+        String password = config.getPassword();
+        String apiKey = config.getApiKey();
         
         if (email == null || password == null) {
             throw new InitializationException("Authentication failed: Both DEV_EDITION_EMAIL and DEV_EDITION_PASSWORD must be provided.");
@@ -45,15 +66,29 @@ public class Authenticator {
             throw new InitializationException("Authentication failed: DEV_EDITION_API_KEY must be provided.");
         }
 
+        this.apiKey = apiKey;
+        CredentialCache cache = config.getCredentialCacheDirectory() == null ? null
+            : new CredentialCache(config.getCredentialCacheDirectory(), email, password, apiKey);
+        if (cache != null && reuseCached) {
+            String cached = cache.load(config.getTokenRefreshMarginMillis());
+            if (cached != null) {
+                this.jwtToken = cached;
+                return;
+            }
+        }
+
         // Simulate API call to get JWT token
-        AuthTokenResponse response = AuthTokenProvider.getJwtToken(email, password, apiKey);
+        AuthTokenResponse response = AuthTokenProvider.getJwtToken(config.getEndpoint(), email, password, apiKey,
+            config.getConnectTimeoutMillis(), config.getSocketTimeoutMillis());
 
         if (response.getStatusCode() != 200) {
             throw new InitializationException(response.getErrorMessage());
         }
 
-        this.apiKey = apiKey;
         this.jwtToken = response.getJwtToken();
+        if (cache != null && jwtToken != null) {
+            cache.store(jwtToken);
+        }
     }
 
     /**
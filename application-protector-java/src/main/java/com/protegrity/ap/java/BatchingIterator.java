@@ -0,0 +1,86 @@
+package com.protegrity.ap.java;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Lazily protects the values of a source iterator in bulk requests.
+ *
+ * <p>Values are read from the source in batches of up to {@code batchSize} and each batch is
+ * submitted without blocking. At most {@code maxInFlight} batches are outstanding at a time, so the
+ * source is read only as fast as results are consumed and memory stays bounded by
+ * {@code (maxInFlight + 1) * batchSize} values whatever the size of the source. Results are
+ * returned in the order of the source.
+ *
+ * <p>A failed batch is reported by {@link #next()} as a {@link java.util.concurrent.CompletionException}
+ * whose cause is the {@link ProtectorException}, as {@link CompletableFuture#join()} does.
+ *
+ * @since 1.0.1
+ */
+final class BatchingIterator implements Iterator<String> {
+    private final Iterator<String> source;
+    private final Function<String[], CompletableFuture<String[]>> submit;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final ArrayDeque<CompletableFuture<String[]>> inFlight = new ArrayDeque<>();
+    private String[] current;
+    private int position;
+
+    /**
+     * Creates an iterator over the results of the source values.
+     *
+     * @param source the values to process
+     * @param submit sends a batch of values and completes with their results
+     * @param batchSize the maximum number of values per batch
+     * @param maxInFlight the maximum number of outstanding batches
+     */
+    BatchingIterator(Iterator<String> source, Function<String[], CompletableFuture<String[]>> submit,
+            int batchSize, int maxInFlight) {
+        this.source = source;
+        this.submit = submit;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (current != null && position < current.length) {
+            return true;
+        }
+        fill();
+        return !inFlight.isEmpty();
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (current == null || position == current.length) {
+            current = inFlight.poll().join();
+            position = 0;
+            // Keep the pipeline full while the caller consumes this batch.
+            fill();
+        }
+        return current[position++];
+    }
+
+    private void fill() {
+        while (inFlight.size() < maxInFlight && source.hasNext()) {
+            String[] values = new String[batchSize];
+            int count = 0;
+            while (count < batchSize && source.hasNext()) {
+                values[count++] = source.next();
+            }
+            if (count < batchSize) {
+                String[] partial = new String[count];
+                System.arraycopy(values, 0, partial, 0, count);
+                values = partial;
+            }
+            inFlight.add(submit.apply(values));
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.protegrity.ap.java;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Publisher of the results of the values of an upstream publisher, protected in bulk requests.
+ *
+ * <p>Each subscriber gets its own subscription to the upstream publisher. Values are collected into
+ * batches of up to {@code batchSize}, and a batch is submitted once full or when the upstream
+ * completes. No more than {@code maxInFlight} batches are requested from the upstream ahead of the
+ * subscriber, and another batch is requested only once the subscriber has consumed a whole one.
+ * Memory therefore stays bounded whatever the number of values, and a slow subscriber slows the
+ * upstream down. Results are published in upstream order.
+ *
+ * <p>A failed batch cancels the upstream and is signalled through {@code onError} with the
+ * {@link ProtectorException} as cause.
+ *
+ * @since 1.0.1
+ */
+final class BatchingPublisher implements Flow.Publisher<String> {
+    private final Flow.Publisher<String> upstream;
+    private final Function<String[], CompletableFuture<String[]>> submit;
+    private final int batchSize;
+    private final int maxInFlight;
+
+    /**
+     * Creates a publisher of the results of the upstream values.
+     *
+     * @param upstream the values to process
+     * @param submit sends a batch of values and completes with their results
+     * @param batchSize the maximum number of values per batch
+     * @param maxInFlight the maximum number of batches requested ahead of the subscriber
+     */
+    BatchingPublisher(Flow.Publisher<String> upstream, Function<String[], CompletableFuture<String[]>> submit,
+            int batchSize, int maxInFlight) {
+        this.upstream = upstream;
+        this.submit = submit;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+        upstream.subscribe(new Relay(subscriber));
+    }
+
+    /**
+     * Subscription to the upstream and of the subscriber at the same time. State is guarded by the
+     * monitor, while signals to the subscriber are emitted by a single draining thread outside it.
+     */
+    private final class Relay implements Flow.Subscriber<String>, Flow.Subscription {
+        private final Flow.Subscriber<? super String> downstream;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+        private Flow.Subscription subscription;
+        private String[] filling;
+        private int filled;
+        private long demand;
+        private boolean upstreamDone;
+        private Throwable error;
+        private boolean cancelled;
+        private boolean terminated;
+
+        Relay(Flow.Subscriber<? super String> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            synchronized (this) {
+                this.subscription = subscription;
+            }
+            downstream.onSubscribe(this);
+            subscription.request((long) batchSize * maxInFlight);
+        }
+
+        @Override
+        public void onNext(String value) {
+            Batch batch = null;
+            synchronized (this) {
+                if (cancelled || upstreamDone) {
+                    return;
+                }
+                if (filling == null) {
+                    filling = new String[batchSize];
+                }
+                filling[filled++] = value;
+                if (filled == batchSize) {
+                    batch = flush();
+                }
+            }
+            start(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                upstreamDone = true;
+                error = throwable;
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            Batch batch;
+            synchronized (this) {
+                upstreamDone = true;
+                batch = filled > 0 ? flush() : null;
+            }
+            start(batch);
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Requested " + n + " values, which is not positive");
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription upstreamSubscription;
+            synchronized (this) {
+                cancelled = true;
+                batches.clear();
+                filling = null;
+                upstreamSubscription = subscription;
+            }
+            if (upstreamSubscription != null) {
+                upstreamSubscription.cancel();
+            }
+        }
+
+        /**
+         * Queues the values collected so far as a batch, to be submitted outside the monitor.
+         */
+        private Batch flush() {
+            String[] values = filling;
+            if (filled < values.length) {
+                values = new String[filled];
+                System.arraycopy(filling, 0, values, 0, filled);
+            }
+            filling = null;
+            filled = 0;
+            Batch batch = new Batch(values);
+            batches.add(batch);
+            return batch;
+        }
+
+        private void start(Batch batch) {
+            if (batch == null) {
+                return;
+            }
+            String[] values = batch.values;
+            batch.values = null;
+            submit.apply(values).whenComplete((results, failure) -> {
+                synchronized (this) {
+                    batch.results = results;
+                    batch.failure = failure;
+                }
+                drain();
+            });
+        }
+
+        /**
+         * Emits available results within the demand of the subscriber and terminates the
+         * subscription once everything has been emitted or a failure occurred.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (true) {
+                    String value = null;
+                    Throwable failure = null;
+                    boolean complete = false;
+                    long replenish = 0;
+                    boolean done;
+                    Flow.Subscription upstreamSubscription;
+                    synchronized (this) {
+                        if (cancelled || terminated) {
+                            break;
+                        }
+                        done = upstreamDone;
+                        upstreamSubscription = subscription;
+                        Batch head = batches.peek();
+                        if (error != null) {
+                            failure = error;
+                        } else if (head != null && head.failure != null) {
+                            failure = head.failure;
+                        } else if (head == null) {
+                            if (!upstreamDone) {
+                                break;
+                            }
+                            complete = true;
+                        } else if (head.results == null || demand == 0) {
+                            break;
+                        } else {
+                            value = head.results[head.emitted++];
+                            demand--;
+                            if (head.emitted == head.results.length) {
+                                batches.poll();
+                                replenish = head.results.length;
+                            }
+                        }
+                        if (failure != null || complete) {
+                            terminated = true;
+                            batches.clear();
+                        }
+                    }
+                    if (failure != null) {
+                        if (!done) {
+                            upstreamSubscription.cancel();
+                        }
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                        downstream.onError(cause);
+                        break;
+                    }
+                    if (complete) {
+                        downstream.onComplete();
+                        break;
+                    }
+                    downstream.onNext(value);
+                    if (replenish > 0 && !done) {
+                        upstreamSubscription.request(replenish);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    /**
+     * A batch of values submitted or about to be, with its results once they are available.
+     */
+    private static final class Batch {
+        String[] values;
+        String[] results;
+        Throwable failure;
+        int emitted;
+
+        Batch(String[] values) {
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.protegrity.ap.java;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options applied to the protect, unprotect and reprotect calls made by a thread.
+ *
+ * <p>Options are attached to the calling thread for the duration of a try-with-resources block,
+ * so that existing call sites need no further parameters:
+ *
+ * <pre>{@code
+ * try (CallOptions.Scope scope = CallOptions.deadlineAfter(Duration.ofMillis(250)).attach()) {
+ *   protector.protect(session, "name", input, output);
+ *   protector.unprotect(session, "ssn", tokens, clear);
+ * }
+ * }</pre>
+ *
+ * <p>The deadline is shared by all calls in the block. Each call captures it when it starts, so it
+ * also applies to the work of a non-blocking call that completes after the block is left. A call
+ * not completed by the deadline fails with {@link ErrorMapper#DEADLINE_EXCEEDED} and its request
+ * in flight is aborted. Where {@link ProtectorConfig#getCallTimeoutMillis()} is set as well, the
+ * earlier of the two applies. Nested scopes can shorten the deadline of an enclosing one but never
+ * extend it.
+ *
+ * @since 1.0.1
+ */
+public final class CallOptions {
+    private static final ThreadLocal<CallOptions> CURRENT = new ThreadLocal<>();
+
+    private final Deadline deadline;
+
+    private CallOptions(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates options with a deadline the given time from now.
+     *
+     * @param timeout the time until the deadline
+     * @return the options
+     * @throws IllegalArgumentException if the timeout is null, zero or negative
+     */
+    public static CallOptions deadlineAfter(Duration timeout) {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must be greater than zero");
+        }
+        return new CallOptions(Deadline.after(timeout.toNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining time, zero once the deadline has passed
+     */
+    public Duration getTimeRemaining() {
+        return Duration.ofNanos(deadline.remainingNanos());
+    }
+
+    /**
+     * Attaches these options to the calling thread until the returned scope is closed.
+     *
+     * @return the scope, to be closed on the same thread
+     */
+    public Scope attach() {
+        CallOptions previous = CURRENT.get();
+        CURRENT.set(previous == null ? this : new CallOptions(Deadline.earliest(previous.deadline, deadline)));
+        return new Scope(previous);
+    }
+
+    /**
+     * Returns the deadline attached to the calling thread, or null if there is none.
+     */
+    static Deadline currentDeadline() {
+        CallOptions current = CURRENT.get();
+        return current == null ? null : current.deadline;
+    }
+
+    /**
+     * The attachment of {@link CallOptions} to a thread, see {@link CallOptions#attach()}.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final CallOptions previous;
+
+        private Scope(CallOptions previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Restores the options that were attached before.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.protegrity.ap.java;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding the requests to one endpoint.
+ *
+ * <p>The circuit opens after {@link ProtectorConfig#getCircuitBreakerFailureThreshold()} consecutive
+ * failures. While it is open, {@link #tryAcquire()} refuses every request, so callers fail at once
+ * instead of waiting for connect or socket timeouts of an endpoint that is down. After
+ * {@link ProtectorConfig#getCircuitBreakerOpenMillis()} the circuit is half-open and lets a single
+ * probe request through: its success closes the circuit, its failure opens it again.
+ *
+ * @since 1.0.1
+ */
+final class CircuitBreaker {
+
+    /**
+     * State of a circuit.
+     */
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    /**
+     * Creates a closed circuit.
+     *
+     * @param failureThreshold the consecutive failures that open the circuit
+     * @param openMillis how long the circuit stays open before a probe is let through
+     */
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asks for permission to send a request. Every granted request must be followed by
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     *
+     * @return true if the request may be sent, false if the circuit is open
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Records a request the endpoint answered properly.
+     */
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a request that failed because of the endpoint.
+     */
+    synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * Records a granted request that was not sent after all, which says nothing about the endpoint.
+     */
+    synchronized void onIgnored() {
+        probeInFlight = false;
+    }
+
+    /**
+     * Returns the time until an open circuit lets a probe through.
+     *
+     * @return the remaining open time in milliseconds, 0 if the circuit is not open
+     */
+    synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0L;
+        }
+        return Math.max(0L, (openNanos - (nanoClock.getAsLong() - openedAt)) / 1_000_000L);
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,21 @@
+package com.protegrity.ap.java;
+
+/**
+ * Raised by {@link ResilientTransport} instead of sending a request to an endpoint whose circuit
+ * is open.
+ *
+ * @since 1.0.1
+ */
+final class CircuitOpenException extends RejectedRequestException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new CircuitOpenException.
+     *
+     * @param endpoint the endpoint whose circuit is open
+     * @param remainingMillis the time until a probe request is let through
+     */
+    CircuitOpenException(String endpoint, long remainingMillis) {
+        super(ErrorMapper.CIRCUIT_OPEN, "Circuit open for " + endpoint + ", retry in " + remainingMillis + " ms");
+    }
+}
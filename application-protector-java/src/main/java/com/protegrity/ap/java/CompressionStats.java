@@ -0,0 +1,88 @@
+package com.protegrity.ap.java;
+
+/**
+ * Point-in-time statistics of the compression of request bodies.
+ *
+ * <p>Obtained from {@link Protector#getCompressionStats()}. All counters start at zero when the
+ * {@link Protector} is created and are all zero if compression is disabled, see
+ * {@link ProtectorConfig#getCompression()}. Comparing the bytes saved with the time spent shows
+ * whether {@link ProtectorConfig#getCompressionThresholdBytes()} is set well.
+ *
+ * @since 1.0.1
+ */
+public final class CompressionStats {
+    private final long requestCount;
+    private final long compressedCount;
+    private final long payloadBytes;
+    private final long wireBytes;
+    private final long compressionNanos;
+
+    CompressionStats(long requestCount, long compressedCount, long payloadBytes, long wireBytes, long compressionNanos) {
+        this.requestCount = requestCount;
+        this.compressedCount = compressedCount;
+        this.payloadBytes = payloadBytes;
+        this.wireBytes = wireBytes;
+        this.compressionNanos = compressionNanos;
+    }
+
+    /**
+     * Returns the number of protection requests prepared for sending.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * Returns the number of requests sent with a compressed body.
+     *
+     * @return the compressed request count
+     */
+    public long getCompressedCount() {
+        return compressedCount;
+    }
+
+    /**
+     * Returns the size of the request bodies before compression.
+     *
+     * @return the uncompressed size in bytes
+     */
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    /**
+     * Returns the size of the request bodies as sent, compressed or not.
+     *
+     * @return the bytes on the wire, excluding HTTP headers
+     */
+    public long getWireBytes() {
+        return wireBytes;
+    }
+
+    /**
+     * Returns the time spent compressing, including bodies that were sent uncompressed because
+     * compressing did not make them smaller.
+     *
+     * @return the compression time in nanoseconds
+     */
+    public long getCompressionNanos() {
+        return compressionNanos;
+    }
+
+    /**
+     * Returns the ratio of the uncompressed to the sent request bytes.
+     *
+     * @return the compression ratio, 1 if nothing was sent or compressed
+     */
+    public double getCompressionRatio() {
+        return wireBytes == 0 ? 1.0 : (double) payloadBytes / wireBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStats{requests=" + requestCount + ", compressed=" + compressedCount + ", payloadBytes="
+            + payloadBytes + ", wireBytes=" + wireBytes + ", compressionNanos=" + compressionNanos + "}";
+    }
+}
@@ -0,0 +1,20 @@
+package com.protegrity.ap.java;
+
+/**
+ * Raised by {@link ConcurrencyLimiter} when a request finds the queue for a free slot full or
+ * waits in it for longer than {@link ProtectorConfig#getConcurrencyQueueTimeoutMillis()}.
+ *
+ * @since 1.0.1
+ */
+final class ConcurrencyLimitException extends RejectedRequestException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new ConcurrencyLimitException.
+     *
+     * @param message the reason the request was refused
+     */
+    ConcurrencyLimitException(String message) {
+        super(ErrorMapper.CONCURRENCY_LIMIT_EXCEEDED, message);
+    }
+}
@@ -0,0 +1,130 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Transport decorator that keeps the requests in flight within the adaptive limit of a
+ * {@link ConcurrencyLimiter}.
+ *
+ * <p>Blocking sends wait for a slot on the calling thread, asynchronous sends are started when a
+ * slot is granted. Neither waits past the {@link Deadline} of the request. Every outcome is reported to the limiter: I/O errors, 429 and 5xx responses
+ * lower the limit, other responses let it grow again.
+ *
+ * @since 1.0.1
+ */
+final class ConcurrencyLimitedTransport implements CoreproviderTransport {
+    private final CoreproviderTransport delegate;
+    private final ConcurrencyLimiter limiter;
+
+    /**
+     * Wraps a transport with the limiter described by the configuration.
+     *
+     * @param delegate the transport sending the requests
+     * @param config the client configuration
+     */
+    ConcurrencyLimitedTransport(CoreproviderTransport delegate, ProtectorConfig config) {
+        this(delegate, new ConcurrencyLimiter(config));
+    }
+
+    ConcurrencyLimitedTransport(CoreproviderTransport delegate, ConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException {
+        CompletableFuture<Void> slot = acquire(request);
+        try {
+            slot.get();
+        } catch (InterruptedException e) {
+            if (!slot.cancel(false) && !slot.isCompletedExceptionally()) {
+                // Granted just before the interrupt.
+                limiter.releaseUnused();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a request slot");
+        } catch (ExecutionException e) {
+            throw (RejectedRequestException) e.getCause();
+        }
+        boolean overloaded = true;
+        try {
+            TransportResponse response = delegate.send(request);
+            overloaded = isOverloaded(response);
+            return response;
+        } finally {
+            limiter.release(overloaded);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        CompletableFuture<Void> slot = acquire(request);
+        slot.whenComplete((granted, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (result.isDone()) {
+                // Cancelled while waiting for the slot
+                limiter.releaseUnused();
+                return;
+            }
+            CompletableFuture<TransportResponse> sent;
+            try {
+                sent = delegate.sendAsync(request);
+            } catch (RuntimeException e) {
+                limiter.release(true);
+                result.completeExceptionally(e);
+                return;
+            }
+            sent.whenComplete((response, failure) -> {
+                // A cancelled request says nothing about the load of the service.
+                limiter.release(!result.isCancelled() && (failure != null || isOverloaded(response)));
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(response);
+                }
+            });
+            CoreproviderTransport.propagateCancellation(result, sent);
+        });
+        // A waiter cancelled before its slot is granted passes the slot on.
+        return CoreproviderTransport.propagateCancellation(result, slot);
+    }
+
+    @Override
+    public CompletableFuture<Void> warmUp(String endpoint, int connections) {
+        return delegate.warmUp(endpoint, connections);
+    }
+
+    @Override
+    public ConcurrencyLimiterStats getConcurrencyLimiterStats() {
+        return limiter.getStats();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * Asks for a slot, giving up at the deadline of the request. A slot granted after that is
+     * passed on by the limiter.
+     */
+    private CompletableFuture<Void> acquire(TransportRequest request) {
+        CompletableFuture<Void> slot = limiter.acquire();
+        Deadline deadline = request.getDeadline();
+        if (deadline != null) {
+            deadline.whenExpired(slot, () -> slot.completeExceptionally(deadline.exceeded()));
+        }
+        return slot;
+    }
+
+    private static boolean isOverloaded(TransportResponse response) {
+        return response.getStatusCode() == 429 || response.getStatusCode() >= 500;
+    }
+}
@@ -0,0 +1,159 @@
+package com.protegrity.ap.java;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive limit of the requests in flight to the Core Provider API.
+ *
+ * <p>The limit follows the AIMD scheme of TCP congestion control. It starts at
+ * {@link ProtectorConfig#getMaxConcurrentRequests()}, grows by about one for every window of
+ * requests completed at the limit without an overload signal and shrinks by
+ * {@value #BACKOFF_RATIO} on every overload signal: an I/O error, a 429 response or a 5xx response.
+ * It never drops below one, so a degraded service still receives a trickle of requests that tells
+ * when it has recovered.
+ *
+ * <p>Requests beyond the limit wait for a slot in a FIFO queue of at most
+ * {@link ProtectorConfig#getMaxQueuedRequests()} entries for at most
+ * {@link ProtectorConfig#getConcurrencyQueueTimeoutMillis()}. Waiting does not block a thread:
+ * {@link #acquire()} returns a future that completes when a slot is granted. Requests finding the
+ * queue full, or waiting too long, fail with a {@link ConcurrencyLimitException}, so callers are
+ * refused quickly instead of piling up behind a slow service.
+ *
+ * @since 1.0.1
+ */
+final class ConcurrencyLimiter {
+    static final double BACKOFF_RATIO = 0.9;
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+    private double limit;
+    private int inFlight;
+    private long rejected;
+
+    /**
+     * Creates a limiter with the bounds of the configuration.
+     *
+     * @param config the client configuration
+     */
+    ConcurrencyLimiter(ProtectorConfig config) {
+        this(config.getMaxConcurrentRequests(), config.getMaxQueuedRequests(), config.getConcurrencyQueueTimeoutMillis());
+    }
+
+    ConcurrencyLimiter(int maxLimit, int maxQueued, long queueTimeoutMillis) {
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Asks for a slot. Every granted slot must be returned with {@link #release(boolean)}.
+     *
+     * @return a future completed when the slot is granted, or exceptionally with a
+     *         {@link ConcurrencyLimitException} if the request is refused
+     */
+    CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> waiter;
+        synchronized (this) {
+            if (inFlight < (int) limit && waiters.isEmpty()) {
+                inFlight++;
+                return GRANTED;
+            }
+            if (queueTimeoutMillis == 0 || waiters.size() >= maxQueued) {
+                rejected++;
+                return CompletableFuture.failedFuture(new ConcurrencyLimitException(
+                    "Concurrency limit of " + (int) limit + " requests reached, " + waiters.size() + " queued"));
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+        CompletableFuture.delayedExecutor(queueTimeoutMillis, TimeUnit.MILLISECONDS).execute(() -> expire(waiter));
+        return waiter;
+    }
+
+    /**
+     * Returns a slot and adjusts the limit.
+     *
+     * @param overloaded true if the request showed a sign of overload
+     */
+    void release(boolean overloaded) {
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            if (overloaded) {
+                limit = Math.max(1.0, limit * BACKOFF_RATIO);
+            } else if (inFlight >= (int) limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            inFlight--;
+            granted = grant();
+        }
+        complete(granted);
+    }
+
+    /**
+     * Returns a slot that was granted but not used, without adjusting the limit.
+     */
+    void releaseUnused() {
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            inFlight--;
+            granted = grant();
+        }
+        complete(granted);
+    }
+
+    /**
+     * Returns a point-in-time snapshot of limit, slots in use, queue depth and rejections.
+     */
+    synchronized ConcurrencyLimiterStats getStats() {
+        return new ConcurrencyLimiterStats((int) limit, inFlight, waiters.size(), rejected);
+    }
+
+    /**
+     * Hands free slots to the oldest waiters. Runs under the lock, the waiters are completed
+     * outside of it because completing runs the caller's request.
+     */
+    private List<CompletableFuture<Void>> grant() {
+        List<CompletableFuture<Void>> granted = null;
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            if (granted == null) {
+                granted = new ArrayList<>(1);
+            }
+            granted.add(waiters.poll());
+            inFlight++;
+        }
+        return granted;
+    }
+
+    private void complete(List<CompletableFuture<Void>> granted) {
+        if (granted == null) {
+            return;
+        }
+        for (CompletableFuture<Void> waiter : granted) {
+            if (!waiter.complete(null)) {
+                // Cancelled by the caller or past its deadline, pass the slot on.
+                releaseUnused();
+            }
+        }
+    }
+
+    private void expire(CompletableFuture<Void> waiter) {
+        synchronized (this) {
+            if (!waiters.remove(waiter)) {
+                return;
+            }
+            rejected++;
+        }
+        waiter.completeExceptionally(new ConcurrencyLimitException(
+            "No request slot became free within " + queueTimeoutMillis + " ms"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.protegrity.ap.java;
+
+/**
+ * Point-in-time statistics of the adaptive limit of concurrent requests.
+ *
+ * <p>Obtained from {@link Protector#getConcurrencyLimiterStats()}. All values are zero if the
+ * limiter is disabled, see {@link ProtectorConfig#getMaxConcurrentRequests()}.
+ *
+ * @since 1.0.1
+ */
+public final class ConcurrencyLimiterStats {
+    private final int limit;
+    private final int inFlight;
+    private final int queueDepth;
+    private final long rejectedCount;
+
+    ConcurrencyLimiterStats(int limit, int inFlight, int queueDepth, long rejectedCount) {
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.queueDepth = queueDepth;
+        this.rejectedCount = rejectedCount;
+    }
+
+    /**
+     * Returns the current limit of requests in flight.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of requests currently in flight.
+     *
+     * @return the requests holding a slot
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of requests waiting for a slot.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Returns the number of requests refused because the queue was full or no slot became free in time.
+     *
+     * @return the rejection count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencyLimiterStats{limit=" + limit + ", inFlight=" + inFlight + ", queueDepth=" + queueDepth
+            + ", rejected=" + rejectedCount + "}";
+    }
+}
@@ -1,16 +1,24 @@
 package com.protegrity.ap.java;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Array;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,20 +32,117 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * for data protection operations. It manages data type conversions, encoding/decoding,
  * and request/response handling.
  * 
+ * <p>Requests are sent over a long-lived transport, HTTP/1.1 connection pooling or HTTP/2
+ * multiplexing as selected by {@link ProtectorConfig#getTransportType()}. The transport is created
+ * with the adapter and released by {@link #close()}.
+ * 
+ * <p>Bulk calls larger than {@link ProtectorConfig#getMaxElementsPerRequest()} values or
+ * {@link ProtectorConfig#getMaxBytesPerRequest()} bytes are split into chunks which are sent
+ * concurrently and written back into the caller's output at their original positions. Repeated
+ * values can optionally be sent only once, see {@link ProtectorConfig#isDeduplicationEnabled()}.
+ * 
+ * <p>Request bodies are serialized in a single pass from the caller's typed input into pooled
+ * buffers, which are handed to the transport without further copies. Responses are decoded token
+ * by token straight into the caller's output array.
+ * 
+ * <p>With {@link ProtectorConfig#getCompression()} set, bodies from
+ * {@link ProtectorConfig#getCompressionThresholdBytes()} bytes on are compressed into a second
+ * pooled buffer and sent with a {@code Content-Encoding} header, see {@link PayloadCompressor}.
+ * 
+ * <p>Requests for the data elements listed in {@link ProtectorConfig#getHedgingDataElements()} are
+ * hedged: when one is slower than most recent requests a second copy is sent and the first
+ * response wins, see {@link Hedger}.
+ * 
+ * <p>If {@link ProtectorConfig#getRateLimitRequestsPerSecond()} or
+ * {@link ProtectorConfig#getRateLimitBytesPerSecond()} is set, every request first waits for the
+ * {@link RateLimiter} of its API key, which also slows down when the service answers 429.
+ * 
+ * <p>Every request of a call carries the call's {@link Deadline}. Requests are not sent once it has
+ * passed, waits for the limiters end with it and the transports abort exchanges still in flight,
+ * all reported as {@link ErrorMapper#DEADLINE_EXCEEDED}.
+ * 
  * @since 1.0.1
  */
-public class CoreproviderAdapter {
+public class CoreproviderAdapter implements Closeable {
     private static final Logger logger = LoggerFactory.getLogger(CoreproviderAdapter.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    static final int WARM_UP_ROUNDS = 200;
+    private static final int WARM_UP_VALUES = 64;
+    private static final AtomicInteger WARM_UP_THREAD_COUNTER = new AtomicInteger();
     private SessionHandler sessionHandler = null;
+    private final CoreproviderTransport transport;
+    private final int maxElementsPerRequest;
+    private final long maxBytesPerRequest;
+    private final int requestParallelism;
+    private final boolean deduplicationEnabled;
+    private final TokenCache tokenCache;
+    private final PayloadBufferPool bufferPool;
+    private final TokenManager tokens;
+    private final PayloadCompressor compressor;
+    private final Hedger hedger;
+    private final RateLimiter rateLimiter;
+    private final Set<String> hedgingDataElements;
+    private final ProtectorConfig config;
+    private final String protectUrl;
+    private final String unprotectUrl;
+    private final String reprotectUrl;
 
     /**
      * Constructs a new CoreproviderAdapter with the specified session handler.
      * 
+     * <p>The connection pool is configured from the environment, see {@link ProtectorConfig#fromEnvironment()}.
+     * 
      * @param sessionHandler the session handler for managing user sessions
      * @throws ProtectorException if initialization fails
      */
     public CoreproviderAdapter(SessionHandler sessionHandler) throws ProtectorException {
-    this.sessionHandler = sessionHandler;
+        this(sessionHandler, ProtectorConfig.fromEnvironment());
+    }
+
+    /**
+     * Constructs a new CoreproviderAdapter with the specified session handler and client configuration.
+     * 
+     * @param sessionHandler the session handler for managing user sessions
+     * @param config the client configuration providing the endpoint, the transport and the request limits
+     * @throws ProtectorException if initialization fails
+     */
+    public CoreproviderAdapter(SessionHandler sessionHandler, ProtectorConfig config) throws ProtectorException {
+        this(sessionHandler, config, CoreproviderTransport.create(config));
+    }
+
+    /**
+     * Constructs a new CoreproviderAdapter sending requests over the given transport.
+     */
+    CoreproviderAdapter(SessionHandler sessionHandler, ProtectorConfig config, CoreproviderTransport transport) {
+        this(sessionHandler, config, transport, null);
+    }
+
+    /**
+     * Constructs an adapter that renews the JWT through {@code tokens} when the service rejects it
+     * and sends the rejected request once more with the new token.
+     */
+    CoreproviderAdapter(SessionHandler sessionHandler, ProtectorConfig config, CoreproviderTransport transport, TokenManager tokens) {
+        this.sessionHandler = sessionHandler;
+        this.tokens = tokens;
+        this.transport = transport;
+        this.maxElementsPerRequest = config.getMaxElementsPerRequest();
+        this.maxBytesPerRequest = config.getMaxBytesPerRequest();
+        this.requestParallelism = config.getRequestParallelism();
+        this.deduplicationEnabled = config.isDeduplicationEnabled();
+        this.tokenCache = config.getTokenCacheDataElements().isEmpty() ? null : new TokenCache(config);
+        // Enough idle buffers for every lane of a few concurrent bulk calls, none retained above twice the request limit.
+        this.bufferPool = new PayloadBufferPool(4 * requestParallelism,
+            (int) Math.min(Integer.MAX_VALUE - 8, 2 * maxBytesPerRequest));
+        this.compressor = config.getCompression() == ProtectorConfig.Compression.NONE
+            ? null : new PayloadCompressor(config, requestParallelism);
+        this.hedgingDataElements = config.getHedgingDataElements();
+        this.hedger = hedgingDataElements.isEmpty() ? null : new Hedger(config);
+        this.rateLimiter = config.getRateLimitRequestsPerSecond() > 0 || config.getRateLimitBytesPerSecond() > 0
+            ? new RateLimiter(config) : null;
+        this.config = config;
+        this.protectUrl = config.getServiceUrl("protect");
+        this.unprotectUrl = config.getServiceUrl("unprotect");
+        this.reprotectUrl = config.getServiceUrl("reprotect");
     }
 
     /**
@@ -136,33 +241,262 @@ public class CoreproviderAdapter {
     }
 
     public String sendApiRequest(String operationType, String jwtToken, String apiKey, String jsonPayload) throws ProtectorException {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            // Construct URL
-            String runtimeHost = System.getenv().getOrDefault("DEV_EDITION_HOST", "api.developer-edition.protegrity.com");
-            String runtimeVersion = System.getenv().getOrDefault("DEV_EDITION_VERSION", "1");
-            String urlStr = String.format("https://%s/v%s/%s", runtimeHost, runtimeVersion, operationType);
-            
-            // Create POST request
-            HttpPost httpPost = new HttpPost(urlStr);
-            httpPost.setHeader("Content-Type", "application/json");
-            httpPost.setHeader("x-api-key", apiKey);
-            httpPost.setHeader("Authorization", "Bearer " + jwtToken);
-            httpPost.setEntity(new StringEntity(jsonPayload, StandardCharsets.UTF_8));
-
-            // Execute request
-            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                int statusCode = response.getStatusLine().getStatusCode();
-                String responseBody = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
-                return responseBody;
+        byte[] body = jsonPayload.getBytes(StandardCharsets.UTF_8);
+        return send(buildRequest(operationType, jwtToken, apiKey, body, body.length)
+            .withDeadline(Deadline.forCall(config.getCallTimeoutMillis())));
+    }
+
+    /**
+     * Sends an API request without blocking the calling thread.
+     * 
+     * @param operationType the operation path, for example {@code protect}
+     * @param jwtToken the JWT sent as bearer token
+     * @param apiKey the API key
+     * @param jsonPayload the JSON request body
+     * @return a future completed with the response body, or exceptionally with a ProtectorException
+     */
+    public CompletableFuture<String> sendApiRequestAsync(String operationType, String jwtToken, String apiKey, String jsonPayload) {
+        byte[] body = jsonPayload.getBytes(StandardCharsets.UTF_8);
+        return sendAsync(buildRequest(operationType, jwtToken, apiKey, body, body.length)
+            .withDeadline(Deadline.forCall(config.getCallTimeoutMillis())));
+    }
+
+    /**
+     * Sends a payload serialized into a pooled buffer and returns the buffer to the pool once the
+     * service answered. A request ending without an answer, past its deadline, interrupted or
+     * cancelled, may leave the transport still writing the body, so its buffer is dropped instead.
+     */
+    private TransportResponse sendPayload(ProtectionRequest request, String jwtToken, String apiKey, PayloadBuffer payload) throws ProtectorException {
+        boolean hedge = isHedged(request);
+        boolean answered = false;
+        try {
+            try {
+                TransportResponse response = exchange(buildRequest(request, jwtToken, apiKey, payload, hedge), hedge);
+                answered = true;
+                return response;
+            } catch (ProtectorException e) {
+                if (e.getErrorCode() != ErrorMapper.UNAUTHORIZED || tokens == null) {
+                    throw e;
+                }
+            }
+            String renewed;
+            try {
+                renewed = tokens.refresh(jwtToken).join();
+            } catch (CompletionException e) {
+                throw toProtectorException(e);
+            }
+            TransportResponse response = exchange(buildRequest(request, renewed, apiKey, payload, hedge), hedge);
+            answered = true;
+            return response;
+        } finally {
+            if (answered) {
+                bufferPool.release(payload);
+            }
+        }
+    }
+
+    private CompletableFuture<TransportResponse> sendPayloadAsync(ProtectionRequest request, String jwtToken, String apiKey, PayloadBuffer payload) {
+        boolean hedge = isHedged(request);
+        return exchangeAsync(buildRequest(request, jwtToken, apiKey, payload, hedge), hedge)
+            .handle((response, error) -> {
+                if (error == null) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                ProtectorException cause = toProtectorException(error);
+                if (cause.getErrorCode() != ErrorMapper.UNAUTHORIZED || tokens == null) {
+                    return CompletableFuture.<TransportResponse>failedFuture(cause);
+                }
+                return tokens.refresh(jwtToken).thenCompose(renewed ->
+                    exchangeAsync(buildRequest(request, renewed, apiKey, payload, hedge), hedge));
+            })
+            .thenCompose(Function.identity())
+            .whenComplete((response, error) -> {
+                // Without an answer the transport may still be writing the body, see sendPayload.
+                if (error == null) {
+                    bufferPool.release(payload);
+                }
+            });
+    }
+
+    private String send(TransportRequest request) throws ProtectorException {
+        return exchange(request, false).getBody();
+    }
+
+    private CompletableFuture<String> sendAsync(TransportRequest request) {
+        return exchangeAsync(request, false).thenApply(TransportResponse::getBody);
+    }
+
+    private TransportResponse exchange(TransportRequest request, boolean hedge) throws ProtectorException {
+        if (hedge) {
+            return await(exchangeAsync(request, true));
+        }
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw rejected(deadline.exceeded());
+        }
+        if (rateLimiter != null) {
+            try {
+                rateLimiter.acquire(apiKeyOf(request), request.getBodyLength(), deadline);
+            } catch (RejectedRequestException e) {
+                throw rejected(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProtectorException("Interrupted while waiting for the rate limit");
             }
+        }
+        TransportResponse response;
+        try {
+            // Execute request on a pooled or multiplexed connection
+            response = transport.send(request);
+        } catch (RejectedRequestException e) {
+            throw rejected(e);
         } catch (Exception e) {
             logger.error("Error during API request: {}", e.getMessage(), e);
             throw new ProtectorException("Error during API request: " + e.getMessage());
         }
+        return checkResponse(request, response);
+    }
+
+    private CompletableFuture<TransportResponse> exchangeAsync(TransportRequest request, boolean hedge) {
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            return CompletableFuture.failedFuture(rejected(deadline.exceeded()));
+        }
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        CompletableFuture<TransportResponse> sent = rateLimiter == null ? transmitAsync(request, hedge)
+            : rateLimiter.acquireAsync(apiKeyOf(request), request.getBodyLength(), deadline)
+                .thenCompose(permitted -> transmitAsync(request, hedge));
+        sent.whenComplete((response, error) -> {
+            if (error == null) {
+                try {
+                    result.complete(checkResponse(request, response));
+                } catch (ProtectorException e) {
+                    result.completeExceptionally(e);
+                }
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RejectedRequestException) {
+                result.completeExceptionally(rejected((RejectedRequestException) cause));
+                return;
+            }
+            logger.error("Error during API request: {}", cause.getMessage(), cause);
+            result.completeExceptionally(new ProtectorException("Error during API request: " + cause.getMessage()));
+        });
+        return result;
+    }
+
+    private CompletableFuture<TransportResponse> transmitAsync(TransportRequest request, boolean hedge) {
+        return hedge ? hedger.send(request, transport::sendAsync) : transport.sendAsync(request);
+    }
+
+    private static String apiKeyOf(TransportRequest request) {
+        return request.getHeaders().get("x-api-key");
+    }
+
+    /**
+     * Maps a request refused before it was sent, for example by an open circuit, to the error code
+     * of the refusal. It is logged at debug level only, as refusals come in bursts under overload.
+     */
+    private static ProtectorException rejected(RejectedRequestException e) {
+        logger.debug("Request not sent: {}", e.getMessage());
+        return new ProtectorException(e.getErrorCode(), e.getMessage());
+    }
+
+    /**
+     * Returns the response, or fails with {@link ErrorMapper#PAYLOAD_TOO_LARGE} when the service
+     * rejected the request because of its size, with {@link ErrorMapper#UNAUTHORIZED} when it
+     * rejected the JWT and with {@link ErrorMapper#RATE_LIMITED} when the quota of the API key is
+     * exhausted, which also slows down the rate limiter of the key. Other bodies are left to the
+     * result decoding.
+     */
+    private TransportResponse checkResponse(TransportRequest request, TransportResponse response) throws ProtectorException {
+        if (response.getStatusCode() == 413) {
+            throw new ProtectorException(ErrorMapper.PAYLOAD_TOO_LARGE, "Request payload is too large to be processed.");
+        }
+        if (response.getStatusCode() == 401) {
+            throw new ProtectorException(ErrorMapper.UNAUTHORIZED, "Request was not authorized by the service.");
+        }
+        if (response.getStatusCode() == 429) {
+            if (rateLimiter != null) {
+                rateLimiter.onThrottled(apiKeyOf(request), ResilientTransport.retryAfterMillis(response.getHeader("Retry-After")));
+            }
+            throw new ProtectorException(ErrorMapper.RATE_LIMITED, "Request quota of the API key exceeded.");
+        }
+        return response;
+    }
+
+    private TransportRequest buildRequest(String operationType, String jwtToken, String apiKey, byte[] body, int bodyLength) {
+        return TransportRequest.json(serviceUrl(operationType), apiKey, jwtToken, body, bodyLength);
+    }
+
+    /**
+     * Builds the request for a pooled payload of a protection request, bound by its deadline. A
+     * hedged request gets a private copy of the body, because the losing attempt may still be
+     * reading it after the winning one returned the buffer to the pool.
+     */
+    private TransportRequest buildRequest(ProtectionRequest request, String jwtToken, String apiKey, PayloadBuffer payload, boolean hedge) {
+        byte[] body = hedge ? Arrays.copyOf(payload.array(), payload.length()) : payload.array();
+        TransportRequest built = buildRequest(request.getOperation(), jwtToken, apiKey, body, payload.length())
+            .withDeadline(request.getDeadline());
+        return payload.getContentEncoding() == null ? built : built.withHeader("Content-Encoding", payload.getContentEncoding());
+    }
+
+    /**
+     * Returns whether a request may be hedged, which requires all its data elements to be listed
+     * as deterministic in {@link ProtectorConfig#getHedgingDataElements()}.
+     */
+    private boolean isHedged(ProtectionRequest request) {
+        return hedger != null && hedgingDataElements.contains(request.getDataElementName())
+            && (!request.isReprotect() || hedgingDataElements.contains(request.getOldDataElementName()));
+    }
+
+    /**
+     * Returns the operation URL, built once per adapter for the protection operations.
+     */
+    private String serviceUrl(String operationType) {
+        switch (operationType) {
+            case "protect":
+                return protectUrl;
+            case "unprotect":
+                return unprotectUrl;
+            case "reprotect":
+                return reprotectUrl;
+            default:
+                return config.getServiceUrl(operationType);
+        }
     }
 
     public String buildProtectPayload(String user, String dataElementName, String[] input, byte[] externalIv, String encodingType) throws ProtectorException {
-        StringBuilder jsonBuilder = new StringBuilder();
+        return buildProtectPayload(user, dataElementName, input, 0, input.length, externalIv, encodingType);
+    }
+
+    /**
+     * Builds a protect or unprotect payload for the values {@code input[from]} to {@code input[to - 1]}.
+     */
+    String buildProtectPayload(String user, String dataElementName, String[] input, int from, int to, byte[] externalIv, String encodingType) throws ProtectorException {
+        PayloadBuffer out = new PayloadBuffer(256);
+        writeProtectPayload(out, user, dataElementName, PayloadValues.wire(input), from, to, externalIv, encodingType);
+        return out.toString();
+    }
+
+    public String buildReprotectPayload(String user, String newDataElementName,String oldDataElementName, String[] input, byte[] newExternalIv, byte[] oldExternalIv, String encodingType) throws ProtectorException{
+        return buildReprotectPayload(user, newDataElementName, oldDataElementName, input, 0, input.length, newExternalIv, oldExternalIv, encodingType);
+    }
+
+    /**
+     * Builds a reprotect payload for the values {@code input[from]} to {@code input[to - 1]}.
+     */
+    String buildReprotectPayload(String user, String newDataElementName, String oldDataElementName, String[] input, int from, int to, byte[] newExternalIv, byte[] oldExternalIv, String encodingType) throws ProtectorException {
+        PayloadBuffer out = new PayloadBuffer(256);
+        writeReprotectPayload(out, user, newDataElementName, oldDataElementName, PayloadValues.wire(input), from, to, newExternalIv, oldExternalIv, encodingType);
+        return out.toString();
+    }
+
+    /**
+     * Serializes a protect or unprotect payload in a single pass into the buffer.
+     */
+    private static void writeProtectPayload(PayloadBuffer out, String user, String dataElementName, PayloadValues input, int from, int to, byte[] externalIv, String encodingType) throws ProtectorException {
         if(user == null)
         {
            throw new ProtectorException("User name can not be null or empty.");
@@ -171,25 +505,21 @@ public class CoreproviderAdapter {
         {
             throw new ProtectorException("DataElement name can not be null or empty.");
         }
-        jsonBuilder.append("{")
-            .append("\"encoding\": \"").append(encodingType).append("\",")
-            .append("\"query_id\": \"1\",")
-            .append("\"user\": \"").append(user).append("\",")
-            .append("\"data_element\": \"").append(dataElementName).append("\",");
+        writeField(out, "{\"encoding\": ", encodingType);
+        out.writeAscii(",\"query_id\": \"1\"");
+        writeField(out, ",\"user\": ", user);
+        writeField(out, ",\"data_element\": ", dataElementName);
         if (externalIv != null && externalIv.length > 0) {
-            String ivEncoded = Base64.getEncoder().encodeToString(externalIv); // Encode bytes to Base64
-            jsonBuilder.append("\"external_iv\": \"").append(ivEncoded).append("\",");
-        }
-        jsonBuilder.append("\"data\": [");
-        for (int i = 0; i < input.length; i++) {
-        jsonBuilder.append("\"").append(input[i]).append("\"");
-        if (i < input.length - 1) jsonBuilder.append(",");
+            out.writeAscii(",\"external_iv\": ");
+            out.writeBase64String(externalIv);
         }
-        jsonBuilder.append("]}");
-        return jsonBuilder.toString();
+        writeData(out, input, from, to);
     }
 
-    public String buildReprotectPayload(String user, String newDataElementName,String oldDataElementName, String[] input, byte[] newExternalIv, byte[] oldExternalIv, String encodingType) throws ProtectorException{
+    /**
+     * Serializes a reprotect payload in a single pass into the buffer.
+     */
+    private static void writeReprotectPayload(PayloadBuffer out, String user, String newDataElementName, String oldDataElementName, PayloadValues input, int from, int to, byte[] newExternalIv, byte[] oldExternalIv, String encodingType) throws ProtectorException {
         if(user == null) 
         {
             throw new ProtectorException("User name can not be null or empty.");
@@ -202,35 +532,452 @@ public class CoreproviderAdapter {
         {
             throw new ProtectorException("New DataElement name can not be null or empty.");
         }   
-        StringBuilder jsonBuilder = new StringBuilder();
-        jsonBuilder.append("{")
-        .append("\"encoding\": \"").append(encodingType).append("\",")
-        .append("\"query_id\": \"1\",")
-        .append("\"user\": \"").append(user).append("\",")
-        .append("\"old_data_element\": \"").append(oldDataElementName).append("\",")
-        .append("\"data_element\": \"").append(newDataElementName).append("\",");
+        writeField(out, "{\"encoding\": ", encodingType);
+        out.writeAscii(",\"query_id\": \"1\"");
+        writeField(out, ",\"user\": ", user);
+        writeField(out, ",\"old_data_element\": ", oldDataElementName);
+        writeField(out, ",\"data_element\": ", newDataElementName);
         if (oldExternalIv != null && oldExternalIv.length > 0) {
-        String ivEncoded = Base64.getEncoder().encodeToString(oldExternalIv); // Encode bytes to Base64
-        jsonBuilder.append("\"old_external_iv\": \"").append(ivEncoded).append("\",");
+            out.writeAscii(",\"old_external_iv\": ");
+            out.writeBase64String(oldExternalIv);
         }
         if (newExternalIv != null && newExternalIv.length > 0) {
-        String ivEncoded = Base64.getEncoder().encodeToString(newExternalIv); // Encode bytes to Base64
-        jsonBuilder.append("\"new_external_iv\": \"").append(ivEncoded).append("\",");
+            out.writeAscii(",\"new_external_iv\": ");
+            out.writeBase64String(newExternalIv);
+        }
+        writeData(out, input, from, to);
+    }
+
+    private static void writeField(PayloadBuffer out, String name, String value) {
+        out.writeAscii(name);
+        out.writeJsonString(String.valueOf(value));
+    }
+
+    private static void writeData(PayloadBuffer out, PayloadValues input, int from, int to) {
+        out.writeAscii(",\"data\": [");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.writeByte(',');
+            }
+            input.write(out, i);
         }
-        jsonBuilder.append("\"data\": [");
-        for (int i = 0; i < input.length; i++) {
-        jsonBuilder.append("\"").append(input[i]).append("\"");
-        if (i < input.length - 1) jsonBuilder.append(",");
+        out.writeAscii("]}");
+    }
+
+    /**
+     * Executes a protection request and writes the results into its output array.
+     * 
+     * <p>Requests within the configured size limits are sent as a single request on the calling
+     * thread. Larger requests are split into chunks that are sent concurrently, at most
+     * {@link ProtectorConfig#getRequestParallelism()} at a time. A chunk the service rejects as too
+     * large is halved and sent again.
+     * 
+     * <p>With {@link ProtectorConfig#isDeduplicationEnabled()} each distinct non-null value is sent
+     * once and its result copied to every position holding it. Values of data elements listed in
+     * {@link ProtectorConfig#getTokenCacheDataElements()} are answered from the token cache where
+     * possible and only the remaining values are sent.
+     * 
+     * <p>For a request tracking {@link PartialResults} a chunk the service rejects as a whole is
+     * sent again in halves until its failing values are isolated, and the failures of single
+     * values are reported together once all results have been written.
+     * 
+     * @param request the request to execute
+     * @param jwtToken the JWT sent as bearer token
+     * @param apiKey the API key
+     * @return true if all values were processed
+     * @throws ProtectorException if any chunk fails, or listing the status of every value if some
+     *     values of a request tracking partial results failed
+     */
+    boolean execute(ProtectionRequest request, String jwtToken, String apiKey) throws ProtectorException {
+        TokenCache.Lookup lookup = tokenCache == null ? null : tokenCache.lookup(request);
+        boolean success;
+        if (lookup == null) {
+            success = executeDistinct(request, jwtToken, apiKey);
+        } else {
+            success = lookup.getMissRequest() == null || executeDistinct(lookup.getMissRequest(), jwtToken, apiKey);
+            lookup.complete(this);
+        }
+        checkPartialResults(request);
+        return success;
+    }
+
+    /**
+     * Throws the failures of single values of a request tracking partial results, recording the
+     * first one as the last error of the session.
+     */
+    private void checkPartialResults(ProtectionRequest request) throws ProtectorException {
+        PartialResults partialResults = request.getPartialResults();
+        ProtectorException failure = partialResults == null ? null : partialResults.toException();
+        if (failure != null) {
+            logger.debug("{} of {} values failed", partialResults.getFailedCount(), request.size());
+            saveResultInSession(request.getSession(), failure.getErrorList(), partialResults.getFirstMessage(), failure.getErrorCode());
+            throw failure;
         }
-        jsonBuilder.append("]}");
-        return jsonBuilder.toString();
     }
 
+    /**
+     * Executes a request for a single value and returns its result.
+     * 
+     * <p>This is the lean path of the single-value overloads of {@link Protector}. The value is
+     * answered from the token cache where possible and otherwise sent on its own, without the
+     * deduplication, chunk planning and cache lookup bookkeeping that bulk requests need.
+     * 
+     * @param request a request of one value in its wire representation with a {@code String[]} output
+     * @param jwtToken the JWT sent as bearer token
+     * @param apiKey the API key
+     * @return the result in its wire representation
+     * @throws ProtectorException if the request fails
+     */
+    String executeSingle(ProtectionRequest request, String jwtToken, String apiKey) throws ProtectorException {
+        String value = request.getValues()[0];
+        String result = tokenCache == null ? null : tokenCache.get(request, value);
+        if (result != null) {
+            return result;
+        }
+        writeResults(request, sendPayload(request, jwtToken, apiKey, buildPayload(request, 0, 1)), 0, 1);
+        result = ((String[]) request.getOutput())[0];
+        if (tokenCache != null) {
+            tokenCache.put(request, value, result);
+        }
+        return result;
+    }
+
+    private boolean executeDistinct(ProtectionRequest request, String jwtToken, String apiKey) throws ProtectorException {
+        DistinctValues distinct = deduplicationEnabled && request.size() > 1 ? DistinctValues.of(request) : null;
+        if (distinct == null) {
+            return executeChunked(request, jwtToken, apiKey);
+        }
+        boolean success = distinct.getRequest().size() == 0 || executeChunked(distinct.getRequest(), jwtToken, apiKey);
+        distinct.fanOut();
+        return success;
+    }
+
+    private boolean executeChunked(ProtectionRequest request, String jwtToken, String apiKey) throws ProtectorException {
+        List<int[]> chunks = planChunks(request.getPayloadValues());
+        if (chunks.size() == 1) {
+            int length = request.size();
+            try {
+                TransportResponse response = sendPayload(request, jwtToken, apiKey, buildPayload(request, 0, length));
+                if (writeResults(request, response, 0, length)) {
+                    return true;
+                }
+                logger.debug("Request of {} values rejected by the service, retrying in halves", length);
+            } catch (ProtectorException e) {
+                if (e.getErrorCode() != ErrorMapper.PAYLOAD_TOO_LARGE || length < 2) {
+                    throw e;
+                }
+                logger.debug("Request of {} values rejected as too large, splitting", length);
+            }
+            chunks = split(0, length);
+        }
+        return await(dispatch(request, chunks, jwtToken, apiKey));
+    }
+
+    /**
+     * Executes a protection request without blocking the calling thread.
+     * 
+     * @param request the request to execute
+     * @param jwtToken the JWT sent as bearer token
+     * @param apiKey the API key
+     * @return a future completed with true once the output is populated, or exceptionally with a ProtectorException
+     */
+    CompletableFuture<Boolean> executeAsync(ProtectionRequest request, String jwtToken, String apiKey) {
+        CompletableFuture<Boolean> result = executeCachedAsync(request, jwtToken, apiKey);
+        if (request.getPartialResults() == null) {
+            return result;
+        }
+        return result.thenCompose(success -> {
+            try {
+                checkPartialResults(request);
+                return CompletableFuture.completedFuture(success);
+            } catch (ProtectorException e) {
+                return CompletableFuture.<Boolean>failedFuture(e);
+            }
+        });
+    }
+
+    private CompletableFuture<Boolean> executeCachedAsync(ProtectionRequest request, String jwtToken, String apiKey) {
+        TokenCache.Lookup lookup = tokenCache == null ? null : tokenCache.lookup(request);
+        if (lookup == null) {
+            return executeDistinctAsync(request, jwtToken, apiKey);
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (lookup.getMissRequest() == null) {
+            completeLookup(lookup, true, result);
+            return result;
+        }
+        executeDistinctAsync(lookup.getMissRequest(), jwtToken, apiKey).whenComplete((success, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                completeLookup(lookup, success, result);
+            }
+        });
+        return result;
+    }
+
+    private void completeLookup(TokenCache.Lookup lookup, boolean success, CompletableFuture<Boolean> result) {
+        try {
+            lookup.complete(this);
+            result.complete(success);
+        } catch (ProtectorException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private CompletableFuture<Boolean> executeDistinctAsync(ProtectionRequest request, String jwtToken, String apiKey) {
+        DistinctValues distinct = deduplicationEnabled && request.size() > 1 ? DistinctValues.of(request) : null;
+        if (distinct == null) {
+            return dispatch(request, planChunks(request.getPayloadValues()), jwtToken, apiKey);
+        }
+        if (distinct.getRequest().size() == 0) {
+            distinct.fanOut();
+            return CompletableFuture.completedFuture(true);
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        dispatch(distinct.getRequest(), planChunks(distinct.getRequest().getPayloadValues()), jwtToken, apiKey)
+            .whenComplete((success, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                    return;
+                }
+                distinct.fanOut();
+                result.complete(success);
+            });
+        return result;
+    }
+
+    /**
+     * Splits the values into consecutive {@code [from, to)} ranges within the configured element and
+     * byte limits. A single value larger than the byte limit is sent on its own.
+     */
+    List<int[]> planChunks(String[] values) {
+        return planChunks(PayloadValues.wire(values));
+    }
+
+    private List<int[]> planChunks(PayloadValues values) {
+        List<int[]> chunks = new ArrayList<>();
+        int from = 0;
+        long bytes = 0;
+        int count = values.size();
+        for (int i = 0; i < count; i++) {
+            long size = values.estimateSize(i);
+            if (i > from && (i - from >= maxElementsPerRequest || bytes + size > maxBytesPerRequest)) {
+                chunks.add(new int[] {from, i});
+                from = i;
+                bytes = 0;
+            }
+            bytes += size;
+        }
+        chunks.add(new int[] {from, count});
+        return chunks;
+    }
+
+    private static List<int[]> split(int from, int to) {
+        int middle = (from + to) >>> 1;
+        List<int[]> halves = new ArrayList<>(2);
+        halves.add(new int[] {from, middle});
+        halves.add(new int[] {middle, to});
+        return halves;
+    }
+
+    /**
+     * Sends the chunks over up to {@code requestParallelism} lanes. Each lane takes the next unsent
+     * chunk once its previous one completes; after the first failure no further chunks are started.
+     */
+    private CompletableFuture<Boolean> dispatch(ProtectionRequest request, List<int[]> chunks, String jwtToken, String apiKey) {
+        AtomicInteger next = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(requestParallelism, chunks.size())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = runLane(request, chunks, next, failed, jwtToken, apiKey);
+        }
+        // Completed directly so that callers receive the ProtectorException rather than a CompletionException.
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CompletableFuture.allOf(lanes).whenComplete((ignored, error) -> {
+            if (error == null) {
+                result.complete(true);
+            } else {
+                result.completeExceptionally(toProtectorException(error));
+            }
+        });
+        // A caller giving up, for example when interrupted, stops the remaining chunks.
+        result.whenComplete((success, error) -> {
+            if (error != null) {
+                failed.set(true);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<Void> runLane(ProtectionRequest request, List<int[]> chunks, AtomicInteger next, AtomicBoolean failed, String jwtToken, String apiKey) {
+        int index = next.getAndIncrement();
+        if (index >= chunks.size() || failed.get()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int[] chunk = chunks.get(index);
+        return sendChunk(request, chunk[0], chunk[1], jwtToken, apiKey)
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    failed.set(true);
+                }
+            })
+            .thenCompose(ignored -> runLane(request, chunks, next, failed, jwtToken, apiKey));
+    }
+
+    private CompletableFuture<Void> sendChunk(ProtectionRequest request, int from, int to, String jwtToken, String apiKey) {
+        PayloadBuffer payload;
+        try {
+            payload = buildPayload(request, from, to);
+        } catch (ProtectorException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return sendPayloadAsync(request, jwtToken, apiKey, payload)
+            .handle((response, error) -> {
+                if (error == null) {
+                    try {
+                        if (writeResults(request, response, from, to)) {
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+                    } catch (ProtectorException e) {
+                        return CompletableFuture.<Void>failedFuture(e);
+                    }
+                    logger.debug("Chunk of {} values rejected by the service, retrying in halves", to - from);
+                    return sendHalves(request, from, to, jwtToken, apiKey);
+                }
+                ProtectorException cause = toProtectorException(error);
+                if (cause.getErrorCode() != ErrorMapper.PAYLOAD_TOO_LARGE || to - from < 2) {
+                    return CompletableFuture.<Void>failedFuture(cause);
+                }
+                logger.debug("Chunk of {} values rejected as too large, splitting", to - from);
+                return sendHalves(request, from, to, jwtToken, apiKey);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Void> sendHalves(ProtectionRequest request, int from, int to, String jwtToken, String apiKey) {
+        int middle = (from + to) >>> 1;
+        return sendChunk(request, from, middle, jwtToken, apiKey)
+            .thenCompose(ignored -> sendChunk(request, middle, to, jwtToken, apiKey));
+    }
+
+    private PayloadBuffer buildPayload(ProtectionRequest request, int from, int to) throws ProtectorException {
+        PayloadBuffer out = serializePayload(request, from, to);
+        return compressor == null ? out : compressor.compress(out, bufferPool);
+    }
+
+    private PayloadBuffer serializePayload(ProtectionRequest request, int from, int to) throws ProtectorException {
+        PayloadBuffer out = bufferPool.acquire();
+        try {
+            if (request.isReprotect()) {
+                writeReprotectPayload(out, request.getUser(), request.getDataElementName(), request.getOldDataElementName(),
+                    request.getPayloadValues(), from, to, request.getExternalIv(), request.getOldExternalIv(), request.getEncoding());
+            } else {
+                writeProtectPayload(out, request.getUser(), request.getDataElementName(), request.getPayloadValues(), from, to,
+                    request.getExternalIv(), request.getEncoding());
+            }
+        } catch (ProtectorException | RuntimeException e) {
+            bufferPool.release(out);
+            throw e;
+        }
+        return out;
+    }
+
+    /**
+     * Decodes the response for the values in {@code [from, to)} straight into the request output.
+     *
+     * <p>Failures are checked in the order of {@link #readResults(SessionObject, String, String)}
+     * followed by {@link #convertResults(String[], Class, String)}, so the errors raised are the
+     * same as when the response is parsed as a whole.
+     *
+     * <p>For a request tracking {@link PartialResults} neither a failure reported by the service
+     * nor a result that cannot be converted is thrown. Results that cannot be converted are
+     * recorded one by one. If the service rejected several values and the retry budget of the
+     * call allows, false is returned so that they are sent again in halves; otherwise all of them
+     * are recorded as failed.
+     *
+     * @return false if the values have to be sent again in halves
+     */
+    private boolean writeResults(ProtectionRequest request, TransportResponse response, int from, int to) throws ProtectorException {
+        PartialResults partialResults = request.getPartialResults();
+        ResultDecoder decoder = new ResultDecoder(request.getOutput(), request.getOutputOffset(), request.getOutputEnd(), from,
+            request.getWireResults(), request.getEncoding(), partialResults);
+        try {
+            decoder.decode(response.getBodyStream());
+        } catch (IOException e) {
+            ErrorMapper.ErrorDetail detail = ErrorMapper.getErrorDetail(e.getMessage());
+            throw new ProtectorException(detail.getErrorMessage());
+        }
+        if (decoder.getEncoding() != null && !decoder.getEncoding().equals(request.getEncoding())) {
+            ErrorMapper.ErrorDetail detail = ErrorMapper.getErrorDetail("Unsupported algorithm or unsupported action for the specific data element.");
+            throw new ProtectorException(detail.getErrorMessage());
+        }
+        if (!decoder.isSuccess()) {
+            String errorMessage = decoder.getErrorMessage() != null ? decoder.getErrorMessage() : "Unknown error";
+            ErrorMapper.ErrorDetail detail = ErrorMapper.getErrorDetail(errorMessage);
+            if (partialResults != null) {
+                if (to - from > 1 && partialResults.tryRetry(2)) {
+                    return false;
+                }
+                partialResults.fail(from, to, detail.getErrorCode(), detail.getErrorMessage());
+                return true;
+            }
+            saveResultInSession(request.getSession(), null, detail.getErrorMessage(), detail.getErrorCode());
+            // Mapped a second time as readResults does when rethrowing.
+            throw new ProtectorException(ErrorMapper.getErrorDetail(detail.getErrorMessage()).getErrorMessage());
+        }
+        if (decoder.getConversionError() != null) {
+            ErrorMapper.ErrorDetail detail = ErrorMapper.getErrorDetail(decoder.getConversionError().getMessage());
+            throw new ProtectorException(detail.getErrorMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Waits for a future on the calling thread. If the thread is interrupted the future is
+     * cancelled, which stops chunks not yet sent, and the interrupt status is restored.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws ProtectorException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw toProtectorException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ProtectorException("Interrupted while waiting for the protection request");
+        }
+    }
+
+    private static ProtectorException toProtectorException(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ProtectorException) {
+            return (ProtectorException) cause;
+        }
+        return new ProtectorException("Error during API request: " + cause.getMessage());
+    }
 
     public ParseResult parseResultsToOutput( SessionObject sessionObj, String jsonResponse, Class<?> targetType, String encodingType) throws ProtectorException {
+        String[] stringResults = readResults(sessionObj, jsonResponse, encodingType);
+        return new ParseResult(true, convertResults(stringResults, targetType, encodingType));
+    }
+
+    /**
+     * Reads the results of a successful response in their wire representation, that is Base64 or
+     * UTF-8 text as selected by the request encoding.
+     * 
+     * @param sessionObj the session the last error is recorded in
+     * @param jsonResponse the response body
+     * @param encodingType the encoding of the request
+     * @return the results as sent by the service
+     * @throws ProtectorException if the response reports a failure or cannot be parsed
+     */
+    String[] readResults(SessionObject sessionObj, String jsonResponse, String encodingType) throws ProtectorException {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(jsonResponse);
+            JsonNode rootNode = MAPPER.readTree(jsonResponse);
 
             // Extract results as String[]
             String[] stringResults = new String[0];
@@ -249,7 +996,6 @@ public class CoreproviderAdapter {
                 }
             }
 
-            Object convertedArray;
             boolean success = rootNode.has("success") && rootNode.get("success").asBoolean();
            
             if (!success) {
@@ -266,7 +1012,26 @@ public class CoreproviderAdapter {
             // Throw exception immediately
             throw new ProtectorException(finalErrorMessage);
             }
+            return stringResults;
 
+        } catch (Exception e) {
+            ErrorMapper.ErrorDetail detail = ErrorMapper.getErrorDetail(e.getMessage());
+            throw new ProtectorException(detail.getErrorMessage());
+        }
+    }
+
+    /**
+     * Converts results in their wire representation to an array of the target type.
+     * 
+     * @param stringResults the results as returned by {@link #readResults(SessionObject, String, String)}
+     * @param targetType the array type of the caller's output
+     * @param encodingType the encoding of the request
+     * @return the converted array
+     * @throws ProtectorException if a result cannot be converted
+     */
+    Object convertResults(String[] stringResults, Class<?> targetType, String encodingType) throws ProtectorException {
+        try {
+            Object convertedArray;
             if (targetType == null || targetType.equals(String[].class)) {
                 String[] stringResult;
                 if (encodingType.equals("base64")) {
@@ -373,7 +1138,7 @@ public class CoreproviderAdapter {
             else {
                 throw new IllegalArgumentException("Unsupported target type: " + targetType);
             }
-            return new ParseResult(success, convertedArray);
+            return convertedArray;
 
         } catch (Exception e) {
             ErrorMapper.ErrorDetail detail = ErrorMapper.getErrorDetail(e.getMessage());
@@ -382,6 +1147,118 @@ public class CoreproviderAdapter {
     }
   
 
+    /**
+     * Warms the adapter up ahead of the first calls.
+     * 
+     * <p>Opens {@link ProtectorConfig#getWarmUpConnections()} connections to every endpoint, which
+     * resolves their host names and performs the TLS handshakes. Meanwhile the serializer and the
+     * response decoder run {@value #WARM_UP_ROUNDS} times over synthetic values of every supported
+     * array type, so that their classes are loaded and their type dispatch is compiled before real
+     * calls depend on it. Nothing is sent to the protection API.
+     * 
+     * @return a future completed when both are done, or exceptionally with the first failure
+     */
+    CompletableFuture<Void> warmUp() {
+        CompletableFuture<Void> connections = transport.warmUp(config.getEndpoint(), config.getWarmUpConnections());
+        CompletableFuture<Void> codecs = CompletableFuture.runAsync(() -> {
+            try {
+                warmUpCodecs(WARM_UP_ROUNDS);
+            } catch (ProtectorException e) {
+                throw new CompletionException(e);
+            }
+        }, runnable -> {
+            Thread thread = new Thread(runnable, "protector-warm-up-" + WARM_UP_THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        });
+        return CompletableFuture.allOf(connections, codecs);
+    }
+
+    /**
+     * Serializes synthetic protect and reprotect requests of every supported array type and decodes
+     * an echo of their values as response, exactly as real calls do.
+     */
+    void warmUpCodecs(int rounds) throws ProtectorException {
+        Object[] inputs = warmUpInputs();
+        for (int round = 0; round < rounds; round++) {
+            boolean reprotect = round % 2 == 1;
+            for (Object input : inputs) {
+                String encoding = input instanceof byte[][] ? "base64" : "utf8";
+                Object output = Array.newInstance(input.getClass().getComponentType(), Array.getLength(input));
+                ProtectionRequest request = new ProtectionRequest(reprotect ? "reprotect" : "protect", null, "warm-up",
+                    "warm-up", reprotect ? "warm-up" : null, null, null, encoding, PayloadValues.of(input, encoding), output);
+                bufferPool.release(serializePayload(request, 0, request.size()));
+                writeResults(request, warmUpResponse(request), 0, request.size());
+            }
+        }
+    }
+
+    private static Object[] warmUpInputs() {
+        String[] strings = new String[WARM_UP_VALUES];
+        short[] shorts = new short[WARM_UP_VALUES];
+        int[] ints = new int[WARM_UP_VALUES];
+        long[] longs = new long[WARM_UP_VALUES];
+        float[] floats = new float[WARM_UP_VALUES];
+        double[] doubles = new double[WARM_UP_VALUES];
+        char[][] chars = new char[WARM_UP_VALUES][];
+        byte[][] bytes = new byte[WARM_UP_VALUES][];
+        Date[] dates = new Date[WARM_UP_VALUES];
+        for (int i = 0; i < WARM_UP_VALUES; i++) {
+            strings[i] = "warm-up \"" + i + "\" \u00e9";
+            shorts[i] = (short) i;
+            ints[i] = i * 65_537;
+            longs[i] = i * 4_294_967_311L;
+            floats[i] = i + 0.5f;
+            doubles[i] = i / 3.0;
+            chars[i] = strings[i].toCharArray();
+            bytes[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            dates[i] = new Date(i * 86_400_123L);
+        }
+        return new Object[] {strings, shorts, ints, longs, floats, doubles, chars, bytes, dates};
+    }
+
+    private static TransportResponse warmUpResponse(ProtectionRequest request) {
+        PayloadBuffer out = new PayloadBuffer(256);
+        writeField(out, "{\"encoding\": ", request.getEncoding());
+        out.writeAscii(",\"success\": true,\"results\": [");
+        for (int i = 0; i < request.size(); i++) {
+            if (i > 0) {
+                out.writeByte(',');
+            }
+            request.getPayloadValues().write(out, i);
+        }
+        out.writeAscii("]}");
+        return new TransportResponse(200, Collections.emptyMap(), Arrays.copyOf(out.array(), out.length()));
+    }
+
+    /**
+     * Returns a snapshot of the token cache statistics.
+     * 
+     * @return the statistics, all zero if the token cache is disabled
+     */
+    public TokenCacheStats getTokenCacheStats() {
+        return tokenCache == null ? new TokenCacheStats(0, 0, 0, 0, 0) : tokenCache.getStats();
+    }
+
+    /**
+     * Returns a snapshot of the request compression statistics.
+     * 
+     * @return the statistics, all zero if compression is disabled
+     */
+    public CompressionStats getCompressionStats() {
+        return compressor == null ? new CompressionStats(0, 0, 0, 0, 0) : compressor.getStats();
+    }
+
+    /**
+     * Returns a snapshot of the concurrency limiter statistics.
+     * 
+     * @return the statistics, all zero if the concurrency limiter is disabled
+     */
+    public ConcurrencyLimiterStats getConcurrencyLimiterStats() {
+        ConcurrencyLimiterStats stats = transport.getConcurrencyLimiterStats();
+        return stats == null ? new ConcurrencyLimiterStats(0, 0, 0, 0) : stats;
+    }
+
     public String getVersion() {
         return "1.0.1";
     }
@@ -393,6 +1270,20 @@ public class CoreproviderAdapter {
     public void flush() throws ProtectorException {
         return;
     }
+
+    /**
+     * Closes the transport used by this adapter.
+     */
+    @Override
+    public void close() {
+        if (hedger != null) {
+            hedger.close();
+        }
+        if (compressor != null) {
+            compressor.close();
+        }
+        transport.close();
+    }
  
 
     private void saveResultInSession(SessionObject session, int[] errorList, String errorMessage, int errorCode) throws ProtectorException {
@@ -0,0 +1,118 @@
+package com.protegrity.ap.java;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP transport used by {@link CoreproviderAdapter} to reach the Core Provider API.
+ *
+ * <p>Implementations are long-lived, thread-safe and own their connections until
+ * {@link #close()} is called. The implementation is selected with
+ * {@link ProtectorConfig#getTransportType()}.
+ *
+ * @since 1.0.1
+ */
+interface CoreproviderTransport extends Closeable {
+
+    /**
+     * Sends a request and waits for the complete response.
+     *
+     * @param request the request to send
+     * @return the response
+     * @throws IOException if the request cannot be sent or the response cannot be read
+     */
+    TransportResponse send(TransportRequest request) throws IOException;
+
+    /**
+     * Sends a request without blocking the calling thread.
+     *
+     * @param request the request to send
+     * @return a future completed with the response, or exceptionally with the I/O failure;
+     *         cancelling it aborts the exchange where the underlying client supports it
+     */
+    CompletableFuture<TransportResponse> sendAsync(TransportRequest request);
+
+    /**
+     * Resolves the host of an endpoint and opens connections to it ahead of the first requests,
+     * so that they do not pay for DNS lookups and TCP and TLS handshakes.
+     *
+     * @param endpoint the base URL of the endpoint, see {@link ProtectorConfig#getEndpoint()}
+     * @param connections the number of connections to open, transports multiplexing requests
+     *        over a single connection open one
+     * @return a future completed when the connections are open, or exceptionally with the I/O failure
+     */
+    default CompletableFuture<Void> warmUp(String endpoint, int connections) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Returns the statistics of the concurrency limiter in this transport chain.
+     *
+     * @return the statistics, or null if requests are not limited
+     */
+    default ConcurrencyLimiterStats getConcurrencyLimiterStats() {
+        return null;
+    }
+
+    /**
+     * Releases all connections and threads held by the transport.
+     */
+    @Override
+    void close();
+
+    /**
+     * Creates the transport selected by the configuration, a {@link LoadBalancingTransport} over
+     * one such transport per endpoint if {@link ProtectorConfig#getEndpoints()} lists several. It
+     * is wrapped in a {@link ConcurrencyLimitedTransport} if
+     * {@link ProtectorConfig#getMaxConcurrentRequests()} is set, and outside of that in a
+     * {@link ResilientTransport} unless both retries and the circuit breaker are disabled, so that a
+     * request waiting to be retried holds no concurrency slot.
+     *
+     * @param config the client configuration
+     * @return a new transport
+     */
+    static CoreproviderTransport create(ProtectorConfig config) {
+        CoreproviderTransport transport;
+        if (config.getEndpoints().size() > 1) {
+            transport = new LoadBalancingTransport(config, endpoint -> createBase(config));
+        } else {
+            transport = createBase(config);
+        }
+        if (config.getMaxConcurrentRequests() > 0) {
+            transport = new ConcurrencyLimitedTransport(transport, config);
+        }
+        if (config.getMaxRetries() == 0 && config.getCircuitBreakerFailureThreshold() == 0) {
+            return transport;
+        }
+        return new ResilientTransport(transport, config);
+    }
+
+    /**
+     * Cancels the future of a wrapped transport when the future a decorator returned for it is
+     * cancelled, so that a caller giving up on a request aborts the exchange and frees the
+     * connection and slot it holds instead of only ignoring its outcome.
+     *
+     * @param result the future returned to the caller
+     * @param sent the future of the wrapped transport
+     * @return the result
+     */
+    static <T> CompletableFuture<T> propagateCancellation(CompletableFuture<T> result, CompletableFuture<?> sent) {
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static CoreproviderTransport createBase(ProtectorConfig config) {
+        switch (config.getTransportType()) {
+            case HTTP_2:
+                return new JdkHttpTransport(config);
+            case HTTP_1_1:
+            default:
+                return new PooledHttpTransport(config);
+        }
+    }
+}
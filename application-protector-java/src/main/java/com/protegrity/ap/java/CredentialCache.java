@@ -0,0 +1,181 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk cache of the JWT, so that a new JVM can skip the login while the last token is valid.
+ *
+ * <p>The token is stored in {@link ProtectorConfig#getCredentialCacheDirectory()} in a file named
+ * after a SHA-256 hash of the API key and email, so different accounts never share an entry. It is
+ * encrypted with AES-GCM under a key derived from email, password and API key with PBKDF2 and a
+ * random salt, so the file is useless without the credentials and tampering is detected.
+ *
+ * <p>The cache is an optimization only: unreadable, undecryptable or expired entries are ignored
+ * and failures to write are logged, never raised.
+ *
+ * @since 1.0.1
+ */
+final class CredentialCache {
+    private static final Logger logger = LoggerFactory.getLogger(CredentialCache.class);
+    private static final byte[] MAGIC = {'P', 'J', 'C', '1'};
+    private static final int SALT_LENGTH = 16;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int KEY_ITERATIONS = 10_000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Path file;
+    private final char[] secret;
+
+    /**
+     * Creates the cache for the credentials of a configuration.
+     *
+     * @param directory the cache directory
+     * @param email the user email address
+     * @param password the user password
+     * @param apiKey the API key
+     */
+    CredentialCache(Path directory, String email, String password, String apiKey) {
+        this.file = directory.resolve(hex(sha256(apiKey + '\u0000' + email)) + ".jwt");
+        this.secret = (email + '\u0000' + password + '\u0000' + apiKey).toCharArray();
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the cached token if it is valid for at least {@code minValidityMillis}.
+     *
+     * @param minValidityMillis the remaining validity required
+     * @return the token, or null if there is no usable entry
+     */
+    String load(long minValidityMillis) {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.debug("Cannot read credential cache {}: {}", file, e.getMessage());
+            return null;
+        }
+        String token;
+        try {
+            token = decrypt(content);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            logger.debug("Ignoring credential cache {}: {}", file, e.getMessage());
+            return null;
+        }
+        // Tokens without an expiry cannot be checked and are never reused.
+        long expiresAt = TokenManager.expiresAtMillis(token);
+        if (expiresAt == Long.MAX_VALUE || expiresAt - System.currentTimeMillis() < minValidityMillis) {
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Replaces the cached token.
+     *
+     * @param token the token to cache
+     */
+    void store(String token) {
+        try {
+            byte[] content = encrypt(token);
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                restrictToOwner(temp);
+                Files.write(temp, content);
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            logger.warn("Cannot write credential cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    private byte[] encrypt(String token) throws GeneralSecurityException {
+        byte[] salt = new byte[SALT_LENGTH];
+        byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(salt);
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, deriveKey(salt), new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(MAGIC);
+        byte[] encrypted = cipher.doFinal(token.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.allocate(MAGIC.length + SALT_LENGTH + IV_LENGTH + encrypted.length)
+            .put(MAGIC).put(salt).put(iv).put(encrypted).array();
+    }
+
+    private String decrypt(byte[] content) throws GeneralSecurityException {
+        if (content.length <= MAGIC.length + SALT_LENGTH + IV_LENGTH
+                || !Arrays.equals(Arrays.copyOf(content, MAGIC.length), MAGIC)) {
+            throw new GeneralSecurityException("Unknown format");
+        }
+        byte[] salt = Arrays.copyOfRange(content, MAGIC.length, MAGIC.length + SALT_LENGTH);
+        int ivStart = MAGIC.length + SALT_LENGTH;
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, deriveKey(salt), new GCMParameterSpec(TAG_BITS, content, ivStart, IV_LENGTH));
+        cipher.updateAAD(MAGIC);
+        int dataStart = ivStart + IV_LENGTH;
+        return new String(cipher.doFinal(content, dataStart, content.length - dataStart), StandardCharsets.UTF_8);
+    }
+
+    private SecretKeySpec deriveKey(byte[] salt) throws GeneralSecurityException {
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        byte[] key = factory.generateSecret(new PBEKeySpec(secret, salt, KEY_ITERATIONS, 256)).getEncoded();
+        return new SecretKeySpec(key, "AES");
+    }
+
+    private static void restrictToOwner(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system, the directory permissions apply
+        }
+    }
+
+    private static byte[] sha256(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
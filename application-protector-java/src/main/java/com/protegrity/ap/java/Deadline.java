@@ -0,0 +1,112 @@
+package com.protegrity.ap.java;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which a call must complete.
+ *
+ * <p>A deadline is fixed when a call starts, from the {@link CallOptions} attached to the calling
+ * thread and {@link ProtectorConfig#getCallTimeoutMillis()}, and travels with the call's
+ * {@link ProtectionRequest} and every {@link TransportRequest} sent for it. Chunks, retries, hedged
+ * copies and the waits for the rate and concurrency limiters therefore share one budget instead of
+ * each getting a fresh timeout. A null deadline stands for none.
+ *
+ * @since 1.0.1
+ */
+final class Deadline {
+    private final long expiresAt;
+    private final long timeoutMillis;
+
+    private Deadline(long expiresAt, long timeoutMillis) {
+        this.expiresAt = expiresAt;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Returns a deadline the given time from now.
+     *
+     * @param timeout the time until the deadline
+     * @param unit the unit of the timeout
+     * @return the deadline
+     */
+    static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout), unit.toMillis(timeout));
+    }
+
+    /**
+     * Returns the deadline of a call starting now: the earlier of the deadline attached to the
+     * calling thread and the given timeout.
+     *
+     * @param timeoutMillis the timeout of every call, 0 for none
+     * @return the deadline, or null if the call has none
+     */
+    static Deadline forCall(long timeoutMillis) {
+        Deadline timeout = timeoutMillis > 0 ? after(timeoutMillis, TimeUnit.MILLISECONDS) : null;
+        return earliest(CallOptions.currentDeadline(), timeout);
+    }
+
+    /**
+     * Returns the earlier of two deadlines, either of which may be null.
+     */
+    static Deadline earliest(Deadline a, Deadline b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.expiresAt - b.expiresAt <= 0 ? a : b;
+    }
+
+    /**
+     * Returns the later of two deadlines, or null if either is null and so never expires.
+     */
+    static Deadline latest(Deadline a, Deadline b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        return a.expiresAt - b.expiresAt >= 0 ? a : b;
+    }
+
+    long remainingNanos() {
+        return Math.max(0L, expiresAt - System.nanoTime());
+    }
+
+    /**
+     * Returns the remaining time rounded up to whole milliseconds, so that it is 0 only once the
+     * deadline has passed.
+     */
+    long remainingMillis() {
+        return (remainingNanos() + 999_999L) / 1_000_000L;
+    }
+
+    boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Returns the exception reporting that this deadline has passed.
+     */
+    DeadlineExceededException exceeded() {
+        return new DeadlineExceededException("Call did not complete within its deadline of " + timeoutMillis + " ms");
+    }
+
+    /**
+     * Runs an action when this deadline passes, unless the future completes first. The action
+     * runs on the common pool, never on the thread completing the future.
+     *
+     * @param future the future the deadline applies to
+     * @param action the action, typically completing the future exceptionally
+     */
+    void whenExpired(CompletableFuture<?> future, Runnable action) {
+        if (future.isDone()) {
+            return;
+        }
+        CompletableFuture<Void> timer = new CompletableFuture<Void>()
+            .completeOnTimeout(null, remainingNanos(), TimeUnit.NANOSECONDS);
+        timer.thenRunAsync(action);
+        // Cancelling the timer also removes its scheduled task.
+        future.whenComplete((result, error) -> timer.cancel(false));
+    }
+}
@@ -0,0 +1,20 @@
+package com.protegrity.ap.java;
+
+/**
+ * Raised when the deadline of a call passes before its request could be sent or answered. An
+ * exchange in flight at that moment is aborted.
+ *
+ * @since 1.0.1
+ */
+final class DeadlineExceededException extends RejectedRequestException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new DeadlineExceededException.
+     *
+     * @param message the description of the deadline
+     */
+    DeadlineExceededException(String message) {
+        super(ErrorMapper.DEADLINE_EXCEEDED, message);
+    }
+}
@@ -0,0 +1,127 @@
+package com.protegrity.ap.java;
+
+import java.lang.reflect.Array;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The distinct non-null values of a {@link ProtectionRequest} and where each one occurs.
+ *
+ * <p>Values are compared in their wire representation, so the same number, text, byte sequence or
+ * date maps to one entry whatever array type it came from. {@link #fanOut()} copies the result of
+ * each distinct value to every position of the original output holding it. Mutable elements
+ * ({@code char[]}, {@code byte[]}, {@link Date}) are copied so that positions never share an
+ * instance.
+ *
+ * @since 1.0.1
+ */
+final class DistinctValues {
+    private static final int NULL_POSITION = -1;
+
+    private final ProtectionRequest original;
+    private final ProtectionRequest distinct;
+    private final int[] positions;
+
+    private DistinctValues(ProtectionRequest original, ProtectionRequest distinct, int[] positions) {
+        this.original = original;
+        this.distinct = distinct;
+        this.positions = positions;
+    }
+
+    /**
+     * Collects the distinct non-null values of a request.
+     *
+     * @param request the request to deduplicate
+     * @return the distinct values, or null if the request has no duplicate or null values
+     */
+    static DistinctValues of(ProtectionRequest request) {
+        String[] values = request.getValues();
+        Map<String, Integer> indexes = new HashMap<>();
+        int[] positions = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                positions[i] = NULL_POSITION;
+            } else {
+                Integer index = indexes.putIfAbsent(values[i], indexes.size());
+                positions[i] = index == null ? indexes.size() - 1 : index;
+            }
+        }
+        if (indexes.size() == values.length) {
+            return null;
+        }
+
+        String[] distinctValues = new String[indexes.size()];
+        for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+            distinctValues[entry.getValue()] = entry.getKey();
+        }
+        Object distinctOutput = Array.newInstance(request.getOutput().getClass().getComponentType(), distinctValues.length);
+        String[] distinctWireResults = request.getWireResults() == null ? null : new String[distinctValues.length];
+        ProtectionRequest distinct = request.withValues(distinctValues, distinctOutput, distinctWireResults);
+        return new DistinctValues(request, distinct, positions);
+    }
+
+    /**
+     * Returns the request sending each distinct value once.
+     *
+     * @return the deduplicated request
+     */
+    ProtectionRequest getRequest() {
+        return distinct;
+    }
+
+    /**
+     * Copies the results of the deduplicated request to every position of the original output,
+     * and the failures of single values to every position of the original request holding them.
+     */
+    void fanOut() {
+        PartialResults partialResults = distinct.getPartialResults();
+        if (partialResults != null) {
+            for (int i = 0; i < positions.length; i++) {
+                if (positions[i] != NULL_POSITION) {
+                    partialResults.copyTo(positions[i], original.getPartialResults(), i);
+                }
+            }
+        }
+        Object source = distinct.getOutput();
+        Object target = original.getOutput();
+        int base = original.getOutputOffset();
+        int length = Math.min(positions.length, original.getOutputEnd() - base);
+        String[] wireResults = original.getWireResults();
+        if (wireResults != null) {
+            for (int i = 0; i < Math.min(positions.length, wireResults.length); i++) {
+                wireResults[i] = positions[i] == NULL_POSITION ? null : distinct.getWireResults()[positions[i]];
+            }
+        }
+        if (target instanceof byte[][]) {
+            byte[][] from = (byte[][]) source;
+            byte[][] to = (byte[][]) target;
+            for (int i = 0; i < length; i++) {
+                to[base + i] = positions[i] == NULL_POSITION || from[positions[i]] == null ? null : from[positions[i]].clone();
+            }
+        } else if (target instanceof char[][]) {
+            char[][] from = (char[][]) source;
+            char[][] to = (char[][]) target;
+            for (int i = 0; i < length; i++) {
+                to[base + i] = positions[i] == NULL_POSITION || from[positions[i]] == null ? null : from[positions[i]].clone();
+            }
+        } else if (target instanceof Date[]) {
+            Date[] from = (Date[]) source;
+            Date[] to = (Date[]) target;
+            for (int i = 0; i < length; i++) {
+                to[base + i] = positions[i] == NULL_POSITION || from[positions[i]] == null ? null : (Date) from[positions[i]].clone();
+            }
+        } else if (target instanceof Object[]) {
+            Object[] from = (Object[]) source;
+            Object[] to = (Object[]) target;
+            for (int i = 0; i < length; i++) {
+                to[base + i] = positions[i] == NULL_POSITION ? null : from[positions[i]];
+            }
+        } else {
+            // Primitive arrays never hold null values.
+            for (int i = 0; i < length; i++) {
+                System.arraycopy(source, positions[i], target, base + i, 1);
+            }
+        }
+    }
+}
@@ -13,6 +13,47 @@ import java.util.Map;
  * @since 1.0.1
  */
 public class ErrorMapper {
+    /**
+     * Error code raised by the client when the service rejects a request as too large to process.
+     */
+    public static final int PAYLOAD_TOO_LARGE = 60;
+
+    /**
+     * Error code raised by the client when the service rejects the JWT or API key of a request.
+     */
+    public static final int UNAUTHORIZED = 61;
+
+    /**
+     * Error code raised by the client when a request fails fast because the circuit of its
+     * endpoint is open after repeated failures.
+     */
+    public static final int CIRCUIT_OPEN = 62;
+
+    /**
+     * Error code raised by the client when a request is not sent because the adaptive limit of
+     * concurrent requests is reached and no slot became free in time.
+     */
+    public static final int CONCURRENCY_LIMIT_EXCEEDED = 63;
+
+    /**
+     * Error code raised when a request exceeds the request quota of the API key, either on the
+     * service, which answered 429, or already on the client by its rate limiter.
+     */
+    public static final int RATE_LIMITED = 64;
+
+    /**
+     * Error code raised by the client when a call does not complete before its deadline, see
+     * {@link ProtectorConfig#getCallTimeoutMillis()} and {@link CallOptions}.
+     */
+    public static final int DEADLINE_EXCEEDED = 65;
+
+    /**
+     * Error code raised by the client for a value whose result cannot be converted to the type of
+     * the output, for example a number out of the range of a {@code short}. Reported per value in
+     * {@link ProtectorException#getErrorList()} with {@link ProtectorConfig#isPartialResultsEnabled()}.
+     */
+    public static final int RESULT_CONVERSION_FAILED = 66;
+
     /**
      * Static mapping of error messages to error codes and descriptions.
      */
@@ -0,0 +1,251 @@
+package com.protegrity.ap.java;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Sends a second copy of a slow request and uses whichever response arrives first.
+ *
+ * <p>The latencies of the last {@value #WINDOW} successful requests are kept and the
+ * {@link ProtectorConfig#getHedgingPercentile() configured percentile} of them is the hedging delay.
+ * A request still outstanding after that delay is sent again; the first successful response
+ * completes the call and the other attempt is cancelled, which aborts its exchange. A failure, or a
+ * 429, 502, 503 or 504 response, is only reported once no attempt can succeed any more. Until {@value #MIN_SAMPLES} latencies have been observed no request is
+ * hedged.
+ *
+ * <p>Each request sent earns {@link ProtectorConfig#getHedgingBudgetPercent()} percent of a hedge
+ * and each hedge spends a whole one, so hedging never adds more than that share of extra requests.
+ * Unused budget accumulates up to {@value #MAX_BURST} hedges.
+ *
+ * <p>Only requests that yield the same result when sent twice may be hedged.
+ *
+ * @since 1.0.1
+ */
+final class Hedger implements Closeable {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    static final int WINDOW = 1024;
+    static final int MIN_SAMPLES = 20;
+    static final int MAX_BURST = 10;
+    private static final int RECOMPUTE_INTERVAL = 32;
+    private static final long HEDGE_COST = 100;
+
+    private final int percentile;
+    private final int budgetPercent;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicLong budget = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    private final long[] samples = new long[WINDOW];
+    private int sampleCount;
+    private int nextSample;
+    private int sinceRecompute;
+    private volatile long delayNanos = -1L;
+
+    /**
+     * Creates a hedger with the percentile and budget of the configuration.
+     *
+     * @param config the client configuration
+     */
+    Hedger(ProtectorConfig config) {
+        this.percentile = config.getHedgingPercentile();
+        this.budgetPercent = config.getHedgingBudgetPercent();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "protector-hedge-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most timers are cancelled because the request completed in time, do not keep them queued.
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Sends a request, and a second time if it is slow and the budget allows.
+     *
+     * @param request the request
+     * @param sender sends one attempt of the request
+     * @return a future completed with the first successful response, or with the outcome of the
+     *         first attempt to fail if all attempts failed
+     */
+    CompletableFuture<TransportResponse> send(TransportRequest request,
+            Function<TransportRequest, CompletableFuture<TransportResponse>> sender) {
+        earn();
+        Race race = new Race(request, sender);
+        race.launch();
+        long delay = delayNanos;
+        if (delay >= 0 && !race.result.isDone()) {
+            try {
+                race.setTimer(scheduler.schedule(race::hedge, delay, TimeUnit.NANOSECONDS));
+            } catch (RejectedExecutionException e) {
+                // Closed, the request is simply not hedged
+            }
+        }
+        return race.result;
+    }
+
+    /**
+     * Returns the current hedging delay.
+     *
+     * @return the delay in milliseconds, or -1 while too few latencies have been observed
+     */
+    long getDelayMillis() {
+        long delay = delayNanos;
+        return delay < 0 ? -1L : TimeUnit.NANOSECONDS.toMillis(delay);
+    }
+
+    /**
+     * Returns the number of hedged requests sent.
+     */
+    long getHedgeCount() {
+        return hedges.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Records the latency of a successful attempt and periodically recomputes the delay.
+     */
+    synchronized void record(long nanos) {
+        samples[nextSample] = nanos;
+        nextSample = (nextSample + 1) % WINDOW;
+        if (sampleCount < WINDOW) {
+            sampleCount++;
+        }
+        if (sampleCount < MIN_SAMPLES || (++sinceRecompute < RECOMPUTE_INTERVAL && delayNanos >= 0)) {
+            return;
+        }
+        sinceRecompute = 0;
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sampleCount) - 1;
+        delayNanos = sorted[Math.max(0, Math.min(sampleCount - 1, index))];
+    }
+
+    private void earn() {
+        long limit = MAX_BURST * HEDGE_COST;
+        budget.getAndUpdate(current -> Math.min(limit, current + budgetPercent));
+    }
+
+    private boolean spend() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - HEDGE_COST));
+        return true;
+    }
+
+    /**
+     * The attempts of one request racing for the result.
+     */
+    private final class Race {
+        final CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        private final TransportRequest request;
+        private final Function<TransportRequest, CompletableFuture<TransportResponse>> sender;
+        private final List<CompletableFuture<TransportResponse>> attempts = new ArrayList<>(2);
+        private Future<?> timer;
+        private int outstanding;
+        private boolean hedgeSent;
+        private Throwable failure;
+        private TransportResponse failedResponse;
+
+        Race(TransportRequest request, Function<TransportRequest, CompletableFuture<TransportResponse>> sender) {
+            this.request = request;
+            this.sender = sender;
+        }
+
+        void launch() {
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                outstanding++;
+            }
+            long start = System.nanoTime();
+            CompletableFuture<TransportResponse> attempt = sender.apply(request);
+            synchronized (this) {
+                attempts.add(attempt);
+            }
+            if (result.isDone()) {
+                attempt.cancel(true);
+            }
+            attempt.whenComplete((response, error) -> finish(response, error, start));
+        }
+
+        void hedge() {
+            synchronized (this) {
+                if (result.isDone() || hedgeSent || !spend()) {
+                    return;
+                }
+                hedgeSent = true;
+            }
+            hedges.incrementAndGet();
+            launch();
+        }
+
+        synchronized void setTimer(Future<?> timer) {
+            if (result.isDone()) {
+                timer.cancel(false);
+            } else {
+                this.timer = timer;
+            }
+        }
+
+        private void finish(TransportResponse response, Throwable error, long start) {
+            if (error == null && !ResilientTransport.isRetryable(response.getStatusCode())) {
+                // Recorded before completing, so the caller's next request already sees the sample.
+                if (!result.isDone()) {
+                    record(System.nanoTime() - start);
+                }
+                if (result.complete(response)) {
+                    cancelOthers();
+                }
+                return;
+            }
+            // An overloaded endpoint or a failure, the other attempt may still succeed.
+            TransportResponse reportedResponse;
+            Throwable reported;
+            synchronized (this) {
+                if (failure == null && failedResponse == null) {
+                    failure = error;
+                    failedResponse = response;
+                }
+                if (--outstanding > 0) {
+                    return;
+                }
+                reportedResponse = failedResponse;
+                reported = failure;
+            }
+            if (reported == null ? result.complete(reportedResponse) : result.completeExceptionally(reported)) {
+                cancelOthers();
+            }
+        }
+
+        private void cancelOthers() {
+            List<CompletableFuture<TransportResponse>> running;
+            synchronized (this) {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                running = new ArrayList<>(attempts);
+            }
+            for (CompletableFuture<TransportResponse> attempt : running) {
+                attempt.cancel(true);
+            }
+        }
+    }
+}
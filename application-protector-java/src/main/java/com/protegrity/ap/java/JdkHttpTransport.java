@@ -0,0 +1,207 @@
+package com.protegrity.ap.java;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * HTTP/2 transport built on {@link java.net.http.HttpClient}.
+ *
+ * <p>Concurrent requests to the same host are multiplexed as streams over a small number of
+ * connections instead of occupying one socket each. When the server does not negotiate HTTP/2
+ * through ALPN the client falls back to HTTP/1.1 on the same connection.
+ *
+ * <p>{@link #sendAsync(TransportRequest)} is fully non-blocking: no thread is held while a
+ * request is in flight.
+ *
+ * <p>The connection limits of {@link ProtectorConfig} do not apply to this transport; the connect
+ * timeout is used for connection establishment and the socket timeout bounds each response. For a
+ * request with a {@link Deadline} the response timeout is capped by the time remaining, and the
+ * timeout of such a request is reported as a {@link DeadlineExceededException}.
+ *
+ * <p>Unlike the Apache client of {@link PooledHttpTransport}, {@link HttpClient} does not handle
+ * content coding, so requests ask for gzip or deflate responses here and their bodies are
+ * decompressed before they are returned.
+ *
+ * @since 1.0.1
+ */
+final class JdkHttpTransport implements CoreproviderTransport {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    /**
+     * Creates the HTTP client described by the configuration.
+     *
+     * @param config the client configuration
+     */
+    JdkHttpTransport(ProtectorConfig config) {
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "protector-http2-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .executor(executor);
+        if (config.getConnectTimeoutMillis() > 0) {
+            builder.connectTimeout(Duration.ofMillis(config.getConnectTimeoutMillis()));
+        }
+        httpClient = builder.build();
+        requestTimeout = config.getSocketTimeoutMillis() > 0 ? Duration.ofMillis(config.getSocketTimeoutMillis()) : null;
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(toHttpRequest(request),
+                HttpResponse.BodyHandlers.ofByteArray());
+            return toTransportResponse(response);
+        } catch (HttpTimeoutException e) {
+            throw timeout(request, e);
+        } catch (InterruptedException e) {
+            // The client cancels the exchange of an interrupted send.
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request interrupted");
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(toHttpRequest(request),
+            HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<TransportResponse> sent = exchange.thenApply(response -> {
+            try {
+                return toTransportResponse(response);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+        // From Java 16 on, cancelling the future of the client aborts the exchange. Before, the
+        // exchange runs to its end and only its outcome is dropped.
+        CoreproviderTransport.propagateCancellation(sent, exchange);
+        if (request.getDeadline() == null) {
+            return sent;
+        }
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        sent.whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null) {
+                result.complete(response);
+            } else if (cause instanceof HttpTimeoutException) {
+                result.completeExceptionally(timeout(request, (HttpTimeoutException) cause));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+        return CoreproviderTransport.propagateCancellation(result, sent);
+    }
+
+    /**
+     * Reports the timeout of a request whose deadline has passed as exceeding the deadline.
+     */
+    private static IOException timeout(TransportRequest request, HttpTimeoutException e) {
+        Deadline deadline = request.getDeadline();
+        return deadline != null && deadline.isExpired() ? deadline.exceeded() : e;
+    }
+
+    /**
+     * Sends a {@code HEAD} request to the endpoint, which resolves the host and establishes the
+     * connection that later requests are multiplexed over. Its status does not matter.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(String endpoint, int connections) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(endpoint + "/"))
+            .method("HEAD", HttpRequest.BodyPublishers.noBody());
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding())
+            .thenApply(response -> null);
+    }
+
+    private HttpRequest toHttpRequest(TransportRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+            .POST(HttpRequest.BodyPublishers.ofByteArray(request.getBody(), 0, request.getBodyLength()))
+            .header("Accept-Encoding", "gzip, deflate");
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        Duration timeout = requestTimeout;
+        if (request.getDeadline() != null) {
+            Duration remaining = Duration.ofMillis(Math.max(1L, request.getDeadline().remainingMillis()));
+            timeout = timeout == null || remaining.compareTo(timeout) < 0 ? remaining : timeout;
+        }
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+        return builder.build();
+    }
+
+    private static TransportResponse toTransportResponse(HttpResponse<byte[]> response) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                headers.put(header.getKey(), header.getValue().get(0));
+            }
+        }
+        String contentEncoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        return new TransportResponse(response.statusCode(), headers, decode(response.body(), contentEncoding));
+    }
+
+    /**
+     * Decompresses a response body sent with a gzip or deflate {@code Content-Encoding}.
+     */
+    static byte[] decode(byte[] body, String contentEncoding) throws IOException {
+        if (body == null || body.length == 0) {
+            return body;
+        }
+        InputStream in;
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            in = new GZIPInputStream(new ByteArrayInputStream(body));
+        } else if ("deflate".equalsIgnoreCase(contentEncoding)) {
+            in = new InflaterInputStream(new ByteArrayInputStream(body));
+        } else {
+            return body;
+        }
+        try (InputStream decoded = in) {
+            return decoded.readAllBytes();
+        }
+    }
+
+    /**
+     * Returns the HTTP version negotiated for requests, used for diagnostics.
+     *
+     * @return the preferred HTTP version of the client
+     */
+    HttpClient.Version getVersion() {
+        return httpClient.version();
+    }
+
+    /**
+     * Stops the client threads. The connections are closed once the client becomes unreachable.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
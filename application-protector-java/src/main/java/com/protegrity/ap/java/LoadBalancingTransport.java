@@ -0,0 +1,300 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport that spreads requests across the gateways listed in
+ * {@link ProtectorConfig#getEndpoints()}.
+ *
+ * <p>Every endpoint has its own transport, and so its own pool of warm connections. A request is
+ * routed to the endpoint with the lowest cost, its latency estimate multiplied by its outstanding
+ * requests plus one. The estimate is a moving average that jumps up to slower responses at once and
+ * decays with a time constant of {@value #DECAY_SECONDS} seconds, so a slow gateway is avoided
+ * quickly and tried again once it has been idle for a while. With equal latencies this is
+ * least-outstanding-requests balancing.
+ *
+ * <p>Outliers are detected passively: after
+ * {@link ProtectorConfig#getOutlierEjectionFailureThreshold()} consecutive I/O errors or 5xx
+ * responses an endpoint is ejected for {@link ProtectorConfig#getOutlierEjectionMillis()} times its
+ * consecutive ejections. After that a single probe request is routed to it; its success re-admits the
+ * endpoint, its failure ejects it again. If every endpoint is ejected, requests go to the cheapest
+ * one anyway rather than failing without trying. Requests refused without sending them, see
+ * {@link RejectedRequestException}, and requests the caller abandoned count neither way.
+ *
+ * <p>Requests are addressed to {@link ProtectorConfig#getEndpoint()} by the layers above and
+ * rewritten to the chosen endpoint here, so retries and circuit breaking in
+ * {@link ResilientTransport} apply to the endpoints as a whole while a retried request may fail
+ * over to another gateway.
+ *
+ * @since 1.0.1
+ */
+final class LoadBalancingTransport implements CoreproviderTransport {
+    private static final Logger logger = LoggerFactory.getLogger(LoadBalancingTransport.class);
+    static final int DECAY_SECONDS = 10;
+    static final int MAX_EJECTION_MULTIPLIER = 10;
+    private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(DECAY_SECONDS);
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String primary;
+    private final List<Endpoint> endpoints;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    /**
+     * Creates one transport per endpoint of the configuration.
+     *
+     * @param config the client configuration
+     * @param transportFactory creates the transport of an endpoint
+     */
+    LoadBalancingTransport(ProtectorConfig config, Function<String, CoreproviderTransport> transportFactory) {
+        this(config, transportFactory, System::nanoTime);
+    }
+
+    LoadBalancingTransport(ProtectorConfig config, Function<String, CoreproviderTransport> transportFactory,
+            LongSupplier nanoClock) {
+        this.primary = config.getEndpoint();
+        this.failureThreshold = config.getOutlierEjectionFailureThreshold();
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(config.getOutlierEjectionMillis());
+        this.nanoClock = nanoClock;
+        List<Endpoint> created = new ArrayList<>();
+        for (String url : config.getEndpoints()) {
+            created.add(new Endpoint(url, transportFactory.apply(url)));
+        }
+        this.endpoints = Collections.unmodifiableList(created);
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException {
+        Endpoint endpoint = choose();
+        long start = nanoClock.getAsLong();
+        TransportResponse response = null;
+        Throwable failure = null;
+        try {
+            response = endpoint.transport.send(rewrite(request, endpoint));
+            return response;
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            complete(endpoint, start, response, failure);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        Endpoint endpoint = choose();
+        long start = nanoClock.getAsLong();
+        CompletableFuture<TransportResponse> sent;
+        try {
+            sent = endpoint.transport.sendAsync(rewrite(request, endpoint));
+        } catch (RuntimeException e) {
+            complete(endpoint, start, null, e);
+            throw e;
+        }
+        CompletableFuture<TransportResponse> result = sent.whenComplete((response, error) -> complete(endpoint, start,
+            response, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+        return CoreproviderTransport.propagateCancellation(result, sent);
+    }
+
+    /**
+     * Warms up every endpoint, not only the given one.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(String endpoint, int connections) {
+        CompletableFuture<?>[] warmUps = new CompletableFuture<?>[endpoints.size()];
+        for (int i = 0; i < warmUps.length; i++) {
+            warmUps[i] = endpoints.get(i).transport.warmUp(endpoints.get(i).url, connections);
+        }
+        return CompletableFuture.allOf(warmUps);
+    }
+
+    @Override
+    public void close() {
+        for (Endpoint endpoint : endpoints) {
+            endpoint.transport.close();
+        }
+    }
+
+    /**
+     * Returns true if an endpoint is currently ejected from load balancing.
+     */
+    boolean isEjected(String url) {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.url.equals(url)) {
+                return endpoint.isEjected();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks the endpoint for a request and counts the request as outstanding on it. An ejected
+     * endpoint due for its probe takes precedence, otherwise the cheapest admitted endpoint is
+     * chosen. The scan starts at a rotating offset so that endpoints of equal cost share the load.
+     */
+    private Endpoint choose() {
+        long now = nanoClock.getAsLong();
+        int offset = Math.floorMod(rotation.getAndIncrement(), endpoints.size());
+        Endpoint best = null;
+        double bestCost = Double.MAX_VALUE;
+        Endpoint fallback = null;
+        double fallbackCost = Double.MAX_VALUE;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get((offset + i) % endpoints.size());
+            if (endpoint.tryProbe(now)) {
+                return endpoint;
+            }
+            double cost = endpoint.cost(now);
+            if (cost < fallbackCost) {
+                fallback = endpoint;
+                fallbackCost = cost;
+            }
+            if (cost < bestCost && !endpoint.isEjected()) {
+                best = endpoint;
+                bestCost = cost;
+            }
+        }
+        Endpoint chosen = best != null ? best : fallback;
+        chosen.start();
+        return chosen;
+    }
+
+    /**
+     * Records the outcome of a request. Like the circuit breaker of {@link ResilientTransport}, a
+     * request refused without sending it or abandoned by the caller says nothing about the health of
+     * the endpoint and only stops counting as outstanding.
+     */
+    private void complete(Endpoint endpoint, long start, TransportResponse response, Throwable failure) {
+        if (failure instanceof RejectedRequestException || ResilientTransport.isAbandoned(failure)) {
+            endpoint.release();
+            return;
+        }
+        boolean failed = failure != null || response.getStatusCode() >= 500;
+        endpoint.complete(nanoClock.getAsLong(), nanoClock.getAsLong() - start, failed);
+    }
+
+    private TransportRequest rewrite(TransportRequest request, Endpoint endpoint) {
+        String url = request.getUrl();
+        if (endpoint.url.equals(primary) || !url.startsWith(primary)) {
+            return request;
+        }
+        return request.withUrl(endpoint.url + url.substring(primary.length()));
+    }
+
+    /**
+     * Load and health of one endpoint.
+     */
+    private final class Endpoint {
+        private final String url;
+        private final CoreproviderTransport transport;
+
+        private int outstanding;
+        private double latencyNanos;
+        private long updatedAt;
+        private int consecutiveFailures;
+        private int ejections;
+        private long ejectedUntil;
+        private boolean ejected;
+        private boolean probeInFlight;
+
+        Endpoint(String url, CoreproviderTransport transport) {
+            this.url = url;
+            this.transport = transport;
+        }
+
+        synchronized double cost(long now) {
+            double decayed = latencyNanos * Math.exp(-(double) (now - updatedAt) / DECAY_NANOS);
+            // One nanosecond keeps the outstanding requests relevant before any latency is known.
+            return (decayed + 1.0) * (outstanding + 1);
+        }
+
+        synchronized boolean isEjected() {
+            return ejected;
+        }
+
+        /**
+         * Claims the probe of an ejected endpoint whose ejection time has passed.
+         *
+         * @return true if the request is the probe and counted as outstanding
+         */
+        synchronized boolean tryProbe(long now) {
+            if (!ejected || probeInFlight || now - ejectedUntil < 0) {
+                return false;
+            }
+            probeInFlight = true;
+            outstanding++;
+            return true;
+        }
+
+        synchronized void start() {
+            outstanding++;
+        }
+
+        /**
+         * Ends a request without judging the endpoint. An abandoned probe frees the probe for the
+         * next request.
+         */
+        synchronized void release() {
+            outstanding--;
+            probeInFlight = false;
+        }
+
+        synchronized void complete(long now, long elapsedNanos, boolean failed) {
+            outstanding--;
+            if (!failed) {
+                consecutiveFailures = 0;
+                if (ejected) {
+                    logger.info("Endpoint {} re-admitted after a successful request", url);
+                    ejected = false;
+                    probeInFlight = false;
+                    ejections = 0;
+                    // The estimate from before the ejection says nothing about the recovered gateway.
+                    latencyNanos = 0.0;
+                }
+                record(now, elapsedNanos);
+                return;
+            }
+            record(now, Math.max(elapsedNanos, FAILURE_PENALTY_NANOS));
+            consecutiveFailures++;
+            if (failureThreshold == 0) {
+                return;
+            }
+            if (probeInFlight || (!ejected && consecutiveFailures >= failureThreshold)) {
+                probeInFlight = false;
+                ejected = true;
+                ejections = Math.min(ejections + 1, MAX_EJECTION_MULTIPLIER);
+                ejectedUntil = now + ejectionNanos * ejections;
+                logger.warn("Endpoint {} ejected for {} ms after {} consecutive failures", url,
+                    TimeUnit.NANOSECONDS.toMillis(ejectionNanos * ejections), consecutiveFailures);
+            }
+        }
+
+        /**
+         * Updates the latency estimate: slower samples are taken as they are, faster ones are
+         * averaged in with a weight growing with the time since the last sample.
+         */
+        private void record(long now, long sampleNanos) {
+            if (sampleNanos > latencyNanos) {
+                latencyNanos = sampleNanos;
+            } else {
+                double weight = Math.exp(-(double) Math.max(1L, now - updatedAt) / DECAY_NANOS);
+                latencyNanos = latencyNanos * weight + sampleNanos * (1.0 - weight);
+            }
+            updatedAt = now;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.protegrity.ap.java;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The status of every value of a {@link ProtectionRequest} whose values may fail individually, see
+ * {@link ProtectorConfig#isPartialResultsEnabled()}.
+ *
+ * <p>Positions are relative to the request. Every value starts with the success code of the
+ * operation and keeps it unless a failure is recorded for it. The requests derived from a request,
+ * for the values missing from the token cache or the distinct values, carry their own instance,
+ * whose failures are copied back to the positions of the original request.
+ *
+ * <p>The instance also holds the budget of additional requests a call may send to isolate the
+ * values of a request the service rejected as a whole. Derived requests start with the budget
+ * left, as only one request of a call is actually sent.
+ *
+ * @since 1.0.1
+ */
+final class PartialResults {
+    private final int[] codes;
+    private final String[] messages;
+    private final BitSet failed;
+    private final int successCode;
+    private final AtomicInteger retries;
+    private int firstCode;
+    private String firstMessage;
+
+    private PartialResults(int size, int successCode, int maxRetries) {
+        this.codes = new int[size];
+        this.messages = new String[size];
+        this.failed = new BitSet(size);
+        this.successCode = successCode;
+        this.retries = new AtomicInteger(maxRetries);
+        Arrays.fill(codes, successCode);
+    }
+
+    /**
+     * Creates the status of the values of a call.
+     *
+     * @param operation the operation of the call, which determines the success code
+     * @param size the number of values
+     * @param maxRetries the number of additional requests the call may send
+     * @return the status, every value successful
+     */
+    static PartialResults of(String operation, int size, int maxRetries) {
+        String message;
+        if ("unprotect".equals(operation)) {
+            message = "Data unprotect operation was successful.";
+        } else if ("reprotect".equals(operation)) {
+            message = "Data reprotect operation was successful.";
+        } else {
+            message = "Data protect operation was successful.";
+        }
+        return new PartialResults(size, ErrorMapper.getErrorDetail(message).getErrorCode(), maxRetries);
+    }
+
+    /**
+     * Returns the status of the values of a request derived from the one of this status.
+     *
+     * @param size the number of values of the derived request
+     * @return the status, every value successful
+     */
+    PartialResults derive(int size) {
+        return new PartialResults(size, successCode, retries.get());
+    }
+
+    /**
+     * Takes a number of additional requests from the budget of the call.
+     *
+     * @param requests the number of requests to send
+     * @return true if they may be sent, false if the budget is exhausted
+     */
+    boolean tryRetry(int requests) {
+        return retries.getAndAdd(-requests) >= requests;
+    }
+
+    /**
+     * Records the failure of the values in {@code [from, to)}.
+     *
+     * @param from the first failed position
+     * @param to the position following the last failed one
+     * @param code the error code
+     * @param message the error message
+     */
+    synchronized void fail(int from, int to, int code, String message) {
+        if (failed.isEmpty()) {
+            firstCode = code;
+            firstMessage = message;
+        }
+        for (int i = from; i < to; i++) {
+            codes[i] = code;
+            messages[i] = message;
+            failed.set(i);
+        }
+    }
+
+    /**
+     * Records the failure of a value of this status, if any, with its code and message for a
+     * position of another one.
+     *
+     * @param position the position in this status
+     * @param target the status to copy a failure to
+     * @param targetPosition the position in the target
+     */
+    void copyTo(int position, PartialResults target, int targetPosition) {
+        int code;
+        String message;
+        synchronized (this) {
+            if (!failed.get(position)) {
+                return;
+            }
+            code = codes[position];
+            message = messages[position];
+        }
+        target.fail(targetPosition, targetPosition + 1, code, message);
+    }
+
+    synchronized boolean isFailed(int position) {
+        return failed.get(position);
+    }
+
+    synchronized int getFailedCount() {
+        return failed.cardinality();
+    }
+
+    synchronized String getFirstMessage() {
+        return firstMessage;
+    }
+
+    /**
+     * Returns the exception reporting the failed values, with the status code of every value in
+     * its error list.
+     *
+     * @return the exception, or null if no value failed
+     */
+    synchronized ProtectorException toException() {
+        int count = failed.cardinality();
+        if (count == 0) {
+            return null;
+        }
+        String message = count + " of " + codes.length + " values failed, the first with: " + firstMessage;
+        return new ProtectorException(firstCode, message, codes.clone());
+    }
+}
@@ -0,0 +1,257 @@
+package com.protegrity.ap.java;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Growable byte buffer that JSON request bodies are serialized into.
+ *
+ * <p>Text is encoded to UTF-8 and escaped as it is written, so no intermediate {@link String} or
+ * {@code byte[]} is created per value. Buffers are reused through {@link PayloadBufferPool} and
+ * handed to the transport as is, see {@link TransportRequest#getBodyLength()}.
+ *
+ * @since 1.0.1
+ */
+final class PayloadBuffer {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64 =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes;
+    private int length;
+    private String contentEncoding;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity the initial capacity in bytes
+     */
+    PayloadBuffer(int capacity) {
+        this.bytes = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * Returns the backing array. Only the first {@link #length()} bytes are valid.
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    void reset() {
+        length = 0;
+        contentEncoding = null;
+    }
+
+    /**
+     * Returns the {@code Content-Encoding} of the written bytes, or null if they are plain JSON.
+     */
+    String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        bytes[length++] = (byte) b;
+    }
+
+    void writeBytes(byte[] src, int offset, int count) {
+        ensure(count);
+        System.arraycopy(src, offset, bytes, length, count);
+        length += count;
+    }
+
+    /**
+     * Writes text known to contain only ASCII characters without escaping.
+     */
+    void writeAscii(String text) {
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            bytes[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    /**
+     * Writes the decimal digits of a number.
+     */
+    void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            bytes[length++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int position = length + digits;
+        length = position;
+        do {
+            bytes[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    /**
+     * Writes text as a quoted, escaped JSON string.
+     */
+    void writeJsonString(CharSequence text) {
+        writeByte('"');
+        int count = text.length();
+        ensure(count);
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                writeAsciiChar(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                bytes[length++] = (byte) (0xc0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                ensure(4);
+                bytes[length++] = (byte) (0xf0 | (codePoint >> 18));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                bytes[length++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced like String.getBytes(UTF_8) does.
+                writeByte('?');
+            } else {
+                ensure(3);
+                bytes[length++] = (byte) (0xe0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        writeByte('"');
+    }
+
+    /**
+     * Writes data as a quoted Base64 JSON string.
+     */
+    void writeBase64String(byte[] data) {
+        ensure(4 * ((data.length + 2) / 3) + 2);
+        bytes[length++] = '"';
+        int i = 0;
+        for (; i + 2 < data.length; i += 3) {
+            int bits = (data[i] & 0xff) << 16 | (data[i + 1] & 0xff) << 8 | (data[i + 2] & 0xff);
+            bytes[length++] = BASE64[bits >>> 18];
+            bytes[length++] = BASE64[(bits >>> 12) & 0x3f];
+            bytes[length++] = BASE64[(bits >>> 6) & 0x3f];
+            bytes[length++] = BASE64[bits & 0x3f];
+        }
+        int remaining = data.length - i;
+        if (remaining > 0) {
+            int bits = (data[i] & 0xff) << 16 | (remaining == 2 ? (data[i + 1] & 0xff) << 8 : 0);
+            bytes[length++] = BASE64[bits >>> 18];
+            bytes[length++] = BASE64[(bits >>> 12) & 0x3f];
+            bytes[length++] = remaining == 2 ? BASE64[(bits >>> 6) & 0x3f] : (byte) '=';
+            bytes[length++] = '=';
+        }
+        bytes[length++] = '"';
+    }
+
+    /**
+     * Writes a range of a heap or direct buffer as a quoted Base64 JSON string. The position of the
+     * buffer is left unchanged.
+     */
+    void writeBase64String(ByteBuffer data, int offset, int count) {
+        ensure(4 * ((count + 2) / 3) + 2);
+        bytes[length++] = '"';
+        int end = offset + count;
+        int i = offset;
+        for (; i + 2 < end; i += 3) {
+            int bits = (data.get(i) & 0xff) << 16 | (data.get(i + 1) & 0xff) << 8 | (data.get(i + 2) & 0xff);
+            bytes[length++] = BASE64[bits >>> 18];
+            bytes[length++] = BASE64[(bits >>> 12) & 0x3f];
+            bytes[length++] = BASE64[(bits >>> 6) & 0x3f];
+            bytes[length++] = BASE64[bits & 0x3f];
+        }
+        int remaining = end - i;
+        if (remaining > 0) {
+            int bits = (data.get(i) & 0xff) << 16 | (remaining == 2 ? (data.get(i + 1) & 0xff) << 8 : 0);
+            bytes[length++] = BASE64[bits >>> 18];
+            bytes[length++] = BASE64[(bits >>> 12) & 0x3f];
+            bytes[length++] = remaining == 2 ? BASE64[(bits >>> 6) & 0x3f] : (byte) '=';
+            bytes[length++] = '=';
+        }
+        bytes[length++] = '"';
+    }
+
+    private void writeAsciiChar(char c) {
+        switch (c) {
+            case '"':
+            case '\\':
+                ensure(2);
+                bytes[length++] = '\\';
+                bytes[length++] = (byte) c;
+                break;
+            case '\n':
+                writeEscape('n');
+                break;
+            case '\r':
+                writeEscape('r');
+                break;
+            case '\t':
+                writeEscape('t');
+                break;
+            case '\b':
+                writeEscape('b');
+                break;
+            case '\f':
+                writeEscape('f');
+                break;
+            default:
+                if (c < 0x20) {
+                    ensure(6);
+                    bytes[length++] = '\\';
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    bytes[length++] = HEX[c >> 4];
+                    bytes[length++] = HEX[c & 0xf];
+                } else {
+                    ensure(1);
+                    bytes[length++] = (byte) c;
+                }
+        }
+    }
+
+    private void writeEscape(char c) {
+        ensure(2);
+        bytes[length++] = '\\';
+        bytes[length++] = (byte) c;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            byte[] grown = new byte[Math.max(bytes.length * 2, length + extra)];
+            System.arraycopy(bytes, 0, grown, 0, length);
+            bytes = grown;
+        }
+    }
+
+    /**
+     * Decodes the written bytes as UTF-8.
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+package com.protegrity.ap.java;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of {@link PayloadBuffer}s shared by the requests of one {@link CoreproviderAdapter}.
+ *
+ * <p>At most {@code maxPooled} idle buffers are kept, and buffers that grew beyond
+ * {@code maxRetainedCapacity} are dropped on release so that one oversized request does not pin
+ * its memory for the lifetime of the adapter.
+ *
+ * @since 1.0.1
+ */
+final class PayloadBufferPool {
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    private final BlockingQueue<PayloadBuffer> idle;
+    private final int maxRetainedCapacity;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param maxPooled the maximum number of idle buffers kept
+     * @param maxRetainedCapacity the largest buffer capacity returned to the pool
+     */
+    PayloadBufferPool(int maxPooled, int maxRetainedCapacity) {
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    /**
+     * Returns an empty buffer, reusing an idle one if available.
+     */
+    PayloadBuffer acquire() {
+        PayloadBuffer buffer = idle.poll();
+        if (buffer == null) {
+            return new PayloadBuffer(INITIAL_CAPACITY);
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool once the transport no longer reads it. A buffer whose request
+     * was abandoned is not released but left to the garbage collector.
+     */
+    void release(PayloadBuffer buffer) {
+        if (buffer.capacity() <= maxRetainedCapacity) {
+            idle.offer(buffer);
+        }
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,278 @@
+package com.protegrity.ap.java;
+
+import java.lang.reflect.Array;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * The values of a request, kept in the caller's array type until they are serialized.
+ *
+ * <p>{@link #write(PayloadBuffer, int)} serializes a value straight from the typed array: numbers
+ * as digits, text as escaped UTF-8 and byte arrays and the records of a {@link java.nio.ByteBuffer}
+ * as Base64, without creating an intermediate string per value. {@link #wireValue(int)} returns the same value as a string for code that
+ * compares values, such as deduplication and the token cache.
+ *
+ * <p>The wire representation follows the request encoding: with {@code base64} a byte array is
+ * sent as its Base64 encoding, as is a record, and every other value as the Base64 encoding of its UTF-8 text.
+ *
+ * <p>The values may be a range of a larger array, see {@link #of(Object, String, int, int)}.
+ * Indexes are always relative to the start of the range.
+ *
+ * @since 1.0.1
+ */
+final class PayloadValues {
+    private static final String ENCODING_BASE64 = "base64";
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+    private static final String NULL_VALUE = "\"null\"";
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT =
+        ThreadLocal.withInitial(() -> new SimpleDateFormat(DATE_PATTERN));
+
+    private final Object source;
+    private final int offset;
+    private final int length;
+    private final boolean base64;
+    private final boolean wire;
+    private volatile String[] wireValues;
+
+    private PayloadValues(Object source, int offset, int length, boolean base64, boolean wire) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.base64 = base64;
+        this.wire = wire;
+        if (wire && offset == 0 && length == Array.getLength(source)) {
+            this.wireValues = (String[]) source;
+        }
+    }
+
+    /**
+     * Wraps the caller's input array.
+     *
+     * @param input a {@code String[]}, {@code char[][]}, {@code byte[][]}, {@code Date[]}, primitive number
+     *     array or the {@link RecordBuffer} of a {@link java.nio.ByteBuffer}
+     * @param encoding the request encoding, {@code utf8} or {@code base64}
+     * @return the values
+     * @throws IllegalArgumentException if the input type is not supported
+     */
+    static PayloadValues of(Object input, String encoding) {
+        int length = input instanceof RecordBuffer ? ((RecordBuffer) input).size()
+            : input == null || !input.getClass().isArray() ? 0 : Array.getLength(input);
+        return of(input, encoding, 0, length);
+    }
+
+    /**
+     * Wraps a range of the caller's input array without copying it.
+     *
+     * @param input a {@code String[]}, {@code char[][]}, {@code byte[][]}, {@code Date[]} or primitive number array
+     * @param encoding the request encoding, {@code utf8} or {@code base64}
+     * @param offset the position of the first value in the input
+     * @param length the number of values
+     * @return the values
+     * @throws IllegalArgumentException if the input type is not supported
+     */
+    static PayloadValues of(Object input, String encoding, int offset, int length) {
+        if (!(input instanceof String[] || input instanceof char[][] || input instanceof byte[][]
+                || input instanceof Date[] || input instanceof short[] || input instanceof int[]
+                || input instanceof long[] || input instanceof float[] || input instanceof double[]
+                || input instanceof RecordBuffer)) {
+            throw new IllegalArgumentException("Unsupported input type: " + (input == null ? null : input.getClass()));
+        }
+        boolean base64 = ENCODING_BASE64.equals(encoding);
+        return new PayloadValues(input, offset, length, base64, input instanceof String[] && !base64);
+    }
+
+    /**
+     * Wraps values that are already in their wire representation.
+     *
+     * @param values the wire values
+     * @return the values
+     */
+    static PayloadValues wire(String[] values) {
+        return new PayloadValues(values, 0, values.length, false, true);
+    }
+
+    int size() {
+        return length;
+    }
+
+    /**
+     * Returns all values in their wire representation, converting them on first use.
+     */
+    String[] toWireArray() {
+        String[] values = wireValues;
+        if (values == null) {
+            values = new String[size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = wireValue(i);
+            }
+            wireValues = values;
+        }
+        return values;
+    }
+
+    /**
+     * Returns one value in its wire representation.
+     *
+     * @param index the position of the value
+     * @return the value, or null for a null element
+     */
+    String wireValue(int index) {
+        int position = offset + index;
+        if (wire) {
+            return ((String[]) source)[position];
+        }
+        if (source instanceof byte[][]) {
+            byte[] value = ((byte[][]) source)[position];
+            return value == null ? null : Base64.getEncoder().encodeToString(value);
+        }
+        if (source instanceof RecordBuffer) {
+            return Base64.getEncoder().encodeToString(((RecordBuffer) source).toArray(position));
+        }
+        String text = text(position);
+        if (text == null || !base64) {
+            return text;
+        }
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Serializes one value as a JSON string.
+     *
+     * @param out the buffer to write to
+     * @param index the position of the value
+     */
+    void write(PayloadBuffer out, int index) {
+        int position = offset + index;
+        if (wire) {
+            writeText(out, ((String[]) source)[position]);
+        } else if (source instanceof byte[][]) {
+            byte[] value = ((byte[][]) source)[position];
+            if (value == null) {
+                out.writeAscii(NULL_VALUE);
+            } else {
+                out.writeBase64String(value);
+            }
+        } else if (source instanceof RecordBuffer) {
+            RecordBuffer records = (RecordBuffer) source;
+            out.writeBase64String(records.buffer(), records.offset(position), records.length(position));
+        } else if (base64) {
+            String text = text(position);
+            if (text == null) {
+                out.writeAscii(NULL_VALUE);
+            } else {
+                out.writeBase64String(text.getBytes(StandardCharsets.UTF_8));
+            }
+        } else if (source instanceof short[]) {
+            writeNumber(out, ((short[]) source)[position]);
+        } else if (source instanceof int[]) {
+            writeNumber(out, ((int[]) source)[position]);
+        } else if (source instanceof long[]) {
+            writeNumber(out, ((long[]) source)[position]);
+        } else if (source instanceof char[][]) {
+            char[] value = ((char[][]) source)[position];
+            if (value == null) {
+                out.writeAscii(NULL_VALUE);
+            } else {
+                out.writeJsonString(CharBuffer.wrap(value));
+            }
+        } else {
+            writeText(out, text(position));
+        }
+    }
+
+    /**
+     * Returns an upper estimate of the serialized size of one value including quotes and separator.
+     *
+     * @param index the position of the value
+     * @return the estimated size in bytes
+     */
+    long estimateSize(int index) {
+        int position = offset + index;
+        long size;
+        if (wire) {
+            size = utf8Length(((String[]) source)[position]);
+        } else if (source instanceof byte[][]) {
+            byte[] value = ((byte[][]) source)[position];
+            size = value == null ? 4 : base64Length(value.length);
+        } else if (source instanceof RecordBuffer) {
+            size = base64Length(((RecordBuffer) source).length(position));
+        } else {
+            if (source instanceof short[]) {
+                size = 6;
+            } else if (source instanceof int[]) {
+                size = 11;
+            } else if (source instanceof long[]) {
+                size = 20;
+            } else if (source instanceof float[]) {
+                size = 15;
+            } else if (source instanceof double[]) {
+                size = 24;
+            } else if (source instanceof Date[]) {
+                size = DATE_PATTERN.length();
+            } else if (source instanceof char[][]) {
+                char[] value = ((char[][]) source)[position];
+                size = value == null ? 4 : utf8Length(CharBuffer.wrap(value));
+            } else {
+                size = utf8Length(((String[]) source)[position]);
+            }
+            if (base64) {
+                size = base64Length(size);
+            }
+        }
+        return size + 3;
+    }
+
+    private String text(int position) {
+        if (source instanceof String[]) {
+            return ((String[]) source)[position];
+        } else if (source instanceof char[][]) {
+            char[] value = ((char[][]) source)[position];
+            return value == null ? null : new String(value);
+        } else if (source instanceof short[]) {
+            return Short.toString(((short[]) source)[position]);
+        } else if (source instanceof int[]) {
+            return Integer.toString(((int[]) source)[position]);
+        } else if (source instanceof long[]) {
+            return Long.toString(((long[]) source)[position]);
+        } else if (source instanceof float[]) {
+            return Float.toString(((float[]) source)[position]);
+        } else if (source instanceof double[]) {
+            return Double.toString(((double[]) source)[position]);
+        }
+        Date value = ((Date[]) source)[position];
+        return value == null ? null : DATE_FORMAT.get().format(value);
+    }
+
+    private static void writeText(PayloadBuffer out, String text) {
+        if (text == null) {
+            out.writeAscii(NULL_VALUE);
+        } else {
+            out.writeJsonString(text);
+        }
+    }
+
+    private static void writeNumber(PayloadBuffer out, long value) {
+        out.writeByte('"');
+        out.writeLong(value);
+        out.writeByte('"');
+    }
+
+    private static long base64Length(long length) {
+        return 4 * ((length + 2) / 3);
+    }
+
+    private static long utf8Length(CharSequence text) {
+        if (text == null) {
+            return 4;
+        }
+        long size = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            size += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+        }
+        return size;
+    }
+}
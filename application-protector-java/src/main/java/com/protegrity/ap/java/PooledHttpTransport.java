@@ -0,0 +1,286 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.Header;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-lived HTTP/1.1 transport backed by a pool of keep-alive connections.
+ *
+ * <p>All requests share one {@link PoolingHttpClientConnectionManager}, so consecutive calls reuse
+ * established TCP connections instead of paying a new handshake each time. A single
+ * {@link SSLContext} is used for every connection, which lets the JSSE client session cache resume
+ * TLS sessions when a new connection to the same host has to be opened. Idle and expired
+ * connections are evicted by a background thread owned by the underlying client.
+ *
+ * <p>HttpClient 4.x has no non-blocking engine, so {@link #sendAsync(TransportRequest)} runs the
+ * blocking exchange on a dedicated executor with one thread per pooled connection. Use
+ * {@link ProtectorConfig.TransportType#HTTP_2} for truly non-blocking requests.
+ *
+ * <p>A request with a {@link Deadline} gets its connect, lease and socket timeouts capped by the
+ * time remaining and is aborted once the deadline passes, which closes its connection and so ends
+ * a blocked read at once. Blocking sends of such requests also run on the executor, so that the
+ * waiting caller can abort the exchange when it is interrupted; blocking sends without a deadline
+ * stay on the calling thread.
+ *
+ * @since 1.0.1
+ */
+final class PooledHttpTransport implements CoreproviderTransport {
+    private static final Logger logger = LoggerFactory.getLogger(PooledHttpTransport.class);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ExecutorService asyncExecutor;
+    private final int maxConnectionsPerRoute;
+    private final int connectTimeoutMillis;
+    private final int connectionRequestTimeoutMillis;
+    private final RequestConfig requestConfig;
+
+    /**
+     * Creates the connection pool and HTTP client described by the configuration.
+     *
+     * @param config the client configuration
+     */
+    PooledHttpTransport(ProtectorConfig config) {
+        SSLContext sslContext = SSLContexts.createDefault();
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", new SSLConnectionSocketFactory(sslContext, SSLConnectionSocketFactory.getDefaultHostnameVerifier()))
+            .build();
+
+        connectionManager = new PoolingHttpClientConnectionManager(
+            socketFactories, null, null, null, config.getConnectionTimeToLiveMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(config.getMaxConnectionsTotal());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+        maxConnectionsPerRoute = config.getMaxConnectionsPerRoute();
+        connectTimeoutMillis = config.getConnectTimeoutMillis();
+        connectionRequestTimeoutMillis = config.getConnectionRequestTimeoutMillis();
+
+        requestConfig = RequestConfig.custom()
+            .setConnectTimeout(config.getConnectTimeoutMillis())
+            .setSocketTimeout(config.getSocketTimeoutMillis())
+            .setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis())
+            .build();
+
+        // Connection state is disabled so that pooled TLS connections can be leased by any thread.
+        httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .disableConnectionState()
+            .evictExpiredConnections()
+            .evictIdleConnections(config.getIdleConnectionTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .build();
+
+        // More threads than pooled connections would only wait for a lease.
+        asyncExecutor = Executors.newFixedThreadPool(config.getMaxConnectionsTotal(), runnable -> {
+            Thread thread = new Thread(runnable, "protector-http-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException {
+        if (request.getDeadline() != null) {
+            return await(sendAsync(request));
+        }
+        return execute(toHttpPost(request));
+    }
+
+    private TransportResponse execute(HttpPost httpPost) throws IOException {
+        // Fully consuming the entity returns the connection to the pool for reuse.
+        try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
+            Map<String, String> headers = new HashMap<>();
+            for (Header header : response.getAllHeaders()) {
+                headers.putIfAbsent(header.getName(), header.getValue());
+            }
+            byte[] body = response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+            return new TransportResponse(response.getStatusLine().getStatusCode(), headers, body);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        HttpPost httpPost = toHttpPost(request);
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    result.complete(execute(httpPost));
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new IOException("Transport is closed", e));
+            return result;
+        }
+        Deadline deadline = request.getDeadline();
+        if (deadline != null) {
+            deadline.whenExpired(result, () -> result.completeExceptionally(deadline.exceeded()));
+        }
+        // Past the deadline or cancelled: the exchange is aborted, also while waiting for a lease.
+        result.whenComplete((response, error) -> {
+            if (error != null) {
+                httpPost.abort();
+            }
+        });
+        return result;
+    }
+
+    private HttpPost toHttpPost(TransportRequest request) {
+        HttpPost httpPost = new HttpPost(request.getUrl());
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            httpPost.setHeader(header.getKey(), header.getValue());
+        }
+        httpPost.setEntity(new ByteArrayEntity(request.getBody(), 0, request.getBodyLength()));
+        Deadline deadline = request.getDeadline();
+        if (deadline != null) {
+            int remaining = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, deadline.remainingMillis()));
+            httpPost.setConfig(RequestConfig.copy(requestConfig)
+                .setConnectTimeout(cap(requestConfig.getConnectTimeout(), remaining))
+                .setConnectionRequestTimeout(cap(requestConfig.getConnectionRequestTimeout(), remaining))
+                .setSocketTimeout(cap(requestConfig.getSocketTimeout(), remaining))
+                .build());
+        }
+        return httpPost;
+    }
+
+    /**
+     * Caps a timeout, where 0 means none, by the time remaining until a deadline.
+     */
+    private static int cap(int timeoutMillis, int remainingMillis) {
+        return timeoutMillis <= 0 ? remainingMillis : Math.min(timeoutMillis, remainingMillis);
+    }
+
+    /**
+     * Waits for an exchange on the calling thread and aborts it if the thread is interrupted.
+     */
+    private static TransportResponse await(CompletableFuture<TransportResponse> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Opens up to {@link ProtectorConfig#getMaxConnectionsPerRoute()} connections to the endpoint,
+     * TLS handshake included, and returns them to the pool for the first requests to reuse.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(String endpoint, int connections) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    openConnections(endpoint, Math.min(connections, maxConnectionsPerRoute));
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, asyncExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IOException("Transport is closed", e));
+        }
+    }
+
+    private void openConnections(String endpoint, int connections) throws IOException {
+        URI uri = URI.create(endpoint);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() >= 0 ? uri.getPort() : secure ? 443 : 80;
+        // The same route the client plans for requests, so that they find the connections.
+        HttpRoute route = new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+        HttpClientContext context = HttpClientContext.create();
+        // All connections are leased before any is returned, otherwise the pool would hand out the same one again.
+        List<HttpClientConnection> leased = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                HttpClientConnection connection = connectionManager.requestConnection(route, null)
+                    .get(connectionRequestTimeoutMillis, TimeUnit.MILLISECONDS);
+                leased.add(connection);
+                if (!connection.isOpen()) {
+                    connectionManager.connect(connection, route, connectTimeoutMillis, context);
+                    connectionManager.routeComplete(connection, route, context);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while opening connections");
+        } catch (ExecutionException | ConnectionPoolTimeoutException e) {
+            throw new IOException("Cannot lease a connection to " + endpoint, e);
+        } finally {
+            for (HttpClientConnection connection : leased) {
+                connectionManager.releaseConnection(connection, null, 0L, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of connections currently leased from or available in the pool.
+     *
+     * @return the number of open pooled connections
+     */
+    int getOpenConnections() {
+        return connectionManager.getTotalStats().getLeased() + connectionManager.getTotalStats().getAvailable();
+    }
+
+    /**
+     * Shuts down the eviction and request threads and closes all pooled connections.
+     */
+    @Override
+    public void close() {
+        asyncExecutor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("Error while closing HTTP connection pool: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.protegrity.ap.java;
+
+import java.lang.reflect.Array;
+
+/**
+ * A single protect, unprotect or reprotect call as issued by {@link Protector}.
+ *
+ * <p>Holds the request values, still in the caller's array type, together with the caller's
+ * output array, so that {@link CoreproviderAdapter} can split the call into several
+ * requests and write each response directly into the right range of the output.
+ *
+ * <p>Results are written to the output starting at {@link #getOutputOffset()}, so that a call can
+ * cover a range of the caller's arrays. Input and output may be the same array.
+ *
+ * <p>The {@link Deadline} of the call is fixed when the request is created and carried over to the
+ * requests derived from it, so that all of them share it.
+ *
+ * <p>A request whose values may fail individually carries {@link PartialResults}, and so do the
+ * requests derived from it.
+ *
+ * @since 1.0.1
+ */
+final class ProtectionRequest {
+    private final String operation;
+    private final SessionObject session;
+    private final String user;
+    private final String dataElementName;
+    private final String oldDataElementName;
+    private final byte[] externalIv;
+    private final byte[] oldExternalIv;
+    private final String encoding;
+    private final PayloadValues values;
+    private final Object output;
+    private final int outputOffset;
+    private final String[] wireResults;
+    private final Deadline deadline;
+    private final PartialResults partialResults;
+
+    /**
+     * Constructs a new ProtectionRequest writing its results to the start of the output, without a
+     * deadline and failing as a whole. The {@code with} methods derive requests differing from it.
+     *
+     * @param operation the operation path, {@code protect}, {@code unprotect} or {@code reprotect}
+     * @param session the session the call is made in
+     * @param user the policy user of the session
+     * @param dataElementName the data element, the new data element for reprotect
+     * @param oldDataElementName the old data element for reprotect, null otherwise
+     * @param externalIv the external IV, the new external IV for reprotect, may be null
+     * @param oldExternalIv the old external IV for reprotect, may be null
+     * @param encoding the wire encoding, {@code utf8} or {@code base64}
+     * @param values the input values
+     * @param output the caller's output array
+     */
+    ProtectionRequest(
+            String operation,
+            SessionObject session,
+            String user,
+            String dataElementName,
+            String oldDataElementName,
+            byte[] externalIv,
+            byte[] oldExternalIv,
+            String encoding,
+            PayloadValues values,
+            Object output) {
+        this(operation, session, user, dataElementName, oldDataElementName, externalIv, oldExternalIv, encoding,
+            values, output, 0, null, null, null);
+    }
+
+    private ProtectionRequest(
+            String operation,
+            SessionObject session,
+            String user,
+            String dataElementName,
+            String oldDataElementName,
+            byte[] externalIv,
+            byte[] oldExternalIv,
+            String encoding,
+            PayloadValues values,
+            Object output,
+            int outputOffset,
+            String[] wireResults,
+            Deadline deadline,
+            PartialResults partialResults) {
+        this.operation = operation;
+        this.session = session;
+        this.user = user;
+        this.dataElementName = dataElementName;
+        this.oldDataElementName = oldDataElementName;
+        this.externalIv = externalIv;
+        this.oldExternalIv = oldExternalIv;
+        this.encoding = encoding;
+        this.values = values;
+        this.output = output;
+        this.outputOffset = outputOffset;
+        this.wireResults = wireResults;
+        this.deadline = deadline;
+        this.partialResults = partialResults;
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    SessionObject getSession() {
+        return session;
+    }
+
+    String getUser() {
+        return user;
+    }
+
+    String getDataElementName() {
+        return dataElementName;
+    }
+
+    String getOldDataElementName() {
+        return oldDataElementName;
+    }
+
+    byte[] getExternalIv() {
+        return externalIv;
+    }
+
+    byte[] getOldExternalIv() {
+        return oldExternalIv;
+    }
+
+    String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Returns the values in their wire representation, converting typed input on first use.
+     */
+    String[] getValues() {
+        return values.toWireArray();
+    }
+
+    PayloadValues getPayloadValues() {
+        return values;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    Object getOutput() {
+        return output;
+    }
+
+    int getOutputOffset() {
+        return outputOffset;
+    }
+
+    /**
+     * Returns the end of the range of the output receiving results, which is shorter than the
+     * values if the output array is.
+     */
+    int getOutputEnd() {
+        return Math.min(Array.getLength(output), outputOffset + size());
+    }
+
+    String[] getWireResults() {
+        return wireResults;
+    }
+
+    /**
+     * Returns the deadline of the call, or null if it has none.
+     */
+    Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Returns the status of the values if they may fail individually, or null if any failure fails
+     * the whole request.
+     */
+    PartialResults getPartialResults() {
+        return partialResults;
+    }
+
+    /**
+     * Returns a request for the given values with the same operation, user, data elements, IVs,
+     * encoding and deadline as this one.
+     */
+    ProtectionRequest withValues(String[] values, Object output, String[] wireResults) {
+        return new ProtectionRequest(operation, session, user, dataElementName, oldDataElementName,
+            externalIv, oldExternalIv, encoding, PayloadValues.wire(values), output, 0, wireResults, deadline,
+            partialResults == null ? null : partialResults.derive(values.length));
+    }
+
+    /**
+     * Returns a copy of this request writing its results to the output starting at the given
+     * position.
+     */
+    ProtectionRequest withOutputOffset(int outputOffset) {
+        return new ProtectionRequest(operation, session, user, dataElementName, oldDataElementName,
+            externalIv, oldExternalIv, encoding, values, output, outputOffset, wireResults, deadline, partialResults);
+    }
+
+    /**
+     * Returns a copy of this request with another deadline.
+     */
+    ProtectionRequest withDeadline(Deadline deadline) {
+        return new ProtectionRequest(operation, session, user, dataElementName, oldDataElementName,
+            externalIv, oldExternalIv, encoding, values, output, outputOffset, wireResults, deadline, partialResults);
+    }
+
+    /**
+     * Returns a copy of this request made in another session.
+     */
+    ProtectionRequest withSession(SessionObject session) {
+        return new ProtectionRequest(operation, session, user, dataElementName, oldDataElementName,
+            externalIv, oldExternalIv, encoding, values, output, outputOffset, wireResults, deadline, partialResults);
+    }
+
+    /**
+     * Returns a copy of this request whose values may fail individually.
+     *
+     * @param maxRetries the number of additional requests the call may send to isolate failures
+     */
+    ProtectionRequest withPartialResults(int maxRetries) {
+        return new ProtectionRequest(operation, session, user, dataElementName, oldDataElementName,
+            externalIv, oldExternalIv, encoding, values, output, outputOffset, wireResults, deadline,
+            PartialResults.of(operation, size(), maxRetries));
+    }
+
+    boolean isReprotect() {
+        return "reprotect".equals(operation);
+    }
+}
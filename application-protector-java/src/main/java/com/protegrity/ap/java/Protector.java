@@ -1,5 +1,20 @@
 package com.protegrity.ap.java;
 
+import java.io.Closeable;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Main entry point for Protegrity data protection operations.
  *
@@ -16,10 +31,71 @@ package com.protegrity.ap.java;
  *   <li>Re-protect
  * </ul>
  *
+ * <p>Each Protector owns a pool of keep-alive HTTP connections configured through
+ * {@link ProtectorConfig}, which also holds the endpoint, credentials and session timeout. The
+ * pool is released by {@link #close()}. The shared instance returned by {@link #getProtector()} is
+ * configured from the environment and closed automatically when the JVM shuts down; independent
+ * instances are created with {@link #builder()} and closed by their owner. The JWT obtained at
+ * creation is renewed in the background before it expires, and once more on demand if the
+ * service rejects it.
+ *
+ * <p>Every protect, unprotect and reprotect overload has a non-blocking counterpart, for example
+ * {@link #protectAsync(SessionObject, String, String[], String[])}, returning a
+ * {@link CompletableFuture}. Failures complete the future exceptionally with the same
+ * {@link ProtectorException} the blocking overload would throw. With the
+ * {@link ProtectorConfig.TransportType#HTTP_2} transport no thread is blocked while a request is in
+ * flight.
+ *
+ * <p>The first calls of a new Protector pay for DNS lookups, TLS handshakes, class loading and
+ * JIT compilation. {@link #warmUp()} or {@link #warmUpAsync()} does that work up front, and
+ * {@link ProtectorConfig#isWarmUpEnabled()} starts it in the background at creation, so a
+ * readiness probe can wait for the returned future.
+ *
+ * <p>Calls can be given a deadline, for all calls through
+ * {@link ProtectorConfig#getCallTimeoutMillis()} or for the calls of a block of code through
+ * {@link CallOptions}. A call missing its deadline fails with {@link ErrorMapper#DEADLINE_EXCEEDED}
+ * and aborts its request in flight. A blocking call with a deadline also aborts its request when
+ * the calling thread is interrupted.
+ *
+ * <p>With {@link ProtectorConfig#isBatchingEnabled()} concurrent small calls for the same data
+ * element are coalesced into bulk requests, trading at most
+ * {@link ProtectorConfig#getBatchWindowMillis()} of latency for bulk throughput.
+ *
+ * <p>Batch code holding large reusable buffers can process a range of them with the overloads
+ * taking {@code inOffset}, {@code outOffset} and {@code length}, for example
+ * {@link #protect(SessionObject, String, int[], int, int[], int, int)}, without copying it into
+ * arrays of its own. Input and output may be the same array to operate in place, provided both
+ * ranges start at the same offset; other overlapping ranges are rejected with an
+ * {@link IllegalArgumentException}.
+ *
+ * <p>Records held in a {@link ByteBuffer}, heap or direct, can be processed without converting
+ * them to arrays first, for example with
+ * {@link #protect(SessionObject, String, ByteBuffer, ByteBuffer, RecordFormat)}. The request body
+ * is encoded straight from the buffer and the results are written to an output buffer in the same
+ * {@link RecordFormat}.
+ *
+ * <p>Per-row code can protect and unprotect single {@code short}, {@code int}, {@code long} and
+ * {@code String} values, for example with {@link #protect(SessionObject, String, int)}. These
+ * overloads need no input or output arrays and skip the deduplication and chunking of bulk calls,
+ * but are still answered from the token cache and coalesced into batches where enabled.
+ *
+ * <p>Streams of values too large to hold in arrays can be processed with the overloads taking an
+ * {@link Iterator}, a {@link Stream} or a {@link Flow.Publisher} of
+ * strings, for example {@link #protect(SessionObject, String, Stream)}. Values are
+ * sent in bulk requests of {@link ProtectorConfig#getMaxElementsPerRequest()} values and no more
+ * than {@link ProtectorConfig#getRequestParallelism()} of them are in flight ahead of the consumer,
+ * so a slow consumer slows down the reading of the input instead of buffering it.
+ *
+ * <p>By default a bulk call fails as a whole when any value fails. With
+ * {@link ProtectorConfig#isPartialResultsEnabled()} the results of the other values are still
+ * written, and the {@link ProtectorException} thrown lists the status code of every value in
+ * {@link ProtectorException#getErrorList()}. A request the service rejects is sent again in halves,
+ * so only the values around a failing one are sent more than once.
+ *
  * @author <a href="http://www.protegrity.com">Protegrity</a>
  * @since 1.0.1
  */
-public class Protector {
+public class Protector implements Closeable {
   
   /** The hostname for Protegrity AI Developer Edition API. */
   public static final String HOST = "api.developer-edition.protegrity.com";
@@ -37,31 +113,64 @@ public class Protector {
   private static final String OPERATION_REPROTECT = "reprotect";
   
   private static Protector instance = null;
-  private CoreproviderAdapter coreproviderAdapter = null;
-  private static SessionHandler sessionHandler = null;
-  private String apiKey ;
-  private String jwtToken;
+  private final ProtectorConfig config;
+  private final SessionHandler sessionHandler;
+  private final CoreproviderAdapter coreproviderAdapter;
+  private RequestCoalescer coalescer;
+  private final TokenManager tokens;
+  private Thread shutdownHook;
+  private CompletableFuture<Void> warmUp;
 
   /**
-   * Private constructor for singleton pattern.
-   * 
-   * @param sessionHandler the session handler for managing user sessions
-   * @throws ProtectorException if initialization fails
+   * Creates a Protector, authenticating with the credentials of the configuration.
+   *
+   * @param config the client configuration
+   * @throws InitializationException if authentication fails
    */
-  private Protector(SessionHandler sessionHandler) throws ProtectorException {
-   coreproviderAdapter = new CoreproviderAdapter(sessionHandler);
+  private Protector(ProtectorConfig config) {
+    this.config = config;
+    this.tokens = new TokenManager(config);
+    CoreproviderTransport transport = null;
+    CoreproviderAdapter adapter = null;
+    try {
+      this.sessionHandler = new SessionHandler(config.getSessionTimeoutMinutes());
+      transport = CoreproviderTransport.create(config);
+      adapter = new CoreproviderAdapter(sessionHandler, config, transport, tokens);
+      this.coreproviderAdapter = adapter;
+      if (config.isBatchingEnabled()) {
+        coalescer = new RequestCoalescer(coreproviderAdapter, config);
+      }
+      if (config.isWarmUpEnabled()) {
+        warmUpAsync();
+      }
+    } catch (RuntimeException | Error e) {
+      // The token manager already logged in and scheduled the refresh of the JWT.
+      if (coalescer != null) {
+        coalescer.close();
+      }
+      if (adapter != null) {
+        adapter.close();
+      } else if (transport != null) {
+        transport.close();
+      }
+      tokens.close();
+      throw e;
+    }
   }
 
+  /**
+   * Returns the shared Protector configured from the environment, see
+   * {@link ProtectorConfig#fromEnvironment()}. It is closed automatically when the JVM shuts down.
+   *
+   * @return the shared Protector
+   * @throws ProtectorException if initialization fails
+   */
   public static synchronized Protector getProtector() throws ProtectorException {
     if (instance == null) {
      try {
-            Authenticator authenticator = new Authenticator();
-            String apiKey = authenticator.getApiKey();
-            String jwtToken = authenticator.getJwtToken();
-            sessionHandler = new SessionHandler(15);
-            instance = new Protector(sessionHandler);
-            instance.apiKey = apiKey;
-            instance.jwtToken = jwtToken;
+            instance = new Protector(ProtectorConfig.fromEnvironment());
+            instance.shutdownHook = new Thread(instance::close, "protector-shutdown");
+            Runtime.getRuntime().addShutdownHook(instance.shutdownHook);
         } catch (InitializationException e) {
          throw new ProtectorException("Failed to Initialize Protector", e);
       }
@@ -69,6 +178,129 @@ public class Protector {
     return instance;
   }
 
+  /**
+   * Creates a builder for an independent Protector.
+   *
+   * <p>Unlike {@link #getProtector()}, every built Protector has its own connections, sessions and
+   * caches and must be closed by the caller. Several Protectors with different configurations can
+   * be used in the same JVM, for example to isolate the connection pools of separate workloads.
+   *
+   * <pre>{@code
+   * try (Protector protector = Protector.builder()
+   *     .config(ProtectorConfig.builder()
+   *         .credentials(email, password, apiKey)
+   *         .maxConnectionsTotal(16)
+   *         .build())
+   *     .build()) {
+   *   ...
+   * }
+   * }</pre>
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the configuration this Protector was created with.
+   *
+   * @return ProtectorConfig the immutable configuration
+   */
+  public ProtectorConfig getConfig() {
+    return config;
+  }
+
+  /**
+   * Releases the pooled HTTP connections held by this Protector. If this is the shared instance,
+   * a subsequent call to {@link #getProtector()} creates a new one.
+   */
+  @Override
+  public void close() {
+    synchronized (Protector.class) {
+      if (instance == this) {
+        instance = null;
+      }
+    }
+    if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+      try {
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+      } catch (IllegalStateException e) {
+        // JVM is already shutting down, the hook will run or is running
+      }
+    }
+    if (coalescer != null) {
+      coalescer.close();
+    }
+    coreproviderAdapter.close();
+    tokens.close();
+  }
+
+  /**
+   * Returns the statistics of the client-side token cache enabled by
+   * {@link ProtectorConfig#getTokenCacheDataElements()}.
+   *
+   * @return TokenCacheStats hit, miss and eviction counts and current size
+   */
+  public TokenCacheStats getTokenCacheStats() {
+    return coreproviderAdapter.getTokenCacheStats();
+  }
+
+  /**
+   * Returns the statistics of the request compression enabled by
+   * {@link ProtectorConfig#getCompression()}.
+   *
+   * @return CompressionStats request counts, bytes before and after compression and time spent
+   */
+  public CompressionStats getCompressionStats() {
+    return coreproviderAdapter.getCompressionStats();
+  }
+
+  /**
+   * Returns the statistics of the adaptive limit of concurrent requests enabled by
+   * {@link ProtectorConfig#getMaxConcurrentRequests()}.
+   *
+   * @return ConcurrencyLimiterStats current limit, requests in flight and queued, and rejections
+   */
+  public ConcurrencyLimiterStats getConcurrencyLimiterStats() {
+    return coreproviderAdapter.getConcurrencyLimiterStats();
+  }
+
+  /**
+   * Warms this Protector up and waits until it is done, see {@link #warmUpAsync()}.
+   *
+   * @throws ProtectorException if the connections cannot be opened
+   */
+  public void warmUp() throws ProtectorException {
+    try {
+      warmUpAsync().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof ProtectorException) {
+        throw (ProtectorException) e.getCause();
+      }
+      throw new ProtectorException("Warm-up failed: " + e.getCause().getMessage());
+    }
+  }
+
+  /**
+   * Warms this Protector up without blocking: opens
+   * {@link ProtectorConfig#getWarmUpConnections()} connections to every endpoint and runs the
+   * request serializer and response parser over synthetic values of every supported type. No
+   * data is sent to the protection API.
+   *
+   * <p>Calls while a warm-up is running or after it succeeded return the same future; a failed
+   * warm-up is started again.
+   *
+   * @return CompletableFuture completed when the client is warm, or exceptionally when the
+   *     connections cannot be opened
+   */
+  public synchronized CompletableFuture<Void> warmUpAsync() {
+    if (warmUp == null || warmUp.isCompletedExceptionally()) {
+      warmUp = coreproviderAdapter.warmUp();
+    }
+    return warmUp;
+  }
+
   /**
    * Get product version.
    *
@@ -158,17 +390,24 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, short[] input, short[] output)
       throws ProtectorException, SessionTimeoutException {
-          String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  short[].class, ENCODING_UTF8);
-          boolean success = result.isSuccess();
-          if(success){
-             short[] converted = (short[]) result.getConvertedArray();
-             System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          }
-          
-          return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, short[], short[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy name defined
+   *     in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, short[] input, short[] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -186,17 +425,24 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, short[] input, byte[][] output)
       throws ProtectorException, SessionTimeoutException {
-          byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-          String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj,response,  byte[][].class, ENCODING_BASE64);
-          boolean success = result.isSuccess();
-          if(success){
-          byte[][] converted = (byte[][]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          }
-          return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, short[], byte[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy name defined
+   *     in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, short[] input, byte[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -219,14 +465,29 @@ public class Protector {
       short[] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-     String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  short[].class, ENCODING_UTF8);
-          boolean success = result.isSuccess();
-          short[] converted = (short[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, short[], short[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored, when externalIv = null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      short[] input,
+      short[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -249,15 +510,29 @@ public class Protector {
       byte[][] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-          byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-          String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-          boolean success = result.isSuccess();
-          byte[][] converted = (byte[][]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, short[], byte[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      short[] input,
+      byte[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -275,16 +550,24 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, int[] input, int[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  int[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        if(success){
-          int[] converted = (int[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        }
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, int[], int[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy name defined
+   *     in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, int[] input, int[] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -302,15 +585,24 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, int[] input, byte[][] output)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, int[], byte[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy name defined
+   *     in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, int[] input, byte[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -333,14 +625,29 @@ public class Protector {
       int[] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-      String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  int[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        int[] converted = (int[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, int[], int[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      int[] input,
+      int[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -363,15 +670,29 @@ public class Protector {
       byte[][] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, int[], byte[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      int[] input,
+      byte[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -389,14 +710,24 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, long[] input, long[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  long[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, long[], long[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy name defined
+   *     in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, long[] input, long[] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -414,15 +745,24 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, long[] input, byte[][] output)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, long[], byte[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy name defined
+   *     in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, long[] input, byte[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -445,14 +785,29 @@ public class Protector {
       long[] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  long[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, long[], long[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      long[] input,
+      long[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -475,15 +830,29 @@ public class Protector {
       byte[][] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, long[], byte[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      long[] input,
+      byte[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -500,14 +869,23 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, float[] input, float[] output)
       throws ProtectorException, SessionTimeoutException {
-          String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  float[].class, ENCODING_UTF8);
-          boolean success = result.isSuccess();
-          float[] converted = (float[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, float[], float[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, float[] input, float[] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -524,15 +902,23 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, float[] input, byte[][] output)
       throws ProtectorException, SessionTimeoutException {
-          byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-          String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-          boolean success = result.isSuccess();
-          byte[][] converted = (byte[][]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, float[], byte[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, float[] input, byte[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -549,14 +935,23 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, double[] input, double[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  double[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        double[] converted = (double[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, double[], double[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, double[] input, double[] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -573,15 +968,23 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, double[] input, byte[][] output)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, double[], byte[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, double[] input, byte[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -601,14 +1004,26 @@ public class Protector {
       java.util.Date[] input,
       java.util.Date[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  java.util.Date[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        java.util.Date[] converted = (java.util.Date[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, Date[], Date[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      java.util.Date[] input,
+      java.util.Date[] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -625,17 +1040,27 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, String[] input, String[] output)
       throws ProtectorException, SessionTimeoutException {
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, input, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
-      }
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
 
   /**
-   * Protect String using encryption data element.
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, String[], String[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, String[] input, String[] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Protect String using encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -648,15 +1073,23 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, String[] input, byte[][] output)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, String[], byte[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, String[] input, byte[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -679,13 +1112,29 @@ public class Protector {
       String[] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-      String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, input, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, String[], String[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      String[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -708,15 +1157,29 @@ public class Protector {
       byte[][] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, String[], byte[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      byte[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -733,14 +1196,23 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, char[][] input, char[][] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  char[][].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, char[][], char[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, char[][] input, char[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -757,15 +1229,23 @@ public class Protector {
   public boolean protect(
       SessionObject sessionObj, String dataElementName, char[][] input, byte[][] output)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, char[][], byte[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj, String dataElementName, char[][] input, byte[][] output) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -788,14 +1268,29 @@ public class Protector {
       char[][] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  char[][].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, char[][], char[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      char[][] input,
+      char[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -818,16 +1313,30 @@ public class Protector {
       byte[][] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        byte[][] inputBytes = coreproviderAdapter.convertToByteArray(input, ENCODING_UTF8);
-        String[] stringInput = coreproviderAdapter.convertToStringArray(inputBytes);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
-      }
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, char[][], byte[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      char[][] input,
+      byte[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
 
   /**
    * Protect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
@@ -848,14 +1357,28 @@ public class Protector {
       byte[][] output,
       PTYCharset... ptyCharsets)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, byte[][], byte[][], PTYCharset...)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      byte[][] output,
+      PTYCharset... ptyCharsets) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
@@ -880,14 +1403,31 @@ public class Protector {
       byte[] externalIv,
       PTYCharset... ptyCharsets)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, byte[][], byte[][], byte[], PTYCharset...)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      byte[][] output,
+      byte[] externalIv,
+      PTYCharset... ptyCharsets) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
@@ -914,413 +1454,370 @@ public class Protector {
       byte[] externalIv,
       byte[] externalTweak)
       throws ProtectorException, SessionTimeoutException {
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, input, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_PROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect short using data type preservation or no encryption data element.
+   * Asynchronous counterpart of
+   * {@link #protect(SessionObject, String, String[], String[], byte[], byte[])}.
    *
-   * @param sessionObj Obtained by calling createSession method
-   * @param dataElementName String containing the data element name defined in policy
+   * @param sessionObj Obtained by Calling createSession method
+   * @param dataElementName String conatining the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer conatining data that will be used as external IV, when externalIv =
+   *     null the value is ignored.
+   * @param externalTweak Buffer conatining data that will be used as Tweak, when externalTweak =
+   *     null the value is take as 0.
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, short[] input, short[] output)
-      throws ProtectorException, SessionTimeoutException {
-          String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, short[].class, ENCODING_UTF8);
-          boolean success = result.isSuccess();
-          short[] converted = (short[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+  public CompletableFuture<Boolean> protectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      String[] output,
+      byte[] externalIv,
+      byte[] externalTweak) {
+    return executeAsync(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect short using encryption data element.
+   * Protect a single short using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
-   * @param input Input array
-   * @param output Result output array
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @param input Input value
+   * @return short The result value
+   * @throws ProtectorException When the policy is configured that way or the result is not a
+   *     valid short.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, byte[][] input, short[] output)
+  public short protect(SessionObject sessionObj, String dataElementName, short input)
       throws ProtectorException, SessionTimeoutException {
-          String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, short[].class, ENCODING_BASE64);
-          boolean success = result.isSuccess();
-          short[] converted = (short[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return (short) parseResult(executeSingle(OPERATION_PROTECT, sessionObj, dataElementName, Short.toString(input)), Short.MIN_VALUE, Short.MAX_VALUE);
   }
 
   /**
-   * Unprotect short using data type preservation or no encryption data element.
+   * Protect a single int using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
-   * @param input Input array
-   * @param output Result output array
-   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
-   *     null the value is ignored
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @param input Input value
+   * @return int The result value
+   * @throws ProtectorException When the policy is configured that way or the result is not a
+   *     valid int.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
-  public boolean unprotect(
-      SessionObject sessionObj,
-      String dataElementName,
-      short[] input,
-      short[] output,
-      byte[] externalIv)
+  public int protect(SessionObject sessionObj, String dataElementName, int input)
       throws ProtectorException, SessionTimeoutException {
-          String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, short[].class, ENCODING_UTF8);
-          boolean success = result.isSuccess();
-          short[] converted = (short[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return (int) parseResult(executeSingle(OPERATION_PROTECT, sessionObj, dataElementName, Integer.toString(input)), Integer.MIN_VALUE, Integer.MAX_VALUE);
   }
 
   /**
-   * Unprotect short using encryption data element.
+   * Protect a single long using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
-   * @param input Input array
-   * @param output Result output array
-   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
-   *     null the value is ignored
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @param input Input value
+   * @return long The result value
+   * @throws ProtectorException When the policy is configured that way or the result is not a
+   *     valid long.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
-  public boolean unprotect(
-      SessionObject sessionObj,
-      String dataElementName,
-      byte[][] input,
-      short[] output,
-      byte[] externalIv)
+  public long protect(SessionObject sessionObj, String dataElementName, long input)
       throws ProtectorException, SessionTimeoutException {
-      String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, short[].class, ENCODING_BASE64);
-          boolean success = result.isSuccess();
-          short[] converted = (short[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return parseResult(executeSingle(OPERATION_PROTECT, sessionObj, dataElementName, Long.toString(input)), Long.MIN_VALUE, Long.MAX_VALUE);
   }
 
   /**
-   * Unprotect int using data type preservation or no encryption data element.
+   * Protect a single String using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
-   * @param input Input array
-   * @param output Result output array
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @param input Input value
+   * @return String The result value
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, int[] input, int[] output)
+  public String protect(SessionObject sessionObj, String dataElementName, String input)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, int[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        int[] converted = (int[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeSingle(OPERATION_PROTECT, sessionObj, dataElementName, input);
   }
 
   /**
-   * Unprotect int using encryption data element.
+   * Protect a range of a short array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, byte[][] input, int[] output)
+  public boolean protect(
+      SessionObject sessionObj,
+      String dataElementName,
+      short[] input,
+      int inOffset,
+      short[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, int[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        int[] converted = (int[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect int using data type preservation or no encryption data element.
+   * Protect a range of a int array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
-   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
-   *     null the value is ignored
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
+  public boolean protect(
       SessionObject sessionObj,
       String dataElementName,
       int[] input,
+      int inOffset,
       int[] output,
-      byte[] externalIv)
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, int[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        int[] converted = (int[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect int using encryption data element.
+   * Protect a range of a long array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
-   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
-   *     null the value is ignored
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
+  public boolean protect(
       SessionObject sessionObj,
       String dataElementName,
-      byte[][] input,
-      int[] output,
-      byte[] externalIv)
+      long[] input,
+      int inOffset,
+      long[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, int[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        int[] converted = (int[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect long using data type preservation or no encryption data element.
+   * Protect a range of a float array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, long[] input, long[] output)
+  public boolean protect(
+      SessionObject sessionObj,
+      String dataElementName,
+      float[] input,
+      int inOffset,
+      float[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, long[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect long using encryption data element.
+   * Protect a range of a double array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, byte[][] input, long[] output)
+  public boolean protect(
+      SessionObject sessionObj,
+      String dataElementName,
+      double[] input,
+      int inOffset,
+      double[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, long[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect long using data type preservation or no encryption data element.
+   * Protect a range of a java.util.Date array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
-   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
-   *     null the value is ignored
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
+  public boolean protect(
       SessionObject sessionObj,
       String dataElementName,
-      long[] input,
-      long[] output,
-      byte[] externalIv)
+      java.util.Date[] input,
+      int inOffset,
+      java.util.Date[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, long[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect long using encryption data element.
+   * Protect a range of a String array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
-   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
-   *     null the value is ignored
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
+  public boolean protect(
       SessionObject sessionObj,
       String dataElementName,
-      byte[][] input,
-      long[] output,
-      byte[] externalIv)
+      String[] input,
+      int inOffset,
+      String[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, long[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect float using no encryption data element.
+   * Protect a range of a char[] array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, float[] input, float[] output)
+  public boolean protect(
+      SessionObject sessionObj,
+      String dataElementName,
+      char[][] input,
+      int inOffset,
+      char[][] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, float[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        float[] converted = (float[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect float using encryption data element.
+   * Protect a range of a byte[] array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, byte[][] input, float[] output)
+  public boolean protect(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      int inOffset,
+      byte[][] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, float[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        float[] converted = (float[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_PROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Unprotect double using no encryption data element.
+   * Protect the records between the position and the limit of a heap or direct buffer.
+   *
+   * <p>The input position is advanced to its limit and the results are written in the same format
+   * at the output position, which is advanced past them. If the output has too little space left
+   * nothing is written to it.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
-   * @param input Input array
-   * @param output Result output array
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @param input Buffer holding the input records
+   * @param output Buffer receiving the result records
+   * @param format Layout of the input and output records
+   * @return int The number of records processed
+   * @throws ProtectorException When a record is malformed or the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws java.nio.BufferOverflowException When the results do not fit into the output.
+   * @throws IllegalArgumentException When the input, output or format is null.
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, double[] input, double[] output)
+  public int protect(
+      SessionObject sessionObj,
+      String dataElementName,
+      ByteBuffer input,
+      ByteBuffer output,
+      RecordFormat format)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, double[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        double[] converted = (double[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRecords(OPERATION_PROTECT, sessionObj, dataElementName, null, input, output, format);
   }
 
   /**
-   * Unprotect double using encryption data element.
+   * Unprotect short using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -1331,47 +1828,29 @@ public class Protector {
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
   public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, byte[][] input, double[] output)
+      SessionObject sessionObj, String dataElementName, short[] input, short[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, double[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        double[] converted = (double[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Unprotect java.util.Date using data type preservation.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, short[], short[])}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean unprotect(
-      SessionObject sessionObj,
-      String dataElementName,
-      java.util.Date[] input,
-      java.util.Date[] output)
-      throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  java.util.Date[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        java.util.Date[] converted = (java.util.Date[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, short[] input, short[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Unprotect String using data type preservation or no encryption data element.
+   * Unprotect short using encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -1382,43 +1861,29 @@ public class Protector {
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
   public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, String[] input, String[] output)
+      SessionObject sessionObj, String dataElementName, byte[][] input, short[] output)
       throws ProtectorException, SessionTimeoutException {
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, input, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
-      }
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
 
   /**
-   * Unprotect String using encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], short[])}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, byte[][] input, String[] output)
-      throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, byte[][] input, short[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Unprotect String using data type preservation or no encryption data element.
+   * Unprotect short using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -1433,21 +1898,37 @@ public class Protector {
   public boolean unprotect(
       SessionObject sessionObj,
       String dataElementName,
-      String[] input,
-      String[] output,
+      short[] input,
+      short[] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, input, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect String using encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, short[], short[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      short[] input,
+      short[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect short using encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -1463,45 +1944,36 @@ public class Protector {
       SessionObject sessionObj,
       String dataElementName,
       byte[][] input,
-      String[] output,
+      short[] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect char using data type preservation or no encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], short[], byte[])}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, char[][] input, char[][] output)
-      throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  char[][].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      short[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect char using encryption data element.
+   * Unprotect int using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -1512,50 +1984,62 @@ public class Protector {
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
   public boolean unprotect(
-      SessionObject sessionObj, String dataElementName, byte[][] input, char[][] output)
+      SessionObject sessionObj, String dataElementName, int[] input, int[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, char[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Unprotect char using data type preservation or no encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, int[], int[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, int[] input, int[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect int using encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
    * @param output Result output array
-   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
-   *     null the value is ignored
    * @return boolean If the operation is successful
    * @throws ProtectorException When input is empty, null or when the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
   public boolean unprotect(
-      SessionObject sessionObj,
-      String dataElementName,
-      char[][] input,
-      char[][] output,
-      byte[] externalIv)
+      SessionObject sessionObj, String dataElementName, byte[][] input, int[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  char[][].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Unprotect char using encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], int[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, byte[][] input, int[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect int using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -1570,52 +2054,37 @@ public class Protector {
   public boolean unprotect(
       SessionObject sessionObj,
       String dataElementName,
-      byte[][] input,
-      char[][] output,
+      int[] input,
+      int[] output,
       byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response, char[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, int[], int[], byte[])}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
-   * @param ptyCharsets Charset that will used to understand byte encoding
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
-   * @throws SessionTimeoutException When session is invalid or has timedout
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean unprotect(
+  public CompletableFuture<Boolean> unprotectAsync(
       SessionObject sessionObj,
       String dataElementName,
-      byte[][] input,
-      byte[][] output,
-      PTYCharset... ptyCharsets)
-      throws ProtectorException, SessionTimeoutException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+      int[] input,
+      int[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   * Unprotect int using encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
@@ -1623,7 +2092,6 @@ public class Protector {
    * @param output Result output array
    * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
    *     null the value is ignored
-   * @param ptyCharsets Charset that will used to understand byte encoding
    * @return boolean If the operation is successful
    * @throws ProtectorException When input is empty, null or when the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
@@ -1632,260 +2100,2104 @@ public class Protector {
       SessionObject sessionObj,
       String dataElementName,
       byte[][] input,
-      byte[][] output,
-      byte[] externalIv,
-      PTYCharset... ptyCharsets)
+      int[] output,
+      byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, stringInput, externalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Unprotect API supports Tweak for FPE(FF1) Unprotect String using FPE DE supported (Data Type
-   * Preservation).
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], int[], byte[])}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
+   * @param output Result output array, populated before the returned future completes
    * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
    *     null the value is ignored
-   * @param externalTweak Buffer conatining data that will be used as externalTweak, when
-   *     externalTweak = null the balue is 0.
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean unprotect(
+  public CompletableFuture<Boolean> unprotectAsync(
       SessionObject sessionObj,
       String dataElementName,
-      String[] input,
-      String[] output,
-      byte[] externalIv,
-      byte[] externalTweak)
-      throws ProtectorException, SessionTimeoutException {
-        String jsonPayload = coreproviderAdapter.buildProtectPayload(sessionObj.getUser(), dataElementName, input, externalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_UNPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+      byte[][] input,
+      int[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Reprotect short using data type preservation or no encryption data element.
+   * Unprotect long using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
-   * @param newDataElementName String containing the data element name defined in policy used to
-   *     create the output data
-   * @param oldDataElementName String containing the data element name defined in policy for the
-   *     input data
+   * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
    * @param output Result output array
    * @return boolean If the operation is successful
    * @throws ProtectorException When input is empty, null or when the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
-  public boolean reprotect(
-      SessionObject sessionObj,
-      String newDataElementName,
-      String oldDataElementName,
-      short[] input,
-      short[] output)
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, long[] input, long[] output)
       throws ProtectorException, SessionTimeoutException {
-          String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName,stringInput, null, null, ENCODING_UTF8);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  short[].class, ENCODING_UTF8);
-          boolean success = result.isSuccess();
-          short[] converted = (short[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Reprotect short using data type preservation or no encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, long[], long[])}.
    *
    * @param sessionObj Obtained by calling createSession method
-   * @param newDataElementName String containing the data element name defined in policy used to
-   *     create the output data
-   * @param oldDataElementName String containing the data element name defined in policy for the
-   *     input data
+   * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
-   * @param newExternalIv Buffer containing data that will be used as external IV on new data
-   *     element, when newExternalIv = null the value is ignored
-   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
-   *     element, when oldExternalIv = null the value is ignored
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean reprotect(
-      SessionObject sessionObj,
-      String newDataElementName,
-      String oldDataElementName,
-      short[] input,
-      short[] output,
-      byte[] newExternalIv,
-      byte[] oldExternalIv)
-      throws ProtectorException, SessionTimeoutException {
-          String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-          String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName,stringInput, newExternalIv, oldExternalIv, ENCODING_UTF8);
-          String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-          ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  short[].class, ENCODING_UTF8);
-          boolean success = result.isSuccess();
-          short[] converted = (short[]) result.getConvertedArray();
-          System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-          return success;
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, long[] input, long[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Reprotect int using data type preservation or no encryption data element.
+   * Unprotect long using encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
-   * @param newDataElementName String containing the data element name defined in policy used to
-   *     create the output data
-   * @param oldDataElementName String containing the data element name defined in policy for the
-   *     input data
+   * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
    * @param output Result output array
    * @return boolean If the operation is successful
    * @throws ProtectorException When input is empty, null or when the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
-  public boolean reprotect(
-      SessionObject sessionObj,
-      String newDataElementName,
-      String oldDataElementName,
-      int[] input,
-      int[] output)
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, byte[][] input, long[] output)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, null, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  int[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        int[] converted = (int[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Reprotect int using data type preservation or no encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], long[])}.
    *
    * @param sessionObj Obtained by calling createSession method
-   * @param newDataElementName String containing the data element name defined in policy used to
-   *     create the output data
-   * @param oldDataElementName String containing the data element name defined in policy for the
-   *     input data
+   * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
-   * @param output Result output array
-   * @param newExternalIv Buffer containing data that will be used as external IV on new data
-   *     element, when newExternalIv = null the value is ignored
-   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
-   *     element, when oldExternalIv = null the value is ignored
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
    */
-  public boolean reprotect(
-      SessionObject sessionObj,
-      String newDataElementName,
-      String oldDataElementName,
-      int[] input,
-      int[] output,
-      byte[] newExternalIv,
-      byte[] oldExternalIv)
-      throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, newExternalIv, oldExternalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  int[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        int[] converted = (int[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, byte[][] input, long[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
   }
 
   /**
-   * Reprotect long using data type preservation or no encryption data element.
+   * Unprotect long using data type preservation or no encryption data element.
    *
    * @param sessionObj Obtained by calling createSession method
-   * @param newDataElementName String containing the data element name defined in policy used to
-   *     create the output data
-   * @param oldDataElementName String containing the data element name defined in policy for the
-   *     input data
+   * @param dataElementName String containing the data element name defined in policy
    * @param input Input array
    * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
    * @return boolean If the operation is successful
    * @throws ProtectorException When input is empty, null or when the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
    */
-  public boolean reprotect(
+  public boolean unprotect(
       SessionObject sessionObj,
-      String newDataElementName,
-      String oldDataElementName,
+      String dataElementName,
       long[] input,
-      long[] output)
+      long[] output,
+      byte[] externalIv)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, null, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  long[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
   }
 
   /**
-   * Reprotect long using data type preservation or no encryption data element.
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, long[], long[], byte[])}.
    *
    * @param sessionObj Obtained by calling createSession method
-   * @param newDataElementName String containing the data element name defined in policy used to
-   *     create the output data
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      long[] input,
+      long[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect long using encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      long[] output,
+      byte[] externalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], long[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      long[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect float using no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, float[] input, float[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, float[], float[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, float[] input, float[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect float using encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, byte[][] input, float[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], float[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, byte[][] input, float[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect double using no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, double[] input, double[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, double[], double[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, double[] input, double[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect double using encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, byte[][] input, double[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], double[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, byte[][] input, double[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect java.util.Date using data type preservation.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      java.util.Date[] input,
+      java.util.Date[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, Date[], Date[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      java.util.Date[] input,
+      java.util.Date[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect String using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, String[] input, String[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, String[], String[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, String[] input, String[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect String using encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, byte[][] input, String[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], String[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, byte[][] input, String[] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect String using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      String[] output,
+      byte[] externalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, String[], String[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      String[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect String using encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      String[] output,
+      byte[] externalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], String[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      String[] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect char using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, char[][] input, char[][] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, char[][], char[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, char[][] input, char[][] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect char using encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj, String dataElementName, byte[][] input, char[][] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], char[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj, String dataElementName, byte[][] input, char[][] output) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect char using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      char[][] input,
+      char[][] output,
+      byte[] externalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, char[][], char[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      char[][] input,
+      char[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect char using encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      char[][] output,
+      byte[] externalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], char[][], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      char[][] output,
+      byte[] externalIv) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws SessionTimeoutException When session is invalid or has timedout
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      byte[][] output,
+      PTYCharset... ptyCharsets)
+      throws ProtectorException, SessionTimeoutException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], byte[][], PTYCharset...)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      byte[][] output,
+      PTYCharset... ptyCharsets) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, null, null);
+  }
+
+  /**
+   * Unprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      byte[][] output,
+      byte[] externalIv,
+      PTYCharset... ptyCharsets)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, byte[][], byte[][], byte[], PTYCharset...)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      byte[][] output,
+      byte[] externalIv,
+      PTYCharset... ptyCharsets) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect API supports Tweak for FPE(FF1) Unprotect String using FPE DE supported (Data Type
+   * Preservation).
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @param externalTweak Buffer conatining data that will be used as externalTweak, when
+   *     externalTweak = null the balue is 0.
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      String[] output,
+      byte[] externalIv,
+      byte[] externalTweak)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #unprotect(SessionObject, String, String[], String[], byte[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param externalIv Buffer containing data that will be used as external IV, when externalIv =
+   *     null the value is ignored
+   * @param externalTweak Buffer conatining data that will be used as externalTweak, when
+   *     externalTweak = null the balue is 0.
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> unprotectAsync(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      String[] output,
+      byte[] externalIv,
+      byte[] externalTweak) {
+    return executeAsync(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, externalIv, null);
+  }
+
+  /**
+   * Unprotect a single short using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input value
+   * @return short The result value
+   * @throws ProtectorException When the policy is configured that way or the result is not a
+   *     valid short.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public short unprotect(SessionObject sessionObj, String dataElementName, short input)
+      throws ProtectorException, SessionTimeoutException {
+    return (short) parseResult(executeSingle(OPERATION_UNPROTECT, sessionObj, dataElementName, Short.toString(input)), Short.MIN_VALUE, Short.MAX_VALUE);
+  }
+
+  /**
+   * Unprotect a single int using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input value
+   * @return int The result value
+   * @throws ProtectorException When the policy is configured that way or the result is not a
+   *     valid int.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public int unprotect(SessionObject sessionObj, String dataElementName, int input)
+      throws ProtectorException, SessionTimeoutException {
+    return (int) parseResult(executeSingle(OPERATION_UNPROTECT, sessionObj, dataElementName, Integer.toString(input)), Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Unprotect a single long using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input value
+   * @return long The result value
+   * @throws ProtectorException When the policy is configured that way or the result is not a
+   *     valid long.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public long unprotect(SessionObject sessionObj, String dataElementName, long input)
+      throws ProtectorException, SessionTimeoutException {
+    return parseResult(executeSingle(OPERATION_UNPROTECT, sessionObj, dataElementName, Long.toString(input)), Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Unprotect a single String using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input value
+   * @return String The result value
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public String unprotect(SessionObject sessionObj, String dataElementName, String input)
+      throws ProtectorException, SessionTimeoutException {
+    return executeSingle(OPERATION_UNPROTECT, sessionObj, dataElementName, input);
+  }
+
+  /**
+   * Unprotect a range of a short array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      short[] input,
+      int inOffset,
+      short[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a int array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      int[] input,
+      int inOffset,
+      int[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a long array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      long[] input,
+      int inOffset,
+      long[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a float array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      float[] input,
+      int inOffset,
+      float[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a double array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      double[] input,
+      int inOffset,
+      double[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a java.util.Date array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      java.util.Date[] input,
+      int inOffset,
+      java.util.Date[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a String array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      String[] input,
+      int inOffset,
+      String[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a char[] array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      char[][] input,
+      int inOffset,
+      char[][] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect a range of a byte[] array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      byte[][] input,
+      int inOffset,
+      byte[][] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Unprotect the records between the position and the limit of a heap or direct buffer.
+   *
+   * <p>The input position is advanced to its limit and the results are written in the same format
+   * at the output position, which is advanced past them. If the output has too little space left
+   * nothing is written to it.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Buffer holding the input records
+   * @param output Buffer receiving the result records
+   * @param format Layout of the input and output records
+   * @return int The number of records processed
+   * @throws ProtectorException When a record is malformed or the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws java.nio.BufferOverflowException When the results do not fit into the output.
+   * @throws IllegalArgumentException When the input, output or format is null.
+   */
+  public int unprotect(
+      SessionObject sessionObj,
+      String dataElementName,
+      ByteBuffer input,
+      ByteBuffer output,
+      RecordFormat format)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRecords(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input, output, format);
+  }
+
+  /**
+   * Reprotect short using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      short[] input,
+      short[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, short[], short[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      short[] input,
+      short[] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect short using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      short[] input,
+      short[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, short[], short[], byte[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      short[] input,
+      short[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Reprotect int using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      int[] input,
+      int[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, int[], int[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      int[] input,
+      int[] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect int using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      int[] input,
+      int[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, int[], int[], byte[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      int[] input,
+      int[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Reprotect long using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      long[] input,
+      long[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, long[], long[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      long[] input,
+      long[] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect long using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      long[] input,
+      long[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, long[], long[], byte[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      long[] input,
+      long[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Reprotect float using no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      float[] input,
+      float[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, float[], float[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      float[] input,
+      float[] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect double using no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      double[] input,
+      double[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, double[], double[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      double[] input,
+      double[] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect date using data type preservation.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      java.util.Date[] input,
+      java.util.Date[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, Date[], Date[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      java.util.Date[] input,
+      java.util.Date[] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect String using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      String[] input,
+      String[] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, String[], String[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      String[] input,
+      String[] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect String using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      String[] input,
+      String[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, String[], String[], byte[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      String[] input,
+      String[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Reprotect char using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      char[][] input,
+      char[][] output)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, char[][], char[][])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      char[][] input,
+      char[][] output) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect char using data type preservation or no encryption data element.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      char[][] input,
+      char[][] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, char[][], char[][], byte[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      char[][] input,
+      char[][] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Reprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      byte[][] input,
+      byte[][] output,
+      PTYCharset... ptyCharsets)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, byte[][], byte[][], PTYCharset...)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      byte[][] input,
+      byte[][] output,
+      PTYCharset... ptyCharsets) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, null, null);
+  }
+
+  /**
+   * Reprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      byte[][] input,
+      byte[][] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv,
+      PTYCharset... ptyCharsets)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, byte[][], byte[][], byte[], byte[], PTYCharset...)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @param ptyCharsets Charset that will used to understand byte encoding
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      byte[][] input,
+      byte[][] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv,
+      PTYCharset... ptyCharsets) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Reprotect API supported Tweak for FPE(FF1) Reprotect String using FPE DE supported (DataType
+   * Preservation).
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @param newExternalTweak Buffer conatining data that will be used as external Tweak on new data
+   *     element.
+   * @param oldExternalTweak Buffer conatining data that will be used as external Tweak on old data
+   *     element.
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      String[] input,
+      String[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv,
+      byte[] newExternalTweak,
+      byte[] oldExternalTweak)
+      throws ProtectorException, SessionTimeoutException {
+    return execute(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Asynchronous counterpart of
+   * {@link #reprotect(SessionObject, String, String, String[], String[], byte[], byte[], byte[], byte[])}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param output Result output array, populated before the returned future completes
+   * @param newExternalIv Buffer containing data that will be used as external IV on new data
+   *     element, when newExternalIv = null the value is ignored
+   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
+   *     element, when oldExternalIv = null the value is ignored
+   * @param newExternalTweak Buffer conatining data that will be used as external Tweak on new data
+   *     element.
+   * @param oldExternalTweak Buffer conatining data that will be used as external Tweak on old data
+   *     element.
+   * @return CompletableFuture completed with true once the output is populated, or exceptionally
+   *     with a ProtectorException when the operation fails
+   */
+  public CompletableFuture<Boolean> reprotectAsync(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      String[] input,
+      String[] output,
+      byte[] newExternalIv,
+      byte[] oldExternalIv,
+      byte[] newExternalTweak,
+      byte[] oldExternalTweak) {
+    return executeAsync(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, newExternalIv, oldExternalIv);
+  }
+
+  /**
+   * Reprotect a range of a short array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      short[] input,
+      int inOffset,
+      short[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Reprotect a range of a int array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
+   * @param oldDataElementName String containing the data element name defined in policy for the
+   *     input data
+   * @param input Input array
+   * @param inOffset Position of the first input value
+   * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
+   * @return boolean If the operation is successful
+   * @throws ProtectorException When the policy is configured that way.
+   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
+   */
+  public boolean reprotect(
+      SessionObject sessionObj,
+      String newDataElementName,
+      String oldDataElementName,
+      int[] input,
+      int inOffset,
+      int[] output,
+      int outOffset,
+      int length)
+      throws ProtectorException, SessionTimeoutException {
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
+  }
+
+  /**
+   * Reprotect a range of a long array, see {@link Protector} for operating in place.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param newDataElementName String containing the data element name defined in policy used to
+   *     create the output data
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
-   * @param newExternalIv Buffer containing data that will be used as external IV on new data
-   *     element, when newExternalIv = null the value is ignored
-   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
-   *     element, when oldExternalIv = null the value is ignored
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
   public boolean reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
       long[] input,
+      int inOffset,
       long[] output,
-      byte[] newExternalIv,
-      byte[] oldExternalIv)
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, newExternalIv, oldExternalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  long[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        long[] converted = (long[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
-       
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Reprotect float using no encryption data element.
+   * Reprotect a range of a float array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
@@ -1893,30 +4205,30 @@ public class Protector {
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
   public boolean reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
       float[] input,
-      float[] output)
+      int inOffset,
+      float[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, null, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  float[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        float[] converted = (float[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Reprotect double using no encryption data element.
+   * Reprotect a range of a double array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
@@ -1924,30 +4236,30 @@ public class Protector {
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
   public boolean reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
       double[] input,
-      double[] output)
+      int inOffset,
+      double[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, null, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  double[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        double[] converted = (double[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Reprotect date using data type preservation.
+   * Reprotect a range of a java.util.Date array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
@@ -1955,30 +4267,30 @@ public class Protector {
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
   public boolean reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
       java.util.Date[] input,
-      java.util.Date[] output)
+      int inOffset,
+      java.util.Date[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, null, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  java.util.Date[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        java.util.Date[] converted = (java.util.Date[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Reprotect String using data type preservation or no encryption data element.
+   * Reprotect a range of a String array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
@@ -1986,29 +4298,30 @@ public class Protector {
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
   public boolean reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
       String[] input,
-      String[] output)
+      int inOffset,
+      String[] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, input, null, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Reprotect String using data type preservation or no encryption data element.
+   * Reprotect a range of a char[] array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
@@ -2016,35 +4329,30 @@ public class Protector {
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
-   * @param newExternalIv Buffer containing data that will be used as external IV on new data
-   *     element, when newExternalIv = null the value is ignored
-   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
-   *     element, when oldExternalIv = null the value is ignored
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
   public boolean reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
-      String[] input,
-      String[] output,
-      byte[] newExternalIv,
-      byte[] oldExternalIv)
+      char[][] input,
+      int inOffset,
+      char[][] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, input, newExternalIv, oldExternalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  String[].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        String[] converted = (String[]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Reprotect char using data type preservation or no encryption data element.
+   * Reprotect a range of a byte[] array, see {@link Protector} for operating in place.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
@@ -2052,179 +4360,209 @@ public class Protector {
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
    * @param input Input array
+   * @param inOffset Position of the first input value
    * @param output Result output array
+   * @param outOffset Position in the output of the first result
+   * @param length Number of values
    * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @throws ProtectorException When the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws IndexOutOfBoundsException When a range is outside its array.
    */
   public boolean reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
-      char[][] input,
-      char[][] output)
+      byte[][] input,
+      int inOffset,
+      byte[][] output,
+      int outOffset,
+      int length)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, null, null, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  char[][].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRange(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, inOffset, output, outOffset, length);
   }
 
   /**
-   * Reprotect char using data type preservation or no encryption data element.
+   * Reprotect the records between the position and the limit of a heap or direct buffer.
+   *
+   * <p>The input position is advanced to its limit and the results are written in the same format
+   * at the output position, which is advanced past them. If the output has too little space left
+   * nothing is written to it.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
    *     create the output data
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
-   * @param input Input array
-   * @param output Result output array
-   * @param newExternalIv Buffer containing data that will be used as external IV on new data
-   *     element, when newExternalIv = null the value is ignored
-   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
-   *     element, when oldExternalIv = null the value is ignored
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
+   * @param input Buffer holding the input records
+   * @param output Buffer receiving the result records
+   * @param format Layout of the input and output records
+   * @return int The number of records processed
+   * @throws ProtectorException When a record is malformed or the policy is configured that way.
    * @throws SessionTimeoutException When session has expired or is invalid.
+   * @throws java.nio.BufferOverflowException When the results do not fit into the output.
+   * @throws IllegalArgumentException When the input, output or format is null.
    */
-  public boolean reprotect(
+  public int reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
-      char[][] input,
-      char[][] output,
-      byte[] newExternalIv,
-      byte[] oldExternalIv)
+      ByteBuffer input,
+      ByteBuffer output,
+      RecordFormat format)
       throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, newExternalIv, oldExternalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  char[][].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        char[][] converted = (char[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+    return executeRecords(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input, output, format);
   }
 
   /**
-   * Reprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   * Protect the values of an iterator lazily, in bulk requests.
+   *
+   * <p>The input is read in batches of up to {@link ProtectorConfig#getMaxElementsPerRequest()}
+   * values, with at most {@link ProtectorConfig#getRequestParallelism()} batches in flight ahead of
+   * the caller, so memory stays bounded whatever the number of values. Results are returned in
+   * input order. A failure is thrown by {@code next()} as a
+   * {@link CompletionException} caused by the {@link ProtectorException}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input values
+   * @return Iterator The results, in input order
+   */
+  public Iterator<String> protect(
+      SessionObject sessionObj, String dataElementName, Iterator<String> input) {
+    return iterate(OPERATION_PROTECT, sessionObj, dataElementName, null, input);
+  }
+
+  /**
+   * Protect the values of a stream lazily, in bulk requests, see
+   * {@link #protect(SessionObject, String, Iterator)}. Closing the returned stream
+   * closes the input.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input values
+   * @return Stream The results, in input order
+   */
+  public Stream<String> protect(
+      SessionObject sessionObj, String dataElementName, Stream<String> input) {
+    return stream(iterate(OPERATION_PROTECT, sessionObj, dataElementName, null, input.iterator()), input);
+  }
+
+  /**
+   * Protect the values of a publisher in bulk requests, requesting no more input than
+   * {@link ProtectorConfig#getRequestParallelism()} batches ahead of the subscriber. A failure
+   * cancels the input and is signalled with the {@link ProtectorException}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input values
+   * @return Publisher The results, in input order
+   */
+  public Flow.Publisher<String> protect(
+      SessionObject sessionObj, String dataElementName, Flow.Publisher<String> input) {
+    return publish(OPERATION_PROTECT, sessionObj, dataElementName, null, input);
+  }
+
+  /**
+   * Unprotect the values of an iterator lazily, in bulk requests, see
+   * {@link #protect(SessionObject, String, Iterator)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input values
+   * @return Iterator The results, in input order
+   */
+  public Iterator<String> unprotect(
+      SessionObject sessionObj, String dataElementName, Iterator<String> input) {
+    return iterate(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input);
+  }
+
+  /**
+   * Unprotect the values of a stream lazily, in bulk requests, see
+   * {@link #protect(SessionObject, String, Stream)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input values
+   * @return Stream The results, in input order
+   */
+  public Stream<String> unprotect(
+      SessionObject sessionObj, String dataElementName, Stream<String> input) {
+    return stream(iterate(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input.iterator()), input);
+  }
+
+  /**
+   * Unprotect the values of a publisher in bulk requests, see
+   * {@link #protect(SessionObject, String, Flow.Publisher)}.
+   *
+   * @param sessionObj Obtained by calling createSession method
+   * @param dataElementName String containing the data element name defined in policy
+   * @param input Input values
+   * @return Publisher The results, in input order
+   */
+  public Flow.Publisher<String> unprotect(
+      SessionObject sessionObj, String dataElementName, Flow.Publisher<String> input) {
+    return publish(OPERATION_UNPROTECT, sessionObj, dataElementName, null, input);
+  }
+
+  /**
+   * Reprotect the values of an iterator lazily, in bulk requests, see
+   * {@link #protect(SessionObject, String, Iterator)}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
    *     create the output data
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
-   * @param input Input array
-   * @param output Result output array
-   * @param ptyCharsets Charset that will used to understand byte encoding
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param input Input values
+   * @return Iterator The results, in input order
    */
-  public boolean reprotect(
+  public Iterator<String> reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
-      byte[][] input,
-      byte[][] output,
-      PTYCharset... ptyCharsets)
-      throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, null, null, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+      Iterator<String> input) {
+    return iterate(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input);
   }
 
   /**
-   * Reprotect byte using all DE supported (Encryption, NoEncryption and DataType Preservation).
+   * Reprotect the values of a stream lazily, in bulk requests, see
+   * {@link #protect(SessionObject, String, Stream)}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
    *     create the output data
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
-   * @param input Input array
-   * @param output Result output array
-   * @param newExternalIv Buffer containing data that will be used as external IV on new data
-   *     element, when newExternalIv = null the value is ignored
-   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
-   *     element, when oldExternalIv = null the value is ignored
-   * @param ptyCharsets Charset that will used to understand byte encoding
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param input Input values
+   * @return Stream The results, in input order
    */
-  public boolean reprotect(
+  public Stream<String> reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
-      byte[][] input,
-      byte[][] output,
-      byte[] newExternalIv,
-      byte[] oldExternalIv,
-      PTYCharset... ptyCharsets)
-      throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, newExternalIv, oldExternalIv, ENCODING_BASE64);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_BASE64);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+      Stream<String> input) {
+    return stream(iterate(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input.iterator()), input);
   }
 
   /**
-   * Reprotect API supported Tweak for FPE(FF1) Reprotect String using FPE DE supported (DataType
-   * Preservation).
+   * Reprotect the values of a publisher in bulk requests, see
+   * {@link #protect(SessionObject, String, Flow.Publisher)}.
    *
    * @param sessionObj Obtained by calling createSession method
    * @param newDataElementName String containing the data element name defined in policy used to
    *     create the output data
    * @param oldDataElementName String containing the data element name defined in policy for the
    *     input data
-   * @param input Input array
-   * @param output Result output array
-   * @param newExternalIv Buffer containing data that will be used as external IV on new data
-   *     element, when newExternalIv = null the value is ignored
-   * @param oldExternalIv Buffer containing data that will be used as external IV on old data
-   *     element, when oldExternalIv = null the value is ignored
-   * @param newExternalTweak Buffer conatining data that will be used as external Tweak on new data
-   *     element.
-   * @param oldExternalTweak Buffer conatining data that will be used as external Tweak on old data
-   *     element.
-   * @return boolean If the operation is successful
-   * @throws ProtectorException When input is empty, null or when the policy is configured that way.
-   * @throws SessionTimeoutException When session has expired or is invalid.
+   * @param input Input values
+   * @return Publisher The results, in input order
    */
-  public boolean reprotect(
+  public Flow.Publisher<String> reprotect(
       SessionObject sessionObj,
       String newDataElementName,
       String oldDataElementName,
-      String[] input,
-      String[] output,
-      byte[] newExternalIv,
-      byte[] oldExternalIv,
-      byte[] newExternalTweak,
-      byte[] oldExternalTweak)
-      throws ProtectorException, SessionTimeoutException {
-        String[] stringInput = coreproviderAdapter.convertToStringArray(input);
-        String jsonPayload = coreproviderAdapter.buildReprotectPayload(sessionObj.getUser(), newDataElementName, oldDataElementName, stringInput, newExternalIv, oldExternalIv, ENCODING_UTF8);
-        String response = coreproviderAdapter.sendApiRequest(OPERATION_REPROTECT, instance.jwtToken, instance.apiKey, jsonPayload);
-        ParseResult result = coreproviderAdapter.parseResultsToOutput(sessionObj, response,  byte[][].class, ENCODING_UTF8);
-        boolean success = result.isSuccess();
-        byte[][] converted = (byte[][]) result.getConvertedArray();
-        System.arraycopy(converted, 0, output, 0, Math.min(output.length, converted.length));
-        return success;
+      Flow.Publisher<String> input) {
+    return publish(OPERATION_REPROTECT, sessionObj, newDataElementName, oldDataElementName, input);
   }
 
   /**
@@ -2236,4 +4574,291 @@ public class Protector {
   public void flushAudits() throws ProtectorException {
     coreproviderAdapter.flush();
   }
+
+  private boolean execute(
+      String operation,
+      SessionObject sessionObj,
+      String dataElementName,
+      String oldDataElementName,
+      Object input,
+      Object output,
+      byte[] externalIv,
+      byte[] oldExternalIv)
+      throws ProtectorException {
+    ProtectionRequest request = bulk(newRequest(operation, sessionObj, dataElementName, oldDataElementName, input, output, externalIv, oldExternalIv));
+    if (coalescer == null || request.getPartialResults() != null) {
+      return coreproviderAdapter.execute(request, tokens.getToken(), tokens.getApiKey());
+    }
+    return await(coalescer.submit(request, tokens.getToken(), tokens.getApiKey()));
+  }
+
+  /**
+   * Returns a bulk request tracking the status of every value if partial results are enabled.
+   * Such requests are not coalesced, as their statuses belong to the call.
+   */
+  private ProtectionRequest bulk(ProtectionRequest request) {
+    return config.isPartialResultsEnabled() ? request.withPartialResults(config.getPartialResultsMaxRetries()) : request;
+  }
+
+  /**
+   * Executes a call for a range of the input, writing the results to a range of the output.
+   */
+  private boolean executeRange(
+      String operation,
+      SessionObject sessionObj,
+      String dataElementName,
+      String oldDataElementName,
+      Object input,
+      int inOffset,
+      Object output,
+      int outOffset,
+      int length)
+      throws ProtectorException {
+    Objects.checkFromIndexSize(inOffset, length, Array.getLength(input));
+    Objects.checkFromIndexSize(outOffset, length, Array.getLength(output));
+    if (input == output && inOffset != outOffset && Math.abs(inOffset - outOffset) < length) {
+      throw new IllegalArgumentException("Overlapping input and output ranges must start at the same offset");
+    }
+    String encoding = encodingFor(input, output);
+    ProtectionRequest request = bulk(new ProtectionRequest(
+        operation,
+        sessionObj,
+        sessionObj.getUser(),
+        dataElementName,
+        oldDataElementName,
+        null,
+        null,
+        encoding,
+        PayloadValues.of(input, encoding, inOffset, length),
+        output)
+        .withOutputOffset(outOffset)
+        .withDeadline(Deadline.forCall(config.getCallTimeoutMillis())));
+    if (coalescer == null || request.getPartialResults() != null) {
+      return coreproviderAdapter.execute(request, tokens.getToken(), tokens.getApiKey());
+    }
+    return await(coalescer.submit(request, tokens.getToken(), tokens.getApiKey()));
+  }
+
+  /**
+   * Executes a call for the records of a buffer, serialized straight from it.
+   */
+  private int executeRecords(
+      String operation,
+      SessionObject sessionObj,
+      String dataElementName,
+      String oldDataElementName,
+      ByteBuffer input,
+      ByteBuffer output,
+      RecordFormat format)
+      throws ProtectorException {
+    if (input == null || output == null || format == null) {
+      throw new IllegalArgumentException("input, output and format must not be null");
+    }
+    RecordBuffer records = format.read(input);
+    byte[][] results = new byte[records.size()][];
+    ProtectionRequest request = new ProtectionRequest(
+        operation,
+        sessionObj,
+        sessionObj.getUser(),
+        dataElementName,
+        oldDataElementName,
+        null,
+        null,
+        ENCODING_BASE64,
+        PayloadValues.of(records, ENCODING_BASE64),
+        results)
+        .withDeadline(Deadline.forCall(config.getCallTimeoutMillis()));
+    if (coalescer == null) {
+      coreproviderAdapter.execute(request, tokens.getToken(), tokens.getApiKey());
+    } else {
+      await(coalescer.submit(request, tokens.getToken(), tokens.getApiKey()));
+    }
+    format.write(results, output);
+    input.position(input.limit());
+    return records.size();
+  }
+
+  private Iterator<String> iterate(
+      String operation,
+      SessionObject sessionObj,
+      String dataElementName,
+      String oldDataElementName,
+      Iterator<String> input) {
+    return new BatchingIterator(input, batchSubmitter(operation, sessionObj, dataElementName, oldDataElementName),
+        config.getMaxElementsPerRequest(), config.getRequestParallelism());
+  }
+
+  private Flow.Publisher<String> publish(
+      String operation,
+      SessionObject sessionObj,
+      String dataElementName,
+      String oldDataElementName,
+      Flow.Publisher<String> input) {
+    return new BatchingPublisher(input, batchSubmitter(operation, sessionObj, dataElementName, oldDataElementName),
+        config.getMaxElementsPerRequest(), config.getRequestParallelism());
+  }
+
+  private static Stream<String> stream(Iterator<String> results, Stream<String> input) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(input::close);
+  }
+
+  /**
+   * Returns the function sending a batch of a streaming call, completing with its results.
+   */
+  private Function<String[], CompletableFuture<String[]>> batchSubmitter(
+      String operation, SessionObject sessionObj, String dataElementName, String oldDataElementName) {
+    return values -> {
+      String[] results = new String[values.length];
+      return executeAsync(operation, sessionObj, dataElementName, oldDataElementName, values, results, null, null)
+          .thenApply(ok -> results);
+    };
+  }
+
+  /**
+   * Executes a single-value call, coalesced into a batch if batching is enabled.
+   *
+   * @param input the value in its wire representation
+   * @return the result in its wire representation
+   */
+  private String executeSingle(String operation, SessionObject sessionObj, String dataElementName, String input)
+      throws ProtectorException {
+    ProtectionRequest request =
+        newRequest(operation, sessionObj, dataElementName, null, new String[] {input}, new String[1], null, null);
+    if (coalescer == null) {
+      return coreproviderAdapter.executeSingle(request, tokens.getToken(), tokens.getApiKey());
+    }
+    await(coalescer.submit(request, tokens.getToken(), tokens.getApiKey()));
+    return ((String[]) request.getOutput())[0];
+  }
+
+  /**
+   * Converts a numeric result, reporting a result out of range like the array overloads do.
+   */
+  private static long parseResult(String result, long min, long max) throws ProtectorException {
+    try {
+      long value = Long.parseLong(result);
+      if (value < min || value > max) {
+        throw new NumberFormatException("Value out of range. Value:\"" + result + "\"");
+      }
+      return value;
+    } catch (NumberFormatException e) {
+      throw new ProtectorException(ErrorMapper.getErrorDetail(e.getMessage()).getErrorMessage());
+    }
+  }
+
+  /**
+   * Waits for a call submitted to the coalescer.
+   */
+  private static boolean await(CompletableFuture<Boolean> result) throws ProtectorException {
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ProtectorException) {
+        throw (ProtectorException) e.getCause();
+      }
+      throw new ProtectorException("Error during API request: " + e.getCause().getMessage());
+    } catch (InterruptedException e) {
+      result.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new ProtectorException("Interrupted while waiting for the protection request");
+    }
+  }
+
+  private CompletableFuture<Boolean> executeAsync(
+      String operation,
+      SessionObject sessionObj,
+      String dataElementName,
+      String oldDataElementName,
+      Object input,
+      Object output,
+      byte[] externalIv,
+      byte[] oldExternalIv) {
+    ProtectionRequest request;
+    try {
+      request = bulk(newRequest(operation, sessionObj, dataElementName, oldDataElementName, input, output, externalIv, oldExternalIv));
+    } catch (ProtectorException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    if (coalescer != null && request.getPartialResults() == null) {
+      return coalescer.submit(request, tokens.getToken(), tokens.getApiKey());
+    }
+    return coreproviderAdapter.executeAsync(request, tokens.getToken(), tokens.getApiKey());
+  }
+
+  private ProtectionRequest newRequest(
+      String operation,
+      SessionObject sessionObj,
+      String dataElementName,
+      String oldDataElementName,
+      Object input,
+      Object output,
+      byte[] externalIv,
+      byte[] oldExternalIv)
+      throws ProtectorException {
+    if (input == null) {
+      // Reported like the service reports an empty input.
+      ErrorMapper.ErrorDetail detail = ErrorMapper.getErrorDetail("Input is null or not within allowed limits.");
+      throw new ProtectorException(detail.getErrorCode(), detail.getErrorMessage());
+    }
+    String encoding = encodingFor(input, output);
+    return new ProtectionRequest(
+        operation,
+        sessionObj,
+        sessionObj.getUser(),
+        dataElementName,
+        oldDataElementName,
+        externalIv,
+        oldExternalIv,
+        encoding,
+        PayloadValues.of(input, encoding),
+        output)
+        .withDeadline(Deadline.forCall(config.getCallTimeoutMillis()));
+  }
+
+  /**
+   * Byte array input or output is exchanged Base64 encoded, everything else as UTF-8 text.
+   */
+  private static String encodingFor(Object input, Object output) {
+    return input instanceof byte[][] || output instanceof byte[][] ? ENCODING_BASE64 : ENCODING_UTF8;
+  }
+
+  /**
+   * Builder of independent {@link Protector} instances, see {@link Protector#builder()}.
+   */
+  public static final class Builder {
+    private ProtectorConfig config;
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the configuration. Without one, the configuration is read from the environment when
+     * the Protector is built.
+     *
+     * @param config the client configuration
+     * @return this builder
+     */
+    public Builder config(ProtectorConfig config) {
+      if (config == null) {
+        throw new IllegalArgumentException("config must not be null");
+      }
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Authenticates and creates a new Protector.
+     *
+     * @return Protector a new instance, to be closed by the caller
+     * @throws ProtectorException if initialization or authentication fails
+     */
+    public Protector build() throws ProtectorException {
+      try {
+        return new Protector(config != null ? config : ProtectorConfig.fromEnvironment());
+      } catch (InitializationException e) {
+        throw new ProtectorException("Failed to Initialize Protector", e);
+      }
+    }
+  }
 }
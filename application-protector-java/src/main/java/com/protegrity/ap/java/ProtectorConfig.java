@@ -0,0 +1,1792 @@
+package com.protegrity.ap.java;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable client configuration for a {@link Protector} instance.
+ *
+ * <p>A configuration is created either with {@link #builder()} or from environment variables
+ * with {@link #fromEnvironment()}. Once built, a configuration never changes, so it can be shared
+ * freely between threads.
+ *
+ * <h2>Environment Variables</h2>
+ * <ul>
+ *   <li>{@code DEV_EDITION_HOST} - Host name of the Developer Edition API, reached over HTTPS, or comma separated host names of several gateways</li>
+ *   <li>{@code DEV_EDITION_VERSION} - Version of the protection API</li>
+ *   <li>{@code DEV_EDITION_EMAIL} - User email address</li>
+ *   <li>{@code DEV_EDITION_PASSWORD} - User password</li>
+ *   <li>{@code DEV_EDITION_API_KEY} - API key for service access</li>
+ *   <li>{@code DEV_EDITION_SESSION_TIMEOUT_MINUTES} - Inactivity after which a {@link SessionObject} expires</li>
+ *   <li>{@code DEV_EDITION_HTTP_TRANSPORT} - {@code HTTP_1_1} (default) or {@code HTTP_2}</li>
+ *   <li>{@code DEV_EDITION_HTTP_MAX_CONNECTIONS} - Maximum pooled connections in total</li>
+ *   <li>{@code DEV_EDITION_HTTP_MAX_CONNECTIONS_PER_ROUTE} - Maximum pooled connections per host</li>
+ *   <li>{@code DEV_EDITION_HTTP_CONNECT_TIMEOUT_MS} - TCP/TLS connect timeout</li>
+ *   <li>{@code DEV_EDITION_HTTP_SOCKET_TIMEOUT_MS} - Maximum inactivity while reading a response</li>
+ *   <li>{@code DEV_EDITION_HTTP_CONNECTION_REQUEST_TIMEOUT_MS} - Maximum wait for a pooled connection</li>
+ *   <li>{@code DEV_EDITION_HTTP_IDLE_TIMEOUT_MS} - Idle time after which pooled connections are evicted</li>
+ *   <li>{@code DEV_EDITION_HTTP_CONNECTION_TTL_MS} - Maximum lifetime of a pooled connection, 0 for unlimited</li>
+ *   <li>{@code DEV_EDITION_MAX_ELEMENTS_PER_REQUEST} - Maximum number of values sent in one request</li>
+ *   <li>{@code DEV_EDITION_MAX_BYTES_PER_REQUEST} - Maximum estimated payload size of one request</li>
+ *   <li>{@code DEV_EDITION_REQUEST_PARALLELISM} - Maximum concurrent requests for one bulk call</li>
+ *   <li>{@code DEV_EDITION_BATCHING_ENABLED} - {@code true} to coalesce concurrent small calls into bulk requests</li>
+ *   <li>{@code DEV_EDITION_BATCH_WINDOW_MS} - Time a micro-batch waits for further calls</li>
+ *   <li>{@code DEV_EDITION_MAX_BATCH_SIZE} - Number of values after which a micro-batch is sent immediately</li>
+ *   <li>{@code DEV_EDITION_DEDUPLICATION_ENABLED} - {@code true} to send each distinct value of a bulk call only once</li>
+ *   <li>{@code DEV_EDITION_PARTIAL_RESULTS_ENABLED} - {@code true} to keep the results of the other values when some values of a bulk call fail</li>
+ *   <li>{@code DEV_EDITION_PARTIAL_RESULTS_MAX_RETRIES} - Requests a bulk call may send to isolate the values rejected by the service</li>
+ *   <li>{@code DEV_EDITION_TOKEN_CACHE_DATA_ELEMENTS} - Comma separated deterministic data elements whose results are cached</li>
+ *   <li>{@code DEV_EDITION_TOKEN_CACHE_MAX_ENTRIES} - Maximum number of entries in the token cache</li>
+ *   <li>{@code DEV_EDITION_TOKEN_CACHE_MAX_BYTES} - Maximum estimated heap usage of the token cache</li>
+ *   <li>{@code DEV_EDITION_TOKEN_CACHE_TTL_MS} - Time to live of token cache entries, 0 for no expiry</li>
+ *   <li>{@code DEV_EDITION_TOKEN_REFRESH_MARGIN_MS} - Time before expiry at which the JWT is renewed in the background</li>
+ *   <li>{@code DEV_EDITION_CREDENTIAL_CACHE_DIR} - Directory in which the JWT is kept encrypted between JVM starts</li>
+ *   <li>{@code DEV_EDITION_MAX_RETRIES} - Retries of a request that failed to connect or was answered with 429, 502, 503 or 504, 0 to disable</li>
+ *   <li>{@code DEV_EDITION_RETRY_BASE_DELAY_MS} - Backoff before the first retry, doubled for every further retry</li>
+ *   <li>{@code DEV_EDITION_RETRY_MAX_DELAY_MS} - Upper bound of the delay before a retry</li>
+ *   <li>{@code DEV_EDITION_CIRCUIT_BREAKER_FAILURE_THRESHOLD} - Consecutive failures after which requests to an endpoint fail fast, 0 to disable</li>
+ *   <li>{@code DEV_EDITION_CIRCUIT_BREAKER_OPEN_MS} - Time an open circuit fails fast before a probe request is let through</li>
+ *   <li>{@code DEV_EDITION_HEDGING_DATA_ELEMENTS} - Comma separated deterministic data elements whose slow requests are hedged</li>
+ *   <li>{@code DEV_EDITION_HEDGING_PERCENTILE} - Percentile of recent latencies after which a second request is sent</li>
+ *   <li>{@code DEV_EDITION_HEDGING_BUDGET_PERCENT} - Limit of hedged requests in percent of the requests sent</li>
+ *   <li>{@code DEV_EDITION_MAX_CONCURRENT_REQUESTS} - Upper bound of the adaptive limit of requests in flight, 0 to disable</li>
+ *   <li>{@code DEV_EDITION_MAX_QUEUED_REQUESTS} - Requests that may wait for a slot when the concurrency limit is reached</li>
+ *   <li>{@code DEV_EDITION_CONCURRENCY_QUEUE_TIMEOUT_MS} - Time a request waits for a slot when the concurrency limit is reached, 0 to refuse at once</li>
+ *   <li>{@code DEV_EDITION_RATE_LIMIT_REQUESTS_PER_SECOND} - Client-side limit of requests per second and API key, 0 to disable</li>
+ *   <li>{@code DEV_EDITION_RATE_LIMIT_BYTES_PER_SECOND} - Client-side limit of payload bytes per second and API key, 0 to disable</li>
+ *   <li>{@code DEV_EDITION_RATE_LIMIT_MAX_WAIT_MS} - Time a request may wait for the client-side rate limit, 0 to refuse at once</li>
+ *   <li>{@code DEV_EDITION_OUTLIER_EJECTION_FAILURE_THRESHOLD} - Consecutive failures after which one of several endpoints is taken out of load balancing, 0 to disable</li>
+ *   <li>{@code DEV_EDITION_OUTLIER_EJECTION_MS} - Time an ejected endpoint receives no requests, multiplied by its consecutive ejections</li>
+ *   <li>{@code DEV_EDITION_WARM_UP_ENABLED} - {@code true} to warm the client up in the background when it is created</li>
+ *   <li>{@code DEV_EDITION_WARM_UP_CONNECTIONS} - Connections opened to every endpoint by a warm-up</li>
+ *   <li>{@code DEV_EDITION_CALL_TIMEOUT_MS} - Deadline in milliseconds of every protection call, 0 for none</li>
+ *   <li>{@code DEV_EDITION_COMPRESSION} - {@code NONE} (default), {@code GZIP} or {@code DEFLATE} compression of large request bodies</li>
+ *   <li>{@code DEV_EDITION_COMPRESSION_THRESHOLD_BYTES} - Size in bytes from which request bodies are compressed</li>
+ * </ul>
+ *
+ * @since 1.0.1
+ */
+public final class ProtectorConfig {
+
+    /**
+     * HTTP transport used to reach the Core Provider API.
+     */
+    public enum TransportType {
+        /** Apache HttpClient with a pool of HTTP/1.1 keep-alive connections, one request per connection at a time. */
+        HTTP_1_1,
+        /** {@link java.net.http.HttpClient} multiplexing concurrent requests over HTTP/2 connections. */
+        HTTP_2
+    }
+
+    /**
+     * {@code Content-Encoding} of large request bodies.
+     */
+    public enum Compression {
+        /** Request bodies are sent as is. */
+        NONE,
+        /** Large request bodies are compressed with gzip. */
+        GZIP,
+        /** Large request bodies are compressed in the zlib format of the {@code deflate} encoding. */
+        DEFLATE
+    }
+
+    /** Default base URL of the Developer Edition API. */
+    public static final String DEFAULT_ENDPOINT = "https://" + AuthTokenProvider.DEV_EDITION_HOST;
+
+    /** Default version of the protection API. */
+    public static final String DEFAULT_API_VERSION = "1";
+
+    /** Default session timeout in minutes. */
+    public static final int DEFAULT_SESSION_TIMEOUT_MINUTES = 15;
+
+    /** Default transport type. */
+    public static final TransportType DEFAULT_TRANSPORT_TYPE = TransportType.HTTP_1_1;
+
+    /** Default maximum number of pooled connections. */
+    public static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 64;
+
+    /** Default maximum number of pooled connections per route. */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 32;
+
+    /** Default connect timeout in milliseconds. */
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    /** Default socket (read) timeout in milliseconds. */
+    public static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 60_000;
+
+    /** Default timeout in milliseconds for leasing a connection from the pool. */
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 10_000;
+
+    /** Default idle time in milliseconds after which pooled connections are evicted. */
+    public static final long DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS = 30_000L;
+
+    /** Default maximum connection lifetime in milliseconds, 0 meaning unlimited. */
+    public static final long DEFAULT_CONNECTION_TIME_TO_LIVE_MILLIS = 0L;
+
+    /** Default maximum number of values sent in one request. */
+    public static final int DEFAULT_MAX_ELEMENTS_PER_REQUEST = 10_000;
+
+    /** Default maximum estimated payload size in bytes of one request. */
+    public static final long DEFAULT_MAX_BYTES_PER_REQUEST = 4L * 1024 * 1024;
+
+    /** Default maximum number of concurrent requests issued for one bulk call. */
+    public static final int DEFAULT_REQUEST_PARALLELISM = 4;
+
+    /** Default for coalescing concurrent small calls into bulk requests. */
+    public static final boolean DEFAULT_BATCHING_ENABLED = false;
+
+    /** Default time in milliseconds a micro-batch waits for further calls. */
+    public static final long DEFAULT_BATCH_WINDOW_MILLIS = 2L;
+
+    /** Default number of values after which a micro-batch is sent without waiting. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    /** Default for sending each distinct value of a bulk call only once. */
+    public static final boolean DEFAULT_DEDUPLICATION_ENABLED = false;
+
+    /** Default for keeping the results of the other values when some values of a bulk call fail. */
+    public static final boolean DEFAULT_PARTIAL_RESULTS_ENABLED = false;
+
+    /** Default number of requests a bulk call may send to isolate the values rejected by the service. */
+    public static final int DEFAULT_PARTIAL_RESULTS_MAX_RETRIES = 256;
+
+    /** Default maximum number of entries in the token cache. */
+    public static final int DEFAULT_TOKEN_CACHE_MAX_ENTRIES = 100_000;
+
+    /** Default maximum estimated heap usage of the token cache in bytes. */
+    public static final long DEFAULT_TOKEN_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+
+    /** Default time to live of token cache entries, 0 meaning entries do not expire. */
+    public static final long DEFAULT_TOKEN_CACHE_TTL_MILLIS = 0L;
+
+    /** Default time in milliseconds before expiry at which the JWT is renewed in the background. */
+    public static final long DEFAULT_TOKEN_REFRESH_MARGIN_MILLIS = 60_000L;
+
+    /** Default number of times a request failing with a transient error is sent again. */
+    public static final int DEFAULT_MAX_RETRIES = 2;
+
+    /** Default delay in milliseconds before the first retry, doubled for every further retry. */
+    public static final long DEFAULT_RETRY_BASE_DELAY_MILLIS = 100L;
+
+    /** Default upper bound in milliseconds of the delay before a retry. */
+    public static final long DEFAULT_RETRY_MAX_DELAY_MILLIS = 5_000L;
+
+    /** Default number of consecutive failures after which the circuit of an endpoint opens. */
+    public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+
+    /** Default time in milliseconds an open circuit fails fast before a probe request is let through. */
+    public static final long DEFAULT_CIRCUIT_BREAKER_OPEN_MILLIS = 30_000L;
+
+    /** Default percentile of recent request latencies after which a hedged request is sent. */
+    public static final int DEFAULT_HEDGING_PERCENTILE = 95;
+
+    /** Default limit of hedged requests in percent of the requests sent. */
+    public static final int DEFAULT_HEDGING_BUDGET_PERCENT = 10;
+
+    /** Default upper bound of the adaptive limit of requests in flight, 0 for no limit. */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 0;
+
+    /** Default number of requests that may wait for a slot when the concurrency limit is reached. */
+    public static final int DEFAULT_MAX_QUEUED_REQUESTS = 1_000;
+
+    /** Default time in milliseconds a request waits for a slot when the concurrency limit is reached. */
+    public static final long DEFAULT_CONCURRENCY_QUEUE_TIMEOUT_MILLIS = 1_000L;
+
+    /** Default client-side limit of requests per second and API key, 0 for no limit. */
+    public static final long DEFAULT_RATE_LIMIT_REQUESTS_PER_SECOND = 0L;
+
+    /** Default client-side limit of payload bytes per second and API key, 0 for no limit. */
+    public static final long DEFAULT_RATE_LIMIT_BYTES_PER_SECOND = 0L;
+
+    /** Default time in milliseconds a request may wait for the client-side rate limit. */
+    public static final long DEFAULT_RATE_LIMIT_MAX_WAIT_MILLIS = 10_000L;
+
+    /** Default number of consecutive failures after which an endpoint is taken out of load balancing. */
+    public static final int DEFAULT_OUTLIER_EJECTION_FAILURE_THRESHOLD = 5;
+
+    /** Default time in milliseconds an endpoint stays ejected after its first ejection. */
+    public static final long DEFAULT_OUTLIER_EJECTION_MILLIS = 30_000L;
+
+    /** Default for warming the client up in the background when it is created. */
+    public static final boolean DEFAULT_WARM_UP_ENABLED = false;
+
+    /** Default number of connections opened to every endpoint by a warm-up. */
+    public static final int DEFAULT_WARM_UP_CONNECTIONS = 4;
+
+    /** Default deadline in milliseconds of every protection call, 0 for none. */
+    public static final long DEFAULT_CALL_TIMEOUT_MILLIS = 0L;
+
+    /** Default compression of large request bodies. */
+    public static final Compression DEFAULT_COMPRESSION = Compression.NONE;
+
+    /** Default size in bytes from which request bodies are compressed. */
+    public static final int DEFAULT_COMPRESSION_THRESHOLD_BYTES = 16 * 1024;
+
+    private final List<String> endpoints;
+    private final String apiVersion;
+    private final String email;
+    private final String password;
+    private final String apiKey;
+    private final int sessionTimeoutMinutes;
+    private final TransportType transportType;
+    private final int maxConnectionsTotal;
+    private final int maxConnectionsPerRoute;
+    private final int connectTimeoutMillis;
+    private final int socketTimeoutMillis;
+    private final int connectionRequestTimeoutMillis;
+    private final long idleConnectionTimeoutMillis;
+    private final long connectionTimeToLiveMillis;
+    private final int maxElementsPerRequest;
+    private final long maxBytesPerRequest;
+    private final int requestParallelism;
+    private final boolean batchingEnabled;
+    private final long batchWindowMillis;
+    private final int maxBatchSize;
+    private final boolean deduplicationEnabled;
+    private final boolean partialResultsEnabled;
+    private final int partialResultsMaxRetries;
+    private final Set<String> tokenCacheDataElements;
+    private final int tokenCacheMaxEntries;
+    private final long tokenCacheMaxBytes;
+    private final long tokenCacheTtlMillis;
+    private final long tokenRefreshMarginMillis;
+    private final Path credentialCacheDirectory;
+    private final int maxRetries;
+    private final long retryBaseDelayMillis;
+    private final long retryMaxDelayMillis;
+    private final int circuitBreakerFailureThreshold;
+    private final long circuitBreakerOpenMillis;
+    private final Set<String> hedgingDataElements;
+    private final int hedgingPercentile;
+    private final int hedgingBudgetPercent;
+    private final int maxConcurrentRequests;
+    private final int maxQueuedRequests;
+    private final long concurrencyQueueTimeoutMillis;
+    private final long rateLimitRequestsPerSecond;
+    private final long rateLimitBytesPerSecond;
+    private final long rateLimitMaxWaitMillis;
+    private final int outlierEjectionFailureThreshold;
+    private final long outlierEjectionMillis;
+    private final boolean warmUpEnabled;
+    private final int warmUpConnections;
+    private final long callTimeoutMillis;
+    private final Compression compression;
+    private final int compressionThresholdBytes;
+
+    private ProtectorConfig(Builder builder) {
+        this.endpoints = builder.endpoints;
+        this.apiVersion = builder.apiVersion;
+        this.email = builder.email;
+        this.password = builder.password;
+        this.apiKey = builder.apiKey;
+        this.sessionTimeoutMinutes = builder.sessionTimeoutMinutes;
+        this.transportType = builder.transportType;
+        this.maxConnectionsTotal = builder.maxConnectionsTotal;
+        this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        this.connectTimeoutMillis = builder.connectTimeoutMillis;
+        this.socketTimeoutMillis = builder.socketTimeoutMillis;
+        this.connectionRequestTimeoutMillis = builder.connectionRequestTimeoutMillis;
+        this.idleConnectionTimeoutMillis = builder.idleConnectionTimeoutMillis;
+        this.connectionTimeToLiveMillis = builder.connectionTimeToLiveMillis;
+        this.maxElementsPerRequest = builder.maxElementsPerRequest;
+        this.maxBytesPerRequest = builder.maxBytesPerRequest;
+        this.requestParallelism = builder.requestParallelism;
+        this.batchingEnabled = builder.batchingEnabled;
+        this.batchWindowMillis = builder.batchWindowMillis;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.deduplicationEnabled = builder.deduplicationEnabled;
+        this.partialResultsEnabled = builder.partialResultsEnabled;
+        this.partialResultsMaxRetries = builder.partialResultsMaxRetries;
+        this.tokenCacheDataElements = builder.tokenCacheDataElements;
+        this.tokenCacheMaxEntries = builder.tokenCacheMaxEntries;
+        this.tokenCacheMaxBytes = builder.tokenCacheMaxBytes;
+        this.tokenCacheTtlMillis = builder.tokenCacheTtlMillis;
+        this.tokenRefreshMarginMillis = builder.tokenRefreshMarginMillis;
+        this.credentialCacheDirectory = builder.credentialCacheDirectory;
+        this.maxRetries = builder.maxRetries;
+        this.retryBaseDelayMillis = builder.retryBaseDelayMillis;
+        this.retryMaxDelayMillis = builder.retryMaxDelayMillis;
+        this.circuitBreakerFailureThreshold = builder.circuitBreakerFailureThreshold;
+        this.circuitBreakerOpenMillis = builder.circuitBreakerOpenMillis;
+        this.hedgingDataElements = builder.hedgingDataElements;
+        this.hedgingPercentile = builder.hedgingPercentile;
+        this.hedgingBudgetPercent = builder.hedgingBudgetPercent;
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
+        this.maxQueuedRequests = builder.maxQueuedRequests;
+        this.concurrencyQueueTimeoutMillis = builder.concurrencyQueueTimeoutMillis;
+        this.rateLimitRequestsPerSecond = builder.rateLimitRequestsPerSecond;
+        this.rateLimitBytesPerSecond = builder.rateLimitBytesPerSecond;
+        this.rateLimitMaxWaitMillis = builder.rateLimitMaxWaitMillis;
+        this.outlierEjectionFailureThreshold = builder.outlierEjectionFailureThreshold;
+        this.outlierEjectionMillis = builder.outlierEjectionMillis;
+        this.warmUpEnabled = builder.warmUpEnabled;
+        this.warmUpConnections = builder.warmUpConnections;
+        this.callTimeoutMillis = builder.callTimeoutMillis;
+        this.compression = builder.compression;
+        this.compressionThresholdBytes = builder.compressionThresholdBytes;
+    }
+
+    /**
+     * Creates a new builder initialized with the default values.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a configuration from the {@code DEV_EDITION_*} environment variables, falling back
+     * to the defaults for variables that are not set.
+     *
+     * @return the configuration
+     * @throws InitializationException if a variable is set to an invalid value
+     */
+    public static ProtectorConfig fromEnvironment() {
+        try {
+            Builder builder = builder();
+            Collection<String> hosts = listEnv("DEV_EDITION_HOST", Collections.emptyList());
+            if (!hosts.isEmpty()) {
+                List<String> endpoints = new ArrayList<>();
+                for (String host : hosts) {
+                    if (!host.trim().isEmpty()) {
+                        endpoints.add("https://" + host.trim());
+                    }
+                }
+                builder.endpoints(endpoints);
+            }
+            builder.apiVersion(stringEnv("DEV_EDITION_VERSION", builder.apiVersion));
+            builder.credentials(stringEnv("DEV_EDITION_EMAIL", null), stringEnv("DEV_EDITION_PASSWORD", null),
+                stringEnv("DEV_EDITION_API_KEY", null));
+            builder.sessionTimeoutMinutes(intEnv("DEV_EDITION_SESSION_TIMEOUT_MINUTES", builder.sessionTimeoutMinutes));
+            builder.transportType(transportTypeEnv("DEV_EDITION_HTTP_TRANSPORT", builder.transportType));
+            builder.maxConnectionsTotal(intEnv("DEV_EDITION_HTTP_MAX_CONNECTIONS", builder.maxConnectionsTotal));
+            builder.maxConnectionsPerRoute(intEnv("DEV_EDITION_HTTP_MAX_CONNECTIONS_PER_ROUTE", builder.maxConnectionsPerRoute));
+            builder.connectTimeoutMillis(intEnv("DEV_EDITION_HTTP_CONNECT_TIMEOUT_MS", builder.connectTimeoutMillis));
+            builder.socketTimeoutMillis(intEnv("DEV_EDITION_HTTP_SOCKET_TIMEOUT_MS", builder.socketTimeoutMillis));
+            builder.connectionRequestTimeoutMillis(intEnv("DEV_EDITION_HTTP_CONNECTION_REQUEST_TIMEOUT_MS", builder.connectionRequestTimeoutMillis));
+            builder.idleConnectionTimeoutMillis(longEnv("DEV_EDITION_HTTP_IDLE_TIMEOUT_MS", builder.idleConnectionTimeoutMillis));
+            builder.connectionTimeToLiveMillis(longEnv("DEV_EDITION_HTTP_CONNECTION_TTL_MS", builder.connectionTimeToLiveMillis));
+            builder.maxElementsPerRequest(intEnv("DEV_EDITION_MAX_ELEMENTS_PER_REQUEST", builder.maxElementsPerRequest));
+            builder.maxBytesPerRequest(longEnv("DEV_EDITION_MAX_BYTES_PER_REQUEST", builder.maxBytesPerRequest));
+            builder.requestParallelism(intEnv("DEV_EDITION_REQUEST_PARALLELISM", builder.requestParallelism));
+            builder.batchingEnabled(booleanEnv("DEV_EDITION_BATCHING_ENABLED", builder.batchingEnabled));
+            builder.batchWindowMillis(longEnv("DEV_EDITION_BATCH_WINDOW_MS", builder.batchWindowMillis));
+            builder.maxBatchSize(intEnv("DEV_EDITION_MAX_BATCH_SIZE", builder.maxBatchSize));
+            builder.deduplicationEnabled(booleanEnv("DEV_EDITION_DEDUPLICATION_ENABLED", builder.deduplicationEnabled));
+            builder.partialResultsEnabled(booleanEnv("DEV_EDITION_PARTIAL_RESULTS_ENABLED", builder.partialResultsEnabled));
+            builder.partialResultsMaxRetries(intEnv("DEV_EDITION_PARTIAL_RESULTS_MAX_RETRIES", builder.partialResultsMaxRetries));
+            builder.tokenCacheDataElements(listEnv("DEV_EDITION_TOKEN_CACHE_DATA_ELEMENTS", builder.tokenCacheDataElements));
+            builder.tokenCacheMaxEntries(intEnv("DEV_EDITION_TOKEN_CACHE_MAX_ENTRIES", builder.tokenCacheMaxEntries));
+            builder.tokenCacheMaxBytes(longEnv("DEV_EDITION_TOKEN_CACHE_MAX_BYTES", builder.tokenCacheMaxBytes));
+            builder.tokenCacheTtlMillis(longEnv("DEV_EDITION_TOKEN_CACHE_TTL_MS", builder.tokenCacheTtlMillis));
+            builder.tokenRefreshMarginMillis(longEnv("DEV_EDITION_TOKEN_REFRESH_MARGIN_MS", builder.tokenRefreshMarginMillis));
+            String credentialCacheDirectory = stringEnv("DEV_EDITION_CREDENTIAL_CACHE_DIR", null);
+            if (credentialCacheDirectory != null) {
+                builder.credentialCacheDirectory(Paths.get(credentialCacheDirectory));
+            }
+            builder.maxRetries(intEnv("DEV_EDITION_MAX_RETRIES", builder.maxRetries));
+            builder.retryBaseDelayMillis(longEnv("DEV_EDITION_RETRY_BASE_DELAY_MS", builder.retryBaseDelayMillis));
+            builder.retryMaxDelayMillis(longEnv("DEV_EDITION_RETRY_MAX_DELAY_MS", builder.retryMaxDelayMillis));
+            builder.circuitBreakerFailureThreshold(intEnv("DEV_EDITION_CIRCUIT_BREAKER_FAILURE_THRESHOLD", builder.circuitBreakerFailureThreshold));
+            builder.circuitBreakerOpenMillis(longEnv("DEV_EDITION_CIRCUIT_BREAKER_OPEN_MS", builder.circuitBreakerOpenMillis));
+            builder.hedgingDataElements(listEnv("DEV_EDITION_HEDGING_DATA_ELEMENTS", builder.hedgingDataElements));
+            builder.hedgingPercentile(intEnv("DEV_EDITION_HEDGING_PERCENTILE", builder.hedgingPercentile));
+            builder.hedgingBudgetPercent(intEnv("DEV_EDITION_HEDGING_BUDGET_PERCENT", builder.hedgingBudgetPercent));
+            builder.maxConcurrentRequests(intEnv("DEV_EDITION_MAX_CONCURRENT_REQUESTS", builder.maxConcurrentRequests));
+            builder.maxQueuedRequests(intEnv("DEV_EDITION_MAX_QUEUED_REQUESTS", builder.maxQueuedRequests));
+            builder.concurrencyQueueTimeoutMillis(longEnv("DEV_EDITION_CONCURRENCY_QUEUE_TIMEOUT_MS", builder.concurrencyQueueTimeoutMillis));
+            builder.rateLimitRequestsPerSecond(longEnv("DEV_EDITION_RATE_LIMIT_REQUESTS_PER_SECOND", builder.rateLimitRequestsPerSecond));
+            builder.rateLimitBytesPerSecond(longEnv("DEV_EDITION_RATE_LIMIT_BYTES_PER_SECOND", builder.rateLimitBytesPerSecond));
+            builder.rateLimitMaxWaitMillis(longEnv("DEV_EDITION_RATE_LIMIT_MAX_WAIT_MS", builder.rateLimitMaxWaitMillis));
+            builder.outlierEjectionFailureThreshold(intEnv("DEV_EDITION_OUTLIER_EJECTION_FAILURE_THRESHOLD", builder.outlierEjectionFailureThreshold));
+            builder.outlierEjectionMillis(longEnv("DEV_EDITION_OUTLIER_EJECTION_MS", builder.outlierEjectionMillis));
+            builder.warmUpEnabled(booleanEnv("DEV_EDITION_WARM_UP_ENABLED", builder.warmUpEnabled));
+            builder.warmUpConnections(intEnv("DEV_EDITION_WARM_UP_CONNECTIONS", builder.warmUpConnections));
+            builder.callTimeoutMillis(longEnv("DEV_EDITION_CALL_TIMEOUT_MS", builder.callTimeoutMillis));
+            builder.compression(compressionEnv("DEV_EDITION_COMPRESSION", builder.compression));
+            builder.compressionThresholdBytes(intEnv("DEV_EDITION_COMPRESSION_THRESHOLD_BYTES", builder.compressionThresholdBytes));
+            return builder.build();
+        } catch (IllegalArgumentException e) {
+            throw new InitializationException(e.getMessage());
+        }
+    }
+
+    private static TransportType transportTypeEnv(String name, TransportType defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return TransportType.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be HTTP_1_1 or HTTP_2 but was '" + value + "'");
+        }
+    }
+
+    private static Compression compressionEnv(String name, Compression defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Compression.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " must be NONE, GZIP or DEFLATE but was '" + value + "'");
+        }
+    }
+
+    private static String stringEnv(String name, String defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    private static Collection<String> listEnv(String name, Collection<String> defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return Arrays.asList(value.split(","));
+    }
+
+    private static boolean booleanEnv(String name, boolean defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("true") || normalized.equals("false")) {
+            return Boolean.parseBoolean(normalized);
+        }
+        throw new IllegalArgumentException(name + " must be true or false but was '" + value + "'");
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer but was '" + value + "'");
+        }
+    }
+
+    private static long longEnv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer but was '" + value + "'");
+        }
+    }
+
+    /**
+     * Returns the base URL of the Developer Edition API, without a trailing slash. With several
+     * endpoints this is the first one, which is used to log in.
+     *
+     * @return the endpoint, for example {@code https://api.developer-edition.protegrity.com}
+     */
+    public String getEndpoint() {
+        return endpoints.get(0);
+    }
+
+    /**
+     * Returns the base URLs of the gateways serving the protection API. Requests are balanced
+     * across them when there is more than one.
+     *
+     * @return the unmodifiable list of endpoints, never empty
+     */
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Returns the version of the protection API, used as the {@code v<version>} path segment.
+     *
+     * @return the API version
+     */
+    public String getApiVersion() {
+        return apiVersion;
+    }
+
+    /**
+     * Returns the email address used to log in.
+     *
+     * @return the email address, or null if not configured
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the password used to log in.
+     *
+     * @return the password, or null if not configured
+     */
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Returns the API key sent with every request.
+     *
+     * @return the API key, or null if not configured
+     */
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    /**
+     * Returns the inactivity after which a {@link SessionObject} created by the Protector expires.
+     *
+     * @return the session timeout in minutes
+     */
+    public int getSessionTimeoutMinutes() {
+        return sessionTimeoutMinutes;
+    }
+
+    /**
+     * Returns the URL of a protection API operation.
+     *
+     * @param operation the operation, for example {@code protect}
+     * @return the operation URL
+     */
+    String getServiceUrl(String operation) {
+        return getEndpoint() + "/v" + apiVersion + "/" + operation;
+    }
+
+    /**
+     * Returns the HTTP transport type.
+     *
+     * @return the transport type
+     */
+    public TransportType getTransportType() {
+        return transportType;
+    }
+
+    /**
+     * Returns the maximum number of pooled connections. Applies to {@link TransportType#HTTP_1_1},
+     * with several endpoints to the pool of each endpoint.
+     *
+     * @return the total connection limit
+     */
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+
+    /**
+     * Returns the maximum number of pooled connections per route. Applies to {@link TransportType#HTTP_1_1}.
+     *
+     * @return the per-route connection limit
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Returns the connect timeout.
+     *
+     * @return the connect timeout in milliseconds
+     */
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * Returns the socket (read) timeout.
+     *
+     * @return the socket timeout in milliseconds
+     */
+    public int getSocketTimeoutMillis() {
+        return socketTimeoutMillis;
+    }
+
+    /**
+     * Returns the maximum time to wait for a connection from the pool.
+     *
+     * @return the connection request timeout in milliseconds
+     */
+    public int getConnectionRequestTimeoutMillis() {
+        return connectionRequestTimeoutMillis;
+    }
+
+    /**
+     * Returns the idle time after which pooled connections are evicted.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    public long getIdleConnectionTimeoutMillis() {
+        return idleConnectionTimeoutMillis;
+    }
+
+    /**
+     * Returns the maximum lifetime of a pooled connection.
+     *
+     * @return the connection time-to-live in milliseconds, 0 meaning unlimited
+     */
+    public long getConnectionTimeToLiveMillis() {
+        return connectionTimeToLiveMillis;
+    }
+
+    /**
+     * Returns the maximum number of values sent in one request. Larger bulk calls are split.
+     *
+     * @return the element limit per request
+     */
+    public int getMaxElementsPerRequest() {
+        return maxElementsPerRequest;
+    }
+
+    /**
+     * Returns the maximum estimated payload size of one request. Larger bulk calls are split.
+     *
+     * @return the payload limit per request in bytes
+     */
+    public long getMaxBytesPerRequest() {
+        return maxBytesPerRequest;
+    }
+
+    /**
+     * Returns the maximum number of requests sent concurrently for one split bulk call.
+     *
+     * @return the request parallelism
+     */
+    public int getRequestParallelism() {
+        return requestParallelism;
+    }
+
+    /**
+     * Returns whether concurrent small calls with the same user, data element, IV and operation
+     * are coalesced into one bulk request.
+     *
+     * @return true if micro-batching is enabled
+     */
+    public boolean isBatchingEnabled() {
+        return batchingEnabled;
+    }
+
+    /**
+     * Returns the time a micro-batch waits for further calls before it is sent. This bounds the
+     * latency added by batching.
+     *
+     * @return the batch window in milliseconds
+     */
+    public long getBatchWindowMillis() {
+        return batchWindowMillis;
+    }
+
+    /**
+     * Returns the number of values after which a micro-batch is sent without waiting for the
+     * window to elapse. Calls with at least this many values are never batched.
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Returns whether bulk calls send each distinct non-null value only once and copy its result
+     * to every position holding that value. Null values are not sent and stay null in the output.
+     *
+     * @return true if value deduplication is enabled
+     */
+    public boolean isDeduplicationEnabled() {
+        return deduplicationEnabled;
+    }
+
+    /**
+     * Returns whether a bulk call in which some values fail still writes the results of the other
+     * values. The call then throws a {@link ProtectorException} whose
+     * {@link ProtectorException#getErrorList()} holds the status code of every value, the success
+     * code of the operation or the error of the value. A request the service rejects as a whole is
+     * sent again in halves until the failing values are isolated, within
+     * {@link #getPartialResultsMaxRetries()} requests. Calls taking a {@link java.nio.ByteBuffer}
+     * and single-value calls are not affected, and bulk calls are no longer coalesced.
+     *
+     * @return true if bulk calls keep partial results
+     */
+    public boolean isPartialResultsEnabled() {
+        return partialResultsEnabled;
+    }
+
+    /**
+     * Returns the number of additional requests a bulk call may send to isolate the values
+     * rejected by the service. Once they are used up, values of requests still rejected are all
+     * reported as failed, so that an error affecting every value does not cost a request per value.
+     *
+     * @return the maximum number of additional requests per call
+     */
+    public int getPartialResultsMaxRetries() {
+        return partialResultsMaxRetries;
+    }
+
+    /**
+     * Returns the data elements whose protect and unprotect results are cached on the client. Only
+     * deterministic data elements, which always map a value to the same token for a user, may be
+     * listed, and only if unprotect returns the clear value for the users that call it. The token
+     * cache is disabled when the set is empty.
+     *
+     * @return the unmodifiable set of cached data element names
+     */
+    public Set<String> getTokenCacheDataElements() {
+        return tokenCacheDataElements;
+    }
+
+    /**
+     * Returns the maximum number of entries held by the token cache.
+     *
+     * @return the maximum number of cached values
+     */
+    public int getTokenCacheMaxEntries() {
+        return tokenCacheMaxEntries;
+    }
+
+    /**
+     * Returns the maximum estimated heap usage of the token cache.
+     *
+     * @return the memory limit in bytes
+     */
+    public long getTokenCacheMaxBytes() {
+        return tokenCacheMaxBytes;
+    }
+
+    /**
+     * Returns the time after which token cache entries expire.
+     *
+     * @return the time to live in milliseconds, 0 if entries do not expire
+     */
+    public long getTokenCacheTtlMillis() {
+        return tokenCacheTtlMillis;
+    }
+
+    /**
+     * Returns how long before its expiry the JWT is renewed in the background.
+     *
+     * @return the refresh margin in milliseconds
+     */
+    public long getTokenRefreshMarginMillis() {
+        return tokenRefreshMarginMillis;
+    }
+
+    /**
+     * Returns the directory in which the JWT is kept between JVM starts. The token is stored
+     * encrypted with a key derived from the credentials and reused at startup while it is valid
+     * for longer than {@link #getTokenRefreshMarginMillis()}, skipping the login.
+     *
+     * @return the cache directory, or null if the JWT is not persisted
+     */
+    public Path getCredentialCacheDirectory() {
+        return credentialCacheDirectory;
+    }
+
+    /**
+     * Returns how often a request that could not be sent because no connection was established, or
+     * that was answered with 429, 502, 503 or 504, is sent again. Requests failing after they were
+     * sent, with a read timeout for example, are not retried, as the service may have processed them.
+     *
+     * @return the maximum number of retries, 0 if requests are not retried
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns the backoff before the first retry. The backoff doubles for every further retry and a
+     * random delay up to the backoff is waited.
+     *
+     * @return the base delay in milliseconds
+     */
+    public long getRetryBaseDelayMillis() {
+        return retryBaseDelayMillis;
+    }
+
+    /**
+     * Returns the upper bound of the delay before a retry. A response whose {@code Retry-After}
+     * asks for a longer delay is not retried.
+     *
+     * @return the maximum delay in milliseconds
+     */
+    public long getRetryMaxDelayMillis() {
+        return retryMaxDelayMillis;
+    }
+
+    /**
+     * Returns the number of consecutive failed requests after which the circuit of an endpoint
+     * opens and further requests fail fast.
+     *
+     * @return the failure threshold, 0 if the circuit breaker is disabled
+     */
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    /**
+     * Returns how long an open circuit fails fast before a single probe request is let through.
+     *
+     * @return the open time in milliseconds
+     */
+    public long getCircuitBreakerOpenMillis() {
+        return circuitBreakerOpenMillis;
+    }
+
+    /**
+     * Returns the data elements whose requests are hedged: a request still outstanding after the
+     * {@link #getHedgingPercentile() hedging percentile} of recent latencies is sent a second time
+     * and the first response is used. Only deterministic data elements may be listed, for which
+     * sending a request twice yields the same result. For reprotect both data elements must be
+     * listed. Hedging is disabled when the set is empty.
+     *
+     * @return the unmodifiable set of hedged data element names
+     */
+    public Set<String> getHedgingDataElements() {
+        return hedgingDataElements;
+    }
+
+    /**
+     * Returns the percentile of recently observed latencies after which an outstanding request is
+     * sent a second time.
+     *
+     * @return the percentile, between 1 and 99
+     */
+    public int getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Returns the limit of the extra load caused by hedging, as a percentage of the hedgeable
+     * requests sent.
+     *
+     * @return the hedging budget in percent
+     */
+    public int getHedgingBudgetPercent() {
+        return hedgingBudgetPercent;
+    }
+
+    /**
+     * Returns the upper bound of the adaptive limit of requests in flight. The limit starts there,
+     * is lowered when requests fail with signs of overload and raised again while they succeed.
+     * Requests beyond the limit wait for a slot or are refused with {@link
+     * ErrorMapper#CONCURRENCY_LIMIT_EXCEEDED}.
+     *
+     * @return the maximum concurrency limit, 0 if requests are not limited
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Returns the number of requests that may wait for a slot when the concurrency limit is
+     * reached. Further requests are refused at once.
+     *
+     * @return the maximum queue depth
+     */
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    /**
+     * Returns how long a request waits for a slot when the concurrency limit is reached.
+     *
+     * @return the queue timeout in milliseconds, 0 if requests are refused at once
+     */
+    public long getConcurrencyQueueTimeoutMillis() {
+        return concurrencyQueueTimeoutMillis;
+    }
+
+    /**
+     * Returns the client-side limit of requests per second and API key. Set it to the quota of the
+     * API key so that requests wait on the client instead of being rejected by the service. With a
+     * rate limit, requests answered with 429 are not retried but slow down the limiter of the key.
+     *
+     * @return the request rate, 0 if requests are not limited
+     */
+    public long getRateLimitRequestsPerSecond() {
+        return rateLimitRequestsPerSecond;
+    }
+
+    /**
+     * Returns the client-side limit of request payload bytes per second and API key.
+     *
+     * @return the byte rate, 0 if payload bytes are not limited
+     */
+    public long getRateLimitBytesPerSecond() {
+        return rateLimitBytesPerSecond;
+    }
+
+    /**
+     * Returns how long a request may wait for the client-side rate limit. Requests that would wait
+     * longer fail with {@link ErrorMapper#RATE_LIMITED}.
+     *
+     * @return the maximum wait in milliseconds, 0 if requests are refused instead of waiting
+     */
+    public long getRateLimitMaxWaitMillis() {
+        return rateLimitMaxWaitMillis;
+    }
+
+    /**
+     * Returns the number of consecutive failed requests, I/O errors or 5xx responses, after which
+     * one of several endpoints is ejected from load balancing. An ejected endpoint receives no
+     * requests until its ejection time has passed and a probe request to it succeeded. Only applies
+     * with more than one endpoint, see {@link #getEndpoints()}.
+     *
+     * @return the failure threshold, 0 if endpoints are never ejected
+     */
+    public int getOutlierEjectionFailureThreshold() {
+        return outlierEjectionFailureThreshold;
+    }
+
+    /**
+     * Returns how long an ejected endpoint receives no requests. The time is multiplied by the
+     * number of consecutive ejections of the endpoint, up to ten times, so a gateway that keeps
+     * failing is probed less and less often.
+     *
+     * @return the base ejection time in milliseconds
+     */
+    public long getOutlierEjectionMillis() {
+        return outlierEjectionMillis;
+    }
+
+    /**
+     * Returns whether a {@link Protector} starts {@link Protector#warmUpAsync()} in the background
+     * when it is created.
+     *
+     * @return true if the client is warmed up at creation
+     */
+    public boolean isWarmUpEnabled() {
+        return warmUpEnabled;
+    }
+
+    /**
+     * Returns the number of pooled connections opened to every endpoint by a warm-up, at most
+     * {@link #getMaxConnectionsPerRoute()}. The {@link TransportType#HTTP_2} transport opens one
+     * connection regardless.
+     *
+     * @return the number of connections, 0 if a warm-up opens none
+     */
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    /**
+     * Returns the deadline of every protect, unprotect and reprotect call, measured from the start
+     * of the call. It covers all requests of a call, chunks and retries included, as well as the
+     * waits for the rate and concurrency limiters. A call not completed in time fails with
+     * {@link ErrorMapper#DEADLINE_EXCEEDED} and its request in flight is aborted. Deadlines set
+     * through {@link CallOptions} apply as well, the earlier one wins.
+     *
+     * @return the deadline in milliseconds, 0 if calls have none
+     */
+    public long getCallTimeoutMillis() {
+        return callTimeoutMillis;
+    }
+
+    /**
+     * Returns the {@code Content-Encoding} of request bodies of at least
+     * {@link #getCompressionThresholdBytes()} bytes. A body is sent uncompressed if compressing does
+     * not make it smaller. Compressed responses are accepted regardless. The effect on the request
+     * bytes is reported by {@link Protector#getCompressionStats()}.
+     *
+     * @return the compression of large request bodies
+     */
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Returns the size from which request bodies are compressed. Smaller bodies gain too little on
+     * the wire to pay for the compression time. Applies only if {@link #getCompression()} is not
+     * {@link Compression#NONE}.
+     *
+     * @return the threshold in bytes
+     */
+    public int getCompressionThresholdBytes() {
+        return compressionThresholdBytes;
+    }
+
+    /**
+     * Builder for {@link ProtectorConfig}.
+     *
+     * @since 1.0.1
+     */
+    public static final class Builder {
+        private List<String> endpoints = Collections.singletonList(DEFAULT_ENDPOINT);
+        private String apiVersion = DEFAULT_API_VERSION;
+        private String email;
+        private String password;
+        private String apiKey;
+        private int sessionTimeoutMinutes = DEFAULT_SESSION_TIMEOUT_MINUTES;
+        private TransportType transportType = DEFAULT_TRANSPORT_TYPE;
+        private int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+        private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+        private int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+        private int socketTimeoutMillis = DEFAULT_SOCKET_TIMEOUT_MILLIS;
+        private int connectionRequestTimeoutMillis = DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS;
+        private long idleConnectionTimeoutMillis = DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS;
+        private long connectionTimeToLiveMillis = DEFAULT_CONNECTION_TIME_TO_LIVE_MILLIS;
+        private int maxElementsPerRequest = DEFAULT_MAX_ELEMENTS_PER_REQUEST;
+        private long maxBytesPerRequest = DEFAULT_MAX_BYTES_PER_REQUEST;
+        private int requestParallelism = DEFAULT_REQUEST_PARALLELISM;
+        private boolean batchingEnabled = DEFAULT_BATCHING_ENABLED;
+        private long batchWindowMillis = DEFAULT_BATCH_WINDOW_MILLIS;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private boolean deduplicationEnabled = DEFAULT_DEDUPLICATION_ENABLED;
+        private boolean partialResultsEnabled = DEFAULT_PARTIAL_RESULTS_ENABLED;
+        private int partialResultsMaxRetries = DEFAULT_PARTIAL_RESULTS_MAX_RETRIES;
+        private Set<String> tokenCacheDataElements = Collections.emptySet();
+        private int tokenCacheMaxEntries = DEFAULT_TOKEN_CACHE_MAX_ENTRIES;
+        private long tokenCacheMaxBytes = DEFAULT_TOKEN_CACHE_MAX_BYTES;
+        private long tokenCacheTtlMillis = DEFAULT_TOKEN_CACHE_TTL_MILLIS;
+        private long tokenRefreshMarginMillis = DEFAULT_TOKEN_REFRESH_MARGIN_MILLIS;
+        private Path credentialCacheDirectory;
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private long retryBaseDelayMillis = DEFAULT_RETRY_BASE_DELAY_MILLIS;
+        private long retryMaxDelayMillis = DEFAULT_RETRY_MAX_DELAY_MILLIS;
+        private int circuitBreakerFailureThreshold = DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+        private long circuitBreakerOpenMillis = DEFAULT_CIRCUIT_BREAKER_OPEN_MILLIS;
+        private Set<String> hedgingDataElements = Collections.emptySet();
+        private int hedgingPercentile = DEFAULT_HEDGING_PERCENTILE;
+        private int hedgingBudgetPercent = DEFAULT_HEDGING_BUDGET_PERCENT;
+        private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+        private int maxQueuedRequests = DEFAULT_MAX_QUEUED_REQUESTS;
+        private long concurrencyQueueTimeoutMillis = DEFAULT_CONCURRENCY_QUEUE_TIMEOUT_MILLIS;
+        private long rateLimitRequestsPerSecond = DEFAULT_RATE_LIMIT_REQUESTS_PER_SECOND;
+        private long rateLimitBytesPerSecond = DEFAULT_RATE_LIMIT_BYTES_PER_SECOND;
+        private long rateLimitMaxWaitMillis = DEFAULT_RATE_LIMIT_MAX_WAIT_MILLIS;
+        private int outlierEjectionFailureThreshold = DEFAULT_OUTLIER_EJECTION_FAILURE_THRESHOLD;
+        private long outlierEjectionMillis = DEFAULT_OUTLIER_EJECTION_MILLIS;
+        private boolean warmUpEnabled = DEFAULT_WARM_UP_ENABLED;
+        private int warmUpConnections = DEFAULT_WARM_UP_CONNECTIONS;
+        private long callTimeoutMillis = DEFAULT_CALL_TIMEOUT_MILLIS;
+        private Compression compression = DEFAULT_COMPRESSION;
+        private int compressionThresholdBytes = DEFAULT_COMPRESSION_THRESHOLD_BYTES;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the base URL of the Developer Edition API. A trailing slash is removed.
+         *
+         * @param endpoint an {@code http} or {@code https} URL
+         * @return this builder
+         */
+        public Builder endpoint(String endpoint) {
+            if (endpoint == null) {
+                throw new IllegalArgumentException("endpoint must not be null");
+            }
+            this.endpoints = Collections.singletonList(trimEndpoint(endpoint));
+            return this;
+        }
+
+        /**
+         * Sets the base URLs of several gateways serving the protection API, replacing the
+         * endpoint. Requests are balanced across them, the first one is also used to log in.
+         * Trailing slashes and duplicates are removed.
+         *
+         * @param endpoints {@code http} or {@code https} URLs
+         * @return this builder
+         */
+        public Builder endpoints(Collection<String> endpoints) {
+            if (endpoints == null || endpoints.isEmpty()) {
+                throw new IllegalArgumentException("endpoints must not be empty");
+            }
+            Set<String> urls = new LinkedHashSet<>();
+            for (String endpoint : endpoints) {
+                if (endpoint == null) {
+                    throw new IllegalArgumentException("endpoints must not contain null");
+                }
+                urls.add(trimEndpoint(endpoint));
+            }
+            this.endpoints = Collections.unmodifiableList(new ArrayList<>(urls));
+            return this;
+        }
+
+        private static String trimEndpoint(String endpoint) {
+            String trimmed = endpoint.trim();
+            while (trimmed.endsWith("/")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+            return trimmed;
+        }
+
+        /**
+         * Sets the version of the protection API.
+         *
+         * @param apiVersion the API version, for example {@code 1}
+         * @return this builder
+         */
+        public Builder apiVersion(String apiVersion) {
+            this.apiVersion = apiVersion;
+            return this;
+        }
+
+        /**
+         * Sets the credentials used to log in and to authorize requests.
+         *
+         * @param email the user email address
+         * @param password the user password
+         * @param apiKey the API key for service access
+         * @return this builder
+         */
+        public Builder credentials(String email, String password, String apiKey) {
+            this.email = email;
+            this.password = password;
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * Sets the inactivity after which a {@link SessionObject} expires.
+         *
+         * @param sessionTimeoutMinutes the session timeout in minutes
+         * @return this builder
+         */
+        public Builder sessionTimeoutMinutes(int sessionTimeoutMinutes) {
+            this.sessionTimeoutMinutes = sessionTimeoutMinutes;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP transport type.
+         *
+         * @param transportType the transport type, must not be null
+         * @return this builder
+         */
+        public Builder transportType(TransportType transportType) {
+            this.transportType = transportType;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pooled connections.
+         *
+         * @param maxConnectionsTotal the total connection limit, must be positive
+         * @return this builder
+         */
+        public Builder maxConnectionsTotal(int maxConnectionsTotal) {
+            this.maxConnectionsTotal = maxConnectionsTotal;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pooled connections per route.
+         *
+         * @param maxConnectionsPerRoute the per-route connection limit, must be positive
+         * @return this builder
+         */
+        public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        /**
+         * Sets the connect timeout.
+         *
+         * @param connectTimeoutMillis the timeout in milliseconds, 0 for no timeout
+         * @return this builder
+         */
+        public Builder connectTimeoutMillis(int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Sets the socket (read) timeout.
+         *
+         * @param socketTimeoutMillis the timeout in milliseconds, 0 for no timeout
+         * @return this builder
+         */
+        public Builder socketTimeoutMillis(int socketTimeoutMillis) {
+            this.socketTimeoutMillis = socketTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for a connection from the pool.
+         *
+         * @param connectionRequestTimeoutMillis the timeout in milliseconds, 0 for no timeout
+         * @return this builder
+         */
+        public Builder connectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+            this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Sets the idle time after which pooled connections are evicted.
+         *
+         * @param idleConnectionTimeoutMillis the idle timeout in milliseconds, must be positive
+         * @return this builder
+         */
+        public Builder idleConnectionTimeoutMillis(long idleConnectionTimeoutMillis) {
+            this.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Sets the maximum lifetime of a pooled connection.
+         *
+         * @param connectionTimeToLiveMillis the lifetime in milliseconds, 0 for unlimited
+         * @return this builder
+         */
+        public Builder connectionTimeToLiveMillis(long connectionTimeToLiveMillis) {
+            this.connectionTimeToLiveMillis = connectionTimeToLiveMillis;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of values sent in one request.
+         *
+         * @param maxElementsPerRequest the element limit, must be positive
+         * @return this builder
+         */
+        public Builder maxElementsPerRequest(int maxElementsPerRequest) {
+            this.maxElementsPerRequest = maxElementsPerRequest;
+            return this;
+        }
+
+        /**
+         * Sets the maximum estimated payload size of one request.
+         *
+         * @param maxBytesPerRequest the payload limit in bytes, must be positive
+         * @return this builder
+         */
+        public Builder maxBytesPerRequest(long maxBytesPerRequest) {
+            this.maxBytesPerRequest = maxBytesPerRequest;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests sent concurrently for one split bulk call.
+         *
+         * @param requestParallelism the request parallelism, must be positive
+         * @return this builder
+         */
+        public Builder requestParallelism(int requestParallelism) {
+            this.requestParallelism = requestParallelism;
+            return this;
+        }
+
+        /**
+         * Enables coalescing of concurrent small calls into bulk requests.
+         *
+         * @param batchingEnabled true to enable micro-batching
+         * @return this builder
+         */
+        public Builder batchingEnabled(boolean batchingEnabled) {
+            this.batchingEnabled = batchingEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the time a micro-batch waits for further calls before it is sent.
+         *
+         * @param batchWindowMillis the batch window in milliseconds, 0 or more
+         * @return this builder
+         */
+        public Builder batchWindowMillis(long batchWindowMillis) {
+            this.batchWindowMillis = batchWindowMillis;
+            return this;
+        }
+
+        /**
+         * Sets the number of values after which a micro-batch is sent without waiting.
+         *
+         * @param maxBatchSize the maximum batch size, must be positive
+         * @return this builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Enables sending each distinct value of a bulk call only once.
+         *
+         * @param deduplicationEnabled true to enable value deduplication
+         * @return this builder
+         */
+        public Builder deduplicationEnabled(boolean deduplicationEnabled) {
+            this.deduplicationEnabled = deduplicationEnabled;
+            return this;
+        }
+
+        /**
+         * Enables keeping the results of the other values when some values of a bulk call fail.
+         *
+         * @param partialResultsEnabled true to report failures per value
+         * @return this builder
+         */
+        public Builder partialResultsEnabled(boolean partialResultsEnabled) {
+            this.partialResultsEnabled = partialResultsEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the number of additional requests a bulk call may send to isolate the values
+         * rejected by the service.
+         *
+         * @param partialResultsMaxRetries the maximum number of requests, 0 to report every value of
+         *     a rejected request as failed
+         * @return this builder
+         */
+        public Builder partialResultsMaxRetries(int partialResultsMaxRetries) {
+            this.partialResultsMaxRetries = partialResultsMaxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the deterministic data elements whose protect and unprotect results are cached.
+         * Names are trimmed and empty names ignored.
+         *
+         * @param tokenCacheDataElements the data element names, empty to disable the token cache
+         * @return this builder
+         */
+        public Builder tokenCacheDataElements(Collection<String> tokenCacheDataElements) {
+            if (tokenCacheDataElements == null) {
+                throw new IllegalArgumentException("tokenCacheDataElements must not be null");
+            }
+            Set<String> names = new LinkedHashSet<>();
+            for (String name : tokenCacheDataElements) {
+                if (name != null && !name.trim().isEmpty()) {
+                    names.add(name.trim());
+                }
+            }
+            this.tokenCacheDataElements = Collections.unmodifiableSet(names);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of entries held by the token cache.
+         *
+         * @param tokenCacheMaxEntries the entry limit, must be positive
+         * @return this builder
+         */
+        public Builder tokenCacheMaxEntries(int tokenCacheMaxEntries) {
+            this.tokenCacheMaxEntries = tokenCacheMaxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum estimated heap usage of the token cache.
+         *
+         * @param tokenCacheMaxBytes the memory limit in bytes, must be positive
+         * @return this builder
+         */
+        public Builder tokenCacheMaxBytes(long tokenCacheMaxBytes) {
+            this.tokenCacheMaxBytes = tokenCacheMaxBytes;
+            return this;
+        }
+
+        /**
+         * Sets the time after which token cache entries expire.
+         *
+         * @param tokenCacheTtlMillis the time to live in milliseconds, 0 for no expiry
+         * @return this builder
+         */
+        public Builder tokenCacheTtlMillis(long tokenCacheTtlMillis) {
+            this.tokenCacheTtlMillis = tokenCacheTtlMillis;
+            return this;
+        }
+
+        /**
+         * Sets how long before its expiry the JWT is renewed in the background.
+         *
+         * @param tokenRefreshMarginMillis the refresh margin in milliseconds
+         * @return this builder
+         */
+        public Builder tokenRefreshMarginMillis(long tokenRefreshMarginMillis) {
+            this.tokenRefreshMarginMillis = tokenRefreshMarginMillis;
+            return this;
+        }
+
+        /**
+         * Sets the directory in which the JWT is kept between JVM starts. The directory is created
+         * if needed.
+         *
+         * @param credentialCacheDirectory the cache directory, or null to not persist the JWT
+         * @return this builder
+         */
+        public Builder credentialCacheDirectory(Path credentialCacheDirectory) {
+            this.credentialCacheDirectory = credentialCacheDirectory;
+            return this;
+        }
+
+        /**
+         * Sets how often a request failing with a transient error is sent again.
+         *
+         * @param maxRetries the maximum number of retries, 0 to disable retries
+         * @return this builder
+         */
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the backoff before the first retry.
+         *
+         * @param retryBaseDelayMillis the base delay in milliseconds
+         * @return this builder
+         */
+        public Builder retryBaseDelayMillis(long retryBaseDelayMillis) {
+            this.retryBaseDelayMillis = retryBaseDelayMillis;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of the delay before a retry.
+         *
+         * @param retryMaxDelayMillis the maximum delay in milliseconds
+         * @return this builder
+         */
+        public Builder retryMaxDelayMillis(long retryMaxDelayMillis) {
+            this.retryMaxDelayMillis = retryMaxDelayMillis;
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive failed requests after which the circuit of an endpoint opens.
+         *
+         * @param circuitBreakerFailureThreshold the failure threshold, 0 to disable the circuit breaker
+         * @return this builder
+         */
+        public Builder circuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+            this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how long an open circuit fails fast before a single probe request is let through.
+         *
+         * @param circuitBreakerOpenMillis the open time in milliseconds
+         * @return this builder
+         */
+        public Builder circuitBreakerOpenMillis(long circuitBreakerOpenMillis) {
+            this.circuitBreakerOpenMillis = circuitBreakerOpenMillis;
+            return this;
+        }
+
+        /**
+         * Sets the deterministic data elements whose slow requests are hedged. Names are trimmed
+         * and empty names ignored.
+         *
+         * @param hedgingDataElements the data element names, empty to disable hedging
+         * @return this builder
+         */
+        public Builder hedgingDataElements(Collection<String> hedgingDataElements) {
+            if (hedgingDataElements == null) {
+                throw new IllegalArgumentException("hedgingDataElements must not be null");
+            }
+            Set<String> names = new LinkedHashSet<>();
+            for (String name : hedgingDataElements) {
+                if (name != null && !name.trim().isEmpty()) {
+                    names.add(name.trim());
+                }
+            }
+            this.hedgingDataElements = Collections.unmodifiableSet(names);
+            return this;
+        }
+
+        /**
+         * Sets the percentile of recently observed latencies after which an outstanding request is
+         * sent a second time.
+         *
+         * @param hedgingPercentile the percentile, between 1 and 99
+         * @return this builder
+         */
+        public Builder hedgingPercentile(int hedgingPercentile) {
+            this.hedgingPercentile = hedgingPercentile;
+            return this;
+        }
+
+        /**
+         * Sets the limit of the extra load caused by hedging, as a percentage of the hedgeable
+         * requests sent.
+         *
+         * @param hedgingBudgetPercent the hedging budget in percent, between 0 and 100
+         * @return this builder
+         */
+        public Builder hedgingBudgetPercent(int hedgingBudgetPercent) {
+            this.hedgingBudgetPercent = hedgingBudgetPercent;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of the adaptive limit of requests in flight.
+         *
+         * @param maxConcurrentRequests the maximum concurrency limit, 0 to disable the limiter
+         * @return this builder
+         */
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Sets the number of requests that may wait for a slot when the concurrency limit is reached.
+         *
+         * @param maxQueuedRequests the maximum queue depth
+         * @return this builder
+         */
+        public Builder maxQueuedRequests(int maxQueuedRequests) {
+            this.maxQueuedRequests = maxQueuedRequests;
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for a slot when the concurrency limit is reached.
+         *
+         * @param concurrencyQueueTimeoutMillis the queue timeout in milliseconds, 0 to refuse requests at once
+         * @return this builder
+         */
+        public Builder concurrencyQueueTimeoutMillis(long concurrencyQueueTimeoutMillis) {
+            this.concurrencyQueueTimeoutMillis = concurrencyQueueTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Sets the client-side limit of requests per second and API key.
+         *
+         * @param rateLimitRequestsPerSecond the request rate, 0 to not limit requests
+         * @return this builder
+         */
+        public Builder rateLimitRequestsPerSecond(long rateLimitRequestsPerSecond) {
+            this.rateLimitRequestsPerSecond = rateLimitRequestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the client-side limit of request payload bytes per second and API key.
+         *
+         * @param rateLimitBytesPerSecond the byte rate, 0 to not limit payload bytes
+         * @return this builder
+         */
+        public Builder rateLimitBytesPerSecond(long rateLimitBytesPerSecond) {
+            this.rateLimitBytesPerSecond = rateLimitBytesPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets how long a request may wait for the client-side rate limit.
+         *
+         * @param rateLimitMaxWaitMillis the maximum wait in milliseconds, 0 to refuse requests instead of waiting
+         * @return this builder
+         */
+        public Builder rateLimitMaxWaitMillis(long rateLimitMaxWaitMillis) {
+            this.rateLimitMaxWaitMillis = rateLimitMaxWaitMillis;
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive failed requests after which one of several endpoints is
+         * ejected from load balancing.
+         *
+         * @param outlierEjectionFailureThreshold the failure threshold, 0 to disable outlier ejection
+         * @return this builder
+         */
+        public Builder outlierEjectionFailureThreshold(int outlierEjectionFailureThreshold) {
+            this.outlierEjectionFailureThreshold = outlierEjectionFailureThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how long an ejected endpoint receives no requests before it is probed.
+         *
+         * @param outlierEjectionMillis the base ejection time in milliseconds
+         * @return this builder
+         */
+        public Builder outlierEjectionMillis(long outlierEjectionMillis) {
+            this.outlierEjectionMillis = outlierEjectionMillis;
+            return this;
+        }
+
+        /**
+         * Sets whether the client is warmed up in the background when it is created.
+         *
+         * @param warmUpEnabled true to warm up at creation
+         * @return this builder
+         */
+        public Builder warmUpEnabled(boolean warmUpEnabled) {
+            this.warmUpEnabled = warmUpEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the number of pooled connections opened to every endpoint by a warm-up.
+         *
+         * @param warmUpConnections the number of connections, 0 to open none
+         * @return this builder
+         */
+        public Builder warmUpConnections(int warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+            return this;
+        }
+
+        /**
+         * Sets the deadline of every protection call, measured from the start of the call.
+         *
+         * @param callTimeoutMillis the deadline in milliseconds, 0 for none
+         * @return this builder
+         */
+        public Builder callTimeoutMillis(long callTimeoutMillis) {
+            this.callTimeoutMillis = callTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Sets the compression of large request bodies.
+         *
+         * @param compression the compression, must not be null
+         * @return this builder
+         */
+        public Builder compression(Compression compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Sets the size from which request bodies are compressed.
+         *
+         * @param compressionThresholdBytes the threshold in bytes, must not be negative
+         * @return this builder
+         */
+        public Builder compressionThresholdBytes(int compressionThresholdBytes) {
+            this.compressionThresholdBytes = compressionThresholdBytes;
+            return this;
+        }
+
+        /**
+         * Builds the configuration.
+         *
+         * @return the immutable configuration
+         * @throws IllegalArgumentException if a value is out of range
+         */
+        public ProtectorConfig build() {
+            for (String endpoint : endpoints) {
+                if (!endpoint.startsWith("https://") && !endpoint.startsWith("http://")) {
+                    throw new IllegalArgumentException("endpoint must be an http or https URL but was '" + endpoint + "'");
+                }
+            }
+            if (apiVersion == null || apiVersion.trim().isEmpty()) {
+                throw new IllegalArgumentException("apiVersion must not be empty");
+            }
+            if (sessionTimeoutMinutes <= 0) {
+                throw new IllegalArgumentException("sessionTimeoutMinutes must be positive");
+            }
+            if (transportType == null) {
+                throw new IllegalArgumentException("transportType must not be null");
+            }
+            if (maxConnectionsTotal <= 0) {
+                throw new IllegalArgumentException("maxConnectionsTotal must be positive");
+            }
+            if (maxConnectionsPerRoute <= 0) {
+                throw new IllegalArgumentException("maxConnectionsPerRoute must be positive");
+            }
+            if (connectTimeoutMillis < 0 || socketTimeoutMillis < 0 || connectionRequestTimeoutMillis < 0) {
+                throw new IllegalArgumentException("Timeouts must not be negative");
+            }
+            if (idleConnectionTimeoutMillis <= 0) {
+                throw new IllegalArgumentException("idleConnectionTimeoutMillis must be positive");
+            }
+            if (connectionTimeToLiveMillis < 0) {
+                throw new IllegalArgumentException("connectionTimeToLiveMillis must not be negative");
+            }
+            if (maxElementsPerRequest <= 0 || maxBytesPerRequest <= 0) {
+                throw new IllegalArgumentException("Request size limits must be positive");
+            }
+            if (requestParallelism <= 0) {
+                throw new IllegalArgumentException("requestParallelism must be positive");
+            }
+            if (batchWindowMillis < 0) {
+                throw new IllegalArgumentException("batchWindowMillis must not be negative");
+            }
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("maxBatchSize must be positive");
+            }
+            if (tokenCacheMaxEntries <= 0 || tokenCacheMaxBytes <= 0) {
+                throw new IllegalArgumentException("Token cache limits must be positive");
+            }
+            if (tokenCacheTtlMillis < 0) {
+                throw new IllegalArgumentException("tokenCacheTtlMillis must not be negative");
+            }
+            if (tokenRefreshMarginMillis < 0) {
+                throw new IllegalArgumentException("tokenRefreshMarginMillis must not be negative");
+            }
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries must not be negative");
+            }
+            if (partialResultsMaxRetries < 0) {
+                throw new IllegalArgumentException("partialResultsMaxRetries must not be negative");
+            }
+            if (retryBaseDelayMillis < 0 || retryMaxDelayMillis < retryBaseDelayMillis) {
+                throw new IllegalArgumentException("Retry delays must not be negative and the maximum not below the base");
+            }
+            if (circuitBreakerFailureThreshold < 0) {
+                throw new IllegalArgumentException("circuitBreakerFailureThreshold must not be negative");
+            }
+            if (circuitBreakerOpenMillis <= 0) {
+                throw new IllegalArgumentException("circuitBreakerOpenMillis must be positive");
+            }
+            if (hedgingPercentile < 1 || hedgingPercentile > 99) {
+                throw new IllegalArgumentException("hedgingPercentile must be between 1 and 99");
+            }
+            if (hedgingBudgetPercent < 0 || hedgingBudgetPercent > 100) {
+                throw new IllegalArgumentException("hedgingBudgetPercent must be between 0 and 100");
+            }
+            if (maxConcurrentRequests < 0) {
+                throw new IllegalArgumentException("maxConcurrentRequests must not be negative");
+            }
+            if (maxQueuedRequests < 0) {
+                throw new IllegalArgumentException("maxQueuedRequests must not be negative");
+            }
+            if (concurrencyQueueTimeoutMillis < 0) {
+                throw new IllegalArgumentException("concurrencyQueueTimeoutMillis must not be negative");
+            }
+            if (rateLimitRequestsPerSecond < 0) {
+                throw new IllegalArgumentException("rateLimitRequestsPerSecond must not be negative");
+            }
+            if (rateLimitBytesPerSecond < 0) {
+                throw new IllegalArgumentException("rateLimitBytesPerSecond must not be negative");
+            }
+            if (rateLimitMaxWaitMillis < 0) {
+                throw new IllegalArgumentException("rateLimitMaxWaitMillis must not be negative");
+            }
+            if (outlierEjectionFailureThreshold < 0) {
+                throw new IllegalArgumentException("outlierEjectionFailureThreshold must not be negative");
+            }
+            if (outlierEjectionMillis <= 0) {
+                throw new IllegalArgumentException("outlierEjectionMillis must be positive");
+            }
+            if (warmUpConnections < 0) {
+                throw new IllegalArgumentException("warmUpConnections must not be negative");
+            }
+            if (callTimeoutMillis < 0) {
+                throw new IllegalArgumentException("callTimeoutMillis must not be negative");
+            }
+            if (compression == null) {
+                throw new IllegalArgumentException("compression must not be null");
+            }
+            if (compressionThresholdBytes < 0) {
+                throw new IllegalArgumentException("compressionThresholdBytes must not be negative");
+            }
+            return new ProtectorConfig(this);
+        }
+    }
+}
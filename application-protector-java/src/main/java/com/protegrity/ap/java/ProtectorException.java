@@ -91,9 +91,11 @@ public class ProtectorException extends Exception {
     }
 
   /**
-   * Returns the array of error codes for bulk operations.
-   * 
-   * @return the error list array
+   * Returns the array of error codes for bulk operations. For a bulk call that failed in part, see
+   * {@link ProtectorConfig#isPartialResultsEnabled()}, it holds the status code of every value:
+   * the success code of the operation or the error of the value.
+   *
+   * @return the error list array, or null if the failure is not reported per value
    */
   public int[] getErrorList() {
     return errorList;
@@ -0,0 +1,20 @@
+package com.protegrity.ap.java;
+
+/**
+ * Raised by {@link RateLimiter} when a request would have to wait for longer than
+ * {@link ProtectorConfig#getRateLimitMaxWaitMillis()} to stay within the configured rates.
+ *
+ * @since 1.0.1
+ */
+final class RateLimitException extends RejectedRequestException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new RateLimitException.
+     *
+     * @param message the reason the request was refused
+     */
+    RateLimitException(String message) {
+        super(ErrorMapper.RATE_LIMITED, message);
+    }
+}
@@ -0,0 +1,234 @@
+package com.protegrity.ap.java;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Client-side token buckets that keep the requests of each API key within the quotas of the
+ * Developer Edition API.
+ *
+ * <p>Every API key has one bucket for requests and one for payload bytes, refilled at
+ * {@link ProtectorConfig#getRateLimitRequestsPerSecond()} and
+ * {@link ProtectorConfig#getRateLimitBytesPerSecond()} and holding at most one second worth of
+ * either, so short bursts pass unhindered. A request larger than a bucket is admitted once the
+ * bucket is full and leaves it in debt, which later requests wait for.
+ *
+ * <p>Permits are taken in one of three ways: {@link #acquire(String, long)} blocks until they are
+ * available, {@link #tryAcquire(String, long)} takes them only if no wait is needed and
+ * {@link #acquireAsync(String, long)} returns a future completed once they are. A request that
+ * would have to wait longer than {@link ProtectorConfig#getRateLimitMaxWaitMillis()} is refused
+ * with a {@link RateLimitException} without taking any permits, one that would have to wait past
+ * its {@link Deadline} with a {@link DeadlineExceededException}.
+ *
+ * <p>When the service answers 429 anyway, {@link #onThrottled(String, long)} halves the rates of
+ * the key, down to a tenth of the configured rates, empties its buckets and, if the response asked
+ * for it with {@code Retry-After}, holds all of its requests back for that long. The rates recover
+ * linearly to the configured ones within {@value #RECOVERY_SECONDS} seconds without throttling.
+ *
+ * @since 1.0.1
+ */
+final class RateLimiter {
+    static final int RECOVERY_SECONDS = 20;
+    private static final double MIN_FACTOR = 0.1;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final double requestsPerSecond;
+    private final double bytesPerSecond;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a rate limiter with the rates of the configuration.
+     *
+     * @param config the client configuration
+     */
+    RateLimiter(ProtectorConfig config) {
+        this(config.getRateLimitRequestsPerSecond(), config.getRateLimitBytesPerSecond(),
+            config.getRateLimitMaxWaitMillis(), System::nanoTime);
+    }
+
+    RateLimiter(long requestsPerSecond, long bytesPerSecond, long maxWaitMillis, LongSupplier nanoClock) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.bytesPerSecond = bytesPerSecond;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes a request and its payload bytes from the buckets of an API key, waiting as long as
+     * needed.
+     *
+     * @param apiKey the API key
+     * @param bytes the payload size of the request
+     * @param deadline the deadline of the request, null for none
+     * @throws RateLimitException if the wait would exceed the maximum wait
+     * @throws DeadlineExceededException if the wait would exceed the deadline
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire(String apiKey, long bytes, Deadline deadline) throws RejectedRequestException, InterruptedException {
+        long wait = reserve(apiKey, bytes, maxWaitNanos, deadline);
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Takes a request and its payload bytes from the buckets of an API key if that needs no wait.
+     *
+     * @param apiKey the API key
+     * @param bytes the payload size of the request
+     * @return true if the request may be sent now, false if nothing was taken
+     */
+    boolean tryAcquire(String apiKey, long bytes) {
+        try {
+            reserve(apiKey, bytes, 0L, null);
+            return true;
+        } catch (RejectedRequestException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes a request and its payload bytes from the buckets of an API key without blocking.
+     *
+     * @param apiKey the API key
+     * @param bytes the payload size of the request
+     * @return a future completed when the request may be sent, or exceptionally with a
+     *         {@link RateLimitException} if the wait would exceed the maximum wait
+     */
+    CompletableFuture<Void> acquireAsync(String apiKey, long bytes) {
+        return acquireAsync(apiKey, bytes, null);
+    }
+
+    /**
+     * Takes a request and its payload bytes from the buckets of an API key without blocking and
+     * without waiting past a deadline.
+     *
+     * @param apiKey the API key
+     * @param bytes the payload size of the request
+     * @param deadline the deadline of the request, null for none
+     * @return a future completed when the request may be sent, or exceptionally with a
+     *         {@link RateLimitException} or {@link DeadlineExceededException} if the wait would
+     *         exceed the maximum wait or the deadline
+     */
+    CompletableFuture<Void> acquireAsync(String apiKey, long bytes, Deadline deadline) {
+        long wait;
+        try {
+            wait = reserve(apiKey, bytes, maxWaitNanos, deadline);
+        } catch (RejectedRequestException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> permitted = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS).execute(() -> permitted.complete(null));
+        return permitted;
+    }
+
+    /**
+     * Slows down the requests of an API key after the service rejected one with 429.
+     *
+     * @param apiKey the API key
+     * @param retryAfterMillis the delay the service asked for, 0 if none
+     */
+    void onThrottled(String apiKey, long retryAfterMillis) {
+        bucket(apiKey).throttle(nanoClock.getAsLong(), TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+    }
+
+    /**
+     * Returns the current fraction of the configured rates granted to an API key.
+     */
+    double getRateFactor(String apiKey) {
+        return bucket(apiKey).factor(nanoClock.getAsLong());
+    }
+
+    private long reserve(String apiKey, long bytes, long maxWait, Deadline deadline) throws RejectedRequestException {
+        long limit = deadline == null ? maxWait : Math.min(maxWait, deadline.remainingNanos());
+        long wait = bucket(apiKey).reserve(nanoClock.getAsLong(), bytes, limit);
+        if (wait < 0) {
+            if (limit < maxWait) {
+                throw deadline.exceeded();
+            }
+            throw new RateLimitException("Client rate limit reached, request would wait longer than "
+                + TimeUnit.NANOSECONDS.toMillis(maxWait) + " ms");
+        }
+        return wait;
+    }
+
+    private Bucket bucket(String apiKey) {
+        return buckets.computeIfAbsent(apiKey == null ? "" : apiKey, key -> new Bucket(nanoClock.getAsLong()));
+    }
+
+    /**
+     * The request and byte buckets of one API key.
+     */
+    private final class Bucket {
+        private double requestTokens = requestsPerSecond;
+        private double byteTokens = bytesPerSecond;
+        private double factor = 1.0;
+        private long updatedAt;
+        private long pausedUntil;
+
+        Bucket(long now) {
+            this.updatedAt = now;
+        }
+
+        /**
+         * Takes the permits and returns the wait until they are covered, or -1 without taking them
+         * if that wait exceeds {@code maxWait}.
+         */
+        synchronized long reserve(long now, long bytes, long maxWait) {
+            refill(now);
+            long wait = Math.max(0L, pausedUntil - now);
+            if (requestsPerSecond > 0) {
+                wait = Math.max(wait, waitFor(requestTokens, 1.0, requestsPerSecond));
+            }
+            if (bytesPerSecond > 0) {
+                wait = Math.max(wait, waitFor(byteTokens, Math.min(bytes, bytesPerSecond), bytesPerSecond));
+            }
+            if (wait > maxWait) {
+                return -1L;
+            }
+            requestTokens -= 1.0;
+            byteTokens -= bytes;
+            return wait;
+        }
+
+        synchronized void throttle(long now, long retryAfterNanos) {
+            refill(now);
+            factor = Math.max(MIN_FACTOR, factor / 2);
+            requestTokens = Math.min(requestTokens, 0.0);
+            byteTokens = Math.min(byteTokens, 0.0);
+            pausedUntil = Math.max(pausedUntil, now + retryAfterNanos);
+        }
+
+        synchronized double factor(long now) {
+            refill(now);
+            return factor;
+        }
+
+        /**
+         * Returns the wait until the tokens reach {@code needed}. Requests larger than the bucket
+         * only need a full bucket and leave it in debt.
+         */
+        private long waitFor(double tokens, double needed, double configuredRate) {
+            if (tokens >= needed) {
+                return 0L;
+            }
+            return (long) Math.ceil((needed - tokens) / (configuredRate * factor) * NANOS_PER_SECOND);
+        }
+
+        private void refill(long now) {
+            double seconds = Math.max(0L, now - updatedAt) / NANOS_PER_SECOND;
+            updatedAt = now;
+            requestTokens = Math.min(requestsPerSecond, requestTokens + seconds * requestsPerSecond * factor);
+            byteTokens = Math.min(bytesPerSecond, byteTokens + seconds * bytesPerSecond * factor);
+            factor = Math.min(1.0, factor + seconds / RECOVERY_SECONDS);
+        }
+    }
+}
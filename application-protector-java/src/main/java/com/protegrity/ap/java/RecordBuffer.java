@@ -0,0 +1,49 @@
+package com.protegrity.ap.java;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The records of a caller's {@link ByteBuffer}, located by {@link RecordFormat#read(ByteBuffer)}.
+ *
+ * <p>Only the offsets and lengths of the records are kept. Their bytes are read from the caller's
+ * buffer, heap or direct, with absolute gets when the request body is serialized, so the records
+ * are never copied into arrays of their own.
+ *
+ * @since 1.0.1
+ */
+final class RecordBuffer {
+    private final ByteBuffer buffer;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    RecordBuffer(ByteBuffer buffer, int[] offsets, int[] lengths) {
+        this.buffer = buffer;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    int size() {
+        return offsets.length;
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    int offset(int index) {
+        return offsets[index];
+    }
+
+    int length(int index) {
+        return lengths[index];
+    }
+
+    /**
+     * Returns a copy of one record, for code that compares values.
+     */
+    byte[] toArray(int index) {
+        byte[] record = new byte[lengths[index]];
+        buffer.duplicate().position(offsets[index]).get(record);
+        return record;
+    }
+}
@@ -0,0 +1,149 @@
+package com.protegrity.ap.java;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of the records in the {@link ByteBuffer} input and output of {@link Protector}, for
+ * example {@link Protector#protect(SessionObject, String, ByteBuffer, ByteBuffer, RecordFormat)}.
+ *
+ * <p>Records are binary values, exchanged with the service Base64 encoded like {@code byte[][]}
+ * input. Two layouts are supported:
+ * <ul>
+ *   <li>{@link #lengthPrefixed()}: each record is preceded by its length as a 4-byte integer in
+ *       the byte order of the buffer, big-endian unless changed.
+ *   <li>{@link #delimited(byte)}: each record is followed by a delimiter byte, which may be
+ *       omitted after the last one. Records cannot contain the delimiter, so this layout suits
+ *       text data whose results do not contain it either.
+ * </ul>
+ *
+ * @since 1.0.1
+ */
+public final class RecordFormat {
+    private static final int LENGTH_PREFIX = -1;
+    private static final RecordFormat LENGTH_PREFIXED = new RecordFormat(LENGTH_PREFIX);
+
+    private final int delimiter;
+
+    private RecordFormat(int delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Returns the format of records preceded by their length as a 4-byte integer in the byte order
+     * of the buffer.
+     *
+     * @return the format
+     */
+    public static RecordFormat lengthPrefixed() {
+        return LENGTH_PREFIXED;
+    }
+
+    /**
+     * Returns the format of records separated by a delimiter, such as {@code '\n'}.
+     *
+     * @param delimiter the byte following each record
+     * @return the format
+     */
+    public static RecordFormat delimited(byte delimiter) {
+        return new RecordFormat(delimiter & 0xff);
+    }
+
+    /**
+     * Locates the records between the position and the limit of a buffer without copying them.
+     * The position of the buffer is left unchanged.
+     *
+     * @param input the buffer holding the records
+     * @return the records
+     * @throws ProtectorException if a length prefix is negative or exceeds the buffer
+     */
+    RecordBuffer read(ByteBuffer input) throws ProtectorException {
+        int start = input.position();
+        int end = input.limit();
+        int count = 0;
+        for (int position = start; position < end; count++) {
+            position = next(input, position, end);
+        }
+        int[] offsets = new int[count];
+        int[] lengths = new int[count];
+        int position = start;
+        for (int i = 0; i < count; i++) {
+            int next = next(input, position, end);
+            if (delimiter == LENGTH_PREFIX) {
+                offsets[i] = position + 4;
+                lengths[i] = next - position - 4;
+            } else {
+                offsets[i] = position;
+                lengths[i] = next < end || input.get(end - 1) == (byte) delimiter ? next - position - 1 : next - position;
+            }
+            position = next;
+        }
+        return new RecordBuffer(input, offsets, lengths);
+    }
+
+    /**
+     * Writes records at the position of a buffer and advances it. Nothing is written if the
+     * records do not fit.
+     *
+     * @param records the records, null ones are written empty
+     * @param output the buffer to write to
+     * @throws BufferOverflowException if the remaining space of the output is too small
+     * @throws ProtectorException if a record contains the delimiter
+     */
+    void write(byte[][] records, ByteBuffer output) throws ProtectorException {
+        long required = 0;
+        for (byte[] record : records) {
+            int length = record == null ? 0 : record.length;
+            required += length + (delimiter == LENGTH_PREFIX ? 4 : 1);
+            if (delimiter != LENGTH_PREFIX && record != null) {
+                for (byte b : record) {
+                    if (b == (byte) delimiter) {
+                        throw new ProtectorException("Result contains the record delimiter");
+                    }
+                }
+            }
+        }
+        if (required > output.remaining()) {
+            throw new BufferOverflowException();
+        }
+        for (byte[] record : records) {
+            int length = record == null ? 0 : record.length;
+            if (delimiter == LENGTH_PREFIX) {
+                output.putInt(length);
+            }
+            if (length > 0) {
+                output.put(record);
+            }
+            if (delimiter != LENGTH_PREFIX) {
+                output.put((byte) delimiter);
+            }
+        }
+    }
+
+    /**
+     * Returns the position following the record at {@code position}, including its delimiter.
+     */
+    private int next(ByteBuffer input, int position, int end) throws ProtectorException {
+        if (delimiter == LENGTH_PREFIX) {
+            if (end - position < 4) {
+                throw new ProtectorException("Truncated record length at position " + position);
+            }
+            int length = input.getInt(position);
+            if (length < 0 || length > end - position - 4) {
+                throw new ProtectorException("Invalid record length " + length + " at position " + position);
+            }
+            return position + 4 + length;
+        }
+        for (int i = position; i < end; i++) {
+            if (input.get(i) == (byte) delimiter) {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return delimiter == LENGTH_PREFIX ? "RecordFormat{lengthPrefixed}" : "RecordFormat{delimiter=" + delimiter + "}";
+    }
+}
@@ -0,0 +1,37 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+
+/**
+ * Raised by a transport decorator that refuses a request before it reaches the network, or when
+ * the client itself gives up on a request. Such requests are neither retried nor counted as
+ * endpoint failures, and the adapter reports them with {@link #getErrorCode()}. No stack trace is
+ * recorded, so failing fast stays cheap.
+ *
+ * @since 1.0.1
+ */
+class RejectedRequestException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int errorCode;
+
+    /**
+     * Constructs a new RejectedRequestException.
+     *
+     * @param errorCode the {@link ErrorMapper} code reported to the caller
+     * @param message the reason the request was refused or given up
+     */
+    RejectedRequestException(int errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+    int getErrorCode() {
+        return errorCode;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,316 @@
+package com.protegrity.ap.java;
+
+import java.io.Closeable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrent small protection requests into bulk requests.
+ *
+ * <p>Requests for the same operation, user, data element, IV and output type that arrive within
+ * {@link ProtectorConfig#getBatchWindowMillis()} of the first one are sent together as one request
+ * through {@link CoreproviderAdapter#executeAsync(ProtectionRequest, String, String)}. A batch is
+ * sent early once it holds {@link ProtectorConfig#getMaxBatchSize()} values. Each caller's future
+ * completes once its own slice of the bulk result has been copied into its output array.
+ *
+ * <p>The service reports failures for a request as a whole, so a failing value fails every call
+ * in the same batch, and the error is recorded as the last error of the session of every call.
+ *
+ * <p>A bulk request lasts until the latest {@link Deadline} of its calls, while each call fails on
+ * its own once its deadline passes, so that a call with a short deadline neither cuts the others
+ * short nor waits for them.
+ *
+ * <p>Closing sends the pending batches and waits for all batches in flight, up to the call timeout
+ * or {@value #CLOSE_TIMEOUT_MILLIS} ms without one, so that the adapter can be closed after it
+ * without failing the queued calls.
+ *
+ * @since 1.0.1
+ */
+final class RequestCoalescer implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    static final long CLOSE_TIMEOUT_MILLIS = 30_000L;
+
+    private final CoreproviderAdapter adapter;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final long closeTimeoutMillis;
+    private final Map<BatchKey, Batch> pending = new HashMap<>();
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a coalescer sending its batches through the given adapter.
+     *
+     * @param adapter the adapter executing the bulk requests
+     * @param config the client configuration providing window and batch size
+     */
+    RequestCoalescer(CoreproviderAdapter adapter, ProtectorConfig config) {
+        this.adapter = adapter;
+        this.windowMillis = config.getBatchWindowMillis();
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.closeTimeoutMillis = config.getCallTimeoutMillis() > 0 ? config.getCallTimeoutMillis() : CLOSE_TIMEOUT_MILLIS;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "protector-batch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a request for the next batch with matching parameters. Requests with at least
+     * {@code maxBatchSize} values are already bulk calls and are executed directly.
+     *
+     * @param request the request to execute
+     * @param jwtToken the JWT sent as bearer token
+     * @param apiKey the API key
+     * @return a future completed with true once the output is populated, or exceptionally with a ProtectorException
+     */
+    CompletableFuture<Boolean> submit(ProtectionRequest request, String jwtToken, String apiKey) {
+        if (request.size() >= maxBatchSize) {
+            return adapter.executeAsync(request, jwtToken, apiKey);
+        }
+        BatchKey key = new BatchKey(request, jwtToken, apiKey);
+        Entry entry = new Entry(request);
+        Deadline deadline = request.getDeadline();
+        if (deadline != null) {
+            deadline.whenExpired(entry.future, () -> {
+                DeadlineExceededException exceeded = deadline.exceeded();
+                entry.future.completeExceptionally(new ProtectorException(exceeded.getErrorCode(), exceeded.getMessage()));
+            });
+        }
+        Batch full = null;
+        synchronized (pending) {
+            Batch batch = pending.get(key);
+            if (batch == null) {
+                batch = new Batch(key);
+                pending.put(key, batch);
+                if (!scheduleFlush(batch)) {
+                    pending.remove(key);
+                    entry.future.completeExceptionally(new ProtectorException("Protector is closed"));
+                    return entry.future;
+                }
+            }
+            batch.add(entry);
+            if (batch.size >= maxBatchSize) {
+                pending.remove(key);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return entry.future;
+    }
+
+    private boolean scheduleFlush(Batch batch) {
+        try {
+            scheduler.schedule(() -> flush(batch), windowMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (pending) {
+            // The batch may already have been sent because it filled up.
+            if (pending.get(batch.key) != batch) {
+                return;
+            }
+            pending.remove(batch.key);
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        CompletableFuture<?> sent = execute(batch);
+        inFlight.add(sent);
+        sent.whenComplete((result, error) -> inFlight.remove(sent));
+    }
+
+    /**
+     * Sends a batch, returning a future completed once the calls of the batch are.
+     */
+    private CompletableFuture<?> execute(Batch batch) {
+        List<Entry> entries = batch.entries;
+        ProtectionRequest first = entries.get(0).request;
+        if (entries.size() == 1) {
+            return forward(adapter.executeAsync(first, batch.key.jwtToken, batch.key.apiKey), entries);
+        }
+
+        String[] values = new String[batch.size];
+        Object output = Array.newInstance(first.getOutput().getClass().getComponentType(), batch.size);
+        int offset = 0;
+        Deadline deadline = first.getDeadline();
+        for (Entry entry : entries) {
+            String[] entryValues = entry.request.getValues();
+            System.arraycopy(entryValues, 0, values, offset, entryValues.length);
+            offset += entryValues.length;
+            deadline = Deadline.latest(deadline, entry.request.getDeadline());
+        }
+        // The service error is recorded in a session of the batch and copied to the session of every call.
+        SessionObject batchSession = new SessionObject(first.getUser());
+        ProtectionRequest combined = first.withValues(values, output, null).withDeadline(deadline).withSession(batchSession);
+
+        return adapter.executeAsync(combined, batch.key.jwtToken, batch.key.apiKey).whenComplete((success, error) -> {
+            if (error != null) {
+                String lastError = batchSession.getLastError();
+                for (Entry entry : entries) {
+                    if (lastError != null && entry.request.getSession() != null) {
+                        entry.request.getSession().setLastError(lastError);
+                    }
+                    entry.future.completeExceptionally(error);
+                }
+                return;
+            }
+            int position = 0;
+            for (Entry entry : entries) {
+                int length = entry.request.size();
+                // A call past its deadline has already failed, its output is left alone.
+                if (!entry.future.isDone()) {
+                    int outputOffset = entry.request.getOutputOffset();
+                    System.arraycopy(output, position, entry.request.getOutput(), outputOffset,
+                        Math.max(0, entry.request.getOutputEnd() - outputOffset));
+                    entry.future.complete(success);
+                }
+                position += length;
+            }
+        });
+    }
+
+    private static CompletableFuture<Boolean> forward(CompletableFuture<Boolean> result, List<Entry> entries) {
+        return result.whenComplete((success, error) -> {
+            for (Entry entry : entries) {
+                if (error != null) {
+                    entry.future.completeExceptionally(error);
+                } else {
+                    entry.future.complete(success);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends all pending batches, stops the window timer and waits for the batches in flight.
+     */
+    @Override
+    public void close() {
+        List<Batch> batches;
+        synchronized (pending) {
+            batches = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        scheduler.shutdownNow();
+        batches.forEach(this::send);
+        CompletableFuture<?>[] sent = inFlight.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(sent).get(closeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Reported to the callers of the batch
+        } catch (TimeoutException e) {
+            logger.warn("{} batches still in flight after {} ms, closing anyway", inFlight.size(), closeTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Entry {
+        final ProtectionRequest request;
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        Entry(ProtectionRequest request) {
+            this.request = request;
+        }
+    }
+
+    private static final class Batch {
+        final BatchKey key;
+        final List<Entry> entries = new ArrayList<>();
+        int size;
+
+        Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        void add(Entry entry) {
+            entries.add(entry);
+            size += entry.request.size();
+        }
+    }
+
+    /**
+     * Identifies requests that can share one bulk request.
+     */
+    private static final class BatchKey {
+        final String operation;
+        final String user;
+        final String dataElementName;
+        final String oldDataElementName;
+        final byte[] externalIv;
+        final byte[] oldExternalIv;
+        final String encoding;
+        final Class<?> outputType;
+        final String jwtToken;
+        final String apiKey;
+
+        BatchKey(ProtectionRequest request, String jwtToken, String apiKey) {
+            this.operation = request.getOperation();
+            this.user = request.getUser();
+            this.dataElementName = request.getDataElementName();
+            this.oldDataElementName = request.getOldDataElementName();
+            this.externalIv = request.getExternalIv();
+            this.oldExternalIv = request.getOldExternalIv();
+            this.encoding = request.getEncoding();
+            this.outputType = request.getOutput().getClass();
+            this.jwtToken = jwtToken;
+            this.apiKey = apiKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey other = (BatchKey) o;
+            return Objects.equals(operation, other.operation)
+                && Objects.equals(user, other.user)
+                && Objects.equals(dataElementName, other.dataElementName)
+                && Objects.equals(oldDataElementName, other.oldDataElementName)
+                && Arrays.equals(externalIv, other.externalIv)
+                && Arrays.equals(oldExternalIv, other.oldExternalIv)
+                && Objects.equals(encoding, other.encoding)
+                && outputType == other.outputType
+                && Objects.equals(jwtToken, other.jwtToken)
+                && Objects.equals(apiKey, other.apiKey);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(operation, user, dataElementName, oldDataElementName, encoding, outputType, jwtToken, apiKey);
+            result = 31 * result + Arrays.hashCode(externalIv);
+            return 31 * result + Arrays.hashCode(oldExternalIv);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport decorator that retries transient failures and fails fast on unhealthy endpoints.
+ *
+ * <p>Requests that failed before they were sent, because no connection to the endpoint could be
+ * established or leased, and requests answered with 429, 502, 503 or 504 are sent again up to
+ * {@link ProtectorConfig#getMaxRetries()} times. Other I/O errors, read timeouts in particular, may
+ * occur after the service processed the request and are not retried, so that an operation is not
+ * applied twice. Before retry {@code n} a random delay between zero
+ * and {@code retryBaseDelayMillis * 2^n} is waited, capped at
+ * {@link ProtectorConfig#getRetryMaxDelayMillis()}, so that clients failing together do not retry
+ * together. A {@code Retry-After} header raises the delay to the time the service asked for; when
+ * that is longer than the maximum delay the response is returned without retrying. Neither is a
+ * retry started whose delay would reach past the {@link Deadline} of the request. When a client-side
+ * rate limit is configured, 429 responses are returned at once, so that the rate limiter of the
+ * {@link CoreproviderAdapter} sees every one of them and meters the requests sent after it.
+ *
+ * <p>Each endpoint has its own {@link CircuitBreaker}. I/O errors and 5xx responses count as
+ * failures; requests to an endpoint with an open circuit fail with a {@link CircuitOpenException}
+ * without touching the network. Requests the wrapped transport refused without sending them, see
+ * {@link RejectedRequestException}, and requests the caller abandoned, by interrupting the thread,
+ * cancelling the future or letting the deadline pass, are neither retried nor counted. Asynchronous
+ * retries wait without blocking a thread, and cancelling the future of an asynchronous request
+ * cancels the attempt in flight and any further retry.
+ *
+ * @since 1.0.1
+ */
+final class ResilientTransport implements CoreproviderTransport {
+    private static final Logger logger = LoggerFactory.getLogger(ResilientTransport.class);
+    private static final int MAX_BACKOFF_SHIFT = 30;
+
+    private final CoreproviderTransport delegate;
+    private final int maxRetries;
+    private final boolean retryThrottled;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a transport with the retry and circuit breaker settings of the configuration.
+     *
+     * @param delegate the transport sending the requests
+     * @param config the client configuration
+     */
+    ResilientTransport(CoreproviderTransport delegate, ProtectorConfig config) {
+        this.delegate = delegate;
+        this.maxRetries = config.getMaxRetries();
+        // A 429 is left to the rate limiter of the adapter, which slows down and meters every request.
+        this.retryThrottled = config.getRateLimitRequestsPerSecond() == 0 && config.getRateLimitBytesPerSecond() == 0;
+        this.baseDelayMillis = config.getRetryBaseDelayMillis();
+        this.maxDelayMillis = config.getRetryMaxDelayMillis();
+        this.failureThreshold = config.getCircuitBreakerFailureThreshold();
+        this.openMillis = config.getCircuitBreakerOpenMillis();
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException {
+        String endpoint = endpointOf(request.getUrl());
+        CircuitBreaker breaker = breakerFor(endpoint);
+        for (int attempt = 0;; attempt++) {
+            acquire(breaker, endpoint);
+            TransportResponse response = null;
+            IOException failure = null;
+            try {
+                response = delegate.send(request);
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                record(breaker, null, e);
+                throw e;
+            }
+            record(breaker, response, failure);
+            long delay = retryDelay(request, attempt, response, failure);
+            if (delay < 0) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            logger.debug("Retrying request to {} in {} ms", endpoint, delay);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry");
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        String endpoint = endpointOf(request.getUrl());
+        CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+        attemptAsync(request, endpoint, breakerFor(endpoint), 0, result);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> warmUp(String endpoint, int connections) {
+        return delegate.warmUp(endpoint, connections);
+    }
+
+    @Override
+    public ConcurrencyLimiterStats getConcurrencyLimiterStats() {
+        return delegate.getConcurrencyLimiterStats();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * Returns the circuit breaker of an endpoint, or null if circuit breaking is disabled.
+     */
+    CircuitBreaker breakerFor(String endpoint) {
+        if (failureThreshold == 0) {
+            return null;
+        }
+        return breakers.computeIfAbsent(endpoint, key -> new CircuitBreaker(failureThreshold, openMillis));
+    }
+
+    private void attemptAsync(TransportRequest request, String endpoint, CircuitBreaker breaker, int attempt,
+            CompletableFuture<TransportResponse> result) {
+        if (result.isDone()) {
+            // Cancelled by the caller while waiting to retry
+            return;
+        }
+        try {
+            acquire(breaker, endpoint);
+        } catch (CircuitOpenException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        CompletableFuture<TransportResponse> sent = delegate.sendAsync(request);
+        CoreproviderTransport.propagateCancellation(result, sent);
+        sent.whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause != null && !(cause instanceof IOException)) {
+                record(breaker, null, cause);
+                result.completeExceptionally(cause);
+                return;
+            }
+            IOException failure = (IOException) cause;
+            record(breaker, response, failure);
+            long delay = retryDelay(request, attempt, response, failure);
+            if (delay < 0) {
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(response);
+                }
+                return;
+            }
+            if (result.isDone()) {
+                return;
+            }
+            logger.debug("Retrying request to {} in {} ms", endpoint, delay);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> attemptAsync(request, endpoint, breaker, attempt + 1, result));
+        });
+    }
+
+    private static void acquire(CircuitBreaker breaker, String endpoint) throws CircuitOpenException {
+        if (breaker != null && !breaker.tryAcquire()) {
+            throw new CircuitOpenException(endpoint, breaker.getRemainingOpenMillis());
+        }
+    }
+
+    private static void record(CircuitBreaker breaker, TransportResponse response, Throwable failure) {
+        if (breaker == null) {
+            return;
+        }
+        if (failure instanceof RejectedRequestException || isAbandoned(failure)) {
+            breaker.onIgnored();
+        } else if (failure != null || response.getStatusCode() >= 500) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    /**
+     * Returns the delay before the next attempt, or -1 if the outcome is final.
+     */
+    private long retryDelay(TransportRequest request, int attempt, TransportResponse response, IOException failure) {
+        if (attempt >= maxRetries || (failure != null && !isUnsent(failure))) {
+            return -1L;
+        }
+        long retryAfter = 0L;
+        if (failure == null) {
+            if (!isRetryable(response.getStatusCode()) || (response.getStatusCode() == 429 && !retryThrottled)) {
+                return -1L;
+            }
+            retryAfter = retryAfterMillis(response.getHeader("Retry-After"));
+            if (retryAfter > maxDelayMillis) {
+                return -1L;
+            }
+        }
+        long backoff = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt, MAX_BACKOFF_SHIFT));
+        long jittered = backoff == 0 ? 0L : ThreadLocalRandom.current().nextLong(backoff + 1);
+        long delay = Math.max(jittered, retryAfter);
+        Deadline deadline = request.getDeadline();
+        if (deadline != null && delay >= deadline.remainingMillis()) {
+            return -1L;
+        }
+        return delay;
+    }
+
+    /**
+     * Returns true if a request failed because the caller gave up on it: the thread was interrupted,
+     * the future cancelled or the exchange aborted. Timeouts of the transport are not abandonment.
+     */
+    static boolean isAbandoned(Throwable failure) {
+        return failure instanceof CancellationException
+            || (failure instanceof InterruptedIOException
+                && !(failure instanceof SocketTimeoutException)
+                && !(failure instanceof ConnectTimeoutException));
+    }
+
+    /**
+     * Returns true if a request failed before any of it reached the service, so that sending it again
+     * cannot apply the operation twice.
+     */
+    static boolean isUnsent(IOException failure) {
+        if (failure instanceof RejectedRequestException) {
+            return false;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Parses a {@code Retry-After} value given in seconds or as an HTTP date.
+     *
+     * @param value the header value, or null
+     * @return the requested delay in milliseconds, 0 if there is none or it cannot be parsed
+     */
+    static long retryAfterMillis(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0L;
+        }
+        String trimmed = value.trim();
+        try {
+            return Math.max(0L, Long.parseLong(trimmed) * 1000L);
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try an HTTP date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0L, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+        } catch (DateTimeParseException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Returns scheme, host and port of a URL, which identify the endpoint of a circuit.
+     */
+    static String endpointOf(String url) {
+        int hostStart = url.indexOf("://");
+        int pathStart = url.indexOf('/', hostStart < 0 ? 0 : hostStart + 3);
+        return pathStart < 0 ? url : url.substring(0, pathStart);
+    }
+}
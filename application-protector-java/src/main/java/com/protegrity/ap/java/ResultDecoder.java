@@ -0,0 +1,248 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Base64;
+import java.util.Date;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming decoder of a Core Provider response that writes each result straight into the
+ * caller's output array.
+ *
+ * <p>The body is read token by token, so neither the body text nor a JSON tree nor an intermediate
+ * array of results is built. Numbers are parsed from the token text, {@code char[][]} results are
+ * copied from the parser's character buffer and Base64 results are decoded by the parser.
+ *
+ * <p>The response fields may arrive in any order. A result that cannot be converted does not stop
+ * decoding, it is reported by {@link #getConversionError()} after the whole body has been read, so
+ * that the caller can give a failure reported by the service precedence over it. When the status of
+ * every value is tracked in {@link PartialResults} each result that cannot be converted is recorded
+ * there instead, and the others are still written.
+ *
+ * @since 1.0.1
+ */
+final class ResultDecoder {
+    private static final JsonFactory JSON = new JsonFactory();
+    // Padding is optional, as it is for the JDK decoder used for Base64 results before.
+    private static final Base64Variant BASE64 =
+        Base64Variants.MIME_NO_LINEFEEDS.withReadPadding(Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+    private static final String ENCODING_BASE64 = "base64";
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT =
+        ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS"));
+
+    private final Object output;
+    private final int outputOffset;
+    private final int outputEnd;
+    private final int offset;
+    private final String[] wireResults;
+    private final boolean base64;
+    private final PartialResults partialResults;
+
+    private boolean success;
+    private String encoding;
+    private String errorMessage;
+    private int resultCount;
+    private Exception conversionError;
+
+    /**
+     * Creates a decoder writing into {@code output} starting at {@code offset}.
+     *
+     * @param output the caller's output array
+     * @param offset the position of the first result in the output
+     * @param wireResults receives the results in their wire representation at the same positions, or null
+     * @param encodingType the encoding of the request
+     */
+    ResultDecoder(Object output, int offset, String[] wireResults, String encodingType) {
+        this(output, 0, output == null ? 0 : Array.getLength(output), offset, wireResults, encodingType);
+    }
+
+    /**
+     * Creates a decoder writing into the range {@code [outputOffset, outputEnd)} of {@code output},
+     * the result at {@code offset} going to {@code outputOffset + offset}.
+     *
+     * @param output the caller's output array
+     * @param outputOffset the position in the output of the result at offset 0
+     * @param outputEnd the end of the range of the output to write
+     * @param offset the position of the first result relative to the range
+     * @param wireResults receives the results in their wire representation at their relative positions, or null
+     * @param encodingType the encoding of the request
+     */
+    ResultDecoder(Object output, int outputOffset, int outputEnd, int offset, String[] wireResults, String encodingType) {
+        this(output, outputOffset, outputEnd, offset, wireResults, encodingType, null);
+    }
+
+    /**
+     * Creates a decoder writing into a range of {@code output} that records results which cannot
+     * be converted in {@code partialResults}, at their position relative to the range.
+     *
+     * @param partialResults the status of the values, or null to report the first conversion error
+     */
+    ResultDecoder(Object output, int outputOffset, int outputEnd, int offset, String[] wireResults, String encodingType,
+            PartialResults partialResults) {
+        if (!(output instanceof String[] || output instanceof char[][] || output instanceof byte[][]
+                || output instanceof Date[] || output instanceof short[] || output instanceof int[]
+                || output instanceof long[] || output instanceof float[] || output instanceof double[])) {
+            throw new IllegalArgumentException("Unsupported target type: " + (output == null ? null : output.getClass()));
+        }
+        this.output = output;
+        this.outputOffset = outputOffset;
+        this.outputEnd = outputEnd;
+        this.offset = offset;
+        this.wireResults = wireResults;
+        this.base64 = ENCODING_BASE64.equals(encodingType);
+        this.partialResults = partialResults;
+    }
+
+    /**
+     * Reads a response body.
+     *
+     * @param body the response body
+     * @throws IOException if the body is not a JSON object
+     */
+    void decode(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected response: JSON object expected");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("results".equals(field) && token == JsonToken.START_ARRAY) {
+                    readResults(parser);
+                } else if ("success".equals(field)) {
+                    success = token == JsonToken.VALUE_TRUE
+                        || token.isScalarValue() && Boolean.parseBoolean(parser.getText());
+                } else if ("encoding".equals(field) && token.isScalarValue()) {
+                    encoding = parser.getText();
+                } else if ("error_msg".equals(field) && token.isScalarValue()) {
+                    errorMessage = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Returns the encoding reported by the service, or null if the response has none.
+     */
+    String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Returns the error message reported by the service, or null if the response has none.
+     */
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Returns the number of results in the response, including any beyond the end of the output.
+     */
+    int getResultCount() {
+        return resultCount;
+    }
+
+    /**
+     * Returns the first failure to convert a result to the output type, or null.
+     */
+    Exception getConversionError() {
+        return conversionError;
+    }
+
+    private void readResults(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of response");
+            }
+            int index = offset + resultCount++;
+            int position = outputOffset + index;
+            boolean container = !token.isScalarValue();
+            if (container) {
+                // Not a result value, read as empty text like the tree model does.
+                parser.skipChildren();
+            }
+            if (wireResults != null && index < wireResults.length) {
+                wireResults[index] = container ? "" : parser.getText();
+            }
+            if (position >= outputEnd || conversionError != null) {
+                continue;
+            }
+            try {
+                if (container) {
+                    storeText("", position);
+                } else {
+                    store(parser, token, position);
+                }
+            } catch (IOException | RuntimeException | ParseException e) {
+                if (partialResults == null) {
+                    conversionError = e;
+                } else {
+                    partialResults.fail(index, index + 1, ErrorMapper.RESULT_CONVERSION_FAILED,
+                        ErrorMapper.getErrorDetail(e.getMessage()).getErrorMessage());
+                }
+            }
+        }
+    }
+
+    private void store(JsonParser parser, JsonToken token, int position) throws IOException, ParseException {
+        if (output instanceof byte[][]) {
+            ((byte[][]) output)[position] = base64 ? binary(parser, token) : parser.getText().getBytes(StandardCharsets.UTF_8);
+        } else if (output instanceof char[][] && !base64) {
+            int length = parser.getTextLength();
+            char[] value = new char[length];
+            System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), value, 0, length);
+            ((char[][]) output)[position] = value;
+        } else {
+            storeText(base64 ? new String(binary(parser, token), StandardCharsets.UTF_8) : parser.getText(), position);
+        }
+    }
+
+    private void storeText(String text, int position) throws ParseException {
+        if (output instanceof String[]) {
+            ((String[]) output)[position] = text;
+        } else if (output instanceof char[][]) {
+            ((char[][]) output)[position] = text.toCharArray();
+        } else if (output instanceof byte[][]) {
+            ((byte[][]) output)[position] = base64 ? Base64.getDecoder().decode(text) : text.getBytes(StandardCharsets.UTF_8);
+        } else if (output instanceof short[]) {
+            ((short[]) output)[position] = Short.parseShort(text);
+        } else if (output instanceof int[]) {
+            ((int[]) output)[position] = Integer.parseInt(text);
+        } else if (output instanceof long[]) {
+            ((long[]) output)[position] = Long.parseLong(text);
+        } else if (output instanceof float[]) {
+            ((float[]) output)[position] = Float.parseFloat(text);
+        } else if (output instanceof double[]) {
+            ((double[]) output)[position] = Double.parseDouble(text);
+        } else {
+            // Date results may carry the date and the date-time separated by '|'.
+            String[] parts = text.split("\\|");
+            String dateTime = parts.length > 1 ? parts[1].trim() : parts[0].trim();
+            ((Date[]) output)[position] = DATE_FORMAT.get().parse(dateTime);
+        }
+    }
+
+    private static byte[] binary(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getBinaryValue(BASE64);
+        }
+        return Base64.getDecoder().decode(parser.getText());
+    }
+}
@@ -0,0 +1,351 @@
+package com.protegrity.ap.java;
+
+import java.lang.reflect.Array;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory cache of protect and unprotect results for deterministic data elements.
+ *
+ * <p>Entries are keyed by operation, encoding, policy user, data element, external IV and value, and
+ * hold the result in its wire representation, so one entry serves every array type using the same
+ * encoding. A protect result also seeds the unprotect entry for the returned token.
+ *
+ * <p>Each of the lock-striped segments is a segmented LRU: new entries enter a probation segment
+ * and are promoted to a protected segment holding 80% of the capacity when hit again, so a burst
+ * of one-off values cannot flush the hot set. The cache is bounded by entry count and by an
+ * estimate of its heap usage, and entries optionally expire after a fixed time to live.
+ *
+ * @since 1.0.1
+ */
+final class TokenCache {
+    private static final String OPERATION_PROTECT = "protect";
+    private static final String OPERATION_UNPROTECT = "unprotect";
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Set<String> dataElements;
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache for the data elements, limits and time to live of the configuration.
+     *
+     * @param config the client configuration
+     */
+    TokenCache(ProtectorConfig config) {
+        this.dataElements = config.getTokenCacheDataElements();
+        this.ttlNanos = config.getTokenCacheTtlMillis() * 1_000_000L;
+        // Small caches use one segment so that the bounds are not split into uselessly small parts.
+        int count = config.getTokenCacheMaxEntries() >= 1024 && config.getTokenCacheMaxBytes() >= 1024 * 1024 ? 16 : 1;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(
+                Math.max(1, config.getTokenCacheMaxEntries() / count),
+                Math.max(1, config.getTokenCacheMaxBytes() / count));
+        }
+    }
+
+    /**
+     * Looks up the values of a request.
+     *
+     * @param request the request to look up
+     * @return the lookup, or null if the request is not cacheable
+     */
+    Lookup lookup(ProtectionRequest request) {
+        if (!isCacheable(request)) {
+            return null;
+        }
+        String prefix = prefix(request.getOperation(), request);
+        String[] values = request.getValues();
+        String[] results = new String[values.length];
+        int missCount = 0;
+        long now = System.nanoTime();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                results[i] = get(prefix + values[i], now);
+            }
+            if (results[i] == null) {
+                missCount++;
+            }
+        }
+        return new Lookup(request, prefix, results, missCount);
+    }
+
+    /**
+     * Looks up the result of a single value, without the bookkeeping of a {@link Lookup}.
+     *
+     * @param request the request the value belongs to
+     * @param value the value in its wire representation
+     * @return the cached result in its wire representation, or null if it is not cached or the
+     *     request is not cacheable
+     */
+    String get(ProtectionRequest request, String value) {
+        if (value == null || !isCacheable(request)) {
+            return null;
+        }
+        return get(prefix(request.getOperation(), request) + value, System.nanoTime());
+    }
+
+    /**
+     * Caches the result of a single value obtained from the service.
+     *
+     * @param request the request the value belongs to
+     * @param value the value in its wire representation
+     * @param result the result in its wire representation
+     */
+    void put(ProtectionRequest request, String value, String result) {
+        if (value != null && result != null && isCacheable(request)) {
+            store(request, prefix(request.getOperation(), request), value, result, System.nanoTime());
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the statistics
+     */
+    TokenCacheStats getStats() {
+        long size = 0;
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+                bytes += segment.bytes;
+            }
+        }
+        return new TokenCacheStats(hits.sum(), misses.sum(), evictions.sum(), size, bytes);
+    }
+
+    private boolean isCacheable(ProtectionRequest request) {
+        return !request.isReprotect() && dataElements.contains(request.getDataElementName());
+    }
+
+    /**
+     * Caches a result and, for a protect result, the value as unprotect result of the token.
+     */
+    private void store(ProtectionRequest request, String prefix, String value, String result, long now) {
+        put(prefix + value, result, now);
+        if (OPERATION_PROTECT.equals(request.getOperation())) {
+            put(prefix(OPERATION_UNPROTECT, request) + result, value, now);
+        }
+    }
+
+    private static String prefix(String operation, ProtectionRequest request) {
+        byte[] iv = request.getExternalIv();
+        String ivText = iv == null || iv.length == 0 ? "" : Base64.getEncoder().encodeToString(iv);
+        return operation + '\u0000' + request.getEncoding() + '\u0000' + request.getUser() + '\u0000'
+            + request.getDataElementName() + '\u0000' + ivText + '\u0000';
+    }
+
+    private String get(String key, long now) {
+        Segment segment = segmentFor(key);
+        String result;
+        synchronized (segment) {
+            result = segment.get(key, now);
+        }
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    private void put(String key, String result, long now) {
+        Segment segment = segmentFor(key);
+        long expiresAt = ttlNanos == 0 ? Long.MAX_VALUE : now + ttlNanos;
+        int evicted;
+        synchronized (segment) {
+            evicted = segment.put(key, result, expiresAt);
+        }
+        if (evicted > 0) {
+            evictions.add(evicted);
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * The cached and missing results of one request.
+     */
+    final class Lookup {
+        private final ProtectionRequest request;
+        private final String prefix;
+        private final String[] results;
+        private final int[] missPositions;
+        private final ProtectionRequest missRequest;
+
+        private Lookup(ProtectionRequest request, String prefix, String[] results, int missCount) {
+            this.request = request;
+            this.prefix = prefix;
+            this.results = results;
+            this.missPositions = new int[missCount];
+            if (missCount == 0) {
+                this.missRequest = null;
+                return;
+            }
+            String[] missValues = new String[missCount];
+            for (int i = 0, j = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    missPositions[j] = i;
+                    missValues[j++] = request.getValues()[i];
+                }
+            }
+            Object missOutput = Array.newInstance(request.getOutput().getClass().getComponentType(), missCount);
+            this.missRequest = request.withValues(missValues, missOutput, new String[missCount]);
+        }
+
+        /**
+         * Returns the request for the values not found in the cache.
+         *
+         * @return the request to send, or null if every value was found
+         */
+        ProtectionRequest getMissRequest() {
+            return missRequest;
+        }
+
+        /**
+         * Caches the results of the miss request and writes all results into the original output.
+         *
+         * @param adapter the adapter converting cached wire results to the output type
+         * @throws ProtectorException if a cached result cannot be converted
+         */
+        void complete(CoreproviderAdapter adapter) throws ProtectorException {
+            Object output = request.getOutput();
+            int base = request.getOutputOffset();
+            int outputLength = request.getOutputEnd() - base;
+            if (missRequest != null) {
+                Object missOutput = missRequest.getOutput();
+                String[] missResults = missRequest.getWireResults();
+                PartialResults partialResults = missRequest.getPartialResults();
+                long now = System.nanoTime();
+                for (int j = 0; j < missPositions.length; j++) {
+                    int position = missPositions[j];
+                    if (partialResults != null) {
+                        partialResults.copyTo(j, request.getPartialResults(), position);
+                    }
+                    // Read before the result is copied, which overwrites it when protecting in place.
+                    String value = request.getValues()[position];
+                    if (position < outputLength) {
+                        System.arraycopy(missOutput, j, output, base + position, 1);
+                    }
+                    String result = missResults[j];
+                    if (value != null && result != null && (partialResults == null || !partialResults.isFailed(j))) {
+                        store(request, prefix, value, result, now);
+                    }
+                }
+            }
+
+            int hitCount = results.length - missPositions.length;
+            if (hitCount == 0) {
+                return;
+            }
+            String[] hitResults = new String[hitCount];
+            int[] hitPositions = new int[hitCount];
+            for (int i = 0, j = 0; i < results.length; i++) {
+                if (results[i] != null) {
+                    hitPositions[j] = i;
+                    hitResults[j++] = results[i];
+                }
+            }
+            Object converted = adapter.convertResults(hitResults, output.getClass(), request.getEncoding());
+            for (int j = 0; j < hitCount; j++) {
+                if (hitPositions[j] < outputLength) {
+                    System.arraycopy(converted, j, output, base + hitPositions[j], 1);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String result;
+        final long expiresAt;
+        final long weight;
+
+        Entry(String key, String result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+            this.weight = ENTRY_OVERHEAD_BYTES + 2L * (key.length() + result.length());
+        }
+    }
+
+    /**
+     * Segmented LRU guarded by its own monitor.
+     */
+    private static final class Segment {
+        private final int maxEntries;
+        private final int maxProtected;
+        private final long maxBytes;
+        private final LinkedHashMap<String, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, Entry> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+        long bytes;
+
+        Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxProtected = Math.max(1, maxEntries * 4 / 5);
+            this.maxBytes = maxBytes;
+        }
+
+        int size() {
+            return probation.size() + protectedEntries.size();
+        }
+
+        String get(String key, long now) {
+            Entry entry = protectedEntries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - now < 0) {
+                    protectedEntries.remove(key);
+                    bytes -= entry.weight;
+                    return null;
+                }
+                return entry.result;
+            }
+            entry = probation.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - now < 0) {
+                bytes -= entry.weight;
+                return null;
+            }
+            // Second access, promote and demote the least recently used protected entry if full.
+            protectedEntries.put(key, entry);
+            if (protectedEntries.size() > maxProtected) {
+                Iterator<Map.Entry<String, Entry>> eldest = protectedEntries.entrySet().iterator();
+                Map.Entry<String, Entry> demoted = eldest.next();
+                eldest.remove();
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+            return entry.result;
+        }
+
+        /**
+         * Inserts or replaces an entry and returns the number of entries evicted to stay within bounds.
+         */
+        int put(String key, String result, long expiresAt) {
+            Entry entry = new Entry(key, result, expiresAt);
+            Entry previous = protectedEntries.containsKey(key) ? protectedEntries.put(key, entry) : probation.put(key, entry);
+            bytes += entry.weight - (previous == null ? 0 : previous.weight);
+
+            int evicted = 0;
+            while (size() > 1 && (size() > maxEntries || bytes > maxBytes)) {
+                LinkedHashMap<String, Entry> victims = probation.isEmpty() ? protectedEntries : probation;
+                Iterator<Map.Entry<String, Entry>> eldest = victims.entrySet().iterator();
+                bytes -= eldest.next().getValue().weight;
+                eldest.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.protegrity.ap.java;
+
+/**
+ * Point-in-time statistics of the client-side token cache.
+ *
+ * <p>Obtained from {@link Protector#getTokenCacheStats()}. All counters start at zero when the
+ * {@link Protector} is created and are all zero if no data element is configured for caching, see
+ * {@link ProtectorConfig#getTokenCacheDataElements()}.
+ *
+ * @since 1.0.1
+ */
+public final class TokenCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+    private final long estimatedBytes;
+
+    TokenCacheStats(long hitCount, long missCount, long evictionCount, long size, long estimatedBytes) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Returns the number of values answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of cacheable values that had to be sent to the service.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries removed to stay within the entry or memory bound.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of entries currently held.
+     *
+     * @return the number of cached values
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the estimated heap usage of the current entries.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Returns the ratio of hits to lookups.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenCacheStats{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+            + ", size=" + size + ", estimatedBytes=" + estimatedBytes + "}";
+    }
+}
@@ -0,0 +1,212 @@
+package com.protegrity.ap.java;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the JWT of a {@link Protector} and renews it before it expires.
+ *
+ * <p>The expiry is read from the {@code exp} claim of the token. A background thread logs in again
+ * {@link ProtectorConfig#getTokenRefreshMarginMillis()} before that time and swaps the new token
+ * in atomically, so request threads only ever read the current token and never wait for a login
+ * in steady state. A failed background refresh is retried while the old token is still in use.
+ *
+ * <p>When the service rejects a token anyway, for example because it was revoked,
+ * {@link #refresh(String)} logs in again. Concurrent callers that saw the same rejected token share
+ * a single login.
+ *
+ * @since 1.0.1
+ */
+final class TokenManager implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(TokenManager.class);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long MIN_REFRESH_DELAY_MILLIS = 1_000L;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000L;
+
+    private final Supplier<String> login;
+    private final String apiKey;
+    private final long refreshMarginMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<CompletableFuture<String>> inFlight = new AtomicReference<>();
+    private volatile String token;
+    private volatile boolean closed;
+
+    /**
+     * Logs in with the credentials of the configuration, or reuses a cached token, and schedules
+     * the first refresh. Renewals always log in.
+     *
+     * @param config the client configuration providing endpoint, credentials and refresh margin
+     * @throws InitializationException if the login fails
+     */
+    TokenManager(ProtectorConfig config) {
+        this(new Authenticator(config).getJwtToken(), () -> new Authenticator(config, false).getJwtToken(),
+            config.getApiKey(), config.getTokenRefreshMarginMillis());
+    }
+
+    /**
+     * Logs in with the given function and schedules the first refresh.
+     *
+     * @param login returns a new JWT, or throws if the login fails
+     * @param apiKey the API key sent with every request
+     * @param refreshMarginMillis how long before expiry the token is renewed
+     */
+    TokenManager(Supplier<String> login, String apiKey, long refreshMarginMillis) {
+        this(login.get(), login, apiKey, refreshMarginMillis);
+    }
+
+    /**
+     * Starts with a token obtained elsewhere, for example from the credential cache.
+     */
+    private TokenManager(String initialToken, Supplier<String> login, String apiKey, long refreshMarginMillis) {
+        this.login = login;
+        this.apiKey = apiKey;
+        this.refreshMarginMillis = refreshMarginMillis;
+        this.token = initialToken;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "protector-auth-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleRefresh(token);
+    }
+
+    /**
+     * Returns the current JWT without blocking.
+     */
+    String getToken() {
+        return token;
+    }
+
+    String getApiKey() {
+        return apiKey;
+    }
+
+    /**
+     * Replaces a token the service rejected. If the current token is already a different one, it
+     * is returned right away; otherwise one login is started and shared by all concurrent callers.
+     *
+     * @param rejectedToken the token the service rejected
+     * @return a future completed with the new token, or exceptionally with a ProtectorException
+     */
+    CompletableFuture<String> refresh(String rejectedToken) {
+        String current = token;
+        if (!Objects.equals(current, rejectedToken)) {
+            return CompletableFuture.completedFuture(current);
+        }
+        return login();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        CompletableFuture<String> pending = inFlight.getAndSet(null);
+        if (pending != null) {
+            pending.completeExceptionally(new ProtectorException("Protector is closed"));
+        }
+    }
+
+    private CompletableFuture<String> login() {
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.compareAndExchange(null, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            scheduler.execute(() -> runLogin(created));
+        } catch (RejectedExecutionException e) {
+            inFlight.set(null);
+            created.completeExceptionally(new ProtectorException("Protector is closed"));
+        }
+        return created;
+    }
+
+    private void runLogin(CompletableFuture<String> result) {
+        try {
+            String renewed = login.get();
+            token = renewed;
+            inFlight.set(null);
+            logger.debug("JWT renewed");
+            scheduleRefresh(renewed);
+            result.complete(renewed);
+        } catch (RuntimeException e) {
+            inFlight.set(null);
+            logger.warn("JWT renewal failed: {}", e.getMessage());
+            result.completeExceptionally(new ProtectorException("Authentication failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Schedules the background renewal of a token, or nothing if its expiry is unknown.
+     */
+    private void scheduleRefresh(String current) {
+        long expiresAt = expiresAtMillis(current);
+        if (expiresAt == Long.MAX_VALUE) {
+            return;
+        }
+        long delay = Math.max(MIN_REFRESH_DELAY_MILLIS, expiresAt - refreshMarginMillis - System.currentTimeMillis());
+        schedule(() -> backgroundRefresh(current), delay);
+    }
+
+    private void backgroundRefresh(String expiring) {
+        if (!Objects.equals(token, expiring)) {
+            // Already replaced after a rejection, which scheduled its own renewal.
+            return;
+        }
+        login().whenComplete((renewed, error) -> {
+            if (error != null) {
+                long remaining = expiresAtMillis(expiring) - System.currentTimeMillis();
+                long delay = Math.max(MIN_REFRESH_DELAY_MILLIS, Math.min(MAX_RETRY_DELAY_MILLIS, remaining / 2));
+                schedule(() -> backgroundRefresh(expiring), delay);
+            }
+        });
+    }
+
+    private void schedule(Runnable task, long delayMillis) {
+        if (closed) {
+            return;
+        }
+        try {
+            scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Closed concurrently
+        }
+    }
+
+    /**
+     * Returns the {@code exp} claim of a JWT in milliseconds, or {@code Long.MAX_VALUE} if the
+     * token carries none.
+     *
+     * @param jwt the token
+     * @return the expiry time in milliseconds since the epoch
+     */
+    static long expiresAtMillis(String jwt) {
+        String[] parts = jwt == null ? new String[0] : jwt.split("\\.");
+        if (parts.length < 2) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            org.json.JSONObject json = new org.json.JSONObject(claims);
+            if (!json.has("exp")) {
+                return Long.MAX_VALUE;
+            }
+            return json.getLong("exp") * 1000L;
+        } catch (RuntimeException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.protegrity.ap.java;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A POST request to the Core Provider API.
+ *
+ * <p>A request may carry the {@link Deadline} of the call it belongs to. Transports bound their
+ * waits and timeouts by it and abort the exchange once it has passed.
+ *
+ * @since 1.0.1
+ */
+final class TransportRequest {
+    private final String url;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final int bodyLength;
+    private final Deadline deadline;
+
+    /**
+     * Constructs a new TransportRequest.
+     *
+     * @param url the absolute request URL
+     * @param headers the request headers
+     * @param body the request body
+     */
+    TransportRequest(String url, Map<String, String> headers, byte[] body) {
+        this(url, headers, body, body.length);
+    }
+
+    /**
+     * Constructs a new TransportRequest whose body is the first {@code bodyLength} bytes of a
+     * possibly larger, reused buffer. The buffer is sent as is, without copying.
+     *
+     * @param url the absolute request URL
+     * @param headers the request headers
+     * @param body the buffer holding the request body
+     * @param bodyLength the length of the request body
+     */
+    TransportRequest(String url, Map<String, String> headers, byte[] body, int bodyLength) {
+        this(url, Collections.unmodifiableMap(new LinkedHashMap<>(headers)), body, bodyLength, null);
+    }
+
+    private TransportRequest(String url, Map<String, String> headers, byte[] body, int bodyLength, Deadline deadline) {
+        this.url = url;
+        this.headers = headers;
+        this.body = body;
+        this.bodyLength = bodyLength;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates a JSON request authorized with an API key and a JWT.
+     *
+     * @param url the absolute request URL
+     * @param apiKey the API key sent in the {@code x-api-key} header
+     * @param jwtToken the JWT sent as bearer token
+     * @param body the UTF-8 encoded JSON body
+     * @return the request
+     */
+    static TransportRequest json(String url, String apiKey, String jwtToken, byte[] body) {
+        return json(url, apiKey, jwtToken, body, body.length);
+    }
+
+    /**
+     * Creates a JSON request whose body is the first {@code bodyLength} bytes of a buffer.
+     *
+     * @param url the absolute request URL
+     * @param apiKey the API key sent in the {@code x-api-key} header
+     * @param jwtToken the JWT sent as bearer token
+     * @param body the buffer holding the UTF-8 encoded JSON body
+     * @param bodyLength the length of the body
+     * @return the request
+     */
+    static TransportRequest json(String url, String apiKey, String jwtToken, byte[] body, int bodyLength) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("x-api-key", apiKey);
+        headers.put("Authorization", "Bearer " + jwtToken);
+        return new TransportRequest(url, headers, body, bodyLength);
+    }
+
+    /**
+     * Returns a copy of this request sent to another URL. Headers, body and deadline are shared.
+     *
+     * @param url the absolute request URL
+     * @return the request
+     */
+    TransportRequest withUrl(String url) {
+        return new TransportRequest(url, headers, body, bodyLength, deadline);
+    }
+
+    /**
+     * Returns a copy of this request that must complete by a deadline.
+     *
+     * @param deadline the deadline, null for none
+     * @return the request
+     */
+    TransportRequest withDeadline(Deadline deadline) {
+        return new TransportRequest(url, headers, body, bodyLength, deadline);
+    }
+
+    /**
+     * Returns a copy of this request with an additional header. Body and deadline are shared.
+     *
+     * @param name the header name
+     * @param value the header value
+     * @return the request
+     */
+    TransportRequest withHeader(String name, String value) {
+        Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.put(name, value);
+        return new TransportRequest(url, Collections.unmodifiableMap(copy), body, bodyLength, deadline);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the buffer holding the body. Only the first {@link #getBodyLength()} bytes belong to it.
+     */
+    byte[] getBody() {
+        return body;
+    }
+
+    int getBodyLength() {
+        return bodyLength;
+    }
+
+    /**
+     * Returns the deadline of the request, or null if it has none.
+     */
+    Deadline getDeadline() {
+        return deadline;
+    }
+}
@@ -0,0 +1,76 @@
+package com.protegrity.ap.java;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A response received from the Core Provider API.
+ *
+ * <p>The body is kept as the raw bytes received, so results can be decoded from
+ * {@link #getBodyStream()} without first creating the body text.
+ *
+ * @since 1.0.1
+ */
+final class TransportResponse {
+    private final int statusCode;
+    private final Map<String, String> headers;
+    private final byte[] body;
+
+    /**
+     * Constructs a new TransportResponse.
+     *
+     * @param statusCode the HTTP status code
+     * @param headers the response headers, only the first value of each header is kept
+     * @param body the response body
+     */
+    TransportResponse(int statusCode, Map<String, String> headers, String body) {
+        this(statusCode, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constructs a new TransportResponse from the raw body.
+     *
+     * @param statusCode the HTTP status code
+     * @param headers the response headers, only the first value of each header is kept
+     * @param body the response body encoded as UTF-8
+     */
+    TransportResponse(int statusCode, Map<String, String> headers, byte[] body) {
+        Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(headers);
+        this.statusCode = statusCode;
+        this.headers = Collections.unmodifiableMap(copy);
+        this.body = body;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns a response header.
+     *
+     * @param name the header name, matched case-insensitively
+     * @return the header value, or null if the header is absent
+     */
+    String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Returns the response body decoded as UTF-8.
+     */
+    String getBody() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a stream over the raw response body.
+     */
+    InputStream getBodyStream() {
+        return new ByteArrayInputStream(body);
+    }
+}
@@ -0,0 +1,90 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class BatchingIteratorTest {
+
+    private final List<CompletableFuture<String[]>> submitted = new ArrayList<>();
+    private final List<String[]> batches = new ArrayList<>();
+    private boolean completeOnSubmit;
+
+    private CompletableFuture<String[]> submit(String[] values) {
+        CompletableFuture<String[]> result = new CompletableFuture<>();
+        batches.add(values);
+        submitted.add(result);
+        if (completeOnSubmit) {
+            result.complete(upper(values));
+        }
+        return result;
+    }
+
+    private static String[] upper(String[] values) {
+        return Arrays.stream(values).map(String::toUpperCase).toArray(String[]::new);
+    }
+
+    @Test
+    public void testReadsAheadAtMostMaxInFlightBatches() {
+        AtomicInteger read = new AtomicInteger();
+        Iterator<String> source = IntStream.range(0, 10).mapToObj(i -> "v" + i).peek(v -> read.incrementAndGet()).iterator();
+        BatchingIterator results = new BatchingIterator(source, this::submit, 3, 2);
+
+        assertTrue(results.hasNext());
+        assertEquals(2, submitted.size());
+        assertEquals(6, read.get());
+
+        submitted.get(0).complete(upper(batches.get(0)));
+        assertEquals("V0", results.next());
+        assertEquals(3, submitted.size());
+        assertEquals(9, read.get());
+        assertEquals("V1", results.next());
+        assertEquals("V2", results.next());
+
+        for (int i = 1; i < submitted.size(); i++) {
+            submitted.get(i).complete(upper(batches.get(i)));
+        }
+        completeOnSubmit = true;
+        List<String> rest = new ArrayList<>();
+        results.forEachRemaining(rest::add);
+        assertEquals(Arrays.asList("V3", "V4", "V5", "V6", "V7", "V8", "V9"), rest);
+        assertEquals(4, submitted.size());
+        assertEquals(1, batches.get(3).length);
+    }
+
+    @Test
+    public void testEmptySource() {
+        BatchingIterator results = new BatchingIterator(new ArrayList<String>().iterator(), this::submit, 3, 2);
+        assertFalse(results.hasNext());
+        assertTrue(submitted.isEmpty());
+        try {
+            results.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // Nothing to return.
+        }
+    }
+
+    @Test
+    public void testFailedBatchIsThrownByNext() {
+        BatchingIterator results = new BatchingIterator(Arrays.asList("a", "b").iterator(), this::submit, 1, 2);
+        results.hasNext();
+        ProtectorException failure = new ProtectorException("failed");
+        submitted.get(0).completeExceptionally(failure);
+        try {
+            results.next();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+public class BatchingPublisherTest {
+
+    private final List<CompletableFuture<String[]>> submitted = new ArrayList<>();
+    private final List<String[]> batches = new ArrayList<>();
+    private final Upstream upstream = new Upstream();
+    private final Recorder recorder = new Recorder();
+
+    private CompletableFuture<String[]> submit(String[] values) {
+        CompletableFuture<String[]> result = new CompletableFuture<>();
+        batches.add(values);
+        submitted.add(result);
+        return result;
+    }
+
+    private void completeBatch(int index) {
+        String[] values = batches.get(index);
+        submitted.get(index).complete(Arrays.stream(values).map(String::toUpperCase).toArray(String[]::new));
+    }
+
+    /**
+     * Publisher recording the demand of its subscriber, emitting on the calling thread.
+     */
+    private static final class Upstream implements Flow.Publisher<String>, Flow.Subscription {
+        Flow.Subscriber<? super String> subscriber;
+        long requested;
+        boolean cancelled;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void emit(String... values) {
+            for (String value : values) {
+                requested--;
+                subscriber.onNext(value);
+            }
+        }
+    }
+
+    private static final class Recorder implements Flow.Subscriber<String> {
+        final List<String> values = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            values.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    public void testHonorsDemandOnBothSides() {
+        new BatchingPublisher(upstream, this::submit, 2, 2).subscribe(recorder);
+        assertEquals(4, upstream.requested);
+
+        upstream.emit("a", "b", "c", "d");
+        assertEquals(2, submitted.size());
+        assertEquals(0, upstream.requested);
+
+        completeBatch(1);
+        recorder.subscription.request(1);
+        assertTrue(recorder.values.isEmpty());
+        completeBatch(0);
+        assertEquals(Arrays.asList("A"), recorder.values);
+        assertEquals(0, upstream.requested);
+
+        recorder.subscription.request(2);
+        assertEquals(Arrays.asList("A", "B", "C"), recorder.values);
+        assertEquals(2, upstream.requested);
+
+        upstream.emit("e");
+        upstream.subscriber.onComplete();
+        assertEquals(3, submitted.size());
+        assertEquals(1, batches.get(2).length);
+        completeBatch(2);
+        recorder.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), recorder.values);
+        assertTrue(recorder.completed);
+    }
+
+    @Test
+    public void testFailedBatchCancelsUpstream() {
+        new BatchingPublisher(upstream, this::submit, 2, 2).subscribe(recorder);
+        recorder.subscription.request(Long.MAX_VALUE);
+        upstream.emit("a", "b");
+        ProtectorException failure = new ProtectorException("failed");
+        submitted.get(0).completeExceptionally(failure);
+
+        assertSame(failure, recorder.error);
+        assertTrue(upstream.cancelled);
+        assertTrue(recorder.values.isEmpty());
+        assertFalse(recorder.completed);
+    }
+
+    @Test
+    public void testCancelStopsUpstream() {
+        new BatchingPublisher(upstream, this::submit, 2, 2).subscribe(recorder);
+        recorder.subscription.request(1);
+        recorder.subscription.cancel();
+        upstream.emit("a", "b");
+
+        assertTrue(upstream.cancelled);
+        assertTrue(submitted.isEmpty());
+    }
+}
@@ -0,0 +1,123 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ConcurrencyLimiterTest {
+
+    private static void assertRejected(CompletableFuture<Void> slot) throws InterruptedException {
+        try {
+            slot.get();
+            fail("Expected ConcurrencyLimitException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConcurrencyLimitException);
+        }
+    }
+
+    @Test
+    public void testQueuesBeyondLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10, 10_000);
+        assertTrue(limiter.acquire().isDone());
+        assertTrue(limiter.acquire().isDone());
+        CompletableFuture<Void> waiting = limiter.acquire();
+        assertFalse(waiting.isDone());
+        assertEquals(1, limiter.getStats().getQueueDepth());
+
+        limiter.release(false);
+        waiting.get(1, TimeUnit.SECONDS);
+        ConcurrencyLimiterStats stats = limiter.getStats();
+        assertEquals(2, stats.getInFlight());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(0, stats.getRejectedCount());
+    }
+
+    @Test
+    public void testRejectsAtOnceWithoutQueueTimeout() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, 0);
+        assertTrue(limiter.acquire().isDone());
+        assertRejected(limiter.acquire());
+        assertEquals(1, limiter.getStats().getRejectedCount());
+    }
+
+    @Test
+    public void testRejectsWhenQueueFull() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 10_000);
+        limiter.acquire();
+        CompletableFuture<Void> queued = limiter.acquire();
+        assertRejected(limiter.acquire());
+        assertFalse(queued.isDone());
+    }
+
+    @Test
+    public void testQueuedRequestExpires() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10, 20);
+        limiter.acquire();
+        assertRejected(limiter.acquire());
+        ConcurrencyLimiterStats stats = limiter.getStats();
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(1, stats.getRejectedCount());
+    }
+
+    @Test
+    public void testOverloadShrinksAndSuccessRestoresLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 10, 0);
+        limiter.acquire();
+        limiter.release(true);
+        assertEquals(9, limiter.getStats().getLimit());
+        for (int i = 0; i < 40; i++) {
+            limiter.acquire();
+            limiter.release(true);
+        }
+        assertEquals(1, limiter.getStats().getLimit());
+
+        // Growth only happens while requests use the whole limit.
+        limiter.acquire();
+        limiter.release(false);
+        assertEquals(2, limiter.getStats().getLimit());
+        limiter.acquire();
+        limiter.release(false);
+        assertEquals(2, limiter.getStats().getLimit());
+    }
+
+    @Test
+    public void testAdapterReportsLimitExceeded() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        EchoTransport slow = new EchoTransport(Integer.MAX_VALUE, null) {
+            @Override
+            public TransportResponse send(TransportRequest request) throws IOException {
+                entered.countDown();
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new TransportResponse(200, Collections.emptyMap(), "{}");
+            }
+        };
+        ProtectorConfig config = ProtectorConfig.builder().maxConcurrentRequests(1).concurrencyQueueTimeoutMillis(0).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config,
+                new ConcurrencyLimitedTransport(slow, config))) {
+            CompletableFuture<String> first = adapter.sendApiRequestAsync("protect", "jwt", "key", "{}");
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            try {
+                adapter.sendApiRequest("protect", "jwt", "key", "{}");
+                fail("Expected ProtectorException");
+            } catch (ProtectorException e) {
+                assertEquals(ErrorMapper.CONCURRENCY_LIMIT_EXCEEDED, e.getErrorCode());
+            }
+            assertEquals(1, adapter.getConcurrencyLimiterStats().getInFlight());
+            proceed.countDown();
+            assertEquals("{}", first.get(5, TimeUnit.SECONDS));
+            assertEquals(0, adapter.getConcurrencyLimiterStats().getInFlight());
+            assertEquals(1, adapter.getConcurrencyLimiterStats().getRejectedCount());
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.protegrity.ap.java;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CoreproviderAdapterChunkingTest {
+
+    private CoreproviderAdapter adapter;
+
+    @After
+    public void tearDown() {
+        if (adapter != null) {
+            adapter.close();
+        }
+    }
+
+    private CoreproviderAdapter newAdapter(ProtectorConfig config, EchoTransport transport) {
+        adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport);
+        return adapter;
+    }
+
+    private static ProtectionRequest request(int[] input, int[] output) {
+        SessionObject session = new SessionObject("user");
+        String[] values = new String[input.length];
+        for (int i = 0; i < input.length; i++) {
+            values[i] = Integer.toString(input[i]);
+        }
+        return new ProtectionRequest("protect", session, "user", "de", null, null, null, "utf8", PayloadValues.wire(values), output);
+    }
+
+    private static int[] range(int length) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    @Test
+    public void testPlanChunksByElementCount() {
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().maxElementsPerRequest(2).build(),
+            new EchoTransport(Integer.MAX_VALUE, null));
+        List<int[]> chunks = adapter.planChunks(new String[] {"a", "b", "c", "d", "e"});
+
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new int[] {0, 2}, chunks.get(0));
+        assertArrayEquals(new int[] {2, 4}, chunks.get(1));
+        assertArrayEquals(new int[] {4, 5}, chunks.get(2));
+    }
+
+    @Test
+    public void testPlanChunksByBytes() {
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().maxBytesPerRequest(10).build(),
+            new EchoTransport(Integer.MAX_VALUE, null));
+        List<int[]> chunks = adapter.planChunks(new String[] {"aaaa", "bbbb", "cccccccccccccccc"});
+
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new int[] {0, 1}, chunks.get(0));
+        assertArrayEquals(new int[] {1, 2}, chunks.get(1));
+        assertArrayEquals(new int[] {2, 3}, chunks.get(2));
+    }
+
+    @Test
+    public void testPlanChunksEmptyInput() {
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().build(), new EchoTransport(Integer.MAX_VALUE, null));
+        List<int[]> chunks = adapter.planChunks(new String[0]);
+
+        assertEquals(1, chunks.size());
+        assertArrayEquals(new int[] {0, 0}, chunks.get(0));
+    }
+
+    @Test
+    public void testRangePayload() throws ProtectorException {
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().build(), new EchoTransport(Integer.MAX_VALUE, null));
+        String payload = adapter.buildProtectPayload("user", "de", new String[] {"a", "b", "c"}, 1, 3, null, "utf8");
+
+        assertTrue(payload.endsWith("\"data\": [\"b\",\"c\"]}"));
+    }
+
+    @Test
+    public void testPayloadEscapesValues() throws ProtectorException {
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().build(), new EchoTransport(Integer.MAX_VALUE, null));
+        String payload = adapter.buildProtectPayload("user", "de", new String[] {"a\"b"}, new byte[] {1}, "utf8");
+
+        assertEquals("{\"encoding\": \"utf8\",\"query_id\": \"1\",\"user\": \"user\",\"data_element\": \"de\","
+            + "\"external_iv\": \"AQ==\",\"data\": [\"a\\\"b\"]}", payload);
+    }
+
+    @Test
+    public void testExecuteTypedInput() throws ProtectorException {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null);
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().maxElementsPerRequest(3).build(), transport);
+        long[] input = {1L, -2L, Long.MAX_VALUE, 4L, 5L};
+        long[] output = new long[input.length];
+        ProtectionRequest request = new ProtectionRequest("protect", new SessionObject("user"), "user", "de", null, null, null,
+            "utf8", PayloadValues.of(input, "utf8"), output);
+
+        assertTrue(adapter.execute(request, "token", "key"));
+        assertArrayEquals(input, output);
+        assertEquals(2, transport.requestSizes.size());
+    }
+
+    @Test
+    public void testExecuteSplitsIntoChunks() throws ProtectorException {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null);
+        CoreproviderAdapter adapter = newAdapter(
+            ProtectorConfig.builder().maxElementsPerRequest(100).requestParallelism(3).build(), transport);
+        int[] input = range(1050);
+        int[] output = new int[input.length];
+
+        assertTrue(adapter.execute(request(input, output), "token", "key"));
+        assertArrayEquals(input, output);
+        assertEquals(11, transport.requestSizes.size());
+    }
+
+    @Test
+    public void testExecuteAsyncSplitsIntoChunks() {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null);
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().maxElementsPerRequest(7).build(), transport);
+        int[] input = range(50);
+        int[] output = new int[input.length];
+
+        assertTrue(adapter.executeAsync(request(input, output), "token", "key").join());
+        assertArrayEquals(input, output);
+        assertEquals(8, transport.requestSizes.size());
+    }
+
+    @Test
+    public void testExecuteSplitsRejectedPayload() throws ProtectorException {
+        EchoTransport transport = new EchoTransport(10, null);
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().build(), transport);
+        int[] input = range(40);
+        int[] output = new int[input.length];
+
+        assertTrue(adapter.execute(request(input, output), "token", "key"));
+        assertArrayEquals(input, output);
+        for (int size : transport.requestSizes.subList(1, transport.requestSizes.size())) {
+            assertTrue(size <= 20);
+        }
+    }
+
+    @Test
+    public void testExecuteFailsWhenSingleValueRejected() {
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().build(), new EchoTransport(0, null));
+        try {
+            adapter.execute(request(range(4), new int[4]), "token", "key");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals(ErrorMapper.PAYLOAD_TOO_LARGE, e.getErrorCode());
+        }
+    }
+
+    @Test
+    public void testExecuteReportsChunkFailure() {
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().maxElementsPerRequest(5).build(),
+            new EchoTransport(Integer.MAX_VALUE, "17"));
+        try {
+            adapter.execute(request(range(30), new int[30]), "token", "key");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals("Data protection failed.", e.getMessage());
+        }
+    }
+
+    private static void assertPartialFailure(ProtectorException e, int length, int... failed) {
+        int[] expected = new int[length];
+        Arrays.fill(expected, 6);
+        for (int position : failed) {
+            expected[position] = 7;
+        }
+        assertEquals(7, e.getErrorCode());
+        assertArrayEquals(expected, e.getErrorList());
+    }
+
+    @Test
+    public void testPartialResultsIsolateRejectedValue() {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, "5");
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().build(), transport);
+        int[] output = new int[8];
+        try {
+            adapter.execute(request(range(8), output).withPartialResults(256), "token", "key");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertPartialFailure(e, 8, 5);
+        }
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 0, 6, 7}, output);
+        // 8 rejected, 4 sent, 4 rejected, 2 rejected, 1 sent, 1 rejected, 2 sent.
+        assertEquals(7, transport.requestSizes.size());
+    }
+
+    @Test
+    public void testPartialResultsAsyncAcrossChunks() {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, "17");
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().maxElementsPerRequest(5).build(), transport);
+        int[] input = range(30);
+        int[] output = new int[input.length];
+        try {
+            adapter.executeAsync(request(input, output).withPartialResults(256), "token", "key").join();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            assertPartialFailure((ProtectorException) e.getCause(), 30, 17);
+        }
+        input[17] = 0;
+        assertArrayEquals(input, output);
+    }
+
+    @Test
+    public void testPartialResultsFailWholeRequestWithoutRetries() {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, "2");
+        CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().maxElementsPerRequest(4).build(), transport);
+        int[] output = new int[8];
+        try {
+            adapter.execute(request(range(8), output).withPartialResults(0), "token", "key");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertPartialFailure(e, 8, 0, 1, 2, 3);
+        }
+        assertArrayEquals(new int[] {0, 0, 0, 0, 4, 5, 6, 7}, output);
+        assertEquals(2, transport.requestSizes.size());
+    }
+
+    /**
+     * Fails the first request at its deadline while still reading its body in the background, as a
+     * transport does whose abort has not reached the thread writing the body yet.
+     */
+    private static final class SlowReader extends EchoTransport {
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final CompletableFuture<String> lateRead = new CompletableFuture<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        volatile String sent;
+
+        SlowReader() {
+            super(Integer.MAX_VALUE, null);
+        }
+
+        @Override
+        public TransportResponse send(TransportRequest request) throws IOException {
+            if (calls.incrementAndGet() > 1) {
+                return super.send(request);
+            }
+            byte[] body = request.getBody();
+            int length = request.getBodyLength();
+            sent = new String(body, 0, length, StandardCharsets.UTF_8);
+            new Thread(() -> {
+                try {
+                    proceed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                lateRead.complete(new String(body, 0, length, StandardCharsets.UTF_8));
+            }).start();
+            throw Deadline.after(1, TimeUnit.MILLISECONDS).exceeded();
+        }
+    }
+
+    @Test
+    public void testBufferOfAbandonedRequestIsNotReused() throws Exception {
+        for (boolean async : new boolean[] {false, true}) {
+            SlowReader transport = new SlowReader();
+            CoreproviderAdapter adapter = newAdapter(ProtectorConfig.builder().build(), transport);
+            try {
+                ProtectionRequest request = request(new int[] {1111, 2222}, new int[2]);
+                if (async) {
+                    adapter.executeAsync(request, "token", "key").join();
+                } else {
+                    adapter.execute(request, "token", "key");
+                }
+                fail("Expected the deadline to be exceeded");
+            } catch (ProtectorException | CompletionException e) {
+                // The transport keeps reading the body after failing the call.
+            }
+            int[] output = new int[2];
+            assertTrue(adapter.execute(request(new int[] {3333, 4444}, output), "token", "key"));
+            assertArrayEquals(new int[] {3333, 4444}, output);
+
+            transport.proceed.countDown();
+            assertEquals(transport.sent, transport.lateRead.get(5, TimeUnit.SECONDS));
+            adapter.close();
+        }
+    }
+}
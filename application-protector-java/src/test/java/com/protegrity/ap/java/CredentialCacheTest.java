@@ -0,0 +1,114 @@
+package com.protegrity.ap.java;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+public class CredentialCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String jwt(long expiresAtSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+            + encoder.encodeToString(("{\"exp\":" + expiresAtSeconds + "}").getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
+    private static long inSeconds(long seconds) {
+        return System.currentTimeMillis() / 1000 + seconds;
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        Path directory = folder.getRoot().toPath().resolve("cache");
+        CredentialCache cache = new CredentialCache(directory, "user@example.com", "secret", "key");
+        String token = jwt(inSeconds(3600));
+
+        cache.store(token);
+
+        assertEquals(token, cache.load(60_000));
+        assertEquals(token, new CredentialCache(directory, "user@example.com", "secret", "key").load(60_000));
+        String content = new String(Files.readAllBytes(cache.getFile()), StandardCharsets.ISO_8859_1);
+        assertFalse(content.contains(token.substring(0, 20)));
+    }
+
+    @Test
+    public void testMissingEntry() {
+        CredentialCache cache = new CredentialCache(folder.getRoot().toPath(), "user@example.com", "secret", "key");
+        assertNull(cache.load(0));
+    }
+
+    @Test
+    public void testIgnoresTokenExpiringWithinMargin() {
+        CredentialCache cache = new CredentialCache(folder.getRoot().toPath(), "user@example.com", "secret", "key");
+        cache.store(jwt(inSeconds(30)));
+
+        assertNull(cache.load(60_000));
+        assertNotNull(cache.load(0));
+    }
+
+    @Test
+    public void testIgnoresTokenWithoutExpiry() {
+        CredentialCache cache = new CredentialCache(folder.getRoot().toPath(), "user@example.com", "secret", "key");
+        cache.store("opaque-token");
+
+        assertNull(cache.load(0));
+    }
+
+    @Test
+    public void testEntriesAreSeparatedByAccount() {
+        Path directory = folder.getRoot().toPath();
+        CredentialCache cache = new CredentialCache(directory, "user@example.com", "secret", "key");
+        cache.store(jwt(inSeconds(3600)));
+
+        assertNull(new CredentialCache(directory, "other@example.com", "secret", "key").load(0));
+        assertNull(new CredentialCache(directory, "user@example.com", "secret", "other-key").load(0));
+        assertNotEquals(cache.getFile(), new CredentialCache(directory, "other@example.com", "secret", "key").getFile());
+    }
+
+    @Test
+    public void testWrongPasswordCannotDecrypt() {
+        Path directory = folder.getRoot().toPath();
+        new CredentialCache(directory, "user@example.com", "secret", "key").store(jwt(inSeconds(3600)));
+
+        CredentialCache other = new CredentialCache(directory, "user@example.com", "changed", "key");
+        assertNull(other.load(0));
+    }
+
+    @Test
+    public void testIgnoresTamperedEntry() throws IOException {
+        CredentialCache cache = new CredentialCache(folder.getRoot().toPath(), "user@example.com", "secret", "key");
+        cache.store(jwt(inSeconds(3600)));
+        byte[] content = Files.readAllBytes(cache.getFile());
+        content[content.length - 1] ^= 1;
+        Files.write(cache.getFile(), content);
+
+        assertNull(cache.load(0));
+    }
+
+    @Test
+    public void testSecondProtectorSkipsLogin() throws Exception {
+        try (FakeService service = new FakeService(new EchoTransport(Integer.MAX_VALUE, null))) {
+            service.tokenLifetimeSeconds = 3600;
+            ProtectorConfig config = service.config().credentialCacheDirectory(folder.getRoot().toPath()).build();
+
+            try (Protector first = Protector.builder().config(config).build()) {
+                assertEquals(1, service.logins.get());
+            }
+            try (Protector second = Protector.builder().config(config).build()) {
+                String[] output = new String[1];
+                assertTrue(second.protect(second.createSession("user"), "de", new String[] {"a"}, output));
+                assertEquals("a", output[0]);
+            }
+            assertEquals(1, service.logins.get());
+        }
+    }
+}
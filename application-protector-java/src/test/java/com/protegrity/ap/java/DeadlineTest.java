@@ -0,0 +1,107 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class DeadlineTest {
+
+    /**
+     * Echoes the values back and records the deadline of every request.
+     */
+    private static class RecordingTransport extends EchoTransport {
+        final List<Deadline> deadlines = new CopyOnWriteArrayList<>();
+
+        RecordingTransport() {
+            super(Integer.MAX_VALUE, null);
+        }
+
+        @Override
+        public TransportResponse send(TransportRequest request) throws IOException {
+            deadlines.add(request.getDeadline());
+            return super.send(request);
+        }
+    }
+
+    private static ProtectionRequest request(String[] values, String[] output, Deadline deadline) {
+        return new ProtectionRequest("protect", new SessionObject("user"), "user", "de", null, null, null, "utf8",
+            PayloadValues.wire(values), output).withDeadline(deadline);
+    }
+
+    @Test
+    public void testNestedCallOptionsOnlyShortenDeadline() {
+        assertNull(CallOptions.currentDeadline());
+        try (CallOptions.Scope outer = CallOptions.deadlineAfter(Duration.ofSeconds(1)).attach()) {
+            Deadline outerDeadline = CallOptions.currentDeadline();
+            assertNotNull(outerDeadline);
+            try (CallOptions.Scope inner = CallOptions.deadlineAfter(Duration.ofMinutes(1)).attach()) {
+                assertSame(outerDeadline, CallOptions.currentDeadline());
+            }
+            try (CallOptions.Scope inner = CallOptions.deadlineAfter(Duration.ofMillis(10)).attach()) {
+                assertTrue(CallOptions.currentDeadline().remainingMillis() <= 10);
+            }
+            assertSame(outerDeadline, CallOptions.currentDeadline());
+            assertSame(outerDeadline, Deadline.forCall(60_000));
+        }
+        assertNull(CallOptions.currentDeadline());
+        assertNull(Deadline.forCall(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCallOptionsRejectZeroTimeout() {
+        CallOptions.deadlineAfter(Duration.ZERO);
+    }
+
+    @Test
+    public void testDeadlinePropagatesToChunks() throws Exception {
+        RecordingTransport transport = new RecordingTransport();
+        Deadline deadline = Deadline.after(1, TimeUnit.MINUTES);
+        String[] output = new String[5];
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5),
+                ProtectorConfig.builder().maxElementsPerRequest(2).build(), transport)) {
+            assertTrue(adapter.execute(request(new String[] {"a", "b", "c", "d", "e"}, output, deadline), "jwt", "key"));
+        }
+        assertArrayEquals(new String[] {"a", "b", "c", "d", "e"}, output);
+        assertEquals(3, transport.deadlines.size());
+        for (Deadline sent : transport.deadlines) {
+            assertSame(deadline, sent);
+        }
+    }
+
+    @Test
+    public void testExpiredCallIsNotSent() {
+        RecordingTransport transport = new RecordingTransport();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), ProtectorConfig.builder().build(), transport)) {
+            adapter.execute(request(new String[] {"a"}, new String[1], Deadline.after(0, TimeUnit.MILLISECONDS)), "jwt", "key");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals(ErrorMapper.DEADLINE_EXCEEDED, e.getErrorCode());
+        }
+        assertTrue(transport.deadlines.isEmpty());
+    }
+
+    @Test
+    public void testCallOptionsAbortStalledRequest() throws Exception {
+        // Accepts connections through its backlog but never answers.
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            ProtectorConfig config = ProtectorConfig.builder().endpoint("http://127.0.0.1:" + stalled.getLocalPort()).build();
+            try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config);
+                    CallOptions.Scope scope = CallOptions.deadlineAfter(Duration.ofMillis(200)).attach()) {
+                long start = System.nanoTime();
+                try {
+                    adapter.sendApiRequest("protect", "jwt", "key", "{}");
+                    fail("Expected ProtectorException");
+                } catch (ProtectorException e) {
+                    assertEquals(ErrorMapper.DEADLINE_EXCEEDED, e.getErrorCode());
+                }
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            }
+        }
+    }
+}
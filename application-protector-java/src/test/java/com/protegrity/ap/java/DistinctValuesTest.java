@@ -0,0 +1,105 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Date;
+
+public class DistinctValuesTest {
+
+    private static ProtectionRequest request(String[] values, Object output) {
+        return new ProtectionRequest("protect", new SessionObject("user"), "user", "de", null, null, null, "utf8", PayloadValues.wire(values), output);
+    }
+
+    @Test
+    public void testNoDuplicatesReturnsNull() {
+        assertNull(DistinctValues.of(request(new String[] {"a", "b", "c"}, new String[3])));
+    }
+
+    @Test
+    public void testDistinctValuesKeepFirstOccurrenceOrder() {
+        DistinctValues distinct = DistinctValues.of(request(new String[] {"b", "a", "b", null, "a"}, new String[5]));
+
+        assertNotNull(distinct);
+        assertArrayEquals(new String[] {"b", "a"}, distinct.getRequest().getValues());
+        assertEquals(2, ((String[]) distinct.getRequest().getOutput()).length);
+    }
+
+    @Test
+    public void testFanOutStrings() {
+        String[] output = new String[5];
+        DistinctValues distinct = DistinctValues.of(request(new String[] {"b", "a", "b", null, "a"}, output));
+        String[] results = (String[]) distinct.getRequest().getOutput();
+        results[0] = "B";
+        results[1] = "A";
+
+        distinct.fanOut();
+        assertArrayEquals(new String[] {"B", "A", "B", null, "A"}, output);
+    }
+
+    @Test
+    public void testFanOutPrimitives() {
+        int[] output = new int[4];
+        DistinctValues distinct = DistinctValues.of(request(new String[] {"1", "1", "2", "1"}, output));
+        int[] results = (int[]) distinct.getRequest().getOutput();
+        results[0] = 10;
+        results[1] = 20;
+
+        distinct.fanOut();
+        assertArrayEquals(new int[] {10, 10, 20, 10}, output);
+    }
+
+    @Test
+    public void testFanOutCopiesMutableElements() {
+        byte[][] bytes = new byte[2][];
+        DistinctValues distinctBytes = DistinctValues.of(request(new String[] {"x", "x"}, bytes));
+        ((byte[][]) distinctBytes.getRequest().getOutput())[0] = new byte[] {1, 2};
+        distinctBytes.fanOut();
+        assertArrayEquals(bytes[0], bytes[1]);
+        assertNotSame(bytes[0], bytes[1]);
+
+        char[][] chars = new char[2][];
+        DistinctValues distinctChars = DistinctValues.of(request(new String[] {"x", "x"}, chars));
+        ((char[][]) distinctChars.getRequest().getOutput())[0] = new char[] {'a'};
+        distinctChars.fanOut();
+        assertNotSame(chars[0], chars[1]);
+
+        Date[] dates = new Date[2];
+        DistinctValues distinctDates = DistinctValues.of(request(new String[] {"x", "x"}, dates));
+        ((Date[]) distinctDates.getRequest().getOutput())[0] = new Date(0);
+        distinctDates.fanOut();
+        assertEquals(dates[0], dates[1]);
+        assertNotSame(dates[0], dates[1]);
+    }
+
+    @Test
+    public void testAdapterSendsEachValueOnce() throws ProtectorException {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null);
+        ProtectorConfig config = ProtectorConfig.builder().deduplicationEnabled(true).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            String[] input = {"US", "DE", "US", null, "US", "FR", "DE"};
+            String[] output = new String[input.length];
+
+            assertTrue(adapter.execute(request(input, output), "token", "key"));
+            assertArrayEquals(input, output);
+            assertEquals(3, (int) transport.requestSizes.get(0));
+
+            String[] asyncOutput = new String[input.length];
+            assertTrue(adapter.executeAsync(request(input, asyncOutput), "token", "key").join());
+            assertArrayEquals(input, asyncOutput);
+        }
+    }
+
+    @Test
+    public void testAdapterSkipsRequestWithOnlyNulls() throws ProtectorException {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null);
+        ProtectorConfig config = ProtectorConfig.builder().deduplicationEnabled(true).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            String[] output = {"stale", "stale"};
+
+            assertTrue(adapter.execute(request(new String[] {null, null}, output), "token", "key"));
+            assertArrayEquals(new String[] {null, null}, output);
+            assertTrue(transport.requestSizes.isEmpty());
+        }
+    }
+}
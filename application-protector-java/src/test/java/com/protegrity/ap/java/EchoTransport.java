@@ -0,0 +1,76 @@
+package com.protegrity.ap.java;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Echoes the request data back as results and rejects requests above a size limit with 413.
+ * Records the number of values of every request.
+ */
+class EchoTransport implements CoreproviderTransport {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final int rejectAbove;
+    private final String failOn;
+    final List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+
+    EchoTransport(int rejectAbove, String failOn) {
+        this.rejectAbove = rejectAbove;
+        this.failOn = failOn;
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) throws IOException {
+        JsonNode body = mapper.readTree(request.getBody(), 0, request.getBodyLength());
+        JsonNode data = body.get("data");
+        requestSizes.add(data.size());
+        if (data.size() > rejectAbove) {
+            return new TransportResponse(413, Collections.emptyMap(), "");
+        }
+        ObjectNode response = mapper.createObjectNode();
+        for (JsonNode value : data) {
+            if (value.asText().equals(failOn)) {
+                response.put("success", false);
+                response.put("error_msg", "Data protect operation failed.");
+                return new TransportResponse(200, Collections.emptyMap(), response.toString());
+            }
+        }
+        response.put("success", true);
+        response.put("encoding", body.get("encoding").asText());
+        ArrayNode results = response.putArray("results");
+        for (JsonNode value : data) {
+            results.add(transform(value.asText()));
+        }
+        return new TransportResponse(200, Collections.emptyMap(), response.toString());
+    }
+
+    /**
+     * Returns the result for a value, the value itself unless overridden.
+     */
+    String transform(String value) {
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(request);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,87 @@
+package com.protegrity.ap.java;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP server standing in for the Developer Edition API. Every login returns a new numbered
+ * JWT, with an {@code exp} claim if {@link #tokenLifetimeSeconds} is set, and protection requests
+ * are answered by an {@link EchoTransport}. Records the paths and
+ * authorization headers of the protection requests.
+ */
+class FakeService implements Closeable {
+    private final HttpServer server;
+    private final EchoTransport echo;
+    final AtomicInteger logins = new AtomicInteger();
+    final List<String> paths = new CopyOnWriteArrayList<>();
+    final List<String> authorizations = new CopyOnWriteArrayList<>();
+    volatile int loginStatus = 200;
+    volatile long tokenLifetimeSeconds;
+
+    FakeService(EchoTransport echo) throws IOException {
+        this.echo = echo;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/auth/login", this::login);
+        server.createContext("/", this::protect);
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns a configuration builder pointing at this server with valid credentials.
+     */
+    ProtectorConfig.Builder config() {
+        return ProtectorConfig.builder().endpoint(endpoint()).credentials("user@example.com", "secret", "key");
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (loginStatus != 200) {
+            respond(exchange, loginStatus, "{\"error\": \"invalid credentials\"}");
+            return;
+        }
+        String token = "jwt-" + logins.incrementAndGet();
+        if (tokenLifetimeSeconds > 0) {
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            String claims = "{\"sub\":\"" + token + "\",\"exp\":" + (System.currentTimeMillis() / 1000 + tokenLifetimeSeconds) + "}";
+            token = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + ".";
+        }
+        respond(exchange, 200, "{\"jwt_token\": \"" + token + "\"}");
+    }
+
+    private void protect(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        paths.add(exchange.getRequestURI().getPath());
+        authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+        TransportResponse response = echo.send(TransportRequest.json(exchange.getRequestURI().toString(),
+            exchange.getRequestHeaders().getFirst("x-api-key"), "", body, body.length));
+        respond(exchange, response.getStatusCode(), response.getBody());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,265 @@
+package com.protegrity.ap.java;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class HedgerTest {
+
+    private static final TransportRequest REQUEST =
+        TransportRequest.json("http://localhost:1/v1/unprotect", "key", "jwt", new byte[0]);
+    private static final TransportResponse OK = new TransportResponse(200, Collections.emptyMap(), "{}");
+
+    private Hedger hedger;
+
+    @After
+    public void tearDown() {
+        if (hedger != null) {
+            hedger.close();
+        }
+    }
+
+    private Hedger newHedger(int budgetPercent) {
+        hedger = new Hedger(ProtectorConfig.builder().hedgingPercentile(50).hedgingBudgetPercent(budgetPercent).build());
+        return hedger;
+    }
+
+    private static void warmUp(Hedger hedger) {
+        for (int i = 0; i < Hedger.MIN_SAMPLES; i++) {
+            hedger.send(REQUEST, request -> CompletableFuture.completedFuture(OK)).join();
+        }
+    }
+
+    /**
+     * Leaves the first attempt of every request outstanding and answers the others at once.
+     */
+    private static class StallFirst implements Function<TransportRequest, CompletableFuture<TransportResponse>> {
+        final List<CompletableFuture<TransportResponse>> attempts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<TransportResponse> apply(TransportRequest request) {
+            CompletableFuture<TransportResponse> attempt =
+                attempts.isEmpty() ? new CompletableFuture<>() : CompletableFuture.completedFuture(OK);
+            attempts.add(attempt);
+            return attempt;
+        }
+    }
+
+    @Test
+    public void testDelayFollowsPercentile() {
+        Hedger hedger = newHedger(10);
+        for (int i = 1; i < Hedger.MIN_SAMPLES; i++) {
+            hedger.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertEquals(-1, hedger.getDelayMillis());
+        hedger.record(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(10, hedger.getDelayMillis());
+        // The delay is recomputed periodically, not on every sample.
+        for (int i = 0; i < 32; i++) {
+            hedger.record(TimeUnit.MILLISECONDS.toNanos(30));
+        }
+        assertEquals(30, hedger.getDelayMillis());
+    }
+
+    @Test
+    public void testNoHedgeBeforeWarmUp() throws Exception {
+        Hedger hedger = newHedger(100);
+        StallFirst sender = new StallFirst();
+        CompletableFuture<TransportResponse> result = hedger.send(REQUEST, sender);
+        Thread.sleep(20);
+        assertFalse(result.isDone());
+        assertEquals(1, sender.attempts.size());
+        sender.attempts.get(0).complete(OK);
+        assertSame(OK, result.get());
+        assertEquals(0, hedger.getHedgeCount());
+    }
+
+    @Test
+    public void testSlowRequestIsHedged() throws Exception {
+        Hedger hedger = newHedger(100);
+        warmUp(hedger);
+        StallFirst sender = new StallFirst();
+        assertSame(OK, hedger.send(REQUEST, sender).get(5, TimeUnit.SECONDS));
+        assertEquals(1, hedger.getHedgeCount());
+        assertEquals(2, sender.attempts.size());
+        // The slow attempt is cancelled right after the result completes, possibly on another thread.
+        try {
+            sender.attempts.get(0).get(5, TimeUnit.SECONDS);
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBudgetLimitsHedges() throws Exception {
+        Hedger hedger = newHedger(0);
+        warmUp(hedger);
+        StallFirst sender = new StallFirst();
+        CompletableFuture<TransportResponse> result = hedger.send(REQUEST, sender);
+        Thread.sleep(20);
+        assertFalse(result.isDone());
+        sender.attempts.get(0).complete(OK);
+        assertSame(OK, result.get());
+        assertEquals(0, hedger.getHedgeCount());
+    }
+
+    @Test
+    public void testFailsOnlyWhenAllAttemptsFailed() throws Exception {
+        Hedger hedger = newHedger(100);
+        warmUp(hedger);
+        List<CompletableFuture<TransportResponse>> attempts = new CopyOnWriteArrayList<>();
+        CompletableFuture<TransportResponse> result = hedger.send(REQUEST, request -> {
+            CompletableFuture<TransportResponse> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (attempts.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(2, attempts.size());
+        attempts.get(1).completeExceptionally(new IOException("hedge failed"));
+        assertFalse(result.isDone());
+        attempts.get(0).completeExceptionally(new IOException("primary failed"));
+        try {
+            result.get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertEquals("hedge failed", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testOverloadedResponseDoesNotWin() throws Exception {
+        Hedger hedger = newHedger(100);
+        warmUp(hedger);
+        TransportResponse unavailable = new TransportResponse(503, Collections.emptyMap(), "{}");
+        List<CompletableFuture<TransportResponse>> attempts = new CopyOnWriteArrayList<>();
+        CompletableFuture<TransportResponse> result = hedger.send(REQUEST, request -> {
+            CompletableFuture<TransportResponse> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (attempts.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(2, attempts.size());
+        attempts.get(1).complete(unavailable);
+        assertFalse(result.isDone());
+        assertFalse(attempts.get(0).isCancelled());
+        attempts.get(0).complete(OK);
+        assertSame(OK, result.get());
+
+        // The overloaded response is returned when no other attempt is left.
+        result = hedger.send(REQUEST, request -> CompletableFuture.completedFuture(unavailable));
+        assertSame(unavailable, result.get());
+    }
+
+    @Test
+    public void testCancelledAttemptAbortsExchange() throws Exception {
+        Hedger hedger = newHedger(100);
+        warmUp(hedger);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/unprotect", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (received.incrementAndGet() == 1) {
+                // The attempt arriving first stalls, the other one wins the race.
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        ProtectorConfig config = ProtectorConfig.builder().maxConcurrentRequests(4).maxRetries(2).build();
+        PooledHttpTransport pooled = new PooledHttpTransport(config);
+        CoreproviderTransport transport = new ResilientTransport(new ConcurrencyLimitedTransport(pooled, config), config);
+        try {
+            TransportRequest request = TransportRequest.json("http://127.0.0.1:" + server.getAddress().getPort()
+                + "/v1/unprotect", "key", "jwt", new byte[0]);
+            assertEquals(200, hedger.send(request, transport::sendAsync).get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(1, hedger.getHedgeCount());
+            // The stalled exchange is aborted, closing its connection and returning its slot.
+            long aborted = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((pooled.getOpenConnections() > 1 || transport.getConcurrencyLimiterStats().getInFlight() > 0)
+                    && System.nanoTime() < aborted) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, pooled.getOpenConnections());
+            assertEquals(0, transport.getConcurrencyLimiterStats().getInFlight());
+            assertEquals(2, received.get());
+        } finally {
+            release.countDown();
+            transport.close();
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAdapterHedgesListedDataElements() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null) {
+            @Override
+            public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+                // The request after the warm-up never gets an answer, only its hedge does.
+                if (calls.incrementAndGet() == Hedger.MIN_SAMPLES + 1) {
+                    return new CompletableFuture<>();
+                }
+                return super.sendAsync(request);
+            }
+        };
+        ProtectorConfig config = ProtectorConfig.builder().hedgingDataElements(Collections.singleton("de"))
+            .hedgingPercentile(50).hedgingBudgetPercent(100).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            for (int i = 0; i <= Hedger.MIN_SAMPLES; i++) {
+                int[] output = new int[2];
+                SessionObject session = new SessionObject("user");
+                ProtectionRequest request = new ProtectionRequest("protect", session, "user", "de", null, null, null,
+                    "utf8", PayloadValues.wire(new String[] {"1", Integer.toString(i)}), output);
+                assertTrue(adapter.execute(request, "jwt", "key"));
+                assertArrayEquals(new int[] {1, i}, output);
+            }
+            assertEquals(Hedger.MIN_SAMPLES + 2, calls.get());
+
+            int[] output = new int[1];
+            ProtectionRequest other = new ProtectionRequest("protect", new SessionObject("user"), "user", "other",
+                null, null, null, "utf8", PayloadValues.wire(new String[] {"7"}), output);
+            assertTrue(adapter.execute(other, "jwt", "key"));
+            // Not hedged, so sent synchronously
+            assertEquals(Hedger.MIN_SAMPLES + 2, calls.get());
+            assertEquals(Hedger.MIN_SAMPLES + 2, transport.requestSizes.size());
+        }
+    }
+}
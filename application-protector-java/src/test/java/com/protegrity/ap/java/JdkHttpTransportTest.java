@@ -0,0 +1,124 @@
+package com.protegrity.ap.java;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class JdkHttpTransportTest {
+
+    private HttpServer server;
+    private JdkHttpTransport transport;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/protect", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            String auth = exchange.getRequestHeaders().getFirst("Authorization");
+            String apiKey = exchange.getRequestHeaders().getFirst("x-api-key");
+            byte[] body = (auth + "|" + apiKey + "|" + new String(request, StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        transport = new JdkHttpTransport(ProtectorConfig.builder().transportType(ProtectorConfig.TransportType.HTTP_2).build());
+    }
+
+    @After
+    public void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/protect";
+    }
+
+    private TransportResponse send(String body) throws IOException {
+        return transport.send(TransportRequest.json(url(), "key", "token", body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testSendPassesHeadersAndBody() throws IOException {
+        TransportResponse response = send("{\"data\": []}");
+        assertEquals(200, response.getStatusCode());
+        assertEquals("Bearer token|key|{\"data\": []}", response.getBody());
+    }
+
+    @Test
+    public void testDecompressesGzipResponse() throws IOException {
+        server.createContext("/v1/unprotect", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                out.write(acceptEncoding.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        TransportResponse response = transport.send(TransportRequest.json(url().replace("protect", "unprotect"),
+            "key", "token", new byte[0]));
+        assertEquals("gzip, deflate", response.getBody());
+    }
+
+    @Test
+    public void testSendAsync() {
+        List<CompletableFuture<TransportResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(transport.sendAsync(TransportRequest.json(url(), "key", "token",
+                Integer.toString(i).getBytes(StandardCharsets.UTF_8))));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Bearer token|key|" + i, futures.get(i).join().getBody());
+        }
+    }
+
+    @Test
+    public void testSequentialRequests() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Bearer token|key|" + i, send(Integer.toString(i)).getBody());
+        }
+    }
+
+    @Test
+    public void testPrefersHttp2() {
+        assertEquals(HttpClient.Version.HTTP_2, transport.getVersion());
+    }
+
+    @Test
+    public void testCreateSelectsTransportType() {
+        ProtectorConfig.Builder plain = ProtectorConfig.builder().maxRetries(0).circuitBreakerFailureThreshold(0);
+        CoreproviderTransport http1 = CoreproviderTransport.create(plain.build());
+        CoreproviderTransport http2 = CoreproviderTransport.create(
+            plain.transportType(ProtectorConfig.TransportType.HTTP_2).build());
+        CoreproviderTransport resilient = CoreproviderTransport.create(ProtectorConfig.builder().build());
+        try {
+            assertTrue(http1 instanceof PooledHttpTransport);
+            assertTrue(http2 instanceof JdkHttpTransport);
+            assertTrue(resilient instanceof ResilientTransport);
+        } finally {
+            http1.close();
+            http2.close();
+            resilient.close();
+        }
+    }
+}
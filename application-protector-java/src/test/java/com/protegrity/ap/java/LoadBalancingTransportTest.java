@@ -0,0 +1,231 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadBalancingTransportTest {
+
+    private static final List<String> ENDPOINTS = Arrays.asList("http://a:1", "http://b:1");
+    private static final TransportRequest REQUEST =
+        TransportRequest.json("http://a:1/v1/protect", "key", "jwt", new byte[0]);
+
+    private final AtomicLong now = new AtomicLong();
+    private final Map<String, FakeTransport> transports = new LinkedHashMap<>();
+
+    /**
+     * Answers with a configurable status, fails while down and holds asynchronous requests open
+     * while held.
+     */
+    private static class FakeTransport implements CoreproviderTransport {
+        final List<String> urls = Collections.synchronizedList(new ArrayList<>());
+        final List<CompletableFuture<TransportResponse>> held = new ArrayList<>();
+        volatile boolean down;
+        volatile boolean hold;
+        volatile IOException error;
+
+        @Override
+        public TransportResponse send(TransportRequest request) throws IOException {
+            urls.add(request.getUrl());
+            if (down) {
+                throw new ConnectException("Connection refused");
+            }
+            if (error != null) {
+                throw error;
+            }
+            return new TransportResponse(200, Collections.emptyMap(), "{}");
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+            if (hold) {
+                urls.add(request.getUrl());
+                CompletableFuture<TransportResponse> pending = new CompletableFuture<>();
+                held.add(pending);
+                return pending;
+            }
+            try {
+                return CompletableFuture.completedFuture(send(request));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private LoadBalancingTransport balancer(int failureThreshold) {
+        ProtectorConfig config = ProtectorConfig.builder().endpoints(ENDPOINTS)
+            .outlierEjectionFailureThreshold(failureThreshold).outlierEjectionMillis(1_000).build();
+        return new LoadBalancingTransport(config, url -> {
+            FakeTransport transport = new FakeTransport();
+            transports.put(url, transport);
+            return transport;
+        }, now::get);
+    }
+
+    private FakeTransport transport(String url) {
+        return transports.get(url);
+    }
+
+    @Test
+    public void testRewritesRequestsToChosenEndpoint() throws Exception {
+        LoadBalancingTransport balancer = balancer(5);
+        balancer.send(REQUEST);
+        balancer.send(REQUEST);
+        assertEquals(Collections.singletonList("http://a:1/v1/protect"), transport("http://a:1").urls);
+        assertEquals(Collections.singletonList("http://b:1/v1/protect"), transport("http://b:1").urls);
+    }
+
+    @Test
+    public void testPrefersEndpointWithFewerOutstandingRequests() {
+        LoadBalancingTransport balancer = balancer(5);
+        transport("http://a:1").hold = true;
+        transport("http://b:1").hold = true;
+        balancer.sendAsync(REQUEST);
+        balancer.sendAsync(REQUEST);
+        transport("http://a:1").held.get(0).complete(new TransportResponse(200, Collections.emptyMap(), "{}"));
+        balancer.sendAsync(REQUEST);
+        assertEquals(2, transport("http://a:1").urls.size());
+        assertEquals(1, transport("http://b:1").urls.size());
+    }
+
+    @Test
+    public void testPrefersFasterEndpoint() throws Exception {
+        LoadBalancingTransport balancer = balancer(5);
+        FakeTransport a = transport("http://a:1");
+        a.hold = true;
+        balancer.sendAsync(REQUEST);
+        balancer.sendAsync(REQUEST);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        a.held.get(0).complete(new TransportResponse(200, Collections.emptyMap(), "{}"));
+        for (int i = 0; i < 10; i++) {
+            balancer.send(REQUEST);
+        }
+        assertEquals(1, a.urls.size());
+        assertEquals(11, transport("http://b:1").urls.size());
+    }
+
+    @Test
+    public void testEjectsFailingEndpointAndReadmitsAfterProbe() throws Exception {
+        LoadBalancingTransport balancer = balancer(1);
+        FakeTransport a = transport("http://a:1");
+        a.down = true;
+        try {
+            balancer.send(REQUEST);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+        assertTrue(balancer.isEjected("http://a:1"));
+        for (int i = 0; i < 10; i++) {
+            balancer.send(REQUEST);
+        }
+        assertEquals(1, a.urls.size());
+
+        // The failed probe doubles the ejection time.
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        try {
+            balancer.send(REQUEST);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(2, a.urls.size());
+        assertTrue(balancer.isEjected("http://a:1"));
+
+        a.down = false;
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_999));
+        for (int i = 0; i < 10; i++) {
+            balancer.send(REQUEST);
+        }
+        assertEquals(2, a.urls.size());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        balancer.send(REQUEST);
+        assertEquals(3, a.urls.size());
+        assertFalse(balancer.isEjected("http://a:1"));
+    }
+
+    @Test
+    public void testAbandonedRequestsDoNotEjectEndpoint() throws Exception {
+        LoadBalancingTransport balancer = balancer(1);
+        FakeTransport a = transport("http://a:1");
+        List<IOException> errors = Arrays.asList(new DeadlineExceededException("Deadline exceeded"),
+            new InterruptedIOException("Interrupted"));
+        for (IOException error : errors) {
+            a.error = error;
+            transport("http://b:1").error = error;
+            try {
+                balancer.send(REQUEST);
+                fail("Expected IOException");
+            } catch (IOException e) {
+                assertSame(error, e);
+            }
+            try {
+                balancer.sendAsync(REQUEST).join();
+                fail("Expected CompletionException");
+            } catch (CompletionException e) {
+                assertSame(error, e.getCause());
+            }
+        }
+        assertFalse(balancer.isEjected("http://a:1"));
+        assertFalse(balancer.isEjected("http://b:1"));
+
+        a.error = new SocketTimeoutException("Read timed out");
+        for (int i = 0; i < 2; i++) {
+            try {
+                balancer.send(REQUEST);
+            } catch (IOException e) {
+                // expected from a
+            }
+        }
+        assertTrue(balancer.isEjected("http://a:1"));
+    }
+
+    @Test
+    public void testSendsToEjectedEndpointsWhenAllAreEjected() throws Exception {
+        LoadBalancingTransport balancer = balancer(1);
+        transport("http://a:1").down = true;
+        transport("http://b:1").down = true;
+        for (int i = 0; i < 2; i++) {
+            try {
+                balancer.send(REQUEST);
+                fail("Expected IOException");
+            } catch (IOException e) {
+                // expected
+            }
+        }
+        assertTrue(balancer.isEjected("http://a:1"));
+        assertTrue(balancer.isEjected("http://b:1"));
+        transport("http://b:1").down = false;
+        transport("http://a:1").down = false;
+        assertEquals(200, balancer.send(REQUEST).getStatusCode());
+    }
+
+    @Test
+    public void testCreateBalancesOnlySeveralEndpoints() {
+        ProtectorConfig.Builder builder = ProtectorConfig.builder().maxRetries(0).circuitBreakerFailureThreshold(0);
+        try (CoreproviderTransport single = CoreproviderTransport.create(builder.build())) {
+            assertTrue(single instanceof PooledHttpTransport);
+        }
+        try (CoreproviderTransport several = CoreproviderTransport.create(builder.endpoints(ENDPOINTS).build())) {
+            assertTrue(several instanceof LoadBalancingTransport);
+        }
+    }
+}
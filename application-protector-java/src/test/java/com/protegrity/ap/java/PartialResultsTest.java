@@ -0,0 +1,36 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PartialResultsTest {
+
+    @Test
+    public void testReportsFailedValues() {
+        PartialResults results = PartialResults.of("unprotect", 4, 0);
+        assertNull(results.toException());
+
+        results.fail(1, 3, 44, "Content of input data is not valid.");
+        results.fail(3, 4, 66, "Failed to convert the result");
+        ProtectorException e = results.toException();
+        assertEquals(44, e.getErrorCode());
+        assertEquals("3 of 4 values failed, the first with: Content of input data is not valid.", e.getErrorMessage());
+        assertArrayEquals(new int[] {8, 44, 44, 66}, e.getErrorList());
+    }
+
+    @Test
+    public void testCopiesCodeAndMessageOfTheValue() {
+        PartialResults distinct = PartialResults.of("protect", 2, 0);
+        distinct.fail(0, 1, 44, "Content of input data is not valid.");
+        distinct.fail(1, 2, 66, "Failed to convert the result");
+        PartialResults original = distinct.derive(3);
+
+        // The value failing last comes first in the original request.
+        distinct.copyTo(1, original, 0);
+        distinct.copyTo(0, original, 2);
+        ProtectorException e = original.toException();
+        assertEquals(66, e.getErrorCode());
+        assertEquals("2 of 3 values failed, the first with: Failed to convert the result", e.getErrorMessage());
+        assertArrayEquals(new int[] {66, 6, 44}, e.getErrorList());
+    }
+}
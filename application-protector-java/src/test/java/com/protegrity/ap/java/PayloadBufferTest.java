@@ -0,0 +1,89 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class PayloadBufferTest {
+
+    private static String json(String text) {
+        PayloadBuffer buffer = new PayloadBuffer(1);
+        buffer.writeJsonString(text);
+        return buffer.toString();
+    }
+
+    @Test
+    public void testWriteJsonStringEscapes() throws Exception {
+        String text = "quote\" backslash\\ newline\n tab\t bell\u0007";
+        String written = json(text);
+
+        assertEquals("\"quote\\\" backslash\\\\ newline\\n tab\\t bell\\u0007\"", written);
+        assertEquals(text, new ObjectMapper().readValue(written, String.class));
+    }
+
+    @Test
+    public void testWriteJsonStringEncodesUtf8() {
+        String text = "café € 😀";
+        PayloadBuffer buffer = new PayloadBuffer(1);
+        buffer.writeJsonString(text);
+
+        byte[] expected = ("\"" + text + "\"").getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected.length, buffer.length());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], buffer.array()[i]);
+        }
+    }
+
+    @Test
+    public void testUnpairedSurrogateIsReplaced() {
+        assertEquals("\"a?b\"", json("a\ud83db"));
+    }
+
+    @Test
+    public void testWriteLong() {
+        long[] values = {0, 7, -7, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            PayloadBuffer buffer = new PayloadBuffer(1);
+            buffer.writeLong(value);
+            assertEquals(Long.toString(value), buffer.toString());
+        }
+    }
+
+    @Test
+    public void testWriteBase64StringMatchesJdkEncoder() {
+        Random random = new Random(42);
+        for (int length = 0; length < 20; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            PayloadBuffer buffer = new PayloadBuffer(1);
+            buffer.writeBase64String(data);
+            assertEquals("\"" + Base64.getEncoder().encodeToString(data) + "\"", buffer.toString());
+        }
+    }
+
+    @Test
+    public void testPoolReusesBuffers() {
+        PayloadBufferPool pool = new PayloadBufferPool(2, 1024 * 1024);
+        PayloadBuffer buffer = pool.acquire();
+        buffer.writeAscii("abc");
+        pool.release(buffer);
+
+        PayloadBuffer reused = pool.acquire();
+        assertSame(buffer, reused);
+        assertEquals(0, reused.length());
+    }
+
+    @Test
+    public void testPoolDropsOversizedBuffers() {
+        PayloadBufferPool pool = new PayloadBufferPool(2, 16);
+        PayloadBuffer buffer = pool.acquire();
+        pool.release(buffer);
+
+        assertEquals(0, pool.idleCount());
+    }
+}
@@ -0,0 +1,131 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class PayloadCompressorTest {
+
+    private final PayloadBufferPool pool = new PayloadBufferPool(4, 1 << 20);
+
+    private static PayloadCompressor compressor(ProtectorConfig.Compression compression, int thresholdBytes) {
+        return new PayloadCompressor(ProtectorConfig.builder().compression(compression)
+            .compressionThresholdBytes(thresholdBytes).build(), 2);
+    }
+
+    private PayloadBuffer payload(int values) {
+        PayloadBuffer buffer = pool.acquire();
+        buffer.writeAscii("{\"data\":[");
+        for (int i = 0; i < values; i++) {
+            if (i > 0) {
+                buffer.writeByte(',');
+            }
+            buffer.writeJsonString("value-" + i);
+        }
+        buffer.writeAscii("]}");
+        return buffer;
+    }
+
+    private static byte[] inflate(InputStream in) throws IOException {
+        try (InputStream decoded = in) {
+            return decoded.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testGzipRoundTrip() throws IOException {
+        PayloadBuffer payload = payload(1000);
+        byte[] plain = Arrays.copyOf(payload.array(), payload.length());
+        PayloadBuffer sent = compressor(ProtectorConfig.Compression.GZIP, 1024).compress(payload, pool);
+
+        assertEquals("gzip", sent.getContentEncoding());
+        assertTrue(sent.length() < plain.length);
+        assertArrayEquals(plain, inflate(new GZIPInputStream(new ByteArrayInputStream(sent.array(), 0, sent.length()))));
+    }
+
+    @Test
+    public void testDeflateRoundTrip() throws IOException {
+        PayloadBuffer payload = payload(1000);
+        byte[] plain = Arrays.copyOf(payload.array(), payload.length());
+        PayloadBuffer sent = compressor(ProtectorConfig.Compression.DEFLATE, 1024).compress(payload, pool);
+
+        assertEquals("deflate", sent.getContentEncoding());
+        assertArrayEquals(plain, inflate(new InflaterInputStream(new ByteArrayInputStream(sent.array(), 0, sent.length()))));
+    }
+
+    @Test
+    public void testSmallPayloadIsSentAsIs() {
+        PayloadCompressor compressor = compressor(ProtectorConfig.Compression.GZIP, 1 << 16);
+        PayloadBuffer payload = payload(10);
+
+        assertSame(payload, compressor.compress(payload, pool));
+        assertNull(payload.getContentEncoding());
+        CompressionStats stats = compressor.getStats();
+        assertEquals(1, stats.getRequestCount());
+        assertEquals(0, stats.getCompressedCount());
+        assertEquals(stats.getPayloadBytes(), stats.getWireBytes());
+        assertEquals(1.0, stats.getCompressionRatio(), 0.0);
+    }
+
+    @Test
+    public void testStatsRecordWireBytes() {
+        PayloadCompressor compressor = compressor(ProtectorConfig.Compression.GZIP, 0);
+        PayloadBuffer first = compressor.compress(payload(1000), pool);
+        long firstLength = first.length();
+        pool.release(first);
+        PayloadBuffer second = compressor.compress(payload(1000), pool);
+
+        CompressionStats stats = compressor.getStats();
+        assertEquals(2, stats.getRequestCount());
+        assertEquals(2, stats.getCompressedCount());
+        assertEquals(firstLength + second.length(), stats.getWireBytes());
+        assertTrue(stats.getCompressionRatio() > 2.0);
+        assertTrue(stats.getCompressionNanos() > 0);
+        compressor.close();
+    }
+
+    @Test
+    public void testAdapterSendsContentEncoding() throws Exception {
+        List<String> encodings = new CopyOnWriteArrayList<>();
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null) {
+            @Override
+            public TransportResponse send(TransportRequest request) throws IOException {
+                String encoding = request.getHeaders().get("Content-Encoding");
+                encodings.add(String.valueOf(encoding));
+                if (encoding == null) {
+                    return super.send(request);
+                }
+                byte[] body = inflate(new GZIPInputStream(
+                    new ByteArrayInputStream(request.getBody(), 0, request.getBodyLength())));
+                return super.send(TransportRequest.json(request.getUrl(), "key", "jwt", body));
+            }
+        };
+        ProtectorConfig config = ProtectorConfig.builder().compression(ProtectorConfig.Compression.GZIP)
+            .compressionThresholdBytes(256).build();
+        String[] small = {"a", "b"};
+        String[] large = new String[500];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = "value-" + i;
+        }
+        String[] smallOutput = new String[small.length];
+        String[] largeOutput = new String[large.length];
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            assertTrue(adapter.execute(new ProtectionRequest("protect", new SessionObject("user"), "user", "de", null, null,
+                null, "utf8", PayloadValues.wire(small), smallOutput), "jwt", "key"));
+            assertTrue(adapter.execute(new ProtectionRequest("protect", new SessionObject("user"), "user", "de", null, null,
+                null, "utf8", PayloadValues.wire(large), largeOutput), "jwt", "key"));
+            assertEquals(1, adapter.getCompressionStats().getCompressedCount());
+        }
+        assertArrayEquals(small, smallOutput);
+        assertArrayEquals(large, largeOutput);
+        assertEquals(Arrays.asList("null", "gzip"), encodings);
+    }
+}
@@ -0,0 +1,93 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class PayloadValuesTest {
+
+    private final CoreproviderAdapter adapter;
+
+    public PayloadValuesTest() throws ProtectorException {
+        adapter = new CoreproviderAdapter(new SessionHandler(5), ProtectorConfig.builder().build(), new EchoTransport(Integer.MAX_VALUE, null));
+    }
+
+    private static String written(PayloadValues values, int index) throws Exception {
+        PayloadBuffer buffer = new PayloadBuffer(1);
+        values.write(buffer, index);
+        return new ObjectMapper().readValue(buffer.toString(), String.class);
+    }
+
+    private void assertMatchesLegacyConversion(Object input) throws Exception {
+        PayloadValues values = PayloadValues.of(input, "utf8");
+        String[] legacy = adapter.convertToStringArray(input);
+        assertArrayEquals(legacy, values.toWireArray());
+        for (int i = 0; i < legacy.length; i++) {
+            assertEquals(legacy[i], written(values, i));
+            assertTrue(values.estimateSize(i) >= legacy[i].getBytes(StandardCharsets.UTF_8).length + 2);
+        }
+    }
+
+    @Test
+    public void testTypedInputsMatchLegacyConversion() throws Exception {
+        assertMatchesLegacyConversion(new short[] {0, -1, Short.MAX_VALUE, Short.MIN_VALUE});
+        assertMatchesLegacyConversion(new int[] {0, 42, Integer.MIN_VALUE, Integer.MAX_VALUE});
+        assertMatchesLegacyConversion(new long[] {0, -42, Long.MIN_VALUE, Long.MAX_VALUE});
+        assertMatchesLegacyConversion(new float[] {0f, 1.5f, -3.25e10f, Float.MIN_VALUE});
+        assertMatchesLegacyConversion(new double[] {0d, 1.1, -2.5e-300, Double.MAX_VALUE});
+        assertMatchesLegacyConversion(new char[][] {"café".toCharArray(), "a\"b".toCharArray()});
+        assertMatchesLegacyConversion(new byte[][] {{1, 2, 3}, {}, {(byte) 0xff}});
+        assertMatchesLegacyConversion(new Date[] {new Date(0), new Date(1700000000123L)});
+    }
+
+    @Test
+    public void testStringInputIsSentAsIs() throws Exception {
+        String[] input = {"plain", "with \"quotes\""};
+        PayloadValues values = PayloadValues.of(input, "utf8");
+
+        assertSame(input, values.toWireArray());
+        assertEquals("with \"quotes\"", written(values, 1));
+    }
+
+    @Test
+    public void testBase64EncodingOfTextInput() throws Exception {
+        PayloadValues values = PayloadValues.of(new int[] {123}, "base64");
+        String expected = Base64.getEncoder().encodeToString("123".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(expected, values.wireValue(0));
+        assertEquals(expected, written(values, 0));
+    }
+
+    @Test
+    public void testNullElements() throws Exception {
+        PayloadValues values = PayloadValues.of(new String[] {null}, "utf8");
+        assertNull(values.wireValue(0));
+        assertEquals("null", written(values, 0));
+
+        PayloadValues bytes = PayloadValues.of(new byte[][] {null}, "base64");
+        assertNull(bytes.wireValue(0));
+    }
+
+    @Test
+    public void testRangeIsIndexedFromItsStart() throws Exception {
+        PayloadValues numbers = PayloadValues.of(new long[] {1, 22, 333, 4444}, "utf8", 1, 2);
+        assertEquals(2, numbers.size());
+        assertArrayEquals(new String[] {"22", "333"}, numbers.toWireArray());
+        assertEquals("333", written(numbers, 1));
+
+        String[] text = {"a", "b", "c"};
+        PayloadValues strings = PayloadValues.of(text, "utf8", 2, 1);
+        assertArrayEquals(new String[] {"c"}, strings.toWireArray());
+        assertSame(text, PayloadValues.of(text, "utf8").toWireArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedInput() {
+        PayloadValues.of(new Object[0], "utf8");
+    }
+}
@@ -0,0 +1,167 @@
+package com.protegrity.ap.java;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class PooledHttpTransportTest {
+
+    private HttpServer server;
+    private PooledHttpTransport transport;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/protect", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            String auth = exchange.getRequestHeaders().getFirst("Authorization");
+            String apiKey = exchange.getRequestHeaders().getFirst("x-api-key");
+            byte[] body = (auth + "|" + apiKey + "|" + new String(request, StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        transport = new PooledHttpTransport(ProtectorConfig.builder().build());
+    }
+
+    @After
+    public void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/protect";
+    }
+
+    private TransportResponse send(String body) throws IOException {
+        return transport.send(TransportRequest.json(url(), "key", "token", body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testSendPassesHeadersAndBody() throws IOException {
+        TransportResponse response = send("{\"data\": []}");
+        assertEquals(200, response.getStatusCode());
+        assertEquals("Bearer token|key|{\"data\": []}", response.getBody());
+    }
+
+    @Test
+    public void testSendAsync() {
+        List<CompletableFuture<TransportResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(transport.sendAsync(TransportRequest.json(url(), "key", "token",
+                Integer.toString(i).getBytes(StandardCharsets.UTF_8))));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Bearer token|key|" + i, futures.get(i).join().getBody());
+        }
+    }
+
+    @Test
+    public void testSendAsyncAfterCloseFails() {
+        transport.close();
+        CompletableFuture<TransportResponse> future = transport.sendAsync(
+            TransportRequest.json(url(), "key", "token", new byte[0]));
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testConnectionIsReused() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            send("{}");
+        }
+        assertEquals(1, clientPorts.size());
+        assertEquals(1, transport.getOpenConnections());
+    }
+
+    @Test
+    public void testWarmUpOpensPooledConnections() throws IOException {
+        transport.warmUp("http://127.0.0.1:" + server.getAddress().getPort(), 3).join();
+        assertEquals(3, transport.getOpenConnections());
+        for (int i = 0; i < 3; i++) {
+            send("{}");
+        }
+        assertEquals(3, transport.getOpenConnections());
+    }
+
+    @Test
+    public void testWarmUpOfUnreachableEndpointFails() {
+        int port = server.getAddress().getPort();
+        server.stop(0);
+        assertTrue(transport.warmUp("http://127.0.0.1:" + port, 1).handle((ok, error) -> error != null).join());
+        assertEquals(0, transport.getOpenConnections());
+    }
+
+    @Test
+    public void testDeadlineAbortsStalledExchange() throws Exception {
+        // Accepts connections through its backlog but never answers.
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            TransportRequest request = TransportRequest.json("http://127.0.0.1:" + stalled.getLocalPort() + "/v1/protect",
+                "key", "token", new byte[0]).withDeadline(Deadline.after(200, TimeUnit.MILLISECONDS));
+            long start = System.nanoTime();
+            try {
+                transport.send(request);
+                fail("Expected DeadlineExceededException");
+            } catch (DeadlineExceededException e) {
+                assertEquals(ErrorMapper.DEADLINE_EXCEEDED, e.getErrorCode());
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            // The aborted connection is released by the I/O thread, shortly after the caller is failed.
+            long released = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (transport.getOpenConnections() > 0 && System.nanoTime() < released) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, transport.getOpenConnections());
+        }
+    }
+
+    @Test
+    public void testInterruptAbortsExchange() throws Exception {
+        try (ServerSocket stalled = new ServerSocket(0)) {
+            TransportRequest request = TransportRequest.json("http://127.0.0.1:" + stalled.getLocalPort() + "/v1/protect",
+                "key", "token", new byte[0]).withDeadline(Deadline.after(1, TimeUnit.MINUTES));
+            CompletableFuture<Throwable> failure = new CompletableFuture<>();
+            Thread caller = new Thread(() -> {
+                try {
+                    transport.send(request);
+                    failure.complete(null);
+                } catch (IOException e) {
+                    failure.complete(e);
+                }
+            });
+            caller.start();
+            Thread.sleep(100);
+            caller.interrupt();
+            assertTrue(failure.get(5, TimeUnit.SECONDS) instanceof InterruptedIOException);
+            caller.join(5_000);
+        }
+    }
+
+    @Test
+    public void testCloseReleasesConnections() throws IOException {
+        send("{}");
+        transport.close();
+        assertEquals(0, transport.getOpenConnections());
+    }
+}
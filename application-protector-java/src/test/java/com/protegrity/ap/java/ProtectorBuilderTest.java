@@ -0,0 +1,383 @@
+package com.protegrity.ap.java;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ProtectorBuilderTest {
+
+    private FakeService service;
+
+    @Before
+    public void setUp() throws IOException {
+        service = new FakeService(new EchoTransport(Integer.MAX_VALUE, null) {
+            @Override
+            String transform(String value) {
+                return new StringBuilder(value).reverse().toString();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        service.close();
+    }
+
+    @Test
+    public void testBuildsIndependentInstances() throws ProtectorException {
+        try (Protector first = Protector.builder().config(service.config().build()).build();
+             Protector second = Protector.builder().config(service.config().apiVersion("2").build()).build()) {
+            assertNotSame(first, second);
+            String[] output = new String[2];
+
+            assertTrue(first.protect(first.createSession("user"), "de", new String[] {"abc", "xy"}, output));
+            assertArrayEquals(new String[] {"cba", "yx"}, output);
+            first.close();
+
+            int[] numbers = new int[1];
+            assertTrue(second.protect(second.createSession("user"), "de", new int[] {123}, numbers));
+            assertEquals(321, numbers[0]);
+        }
+        assertEquals(Arrays.asList("/v1/protect", "/v2/protect"), service.paths);
+        assertEquals(Arrays.asList("Bearer jwt-1", "Bearer jwt-2"), service.authorizations);
+    }
+
+    @Test
+    public void testSingleValueOverloads() throws ProtectorException {
+        try (Protector protector = Protector.builder().config(service.config().build()).build()) {
+            SessionObject session = protector.createSession("user");
+            assertEquals("cba", protector.protect(session, "de", "abc"));
+            assertEquals("abc", protector.unprotect(session, "de", "cba"));
+            assertEquals(321, protector.protect(session, "de", 123));
+            assertEquals(9_876_543_211L, protector.unprotect(session, "de", 1_123_456_789L));
+            assertEquals((short) 54, protector.protect(session, "de", (short) 45));
+            try {
+                protector.protect(session, "de", (short) 30_009);
+                fail("Expected ProtectorException");
+            } catch (ProtectorException e) {
+                // 30009 reversed is out of the short range.
+            }
+        }
+    }
+
+    @Test
+    public void testProtectsRangesInPlace() throws ProtectorException {
+        ProtectorConfig config = service.config().maxElementsPerRequest(2).deduplicationEnabled(true)
+            .tokenCacheDataElements(Arrays.asList("de")).build();
+        try (Protector protector = Protector.builder().config(config).build()) {
+            SessionObject session = protector.createSession("user");
+            String[] buffer = {"keep", "ab", "cd", "ab", "ef", "gh", "keep"};
+            assertTrue(protector.protect(session, "de", buffer, 1, buffer, 1, 5));
+            assertArrayEquals(new String[] {"keep", "ba", "dc", "ba", "fe", "hg", "keep"}, buffer);
+            assertTrue(protector.unprotect(session, "de", buffer, 1, buffer, 1, 5));
+            assertArrayEquals(new String[] {"keep", "ab", "cd", "ab", "ef", "gh", "keep"}, buffer);
+
+            int[] numbers = {12, 34, 56, 78};
+            int[] results = new int[6];
+            assertTrue(protector.protect(session, "de", numbers, 1, results, 3, 3));
+            assertArrayEquals(new int[] {0, 0, 0, 43, 65, 87}, results);
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidRanges() throws ProtectorException {
+        try (Protector protector = Protector.builder().config(service.config().build()).build()) {
+            SessionObject session = protector.createSession("user");
+            long[] buffer = new long[4];
+            try {
+                protector.protect(session, "de", buffer, 2, new long[4], 0, 3);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // The input range ends beyond the array.
+            }
+            try {
+                protector.protect(session, "de", buffer, 0, buffer, 1, 3);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // Shifted ranges of the same array overlap.
+            }
+        }
+        assertTrue(service.paths.isEmpty());
+    }
+
+    /**
+     * Returns the result of the reversing service for a record, which reverses its Base64 form.
+     */
+    private static byte[] reversed(byte[] record) {
+        String base64 = Base64.getEncoder().encodeToString(record);
+        return Base64.getDecoder().decode(new StringBuilder(base64).reverse().toString());
+    }
+
+    @Test
+    public void testProtectsRecordsInBuffers() throws ProtectorException {
+        // Multiples of three bytes, so that the reversed Base64 form is valid Base64 as well.
+        byte[] first = {0, 1, (byte) 0xff};
+        byte[] second = "abcdef".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer input = ByteBuffer.allocateDirect(32);
+        input.put((byte) 7).putInt(first.length).put(first).putInt(second.length).put(second).put((byte) 7);
+        input.limit(input.position() - 1).position(1);
+        ByteBuffer output = ByteBuffer.allocate(32);
+        output.position(2);
+        try (Protector protector = Protector.builder().config(service.config().build()).build()) {
+            SessionObject session = protector.createSession("user");
+            assertEquals(2, protector.protect(session, "de", input, output, RecordFormat.lengthPrefixed()));
+
+            assertEquals(18, input.position());
+            assertEquals(18, input.limit());
+            assertEquals(19, output.position());
+            assertEquals(32, output.limit());
+            assertEquals(3, output.getInt(2));
+            assertArrayEquals(reversed(first), Arrays.copyOfRange(output.array(), 6, 9));
+            assertEquals(6, output.getInt(9));
+            assertArrayEquals(reversed(second), Arrays.copyOfRange(output.array(), 13, 19));
+
+            output.limit(output.position()).position(2);
+            ByteBuffer restored = ByteBuffer.allocateDirect(17);
+            assertEquals(2, protector.unprotect(session, "de", output, restored, RecordFormat.lengthPrefixed()));
+            assertEquals(19, output.position());
+            assertEquals(17, restored.position());
+            assertEquals(input.flip().position(1), restored.flip());
+        }
+    }
+
+    @Test
+    public void testRejectsUnusableBuffers() throws ProtectorException {
+        byte[] record = {1, 2, 3};
+        ByteBuffer input = ByteBuffer.allocate(16).putInt(3).put(record).putInt(3).put(record).flip();
+        byte[] untouched = {9, 9, 9, 9, 9, 9, 9, 9};
+        ByteBuffer output = ByteBuffer.wrap(untouched.clone());
+        output.position(1);
+        try (Protector protector = Protector.builder().config(service.config().build()).build()) {
+            SessionObject session = protector.createSession("user");
+            try {
+                protector.protect(session, "de", input, output, RecordFormat.lengthPrefixed());
+                fail("Expected BufferOverflowException");
+            } catch (BufferOverflowException e) {
+                // The two results take fourteen bytes, seven are left.
+            }
+            assertEquals(0, input.position());
+            assertEquals(1, output.position());
+            assertArrayEquals(untouched, output.array());
+            int requests = service.paths.size();
+
+            ByteBuffer malformed = ByteBuffer.allocate(8).putInt(100).put((byte) 1).flip();
+            try {
+                protector.protect(session, "de", malformed, ByteBuffer.allocate(64), RecordFormat.lengthPrefixed());
+                fail("Expected ProtectorException");
+            } catch (ProtectorException e) {
+                // The length prefix exceeds the buffer.
+            }
+            assertEquals(requests, service.paths.size());
+
+            try {
+                protector.protect(session, "de", null, output, RecordFormat.lengthPrefixed());
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // No input
+            }
+            try {
+                protector.unprotect(session, "de", input, null, RecordFormat.lengthPrefixed());
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // No output
+            }
+            try {
+                protector.reprotect(session, "de", "old", input, output, null);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // No format
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsNullInput() throws Exception {
+        try (Protector protector = Protector.builder().config(service.config().build()).build()) {
+            SessionObject session = protector.createSession("user");
+            try {
+                protector.protect(session, "de", (String[]) null, new String[1]);
+                fail("Expected ProtectorException");
+            } catch (ProtectorException e) {
+                assertEquals(12, e.getErrorCode());
+            }
+            CompletableFuture<Boolean> result = protector.protectAsync(session, "de", (int[]) null, new int[1]);
+            try {
+                result.join();
+                fail("Expected CompletionException");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof ProtectorException);
+            }
+        }
+        assertTrue(service.paths.isEmpty());
+    }
+
+    @Test
+    public void testPartialResultsKeepOtherValues() throws ProtectorException {
+        ProtectorConfig config = service.config().partialResultsEnabled(true).deduplicationEnabled(true)
+            .tokenCacheDataElements(Arrays.asList("de")).build();
+        try (Protector protector = Protector.builder().config(config).build()) {
+            SessionObject session = protector.createSession("user");
+            protector.protect(session, "de", new short[] {12}, new short[1]);
+            // 30_009 reversed is out of range of a short.
+            short[] input = {12, 30_009, 45, 30_009};
+            short[] output = new short[input.length];
+            try {
+                protector.protect(session, "de", input, output);
+                fail("Expected ProtectorException");
+            } catch (ProtectorException e) {
+                assertEquals(ErrorMapper.RESULT_CONVERSION_FAILED, e.getErrorCode());
+                assertArrayEquals(new int[] {6, ErrorMapper.RESULT_CONVERSION_FAILED, 6, ErrorMapper.RESULT_CONVERSION_FAILED},
+                    e.getErrorList());
+            }
+            assertArrayEquals(new short[] {21, 0, 54, 0}, output);
+        }
+    }
+
+    @Test
+    public void testCloseSendsPendingBatches() throws Exception {
+        ProtectorConfig config = service.config().batchingEnabled(true).batchWindowMillis(60_000).build();
+        Protector protector = Protector.builder().config(config).build();
+        SessionObject session = protector.createSession("user");
+        String[] first = new String[1];
+        String[] second = new String[1];
+        CompletableFuture<Boolean> a = protector.protectAsync(session, "de", new String[] {"abc"}, first);
+        CompletableFuture<Boolean> b = protector.protectAsync(session, "de", new String[] {"xy"}, second);
+
+        protector.close();
+        assertTrue(a.isDone() && b.isDone());
+        assertTrue(a.join() && b.join());
+        assertEquals("cba", first[0]);
+        assertEquals("yx", second[0]);
+        assertEquals(1, service.paths.size());
+    }
+
+    @Test
+    public void testSingleValuesAreCoalesced() throws Exception {
+        ProtectorConfig config = service.config().batchingEnabled(true).batchWindowMillis(50).build();
+        try (Protector protector = Protector.builder().config(config).build()) {
+            SessionObject session = protector.createSession("user");
+            CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> protectQuietly(protector, session, 12));
+            CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> protectQuietly(protector, session, 34));
+            assertEquals(21, (int) first.get());
+            assertEquals(43, (int) second.get());
+        }
+    }
+
+    private static int protectQuietly(Protector protector, SessionObject session, int value) {
+        try {
+            return protector.protect(session, "de", value);
+        } catch (ProtectorException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    @Test
+    public void testProtectsStreamsInBatches() throws Exception {
+        ProtectorConfig config = service.config().maxElementsPerRequest(2).requestParallelism(2).build();
+        try (Protector protector = Protector.builder().config(config).build()) {
+            SessionObject session = protector.createSession("user");
+            List<String> input = Arrays.asList("ab", "cd", "ef", "gh", "ij");
+            try (Stream<String> results = protector.protect(session, "de", input.stream())) {
+                assertEquals(Arrays.asList("ba", "dc", "fe", "hg", "ji"), results.collect(Collectors.toList()));
+            }
+            Iterator<String> unprotected = protector.unprotect(session, "de", Arrays.asList("ba", "dc").iterator());
+            assertEquals("ab", unprotected.next());
+            assertEquals("cd", unprotected.next());
+            assertFalse(unprotected.hasNext());
+
+            List<String> published = new CopyOnWriteArrayList<>();
+            try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                protector.protect(session, "de", publisher).subscribe(new Flow.Subscriber<String>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(String item) {
+                        published.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        done.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        done.complete(null);
+                    }
+                });
+                input.forEach(publisher::submit);
+                publisher.close();
+                done.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(Arrays.asList("ba", "dc", "fe", "hg", "ji"), published);
+        }
+    }
+
+    @Test
+    public void testUsesConfiguredSessionTimeout() throws ProtectorException {
+        ProtectorConfig config = service.config().sessionTimeoutMinutes(5).build();
+        try (Protector protector = Protector.builder().config(config).build()) {
+            assertSame(config, protector.getConfig());
+            assertEquals(5, protector.getConfig().getSessionTimeoutMinutes());
+        }
+    }
+
+    @Test
+    public void testWarmUpSendsNoProtectionRequests() throws Exception {
+        try (Protector protector = Protector.builder().config(service.config().warmUpEnabled(true).build()).build()) {
+            java.util.concurrent.CompletableFuture<Void> warmUp = protector.warmUpAsync();
+            assertSame(warmUp, protector.warmUpAsync());
+            protector.warmUp();
+            assertTrue(warmUp.isDone() && !warmUp.isCompletedExceptionally());
+        }
+        assertTrue(service.paths.isEmpty());
+    }
+
+    @Test
+    public void testFailedLogin() {
+        service.loginStatus = 401;
+        try {
+            Protector.builder().config(service.config().build()).build();
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals("Failed to Initialize Protector", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMissingCredentials() {
+        try {
+            Protector.builder().config(ProtectorConfig.builder().endpoint(service.endpoint()).build()).build();
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals(0, service.logins.get());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNullConfig() {
+        Protector.builder().config(null);
+    }
+}
@@ -0,0 +1,317 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ProtectorConfigTest {
+
+    @Test
+    public void testBuilderDefaults() {
+        ProtectorConfig config = ProtectorConfig.builder().build();
+
+        assertEquals(ProtectorConfig.DEFAULT_ENDPOINT, config.getEndpoint());
+        assertEquals(ProtectorConfig.DEFAULT_API_VERSION, config.getApiVersion());
+        assertNull(config.getEmail());
+        assertNull(config.getPassword());
+        assertNull(config.getApiKey());
+        assertEquals(ProtectorConfig.DEFAULT_SESSION_TIMEOUT_MINUTES, config.getSessionTimeoutMinutes());
+        assertEquals("https://api.developer-edition.protegrity.com/v1/protect", config.getServiceUrl("protect"));
+        assertEquals(ProtectorConfig.TransportType.HTTP_1_1, config.getTransportType());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_CONNECTIONS_TOTAL, config.getMaxConnectionsTotal());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_CONNECTIONS_PER_ROUTE, config.getMaxConnectionsPerRoute());
+        assertEquals(ProtectorConfig.DEFAULT_CONNECT_TIMEOUT_MILLIS, config.getConnectTimeoutMillis());
+        assertEquals(ProtectorConfig.DEFAULT_SOCKET_TIMEOUT_MILLIS, config.getSocketTimeoutMillis());
+        assertEquals(ProtectorConfig.DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS, config.getConnectionRequestTimeoutMillis());
+        assertEquals(ProtectorConfig.DEFAULT_IDLE_CONNECTION_TIMEOUT_MILLIS, config.getIdleConnectionTimeoutMillis());
+        assertEquals(ProtectorConfig.DEFAULT_CONNECTION_TIME_TO_LIVE_MILLIS, config.getConnectionTimeToLiveMillis());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_ELEMENTS_PER_REQUEST, config.getMaxElementsPerRequest());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_BYTES_PER_REQUEST, config.getMaxBytesPerRequest());
+        assertEquals(ProtectorConfig.DEFAULT_REQUEST_PARALLELISM, config.getRequestParallelism());
+        assertFalse(config.isBatchingEnabled());
+        assertEquals(ProtectorConfig.DEFAULT_BATCH_WINDOW_MILLIS, config.getBatchWindowMillis());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_BATCH_SIZE, config.getMaxBatchSize());
+        assertFalse(config.isDeduplicationEnabled());
+        assertFalse(config.isPartialResultsEnabled());
+        assertEquals(ProtectorConfig.DEFAULT_PARTIAL_RESULTS_MAX_RETRIES, config.getPartialResultsMaxRetries());
+        assertTrue(config.getTokenCacheDataElements().isEmpty());
+        assertEquals(ProtectorConfig.DEFAULT_TOKEN_CACHE_MAX_ENTRIES, config.getTokenCacheMaxEntries());
+        assertEquals(ProtectorConfig.DEFAULT_TOKEN_CACHE_MAX_BYTES, config.getTokenCacheMaxBytes());
+        assertEquals(ProtectorConfig.DEFAULT_TOKEN_CACHE_TTL_MILLIS, config.getTokenCacheTtlMillis());
+        assertEquals(ProtectorConfig.DEFAULT_TOKEN_REFRESH_MARGIN_MILLIS, config.getTokenRefreshMarginMillis());
+        assertNull(config.getCredentialCacheDirectory());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_RETRIES, config.getMaxRetries());
+        assertEquals(ProtectorConfig.DEFAULT_RETRY_BASE_DELAY_MILLIS, config.getRetryBaseDelayMillis());
+        assertEquals(ProtectorConfig.DEFAULT_RETRY_MAX_DELAY_MILLIS, config.getRetryMaxDelayMillis());
+        assertEquals(ProtectorConfig.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD, config.getCircuitBreakerFailureThreshold());
+        assertEquals(ProtectorConfig.DEFAULT_CIRCUIT_BREAKER_OPEN_MILLIS, config.getCircuitBreakerOpenMillis());
+        assertTrue(config.getHedgingDataElements().isEmpty());
+        assertEquals(ProtectorConfig.DEFAULT_HEDGING_PERCENTILE, config.getHedgingPercentile());
+        assertEquals(ProtectorConfig.DEFAULT_HEDGING_BUDGET_PERCENT, config.getHedgingBudgetPercent());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_CONCURRENT_REQUESTS, config.getMaxConcurrentRequests());
+        assertEquals(ProtectorConfig.DEFAULT_MAX_QUEUED_REQUESTS, config.getMaxQueuedRequests());
+        assertEquals(ProtectorConfig.DEFAULT_CONCURRENCY_QUEUE_TIMEOUT_MILLIS, config.getConcurrencyQueueTimeoutMillis());
+        assertEquals(ProtectorConfig.DEFAULT_RATE_LIMIT_REQUESTS_PER_SECOND, config.getRateLimitRequestsPerSecond());
+        assertEquals(ProtectorConfig.DEFAULT_RATE_LIMIT_BYTES_PER_SECOND, config.getRateLimitBytesPerSecond());
+        assertEquals(ProtectorConfig.DEFAULT_RATE_LIMIT_MAX_WAIT_MILLIS, config.getRateLimitMaxWaitMillis());
+        assertEquals(java.util.Collections.singletonList(ProtectorConfig.DEFAULT_ENDPOINT), config.getEndpoints());
+        assertEquals(ProtectorConfig.DEFAULT_OUTLIER_EJECTION_FAILURE_THRESHOLD, config.getOutlierEjectionFailureThreshold());
+        assertEquals(ProtectorConfig.DEFAULT_OUTLIER_EJECTION_MILLIS, config.getOutlierEjectionMillis());
+        assertEquals(ProtectorConfig.DEFAULT_WARM_UP_ENABLED, config.isWarmUpEnabled());
+        assertEquals(ProtectorConfig.DEFAULT_WARM_UP_CONNECTIONS, config.getWarmUpConnections());
+        assertEquals(ProtectorConfig.DEFAULT_CALL_TIMEOUT_MILLIS, config.getCallTimeoutMillis());
+        assertEquals(ProtectorConfig.DEFAULT_COMPRESSION, config.getCompression());
+        assertEquals(ProtectorConfig.DEFAULT_COMPRESSION_THRESHOLD_BYTES, config.getCompressionThresholdBytes());
+    }
+
+    @Test
+    public void testBuilderCustomValues() {
+        ProtectorConfig config = ProtectorConfig.builder()
+            .endpoint("http://localhost:8080/")
+            .apiVersion("2")
+            .credentials("user@example.com", "secret", "key")
+            .sessionTimeoutMinutes(30)
+            .transportType(ProtectorConfig.TransportType.HTTP_2)
+            .maxConnectionsTotal(10)
+            .maxConnectionsPerRoute(5)
+            .connectTimeoutMillis(100)
+            .socketTimeoutMillis(200)
+            .connectionRequestTimeoutMillis(300)
+            .idleConnectionTimeoutMillis(400)
+            .connectionTimeToLiveMillis(500)
+            .maxElementsPerRequest(600)
+            .maxBytesPerRequest(700)
+            .requestParallelism(8)
+            .batchingEnabled(true)
+            .batchWindowMillis(5)
+            .maxBatchSize(50)
+            .deduplicationEnabled(true)
+            .partialResultsEnabled(true)
+            .partialResultsMaxRetries(8)
+            .tokenRefreshMarginMillis(1000)
+            .credentialCacheDirectory(java.nio.file.Paths.get("/tmp/protector"))
+            .maxRetries(3)
+            .retryBaseDelayMillis(10)
+            .retryMaxDelayMillis(20)
+            .circuitBreakerFailureThreshold(4)
+            .circuitBreakerOpenMillis(50)
+            .hedgingDataElements(java.util.Arrays.asList(" alpha ", "", "beta"))
+            .hedgingPercentile(90)
+            .hedgingBudgetPercent(5)
+            .maxConcurrentRequests(64)
+            .maxQueuedRequests(128)
+            .concurrencyQueueTimeoutMillis(250)
+            .rateLimitRequestsPerSecond(50)
+            .rateLimitBytesPerSecond(1_000_000)
+            .rateLimitMaxWaitMillis(0)
+            .outlierEjectionFailureThreshold(3)
+            .outlierEjectionMillis(10_000)
+            .warmUpEnabled(true)
+            .warmUpConnections(8)
+            .callTimeoutMillis(250)
+            .compression(ProtectorConfig.Compression.GZIP)
+            .compressionThresholdBytes(1024)
+            .build();
+
+        assertEquals("http://localhost:8080", config.getEndpoint());
+        assertEquals("http://localhost:8080/v2/unprotect", config.getServiceUrl("unprotect"));
+        assertEquals("user@example.com", config.getEmail());
+        assertEquals("secret", config.getPassword());
+        assertEquals("key", config.getApiKey());
+        assertEquals(30, config.getSessionTimeoutMinutes());
+        assertEquals(ProtectorConfig.TransportType.HTTP_2, config.getTransportType());
+        assertEquals(10, config.getMaxConnectionsTotal());
+        assertEquals(5, config.getMaxConnectionsPerRoute());
+        assertEquals(100, config.getConnectTimeoutMillis());
+        assertEquals(200, config.getSocketTimeoutMillis());
+        assertEquals(300, config.getConnectionRequestTimeoutMillis());
+        assertEquals(400, config.getIdleConnectionTimeoutMillis());
+        assertEquals(500, config.getConnectionTimeToLiveMillis());
+        assertEquals(600, config.getMaxElementsPerRequest());
+        assertEquals(700, config.getMaxBytesPerRequest());
+        assertEquals(8, config.getRequestParallelism());
+        assertTrue(config.isBatchingEnabled());
+        assertEquals(5, config.getBatchWindowMillis());
+        assertEquals(50, config.getMaxBatchSize());
+        assertTrue(config.isDeduplicationEnabled());
+        assertTrue(config.isPartialResultsEnabled());
+        assertEquals(8, config.getPartialResultsMaxRetries());
+        assertEquals(1000, config.getTokenRefreshMarginMillis());
+        assertEquals(java.nio.file.Paths.get("/tmp/protector"), config.getCredentialCacheDirectory());
+        assertEquals(3, config.getMaxRetries());
+        assertEquals(10, config.getRetryBaseDelayMillis());
+        assertEquals(20, config.getRetryMaxDelayMillis());
+        assertEquals(4, config.getCircuitBreakerFailureThreshold());
+        assertEquals(50, config.getCircuitBreakerOpenMillis());
+        assertEquals(new java.util.LinkedHashSet<>(java.util.Arrays.asList("alpha", "beta")), config.getHedgingDataElements());
+        assertEquals(90, config.getHedgingPercentile());
+        assertEquals(5, config.getHedgingBudgetPercent());
+        assertEquals(64, config.getMaxConcurrentRequests());
+        assertEquals(128, config.getMaxQueuedRequests());
+        assertEquals(250, config.getConcurrencyQueueTimeoutMillis());
+        assertEquals(50, config.getRateLimitRequestsPerSecond());
+        assertEquals(1_000_000, config.getRateLimitBytesPerSecond());
+        assertEquals(0, config.getRateLimitMaxWaitMillis());
+        assertEquals(3, config.getOutlierEjectionFailureThreshold());
+        assertEquals(10_000, config.getOutlierEjectionMillis());
+        assertTrue(config.isWarmUpEnabled());
+        assertEquals(8, config.getWarmUpConnections());
+        assertEquals(250, config.getCallTimeoutMillis());
+        assertEquals(ProtectorConfig.Compression.GZIP, config.getCompression());
+        assertEquals(1024, config.getCompressionThresholdBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsEndpointWithoutScheme() {
+        ProtectorConfig.builder().endpoint("api.developer-edition.protegrity.com").build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativePartialResultsRetries() {
+        ProtectorConfig.builder().partialResultsMaxRetries(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNonPositiveSessionTimeout() {
+        ProtectorConfig.builder().sessionTimeoutMinutes(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsZeroConnections() {
+        ProtectorConfig.builder().maxConnectionsTotal(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeTimeout() {
+        ProtectorConfig.builder().socketTimeoutMillis(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNonPositiveIdleTimeout() {
+        ProtectorConfig.builder().idleConnectionTimeoutMillis(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNullTransportType() {
+        ProtectorConfig.builder().transportType(null).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsZeroElementsPerRequest() {
+        ProtectorConfig.builder().maxElementsPerRequest(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsZeroRequestParallelism() {
+        ProtectorConfig.builder().requestParallelism(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeBatchWindow() {
+        ProtectorConfig.builder().batchWindowMillis(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeTokenCacheTtl() {
+        ProtectorConfig.builder().tokenCacheTtlMillis(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeTokenRefreshMargin() {
+        ProtectorConfig.builder().tokenRefreshMarginMillis(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeMaxRetries() {
+        ProtectorConfig.builder().maxRetries(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsMaxRetryDelayBelowBase() {
+        ProtectorConfig.builder().retryBaseDelayMillis(100).retryMaxDelayMillis(50).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNonPositiveCircuitBreakerOpenTime() {
+        ProtectorConfig.builder().circuitBreakerOpenMillis(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsHedgingPercentileOutOfRange() {
+        ProtectorConfig.builder().hedgingPercentile(100).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsHedgingBudgetOutOfRange() {
+        ProtectorConfig.builder().hedgingBudgetPercent(101).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeMaxConcurrentRequests() {
+        ProtectorConfig.builder().maxConcurrentRequests(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeConcurrencyQueueTimeout() {
+        ProtectorConfig.builder().concurrencyQueueTimeoutMillis(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeRequestRate() {
+        ProtectorConfig.builder().rateLimitRequestsPerSecond(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeRateLimitWait() {
+        ProtectorConfig.builder().rateLimitMaxWaitMillis(-1).build();
+    }
+
+    @Test
+    public void testBuilderNormalizesEndpoints() {
+        ProtectorConfig config = ProtectorConfig.builder()
+            .endpoints(java.util.Arrays.asList("https://a/", " https://b", "https://a"))
+            .build();
+        assertEquals(java.util.Arrays.asList("https://a", "https://b"), config.getEndpoints());
+        assertEquals("https://a", config.getEndpoint());
+        assertEquals("https://a/v1/protect", config.getServiceUrl("protect"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsEmptyEndpoints() {
+        ProtectorConfig.builder().endpoints(java.util.Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsInvalidSecondEndpoint() {
+        ProtectorConfig.builder().endpoints(java.util.Arrays.asList("https://a", "b")).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNonPositiveOutlierEjectionTime() {
+        ProtectorConfig.builder().outlierEjectionMillis(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeWarmUpConnections() {
+        ProtectorConfig.builder().warmUpConnections(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeCallTimeout() {
+        ProtectorConfig.builder().callTimeoutMillis(-1).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNullCompression() {
+        ProtectorConfig.builder().compression(null).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsNegativeCompressionThreshold() {
+        ProtectorConfig.builder().compressionThresholdBytes(-1).build();
+    }
+
+    @Test
+    public void testFromEnvironment() {
+        assertNotNull(ProtectorConfig.fromEnvironment());
+    }
+}
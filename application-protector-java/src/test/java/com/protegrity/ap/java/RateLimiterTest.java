@@ -0,0 +1,116 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void testRequestBucketAllowsOneSecondBurst() {
+        RateLimiter limiter = new RateLimiter(10, 0, 0, now::get);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("key", 100));
+        }
+        assertFalse(limiter.tryAcquire("key", 100));
+        advanceMillis(100);
+        assertTrue(limiter.tryAcquire("key", 100));
+        assertFalse(limiter.tryAcquire("key", 100));
+    }
+
+    @Test
+    public void testBucketsArePerApiKey() {
+        RateLimiter limiter = new RateLimiter(1, 0, 0, now::get);
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertFalse(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("b", 0));
+    }
+
+    @Test
+    public void testLargeRequestLeavesByteBucketInDebt() {
+        RateLimiter limiter = new RateLimiter(0, 1000, 0, now::get);
+        assertTrue(limiter.tryAcquire("key", 3000));
+        advanceMillis(1000);
+        assertFalse(limiter.tryAcquire("key", 1));
+        advanceMillis(2001);
+        assertTrue(limiter.tryAcquire("key", 1));
+    }
+
+    @Test
+    public void testAcquireAsyncWaitsOrRefuses() throws Exception {
+        RateLimiter waiting = new RateLimiter(20, 0, 10_000, System::nanoTime);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(waiting.acquireAsync("key", 0).isDone());
+        }
+        waiting.acquireAsync("key", 0).get(5, TimeUnit.SECONDS);
+
+        RateLimiter refusing = new RateLimiter(1, 0, 0, now::get);
+        refusing.acquireAsync("key", 0).get();
+        try {
+            refusing.acquireAsync("key", 0).get();
+            fail("Expected RateLimitException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RateLimitException);
+        }
+    }
+
+    @Test
+    public void testThrottlingSlowsDownAndRecovers() {
+        RateLimiter limiter = new RateLimiter(10, 0, 0, now::get);
+        limiter.onThrottled("key", 2000);
+        assertEquals(0.5, limiter.getRateFactor("key"), 1e-9);
+        advanceMillis(1999);
+        assertFalse(limiter.tryAcquire("key", 0));
+        advanceMillis(1);
+        assertTrue(limiter.tryAcquire("key", 0));
+        assertTrue(limiter.getRateFactor("other") == 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottled("key", 0);
+        }
+        assertEquals(0.1, limiter.getRateFactor("key"), 1e-9);
+        advanceMillis(TimeUnit.SECONDS.toMillis(RateLimiter.RECOVERY_SECONDS));
+        assertEquals(1.0, limiter.getRateFactor("key"), 1e-9);
+    }
+
+    @Test
+    public void testAdapterMapsServiceThrottling() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        EchoTransport throttling = new EchoTransport(Integer.MAX_VALUE, null) {
+            @Override
+            public TransportResponse send(TransportRequest request) throws IOException {
+                calls.incrementAndGet();
+                return new TransportResponse(429, Collections.singletonMap("Retry-After", "60"), "");
+            }
+        };
+        ProtectorConfig config = ProtectorConfig.builder().rateLimitRequestsPerSecond(100).rateLimitMaxWaitMillis(0).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, throttling)) {
+            try {
+                adapter.sendApiRequest("protect", "jwt", "key", "{}");
+                fail("Expected ProtectorException");
+            } catch (ProtectorException e) {
+                assertEquals(ErrorMapper.RATE_LIMITED, e.getErrorCode());
+            }
+            // Held back on the client for the minute the service asked for.
+            try {
+                adapter.sendApiRequestAsync("protect", "jwt", "key", "{}").join();
+                fail("Expected ProtectorException");
+            } catch (java.util.concurrent.CompletionException e) {
+                assertEquals(ErrorMapper.RATE_LIMITED, ((ProtectorException) e.getCause()).getErrorCode());
+            }
+            assertEquals(1, calls.get());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class RecordFormatTest {
+
+    private static ByteBuffer direct(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    private static ByteBuffer lengthPrefixed(String... records) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        for (String record : records) {
+            byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static String record(RecordBuffer records, int index) {
+        return new String(records.toArray(index), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testReadsDelimitedRecords() throws ProtectorException {
+        ByteBuffer input = direct("skip|ab||cde");
+        input.position(5);
+        RecordBuffer records = RecordFormat.delimited((byte) '|').read(input);
+
+        assertEquals(3, records.size());
+        assertEquals("ab", record(records, 0));
+        assertEquals("", record(records, 1));
+        assertEquals("cde", record(records, 2));
+        assertEquals(5, input.position());
+        assertEquals(2, RecordFormat.delimited((byte) '\n').read(direct("a\nb\n")).size());
+    }
+
+    @Test
+    public void testReadsLengthPrefixedRecords() throws ProtectorException {
+        RecordBuffer records = RecordFormat.lengthPrefixed().read(lengthPrefixed("one", "", "three"));
+
+        assertEquals(3, records.size());
+        assertEquals("one", record(records, 0));
+        assertEquals("", record(records, 1));
+        assertEquals("three", record(records, 2));
+    }
+
+    @Test(expected = ProtectorException.class)
+    public void testRejectsTruncatedRecord() throws ProtectorException {
+        ByteBuffer input = lengthPrefixed("abc");
+        input.limit(input.limit() - 1);
+        RecordFormat.lengthPrefixed().read(input);
+    }
+
+    @Test
+    public void testWriteChecksSpaceFirst() throws ProtectorException {
+        byte[][] results = {"ab".getBytes(StandardCharsets.UTF_8), null};
+        ByteBuffer small = ByteBuffer.allocate(9);
+        try {
+            RecordFormat.lengthPrefixed().write(results, small);
+            fail("Expected BufferOverflowException");
+        } catch (BufferOverflowException e) {
+            assertEquals(0, small.position());
+        }
+        ByteBuffer output = ByteBuffer.allocate(10);
+        RecordFormat.lengthPrefixed().write(results, output);
+        assertEquals(10, output.position());
+        assertEquals(2, output.getInt(0));
+        assertEquals(0, output.getInt(6));
+    }
+
+    @Test
+    public void testProtectsBufferThroughService() throws Exception {
+        try (FakeService service = new FakeService(new EchoTransport(Integer.MAX_VALUE, null));
+                Protector protector = Protector.builder().config(service.config().build()).build()) {
+            ByteBuffer input = direct("alpha\nbeta\nété");
+            ByteBuffer output = ByteBuffer.allocateDirect(64);
+
+            assertEquals(3, protector.protect(protector.createSession("user"), "de", input, output,
+                RecordFormat.delimited((byte) '\n')));
+            assertFalse(input.hasRemaining());
+            output.flip();
+            byte[] written = new byte[output.remaining()];
+            output.get(written);
+            assertEquals("alpha\nbeta\nété\n", new String(written, StandardCharsets.UTF_8));
+        }
+    }
+}
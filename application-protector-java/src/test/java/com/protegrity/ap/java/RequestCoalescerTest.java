@@ -0,0 +1,122 @@
+package com.protegrity.ap.java;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class RequestCoalescerTest {
+
+    private CoreproviderAdapter adapter;
+    private RequestCoalescer coalescer;
+
+    @After
+    public void tearDown() {
+        coalescer.close();
+        adapter.close();
+    }
+
+    private EchoTransport start(ProtectorConfig config, String failOn) {
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, failOn);
+        adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport);
+        coalescer = new RequestCoalescer(adapter, config);
+        return transport;
+    }
+
+    private static ProtectionRequest request(String dataElement, String[] values, String[] output) {
+        return new ProtectionRequest("protect", new SessionObject("user"), "user", dataElement, null, null, null, "utf8", PayloadValues.wire(values), output);
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneRequest() {
+        EchoTransport transport = start(ProtectorConfig.builder().batchWindowMillis(200).build(), null);
+        List<String[]> outputs = new ArrayList<>();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String[] output = new String[1];
+            outputs.add(output);
+            futures.add(coalescer.submit(request("de", new String[] {"v" + i}, output), "token", "key"));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(futures.get(i).join());
+            assertEquals("v" + i, outputs.get(i)[0]);
+        }
+        assertEquals(1, transport.requestSizes.size());
+        assertEquals(20, (int) transport.requestSizes.get(0));
+    }
+
+    @Test
+    public void testDifferentDataElementsAreNotMixed() {
+        EchoTransport transport = start(ProtectorConfig.builder().batchWindowMillis(200).build(), null);
+        String[] first = new String[1];
+        String[] second = new String[1];
+        CompletableFuture<Boolean> a = coalescer.submit(request("de1", new String[] {"a"}, first), "token", "key");
+        CompletableFuture<Boolean> b = coalescer.submit(request("de2", new String[] {"b"}, second), "token", "key");
+
+        assertTrue(a.join());
+        assertTrue(b.join());
+        assertEquals("a", first[0]);
+        assertEquals("b", second[0]);
+        assertEquals(2, transport.requestSizes.size());
+    }
+
+    @Test
+    public void testFullBatchIsSentWithoutWaiting() {
+        EchoTransport transport = start(ProtectorConfig.builder().batchWindowMillis(60_000).maxBatchSize(4).build(), null);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(coalescer.submit(request("de", new String[] {"v" + i}, new String[1]), "token", "key"));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        assertEquals(1, transport.requestSizes.size());
+    }
+
+    @Test
+    public void testLargeRequestBypassesBatching() {
+        EchoTransport transport = start(ProtectorConfig.builder().batchWindowMillis(60_000).maxBatchSize(2).build(), null);
+        String[] output = new String[3];
+
+        assertTrue(coalescer.submit(request("de", new String[] {"a", "b", "c"}, output), "token", "key").join());
+        assertArrayEquals(new String[] {"a", "b", "c"}, output);
+        assertEquals(1, transport.requestSizes.size());
+    }
+
+    @Test
+    public void testFailureCompletesEveryCallInBatch() {
+        start(ProtectorConfig.builder().batchWindowMillis(200).build(), "bad");
+        ProtectionRequest goodRequest = request("de", new String[] {"good"}, new String[1]);
+        ProtectionRequest badRequest = request("de", new String[] {"bad"}, new String[1]);
+        goodRequest.getSession().setLastError("stale");
+        CompletableFuture<Boolean> good = coalescer.submit(goodRequest, "token", "key");
+        CompletableFuture<Boolean> bad = coalescer.submit(badRequest, "token", "key");
+
+        for (CompletableFuture<Boolean> future : List.of(good, bad)) {
+            try {
+                future.join();
+                fail("Expected failure");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof ProtectorException);
+            }
+        }
+        // Every call of the batch records the error in its own session.
+        assertEquals("Data protection failed.", goodRequest.getSession().getLastError());
+        assertEquals("Data protection failed.", badRequest.getSession().getLastError());
+    }
+
+    @Test
+    public void testCloseSendsPendingBatch() {
+        start(ProtectorConfig.builder().batchWindowMillis(60_000).build(), null);
+        String[] output = new String[1];
+        CompletableFuture<Boolean> future = coalescer.submit(request("de", new String[] {"a"}, output), "token", "key");
+
+        coalescer.close();
+        assertTrue(future.join());
+        assertEquals("a", output[0]);
+    }
+}
@@ -0,0 +1,274 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+
+public class ResilientTransportTest {
+
+    private static final TransportRequest REQUEST =
+        TransportRequest.json("http://localhost:1/v1/protect", "key", "jwt", new byte[0]);
+
+    /**
+     * Answers with a scripted sequence of outcomes, an {@link IOException} or a response status.
+     */
+    private static class ScriptedTransport implements CoreproviderTransport {
+        private final Deque<Object> outcomes = new ArrayDeque<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        ScriptedTransport then(Object outcome) {
+            outcomes.add(outcome);
+            return this;
+        }
+
+        @Override
+        public synchronized TransportResponse send(TransportRequest request) throws IOException {
+            calls.incrementAndGet();
+            Object outcome = outcomes.size() > 1 ? outcomes.poll() : outcomes.peek();
+            if (outcome instanceof IOException) {
+                throw (IOException) outcome;
+            }
+            if (outcome instanceof TransportResponse) {
+                return (TransportResponse) outcome;
+            }
+            return new TransportResponse((Integer) outcome, Collections.emptyMap(), "{}");
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+            CompletableFuture<TransportResponse> result = new CompletableFuture<>();
+            try {
+                result.complete(send(request));
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static ProtectorConfig.Builder config() {
+        return ProtectorConfig.builder().maxRetries(2).retryBaseDelayMillis(1).retryMaxDelayMillis(50)
+            .circuitBreakerFailureThreshold(0);
+    }
+
+    private static TransportResponse withRetryAfter(int status, String retryAfter) {
+        Map<String, String> headers = Collections.singletonMap("Retry-After", retryAfter);
+        return new TransportResponse(status, headers, "{}");
+    }
+
+    @Test
+    public void testRetriesTransientStatus() throws IOException {
+        ScriptedTransport scripted = new ScriptedTransport().then(503).then(429).then(200);
+        ResilientTransport transport = new ResilientTransport(scripted, config().build());
+        assertEquals(200, transport.send(REQUEST).getStatusCode());
+        assertEquals(3, scripted.calls.get());
+    }
+
+    @Test
+    public void testLeavesThrottlingToRateLimiter() throws IOException {
+        ScriptedTransport scripted = new ScriptedTransport().then(503).then(429).then(200);
+        ResilientTransport transport = new ResilientTransport(scripted, config().rateLimitRequestsPerSecond(10).build());
+        assertEquals(429, transport.send(REQUEST).getStatusCode());
+        assertEquals(2, scripted.calls.get());
+    }
+
+    @Test
+    public void testReturnsLastResponseWhenRetriesExhausted() throws IOException {
+        ScriptedTransport scripted = new ScriptedTransport().then(503);
+        ResilientTransport transport = new ResilientTransport(scripted, config().build());
+        assertEquals(503, transport.send(REQUEST).getStatusCode());
+        assertEquals(3, scripted.calls.get());
+    }
+
+    @Test
+    public void testDoesNotRetryClientErrors() throws IOException {
+        ScriptedTransport scripted = new ScriptedTransport().then(413);
+        ResilientTransport transport = new ResilientTransport(scripted, config().build());
+        assertEquals(413, transport.send(REQUEST).getStatusCode());
+        assertEquals(1, scripted.calls.get());
+    }
+
+    @Test
+    public void testRethrowsIOExceptionWhenRetriesExhausted() {
+        ScriptedTransport scripted = new ScriptedTransport().then(new ConnectException("Connection refused"));
+        ResilientTransport transport = new ResilientTransport(scripted, config().build());
+        try {
+            transport.send(REQUEST);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Connection refused", e.getMessage());
+        }
+        assertEquals(3, scripted.calls.get());
+    }
+
+    @Test
+    public void testDoesNotRetryFailuresAfterSending() {
+        ScriptedTransport scripted = new ScriptedTransport().then(new SocketTimeoutException("Read timed out")).then(200);
+        ProtectorConfig config = config().circuitBreakerFailureThreshold(1).build();
+        ResilientTransport transport = new ResilientTransport(scripted, config);
+        try {
+            transport.send(REQUEST);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Read timed out", e.getMessage());
+        }
+        assertEquals(1, scripted.calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, transport.breakerFor("http://localhost:1").getState());
+    }
+
+    @Test
+    public void testAbandonedRequestsAreNeitherRetriedNorCounted() throws Exception {
+        ScriptedTransport scripted = new ScriptedTransport().then(new InterruptedIOException("Request interrupted")).then(200);
+        ProtectorConfig config = config().circuitBreakerFailureThreshold(1).build();
+        ResilientTransport transport = new ResilientTransport(scripted, config);
+        try {
+            transport.send(REQUEST);
+            fail("Expected InterruptedIOException");
+        } catch (InterruptedIOException e) {
+            assertEquals("Request interrupted", e.getMessage());
+        }
+        assertEquals(1, scripted.calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, transport.breakerFor("http://localhost:1").getState());
+
+        CompletableFuture<TransportResponse> cancelled = new CompletableFuture<>();
+        cancelled.cancel(true);
+        transport = new ResilientTransport(new ScriptedTransport() {
+            @Override
+            public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+                calls.incrementAndGet();
+                return cancelled;
+            }
+        }, config);
+        try {
+            transport.sendAsync(REQUEST).join();
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            // Passed on as it is.
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, transport.breakerFor("http://localhost:1").getState());
+    }
+
+    @Test
+    public void testIsUnsent() {
+        assertTrue(ResilientTransport.isUnsent(new ConnectException("Connection refused")));
+        assertTrue(ResilientTransport.isUnsent(new ConnectionPoolTimeoutException("Timeout waiting for connection")));
+        assertTrue(ResilientTransport.isUnsent(new IOException(new UnknownHostException("host"))));
+        assertFalse(ResilientTransport.isUnsent(new SocketTimeoutException("Read timed out")));
+        assertFalse(ResilientTransport.isUnsent(new IOException("Connection reset")));
+        assertFalse(ResilientTransport.isUnsent(new RejectedRequestException(ErrorMapper.CIRCUIT_OPEN, "rejected")));
+    }
+
+    @Test
+    public void testRetriesAsync() throws Exception {
+        ScriptedTransport scripted = new ScriptedTransport().then(new ConnectException("Connection refused")).then(200);
+        ResilientTransport transport = new ResilientTransport(scripted, config().build());
+        assertEquals(200, transport.sendAsync(REQUEST).get().getStatusCode());
+        assertEquals(2, scripted.calls.get());
+    }
+
+    @Test
+    public void testHonoursRetryAfter() throws IOException {
+        ScriptedTransport scripted = new ScriptedTransport().then(withRetryAfter(429, "0")).then(200);
+        ResilientTransport transport = new ResilientTransport(scripted, config().build());
+        assertEquals(200, transport.send(REQUEST).getStatusCode());
+
+        ScriptedTransport tooLong = new ScriptedTransport().then(withRetryAfter(503, "120")).then(200);
+        transport = new ResilientTransport(tooLong, config().build());
+        assertEquals(503, transport.send(REQUEST).getStatusCode());
+        assertEquals(1, tooLong.calls.get());
+    }
+
+    @Test
+    public void testDoesNotRetryPastDeadline() throws IOException {
+        ScriptedTransport scripted = new ScriptedTransport().then(withRetryAfter(503, "1")).then(200);
+        ResilientTransport transport = new ResilientTransport(scripted, config().retryMaxDelayMillis(5_000).build());
+        TransportRequest request = REQUEST.withDeadline(Deadline.after(200, TimeUnit.MILLISECONDS));
+        assertEquals(503, transport.send(request).getStatusCode());
+        assertEquals(1, scripted.calls.get());
+    }
+
+    @Test
+    public void testRetryAfterMillis() {
+        assertEquals(0, ResilientTransport.retryAfterMillis(null));
+        assertEquals(0, ResilientTransport.retryAfterMillis("soon"));
+        assertEquals(2000, ResilientTransport.retryAfterMillis(" 2 "));
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30));
+        long millis = ResilientTransport.retryAfterMillis(date);
+        assertTrue(millis > 25_000 && millis <= 30_000);
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().minusSeconds(30));
+        assertEquals(0, ResilientTransport.retryAfterMillis(past));
+    }
+
+    @Test
+    public void testEndpointOf() {
+        assertEquals("https://host:8443", ResilientTransport.endpointOf("https://host:8443/v1/protect"));
+        assertEquals("http://host", ResilientTransport.endpointOf("http://host"));
+    }
+
+    @Test
+    public void testOpenCircuitFailsFast() throws Exception {
+        ScriptedTransport scripted = new ScriptedTransport().then(500);
+        ProtectorConfig config = config().maxRetries(0).circuitBreakerFailureThreshold(2).build();
+        ResilientTransport transport = new ResilientTransport(scripted, config);
+        assertEquals(500, transport.send(REQUEST).getStatusCode());
+        assertEquals(500, transport.send(REQUEST).getStatusCode());
+        try {
+            transport.send(REQUEST);
+            fail("Expected CircuitOpenException");
+        } catch (CircuitOpenException e) {
+            assertTrue(e.getMessage().startsWith("Circuit open for http://localhost:1"));
+        }
+        try {
+            transport.sendAsync(REQUEST).get();
+            fail("Expected CircuitOpenException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof CircuitOpenException);
+        }
+        assertEquals(2, scripted.calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED,
+            transport.breakerFor("http://other:1").getState());
+    }
+
+    @Test
+    public void testAdapterReportsOpenCircuit() throws Exception {
+        ScriptedTransport scripted = new ScriptedTransport().then(new ConnectException("Connection refused"));
+        ProtectorConfig config = config().maxRetries(0).circuitBreakerFailureThreshold(1).build();
+        CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config,
+            new ResilientTransport(scripted, config));
+        try {
+            adapter.sendApiRequest("protect", "jwt", "key", "{}");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals("Error during API request: Connection refused", e.getMessage());
+        }
+        try {
+            adapter.sendApiRequest("protect", "jwt", "key", "{}");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals(ErrorMapper.CIRCUIT_OPEN, e.getErrorCode());
+        }
+        assertEquals(1, scripted.calls.get());
+    }
+}
@@ -0,0 +1,152 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Base64;
+import java.util.Date;
+
+public class ResultDecoderTest {
+
+    private static ResultDecoder decode(String json, Object output, int offset, String[] wireResults, String encoding) throws IOException {
+        ResultDecoder decoder = new ResultDecoder(output, offset, wireResults, encoding);
+        decoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return decoder;
+    }
+
+    private static String base64(String text) {
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDecodesPrimitiveOutputs() throws IOException {
+        String json = "{\"success\": true, \"encoding\": \"utf8\", \"results\": [\"1\", \"-2\", \"3\"]}";
+
+        short[] shorts = new short[3];
+        int[] ints = new int[3];
+        long[] longs = new long[3];
+        float[] floats = new float[3];
+        double[] doubles = new double[3];
+        decode(json, shorts, 0, null, "utf8");
+        decode(json, ints, 0, null, "utf8");
+        decode(json, longs, 0, null, "utf8");
+        decode(json, floats, 0, null, "utf8");
+        decode(json, doubles, 0, null, "utf8");
+
+        assertArrayEquals(new short[] {1, -2, 3}, shorts);
+        assertArrayEquals(new int[] {1, -2, 3}, ints);
+        assertArrayEquals(new long[] {1, -2, 3}, longs);
+        assertArrayEquals(new float[] {1, -2, 3}, floats, 0f);
+        assertArrayEquals(new double[] {1, -2, 3}, doubles, 0d);
+    }
+
+    @Test
+    public void testDecodesTextOutputs() throws IOException {
+        String json = "{\"results\": [\"caf\\u00e9\", \"a\\\"b\"], \"success\": true}";
+
+        String[] strings = new String[2];
+        char[][] chars = new char[2][];
+        byte[][] bytes = new byte[2][];
+        decode(json, strings, 0, null, "utf8");
+        decode(json, chars, 0, null, "utf8");
+        decode(json, bytes, 0, null, "utf8");
+
+        assertArrayEquals(new String[] {"café", "a\"b"}, strings);
+        assertArrayEquals("café".toCharArray(), chars[0]);
+        assertArrayEquals("a\"b".toCharArray(), chars[1]);
+        assertArrayEquals("café".getBytes(StandardCharsets.UTF_8), bytes[0]);
+    }
+
+    @Test
+    public void testDecodesBase64() throws IOException {
+        byte[] raw = {0, 1, (byte) 0xff};
+        String json = "{\"success\": true, \"encoding\": \"base64\", \"results\": [\""
+            + Base64.getEncoder().encodeToString(raw) + "\"]}";
+        byte[][] bytes = new byte[1][];
+        decode(json, bytes, 0, null, "base64");
+        assertArrayEquals(raw, bytes[0]);
+
+        String[] strings = new String[1];
+        char[][] chars = new char[1][];
+        int[] ints = new int[1];
+        decode("{\"success\": true, \"results\": [\"" + base64("42") + "\"]}", strings, 0, null, "base64");
+        decode("{\"success\": true, \"results\": [\"" + base64("42") + "\"]}", chars, 0, null, "base64");
+        decode("{\"success\": true, \"results\": [\"" + base64("42") + "\"]}", ints, 0, null, "base64");
+        assertEquals("42", strings[0]);
+        assertArrayEquals("42".toCharArray(), chars[0]);
+        assertEquals(42, ints[0]);
+    }
+
+    @Test
+    public void testDecodesUnpaddedBase64() throws IOException {
+        byte[] raw = {0, 1, (byte) 0xff, 2};
+        String unpadded = Base64.getEncoder().withoutPadding().encodeToString(raw);
+        String json = "{\"success\": true, \"results\": [\"" + unpadded + "\", \"" + Base64.getEncoder().encodeToString(raw) + "\"]}";
+        byte[][] bytes = new byte[2][];
+        ResultDecoder decoder = decode(json, bytes, 0, null, "base64");
+
+        assertNull(decoder.getConversionError());
+        assertArrayEquals(raw, bytes[0]);
+        assertArrayEquals(raw, bytes[1]);
+    }
+
+    @Test
+    public void testDecodesDates() throws Exception {
+        Date[] dates = new Date[2];
+        decode("{\"success\": true, \"results\": [\"2024-01-02 03:04:05.006\", \"2024-01-02|2024-01-02 00:00:00.000\"]}",
+            dates, 0, null, "utf8");
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        assertEquals(format.parse("2024-01-02 03:04:05.006"), dates[0]);
+        assertEquals(format.parse("2024-01-02 00:00:00.000"), dates[1]);
+    }
+
+    @Test
+    public void testWritesAtOffsetAndRecordsWireResults() throws IOException {
+        String json = "{\"success\": true, \"results\": [\"" + base64("7") + "\", \"" + base64("8") + "\"]}";
+        int[] output = new int[4];
+        String[] wireResults = new String[4];
+
+        ResultDecoder decoder = decode(json, output, 1, wireResults, "base64");
+
+        assertEquals(2, decoder.getResultCount());
+        assertArrayEquals(new int[] {0, 7, 8, 0}, output);
+        assertArrayEquals(new String[] {null, base64("7"), base64("8"), null}, wireResults);
+    }
+
+    @Test
+    public void testIgnoresResultsBeyondOutput() throws IOException {
+        int[] output = new int[1];
+        ResultDecoder decoder = decode("{\"success\": true, \"results\": [\"1\", \"x\"]}", output, 0, null, "utf8");
+
+        assertEquals(2, decoder.getResultCount());
+        assertEquals(1, output[0]);
+        assertNull(decoder.getConversionError());
+    }
+
+    @Test
+    public void testReportsFailureAndConversionError() throws IOException {
+        int[] output = new int[2];
+        ResultDecoder decoder = decode(
+            "{\"results\": [\"x\", \"2\"], \"extra\": {\"a\": [1]}, \"success\": false, \"error_msg\": \"Data protect operation failed.\"}",
+            output, 0, null, "utf8");
+
+        assertFalse(decoder.isSuccess());
+        assertEquals("Data protect operation failed.", decoder.getErrorMessage());
+        assertTrue(decoder.getConversionError() instanceof NumberFormatException);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsNonObjectBody() throws IOException {
+        decode("[\"1\"]", new String[1], 0, null, "utf8");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsUnsupportedOutput() {
+        new ResultDecoder(new Object[1], 0, null, "utf8");
+    }
+}
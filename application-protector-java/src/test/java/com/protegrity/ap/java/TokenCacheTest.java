@@ -0,0 +1,182 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TokenCacheTest {
+
+    /** Reverses every value, which makes protect and unprotect inverse operations. */
+    private static class ReversingTransport extends EchoTransport {
+        ReversingTransport() {
+            super(Integer.MAX_VALUE, null);
+        }
+
+        @Override
+        String transform(String value) {
+            return new StringBuilder(value).reverse().toString();
+        }
+    }
+
+    private static ProtectorConfig.Builder cached(String... dataElements) {
+        return ProtectorConfig.builder().tokenCacheDataElements(Arrays.asList(dataElements));
+    }
+
+    private static ProtectionRequest request(String operation, String dataElement, String[] values, Object output) {
+        return new ProtectionRequest(operation, new SessionObject("user"), "user", dataElement, null, null, null, "utf8", PayloadValues.wire(values), output);
+    }
+
+    @Test
+    public void testRepeatedProtectIsAnsweredFromCache() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), cached("det").build(), transport)) {
+            String[] first = new String[2];
+            assertTrue(adapter.execute(request("protect", "det", new String[] {"abc", "xyz"}, first), "token", "key"));
+            assertArrayEquals(new String[] {"cba", "zyx"}, first);
+
+            String[] second = new String[3];
+            assertTrue(adapter.execute(request("protect", "det", new String[] {"xyz", "new", "abc"}, second), "token", "key"));
+            assertArrayEquals(new String[] {"zyx", "wen", "cba"}, second);
+
+            assertEquals(2, transport.requestSizes.size());
+            assertEquals(1, (int) transport.requestSizes.get(1));
+            TokenCacheStats stats = adapter.getTokenCacheStats();
+            assertEquals(2, stats.getHitCount());
+            assertEquals(3, stats.getMissCount());
+        }
+    }
+
+    @Test
+    public void testProtectSeedsUnprotect() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), cached("det").build(), transport)) {
+            adapter.execute(request("protect", "det", new String[] {"abc"}, new String[1]), "token", "key");
+
+            String[] clear = new String[1];
+            assertTrue(adapter.executeAsync(request("unprotect", "det", new String[] {"cba"}, clear), "token", "key").join());
+            assertEquals("abc", clear[0]);
+            assertEquals(1, transport.requestSizes.size());
+        }
+    }
+
+    @Test
+    public void testSingleValueUsesCache() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), cached("det").build(), transport)) {
+            assertEquals("cba", adapter.executeSingle(request("protect", "det", new String[] {"abc"}, new String[1]), "token", "key"));
+            assertEquals("cba", adapter.executeSingle(request("protect", "det", new String[] {"abc"}, new String[1]), "token", "key"));
+            assertEquals("abc", adapter.executeSingle(request("unprotect", "det", new String[] {"cba"}, new String[1]), "token", "key"));
+            assertEquals(1, transport.requestSizes.size());
+
+            String[] bulk = new String[2];
+            assertTrue(adapter.execute(request("protect", "det", new String[] {"abc", "new"}, bulk), "token", "key"));
+            assertArrayEquals(new String[] {"cba", "wen"}, bulk);
+            assertEquals("wen", adapter.executeSingle(request("protect", "det", new String[] {"new"}, new String[1]), "token", "key"));
+            assertEquals(2, transport.requestSizes.size());
+        }
+    }
+
+    @Test
+    public void testTypedOutputFromCache() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), cached("det").build(), transport)) {
+            int[] first = new int[1];
+            adapter.execute(request("protect", "det", new String[] {"12"}, first), "token", "key");
+            int[] second = new int[1];
+            adapter.execute(request("protect", "det", new String[] {"12"}, second), "token", "key");
+
+            assertEquals(21, first[0]);
+            assertEquals(21, second[0]);
+            assertEquals(1, transport.requestSizes.size());
+        }
+    }
+
+    @Test
+    public void testOtherDataElementsAreNotCached() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), cached("det").build(), transport)) {
+            adapter.execute(request("protect", "random", new String[] {"abc"}, new String[1]), "token", "key");
+            adapter.execute(request("protect", "random", new String[] {"abc"}, new String[1]), "token", "key");
+
+            assertEquals(2, transport.requestSizes.size());
+            assertEquals(0, adapter.getTokenCacheStats().getSize());
+        }
+    }
+
+    @Test
+    public void testDisabledWithoutDataElements() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), ProtectorConfig.builder().build(), transport)) {
+            adapter.execute(request("protect", "det", new String[] {"abc"}, new String[1]), "token", "key");
+            adapter.execute(request("protect", "det", new String[] {"abc"}, new String[1]), "token", "key");
+
+            assertEquals(2, transport.requestSizes.size());
+            assertEquals(0, adapter.getTokenCacheStats().getHitCount());
+        }
+    }
+
+    @Test
+    public void testEntryBound() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        ProtectorConfig config = cached("det").tokenCacheMaxEntries(10).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            for (int i = 0; i < 50; i++) {
+                adapter.execute(request("unprotect", "det", new String[] {"v" + i}, new String[1]), "token", "key");
+            }
+            TokenCacheStats stats = adapter.getTokenCacheStats();
+            assertEquals(10, stats.getSize());
+            assertEquals(40, stats.getEvictionCount());
+        }
+    }
+
+    @Test
+    public void testMemoryBound() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        ProtectorConfig config = cached("det").tokenCacheMaxBytes(2_000).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            for (int i = 0; i < 100; i++) {
+                adapter.execute(request("unprotect", "det", new String[] {"value-" + i}, new String[1]), "token", "key");
+            }
+            assertTrue(adapter.getTokenCacheStats().getEstimatedBytes() <= 2_000);
+            assertTrue(adapter.getTokenCacheStats().getEvictionCount() > 0);
+        }
+    }
+
+    @Test
+    public void testFrequentlyUsedEntrySurvivesScan() throws ProtectorException {
+        ReversingTransport transport = new ReversingTransport();
+        ProtectorConfig config = cached("det").tokenCacheMaxEntries(10).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            adapter.execute(request("unprotect", "det", new String[] {"hot"}, new String[1]), "token", "key");
+            adapter.execute(request("unprotect", "det", new String[] {"hot"}, new String[1]), "token", "key");
+            for (int i = 0; i < 100; i++) {
+                adapter.execute(request("unprotect", "det", new String[] {"cold" + i}, new String[1]), "token", "key");
+            }
+            int sent = transport.requestSizes.size();
+            adapter.execute(request("unprotect", "det", new String[] {"hot"}, new String[1]), "token", "key");
+            assertEquals(sent, transport.requestSizes.size());
+        }
+    }
+
+    @Test
+    public void testEntriesExpire() throws Exception {
+        ReversingTransport transport = new ReversingTransport();
+        ProtectorConfig config = cached("det").tokenCacheTtlMillis(20).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport)) {
+            adapter.execute(request("unprotect", "det", new String[] {"abc"}, new String[1]), "token", "key");
+            Thread.sleep(50);
+            adapter.execute(request("unprotect", "det", new String[] {"abc"}, new String[1]), "token", "key");
+            assertEquals(2, transport.requestSizes.size());
+        }
+    }
+
+    @Test
+    public void testConfigIgnoresBlankNames() {
+        ProtectorConfig config = cached(" det ", "", "other").build();
+        assertEquals(2, config.getTokenCacheDataElements().size());
+        assertTrue(config.getTokenCacheDataElements().contains("det"));
+        assertEquals(Collections.emptySet(), ProtectorConfig.builder().build().getTokenCacheDataElements());
+    }
+}
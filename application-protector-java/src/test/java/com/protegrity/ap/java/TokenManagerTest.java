@@ -0,0 +1,181 @@
+package com.protegrity.ap.java;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class TokenManagerTest {
+
+    private static String jwt(String subject, long expiresAtSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String claims = "{\"sub\":\"" + subject + "\",\"exp\":" + expiresAtSeconds + "}";
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+            + encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
+    private static Supplier<String> numberedLogin(AtomicInteger logins) {
+        return () -> "token-" + logins.incrementAndGet();
+    }
+
+    @Test
+    public void testExpiresAtMillis() {
+        assertEquals(1_700_000_000_000L, TokenManager.expiresAtMillis(jwt("a", 1_700_000_000L)));
+        assertEquals(Long.MAX_VALUE, TokenManager.expiresAtMillis("opaque-token"));
+        assertEquals(Long.MAX_VALUE, TokenManager.expiresAtMillis("a.!!!.c"));
+        assertEquals(Long.MAX_VALUE, TokenManager.expiresAtMillis(null));
+    }
+
+    @Test
+    public void testConcurrentRefreshesShareOneLogin() throws Exception {
+        AtomicInteger logins = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        TokenManager tokens = new TokenManager(() -> {
+            if (logins.get() > 0) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "token-" + logins.incrementAndGet();
+        }, "key", 0);
+        try {
+            List<CompletableFuture<String>> refreshes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                refreshes.add(tokens.refresh("token-1"));
+            }
+            release.countDown();
+            for (CompletableFuture<String> refresh : refreshes) {
+                assertEquals("token-2", refresh.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(2, logins.get());
+            assertEquals("token-2", tokens.getToken());
+            assertEquals("key", tokens.getApiKey());
+        } finally {
+            tokens.close();
+        }
+    }
+
+    @Test
+    public void testRefreshOfStaleTokenReturnsCurrent() throws Exception {
+        AtomicInteger logins = new AtomicInteger();
+        TokenManager tokens = new TokenManager(numberedLogin(logins), "key", 0);
+        try {
+            assertEquals("token-2", tokens.refresh("token-1").get(5, TimeUnit.SECONDS));
+            assertEquals("token-2", tokens.refresh("token-1").get(5, TimeUnit.SECONDS));
+            assertEquals(2, logins.get());
+        } finally {
+            tokens.close();
+        }
+    }
+
+    @Test
+    public void testFailedRefresh() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        TokenManager tokens = new TokenManager(() -> {
+            if (attempts.incrementAndGet() == 2) {
+                throw new IllegalStateException("invalid credentials");
+            }
+            return "token-" + attempts.get();
+        }, "key", 0);
+        try {
+            try {
+                tokens.refresh("token-1").join();
+                fail("Expected failure");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof ProtectorException);
+                assertEquals("Authentication failed: invalid credentials", e.getCause().getMessage());
+            }
+            assertEquals("token-1", tokens.getToken());
+            assertEquals("token-3", tokens.refresh("token-1").get(5, TimeUnit.SECONDS));
+        } finally {
+            tokens.close();
+        }
+    }
+
+    @Test
+    public void testRenewsInBackgroundBeforeExpiry() throws Exception {
+        AtomicInteger logins = new AtomicInteger();
+        long expiresAt = System.currentTimeMillis() / 1000 + 3;
+        TokenManager tokens = new TokenManager(() -> jwt("login-" + logins.incrementAndGet(), expiresAt + 3600), "key", 3_600_000L);
+        try {
+            String first = tokens.getToken();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (tokens.getToken().equals(first) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertNotEquals(first, tokens.getToken());
+            assertEquals(2, logins.get());
+        } finally {
+            tokens.close();
+        }
+    }
+
+    @Test
+    public void testAdapterRetriesRejectedTokenOnce() throws Exception {
+        AtomicInteger logins = new AtomicInteger();
+        TokenManager tokens = new TokenManager(numberedLogin(logins), "key", 0);
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null) {
+            @Override
+            public TransportResponse send(TransportRequest request) throws IOException {
+                if (request.getHeaders().get("Authorization").equals("Bearer token-1")) {
+                    return new TransportResponse(401, Collections.emptyMap(), "{\"message\": \"Unauthorized\"}");
+                }
+                return super.send(request);
+            }
+        };
+        ProtectorConfig config = ProtectorConfig.builder().maxElementsPerRequest(2).requestParallelism(4).build();
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), config, transport, tokens)) {
+            String[] input = {"a", "b", "c", "d", "e", "f", "g", "h"};
+            String[] output = new String[input.length];
+            ProtectionRequest request = new ProtectionRequest("protect", new SessionObject("user"), "user", "de", null, null, null,
+                "utf8", PayloadValues.of(input, "utf8"), output);
+
+            assertTrue(adapter.executeAsync(request, tokens.getToken(), "key").get(5, TimeUnit.SECONDS));
+            assertArrayEquals(input, output);
+            assertEquals(2, logins.get());
+
+            String[] single = new String[1];
+            assertTrue(adapter.execute(request.withValues(new String[] {"z"}, single, null), "token-1", "key"));
+            assertEquals("z", single[0]);
+            assertEquals(2, logins.get());
+        } finally {
+            tokens.close();
+        }
+    }
+
+    @Test
+    public void testAdapterFailsWhenRenewedTokenIsRejected() {
+        AtomicInteger logins = new AtomicInteger();
+        TokenManager tokens = new TokenManager(numberedLogin(logins), "key", 0);
+        EchoTransport transport = new EchoTransport(Integer.MAX_VALUE, null) {
+            @Override
+            public TransportResponse send(TransportRequest request) {
+                return new TransportResponse(401, Collections.emptyMap(), "");
+            }
+        };
+        try (CoreproviderAdapter adapter = new CoreproviderAdapter(new SessionHandler(5), ProtectorConfig.builder().build(), transport, tokens)) {
+            ProtectionRequest request = new ProtectionRequest("protect", new SessionObject("user"), "user", "de", null, null, null,
+                "utf8", PayloadValues.of(new String[] {"a"}, "utf8"), new String[1]);
+            adapter.execute(request, tokens.getToken(), "key");
+            fail("Expected ProtectorException");
+        } catch (ProtectorException e) {
+            assertEquals(ErrorMapper.UNAUTHORIZED, e.getErrorCode());
+            assertEquals(2, logins.get());
+        } finally {
+            tokens.close();
+        }
+    }
+}